@@ -38,6 +38,12 @@ protected Flowable<InternalCacheEntry<Object, Object>> publishStoreEntries(IntSe
                   .map(this::replaceValueWithLocation);
    }
 
+   @Override
+   protected boolean sendMarshalledStoreEntries() {
+      // The store values must be replaced with the location
+      return false;
+   }
+
    private InternalCacheEntry<Object, Object> replaceValueWithLocation(InternalCacheEntry<Object, Object> ice) {
       if (ice.getMetadata() instanceof RemoteMetadata) {
          return ice;
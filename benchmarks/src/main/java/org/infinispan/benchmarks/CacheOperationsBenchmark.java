@@ -0,0 +1,89 @@
+package org.infinispan.benchmarks;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of the single key and multi key operations of a cache, on randomly chosen keys that are
+ * always present in the cache.
+ *
+ * @since 13.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheOperationsBenchmark {
+
+   /**
+    * The keys and values used by a single benchmark thread, created before every iteration so that the collections
+    * passed to the multi key operations are not allocated while measuring.
+    */
+   @State(Scope.Thread)
+   public static class Batch {
+      @Param("10")
+      public int batchSize;
+
+      Set<String> keys;
+      Map<String, String> entries;
+
+      @Setup(Level.Iteration)
+      public void setup(CacheState state) {
+         keys = new HashSet<>();
+         entries = new HashMap<>();
+         ThreadLocalRandom random = ThreadLocalRandom.current();
+         while (keys.size() < batchSize) {
+            String key = state.key(random.nextInt(state.entries));
+            keys.add(key);
+            entries.put(key, "value-" + random.nextInt());
+         }
+      }
+   }
+
+   @Benchmark
+   public String get(CacheState state) {
+      return state.cache().get(randomKey(state));
+   }
+
+   @Benchmark
+   public String put(CacheState state) {
+      return state.cache().put(randomKey(state), "value");
+   }
+
+   @Benchmark
+   public String compute(CacheState state) {
+      return state.cache().compute(randomKey(state), (k, v) -> v == null ? "value" : v);
+   }
+
+   @Benchmark
+   public Map<String, String> getAll(CacheState state, Batch batch) {
+      return state.cache().getAdvancedCache().getAll(batch.keys);
+   }
+
+   @Benchmark
+   public void putAll(CacheState state, Batch batch) {
+      state.cache().putAll(batch.entries);
+   }
+
+   private static String randomKey(CacheState state) {
+      return state.key(ThreadLocalRandom.current().nextInt(state.entries));
+   }
+}
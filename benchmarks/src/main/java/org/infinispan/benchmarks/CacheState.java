@@ -0,0 +1,168 @@
+package org.infinispan.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.remoting.transport.jgroups.JGroupsTransport;
+import org.infinispan.transaction.TransactionMode;
+import org.infinispan.transaction.lookup.EmbeddedTransactionManagerLookup;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Cache shared by all the threads of a benchmark, with one benchmark run for each combination of cache mode, data
+ * container and transaction mode. Clustered caches are started on {@link #CLUSTER_SIZE} nodes in the same JVM, which
+ * talk through a loopback JGroups stack, and the benchmarks always invoke the operations on the first node.
+ * <p>
+ * The cache is filled with {@link #entries} entries before the measurements start.
+ *
+ * @since 13.0
+ */
+@State(Scope.Benchmark)
+public class CacheState {
+   public static final int CLUSTER_SIZE = 3;
+   public static final String CACHE_NAME = "benchmark";
+
+   /**
+    * The data container of the cache.
+    */
+   public enum Storage {
+      /**
+       * Unbounded on-heap container.
+       */
+      HEAP,
+      /**
+       * On-heap container bounded by the number of entries, sized so that nothing is evicted.
+       */
+      BOUNDED,
+      /**
+       * Unbounded off-heap container.
+       */
+      OFF_HEAP
+   }
+
+   @Param({"LOCAL", "REPL_SYNC", "DIST_SYNC"})
+   public CacheMode cacheMode;
+
+   @Param({"HEAP", "BOUNDED", "OFF_HEAP"})
+   public Storage storage;
+
+   @Param({"false", "true"})
+   public boolean transactional;
+
+   @Param("10000")
+   public int entries;
+
+   private final List<EmbeddedCacheManager> cacheManagers = new ArrayList<>();
+   private Cache<String, String> cache;
+   private String[] keys;
+
+   @Setup(Level.Trial)
+   public void setup() {
+      int nodes = cacheMode.isClustered() ? CLUSTER_SIZE : 1;
+      // Every trial gets its own cluster, so that nodes of a previous trial that are still leaving never join it
+      String clusterName = "benchmark-" + UUID.randomUUID();
+      for (int i = 0; i < nodes; ++i) {
+         EmbeddedCacheManager cacheManager = new DefaultCacheManager(globalConfiguration(clusterName, i).build());
+         cacheManagers.add(cacheManager);
+         cacheManager.defineConfiguration(CACHE_NAME, cacheConfiguration().build());
+      }
+      // Start the caches on all the nodes before writing, so that the writes are not followed by state transfer
+      for (EmbeddedCacheManager cacheManager : cacheManagers) {
+         cacheManager.getCache(CACHE_NAME);
+      }
+      cache = cacheManagers.get(0).getCache(CACHE_NAME);
+
+      keys = new String[entries];
+      Map<String, String> values = new HashMap<>();
+      for (int i = 0; i < entries; ++i) {
+         keys[i] = "key-" + i;
+         values.put(keys[i], "value-" + i);
+      }
+      cache.putAll(values);
+   }
+
+   @TearDown(Level.Trial)
+   public void tearDown() {
+      // Stop the coordinator last, and wait for the owners of the data to be replaced after every leave
+      for (int i = cacheManagers.size() - 1; i >= 0; --i) {
+         cacheManagers.get(i).stop();
+         if (i > 0) {
+            awaitRebalance(cacheManagers.get(0).getCache(CACHE_NAME), i);
+         }
+      }
+      cacheManagers.clear();
+   }
+
+   private static void awaitRebalance(Cache<?, ?> cache, int members) {
+      DistributionManager distributionManager = cache.getAdvancedCache().getDistributionManager();
+      while (distributionManager.getCacheTopology().getMembers().size() != members ||
+            distributionManager.isRehashInProgress()) {
+         LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+      }
+   }
+
+   public Cache<String, String> cache() {
+      return cache;
+   }
+
+   public String key(int index) {
+      return keys[index];
+   }
+
+   private GlobalConfigurationBuilder globalConfiguration(String clusterName, int node) {
+      GlobalConfigurationBuilder builder;
+      if (cacheMode.isClustered()) {
+         builder = GlobalConfigurationBuilder.defaultClusteredBuilder();
+         builder.transport()
+               .clusterName(clusterName)
+               .nodeName("node-" + node)
+               .addProperty(JGroupsTransport.CONFIGURATION_FILE, "benchmark-jgroups.xml");
+      } else {
+         builder = new GlobalConfigurationBuilder().nonClusteredDefault();
+      }
+      builder.cacheManagerName("benchmark-" + node);
+      return builder;
+   }
+
+   private ConfigurationBuilder cacheConfiguration() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(cacheMode);
+      switch (storage) {
+         case HEAP:
+            builder.memory().storage(StorageType.HEAP);
+            break;
+         case BOUNDED:
+            builder.memory().storage(StorageType.HEAP).maxCount(entries);
+            break;
+         case OFF_HEAP:
+            builder.memory().storage(StorageType.OFF_HEAP);
+            break;
+         default:
+            throw new IllegalStateException("Unknown storage " + storage);
+      }
+      if (transactional) {
+         builder.transaction()
+               .transactionMode(TransactionMode.TRANSACTIONAL)
+               .transactionManagerLookup(new EmbeddedTransactionManagerLookup());
+      }
+      return builder;
+   }
+}
@@ -0,0 +1,40 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time of the reductions of a {@link org.infinispan.CacheStream} over all the entries of a cache. With
+ * clustered caches the reductions run on every node and only their results are sent back.
+ *
+ * @since 13.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheStreamBenchmark {
+
+   @Benchmark
+   public long count(CacheState state) {
+      return state.cache().entrySet().stream().count();
+   }
+
+   @Benchmark
+   public long sum(CacheState state) {
+      return state.cache().values().stream().mapToLong(String::length).sum();
+   }
+
+   @Benchmark
+   public String max(CacheState state) {
+      return state.cache().keySet().stream().max(String::compareTo).orElse(null);
+   }
+}
@@ -0,0 +1,91 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryVisited;
+import org.infinispan.notifications.cachelistener.event.CacheEntryVisitedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of {@code get} on a local cache.
+ * <p>
+ * Without listeners, {@code get} reads the data container directly. A {@code CacheEntryVisited} listener forces the
+ * reads through the interceptor chain, and with statistics disabled the key reads skip {@code CacheMgmtInterceptor}
+ * and every other interceptor that does nothing for them. Run with {@code -prof gc} to compare the allocation rate of
+ * the two read paths: the direct path should not allocate anything per read.
+ *
+ * @since 13.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadPathBenchmark {
+   @Param({"false", "true"})
+   public boolean statistics;
+
+   @Param({"false", "true"})
+   public boolean visitedListener;
+
+   @Param("10000")
+   public int entries;
+
+   private EmbeddedCacheManager cacheManager;
+   private Cache<String, String> cache;
+   private String[] keys;
+
+   @Setup(Level.Trial)
+   public void setup() {
+      cacheManager = new DefaultCacheManager(new GlobalConfigurationBuilder().nonClusteredDefault().build());
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.statistics().enabled(statistics);
+      cacheManager.defineConfiguration(CacheState.CACHE_NAME, builder.build());
+      cache = cacheManager.getCache(CacheState.CACHE_NAME);
+      if (visitedListener) {
+         cache.addListener(new VisitedListener());
+      }
+      keys = new String[entries];
+      for (int i = 0; i < entries; ++i) {
+         keys[i] = "key-" + i;
+         cache.put(keys[i], "value-" + i);
+      }
+   }
+
+   @TearDown(Level.Trial)
+   public void tearDown() {
+      cacheManager.stop();
+   }
+
+   @Benchmark
+   public String get() {
+      return cache.get(keys[ThreadLocalRandom.current().nextInt(entries)]);
+   }
+
+   @Listener
+   public static class VisitedListener {
+      @CacheEntryVisited
+      public void onVisit(CacheEntryVisitedEvent<?, ?> event) {
+      }
+   }
+}
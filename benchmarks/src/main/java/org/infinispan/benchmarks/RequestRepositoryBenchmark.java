@@ -0,0 +1,77 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.remoting.responses.Response;
+import org.infinispan.remoting.responses.SuccessfulResponse;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.LocalModeAddress;
+import org.infinispan.remoting.transport.impl.PassthroughSingleResponseCollector;
+import org.infinispan.remoting.transport.impl.RequestRepository;
+import org.infinispan.remoting.transport.impl.SingleTargetRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the life cycle of a request in the {@link RequestRepository} used by the JGroups transport: allocating the
+ * id, registering the request, and completing it with its response, which removes it from the repository.
+ * <p>
+ * Run it with {@code -prof gc} to see the allocations per request.
+ *
+ * @since 13.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestRepositoryBenchmark {
+   private static final Address TARGET = LocalModeAddress.INSTANCE;
+   private static final Response RESPONSE = SuccessfulResponse.SUCCESSFUL_EMPTY_RESPONSE;
+
+   /**
+    * Requests that stay registered during the whole iteration, like the requests waiting for a slow node.
+    */
+   @Param({"0", "1000"})
+   public int pendingRequests;
+
+   private RequestRepository repository;
+
+   @Setup(Level.Iteration)
+   public void setup() {
+      repository = new RequestRepository();
+      for (int i = 0; i < pendingRequests; i++) {
+         repository.addRequest(newRequest());
+      }
+   }
+
+   @TearDown(Level.Iteration)
+   public void tearDown() {
+      repository.forEach(request -> request.cancel(new IllegalStateException("Benchmark iteration finished")));
+   }
+
+   @Benchmark
+   public Response request() {
+      SingleTargetRequest<Response> request = newRequest();
+      repository.addRequest(request);
+      repository.addResponse(request.getRequestId(), TARGET, RESPONSE);
+      return request.getNow(null);
+   }
+
+   private SingleTargetRequest<Response> newRequest() {
+      return new SingleTargetRequest<>(PassthroughSingleResponseCollector.INSTANCE, repository.newRequestId(),
+                                       repository, TARGET);
+   }
+}
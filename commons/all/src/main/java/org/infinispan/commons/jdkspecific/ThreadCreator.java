@@ -8,4 +8,12 @@ public class ThreadCreator {
    public static Thread createThread(ThreadGroup threadGroup, Runnable target, boolean lightweight) {
       return new Thread(threadGroup, target);
    }
+
+   /**
+    * @return {@code true} if {@link #createThread(ThreadGroup, Runnable, boolean)} creates virtual threads when asked
+    * for lightweight threads.
+    */
+   public static boolean isVirtualThreadSupported() {
+      return false;
+   }
 }
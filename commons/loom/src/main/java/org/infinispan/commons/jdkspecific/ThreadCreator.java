@@ -12,4 +12,12 @@ public static Thread createThread(ThreadGroup threadGroup, Runnable target, bool
          return new Thread(threadGroup, target);
       }
    }
+
+   /**
+    * @return {@code true} if {@link #createThread(ThreadGroup, Runnable, boolean)} creates virtual threads when asked
+    * for lightweight threads.
+    */
+   public static boolean isVirtualThreadSupported() {
+      return true;
+   }
 }
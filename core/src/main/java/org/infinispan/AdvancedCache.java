@@ -15,6 +15,7 @@
 
 import org.infinispan.batch.BatchContainer;
 import org.infinispan.cache.impl.DecoratedCache;
+import org.infinispan.cache.impl.GetAllPublisher;
 import org.infinispan.commons.api.TransactionalCache;
 import org.infinispan.commons.dataconversion.Encoder;
 import org.infinispan.commons.dataconversion.MediaType;
@@ -41,6 +42,7 @@
 import org.infinispan.util.concurrent.locks.LockManager;
 import org.infinispan.util.function.SerializableBiFunction;
 import org.infinispan.util.function.SerializableFunction;
+import org.reactivestreams.Publisher;
 
 /**
  * An advanced interface that exposes additional methods not available on {@link Cache}.
@@ -602,6 +604,28 @@ default CompletableFuture<V> mergeAsync(K key, V value, SerializableBiFunction<?
     */
    Map<K, V> getAll(Set<?> keys);
 
+   /**
+    * Retrieves the entries for a set of keys as a {@link Publisher}, emitting them as soon as the node owning them
+    * responds instead of waiting for all of them like {@link #getAll(Set)}.
+    * <p>
+    * The keys are grouped by owner, and at most {@code maxKeysPerOwner} keys are requested from each owner at a time,
+    * so the memory used by a large read stays bounded. Keys that are not found in the cache are not emitted. The
+    * entries are emitted in no particular order.
+    * <p>
+    * The keys are read when the publisher is subscribed to, and again for each subscription. If this is invoked in a
+    * transaction, the entries are read one chunk at a time and stored in the transactional context like with {@link
+    * #getAll(Set)}, and the transaction must not be used for anything else until the publisher completes.
+    *
+    * @param keys The keys whose associated values are to be returned.
+    * @param maxKeysPerOwner The maximum number of keys requested from each owner at a time.
+    * @return A publisher of the entries that were found for the given keys.
+    * @throws NullPointerException if keys is null or if keys contains a null
+    * @since 13.0
+    */
+   default Publisher<Map.Entry<K, V>> getAllPublisher(Set<?> keys, int maxKeysPerOwner) {
+      return GetAllPublisher.create(this, keys, maxKeysPerOwner);
+   }
+
    /**
     * Retrieves a CacheEntry corresponding to a specific key.
     *
@@ -63,6 +63,7 @@
 import org.infinispan.commons.dataconversion.MediaType;
 import org.infinispan.commons.dataconversion.Wrapper;
 import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.EnumUtil;
 import org.infinispan.commons.util.InfinispanCollections;
 import org.infinispan.commons.util.Util;
@@ -173,6 +174,7 @@
    @Inject StateTransferManager stateTransferManager;
    @Inject InvocationHelper invocationHelper;
    @Inject StorageConfigurationManager storageConfigurationManager;
+   @Inject TimeService timeService;
    // TODO Remove after all ISPN-11584 is fixed and the AdvancedCache methods are implemented in EncoderCache
    @Inject ComponentRef<AdvancedCache> encoderCache;
 
@@ -181,6 +183,7 @@
    private volatile boolean stopping = false;
    private boolean transactional;
    private boolean batchingEnabled;
+   private LocalReadPath<K, V> localReadPath;
    private final ContextBuilder nonTxContextBuilder = this::nonTxContextBuilder;
 
    public CacheImpl(String name) {
@@ -196,6 +199,10 @@ public void preStart() {
       defaultMetadata = Configurations.newDefaultMetadata(config);
       transactional = config.transaction().transactionMode().isTransactional();
       batchingEnabled = config.invocationBatching().enabled();
+      if (LocalReadPath.isSupported(config)) {
+         localReadPath = new LocalReadPath<>(componentRegistry, invoker, dataContainer, expirationManager, notifier,
+               keyPartitioner, timeService);
+      }
    }
 
    private void assertKeyNotNull(Object key) {
@@ -534,6 +541,12 @@ public final boolean containsValue(Object value) {
 
    @Override
    public final V get(Object key) {
+      if (localReadPath != null) {
+         assertKeyNotNull(key);
+         Object value = localReadPath.get(key);
+         if (value != LocalReadPath.FALLBACK)
+            return (V) value;
+      }
       return get(key, EnumUtil.EMPTY_BIT_SET, invocationContextFactory.createInvocationContext(false, 1));
    }
 
@@ -0,0 +1,129 @@
+package org.infinispan.cache.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+import javax.transaction.InvalidTransactionException;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commons.CacheException;
+import org.infinispan.distribution.DistributionInfo;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.encoding.DataConversion;
+import org.infinispan.remoting.transport.Address;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.rxjava3.core.Flowable;
+
+/**
+ * Implementation of {@link AdvancedCache#getAllPublisher(Set, int)}.
+ * <p>
+ * The keys are grouped by the node that would serve them: the local node if it is a read owner, or the primary owner
+ * otherwise. Each group is split in chunks of at most {@code maxKeysPerOwner} keys, and each chunk is read with
+ * {@link AdvancedCache#getAllAsync(Set)} after the previous chunk of the same group completed. The groups are read in
+ * parallel, and the entries are emitted as soon as each chunk completes.
+ * <p>
+ * The keys are only grouped with the topology at the time of the subscription. If the topology changes, the
+ * {@code getAllAsync} of each chunk still finds the current owners, only with more than one RPC.
+ * <p>
+ * The transaction of the subscribing thread, if any, is resumed around the {@code getAllAsync} of each chunk, because
+ * the chunks after the first one are read from the thread that completed the previous chunk. The chunks are then
+ * read one at a time, as a transaction doesn't support concurrent operations.
+ *
+ * @since 13.0
+ */
+public final class GetAllPublisher {
+   private GetAllPublisher() { }
+
+   public static <K, V> Publisher<Map.Entry<K, V>> create(AdvancedCache<K, V> cache, Set<?> keys,
+                                                          int maxKeysPerOwner) {
+      Objects.requireNonNull(keys, "keys");
+      if (maxKeysPerOwner <= 0)
+         throw new IllegalArgumentException("maxKeysPerOwner must be positive, but was " + maxKeysPerOwner);
+
+      return Flowable.defer(() -> {
+         Collection<List<Object>> groups = groupByOwner(cache, keys);
+         TransactionManager transactionManager = cache.getTransactionManager();
+         Transaction transaction = transactionManager != null ? transactionManager.getTransaction() : null;
+         // Transactions don't support concurrent operations, so the chunks are read one at a time
+         boolean transactional = cache.getCacheConfiguration().transaction().transactionMode().isTransactional();
+         int maxConcurrency = transactional ? 1 : Math.max(groups.size(), 1);
+         // Only request the next chunk of entries when the previous one was consumed
+         return Flowable.fromIterable(groups)
+                        .flatMap(group -> readGroup(cache, group, maxKeysPerOwner, transactionManager, transaction),
+                                 false, maxConcurrency, 1);
+      });
+   }
+
+   private static <K, V> Flowable<Map.Entry<K, V>> readGroup(AdvancedCache<K, V> cache, List<Object> group,
+                                                            int maxKeysPerOwner, TransactionManager transactionManager,
+                                                            Transaction transaction) {
+      int chunks = (group.size() + maxKeysPerOwner - 1) / maxKeysPerOwner;
+      return Flowable.range(0, chunks)
+                     .concatMap(chunk -> {
+                        int from = chunk * maxKeysPerOwner;
+                        int to = Math.min(from + maxKeysPerOwner, group.size());
+                        Set<Object> chunkKeys = new HashSet<>(group.subList(from, to));
+                        return Flowable.fromCompletionStage(getAll(cache, chunkKeys, transactionManager, transaction));
+                     }, 1)
+                     .concatMapIterable(Map::entrySet, 1);
+   }
+
+   private static <K, V> CompletionStage<Map<K, V>> getAll(AdvancedCache<K, V> cache, Set<?> keys,
+                                                          TransactionManager transactionManager,
+                                                          Transaction transaction) throws SystemException {
+      if (transaction == null) {
+         return cache.getAllAsync(keys);
+      }
+      // The chunk may be read from another thread, with another transaction or none
+      Transaction threadTransaction = transactionManager.suspend();
+      try {
+         transactionManager.resume(transaction);
+         try {
+            return cache.getAllAsync(keys);
+         } finally {
+            transactionManager.suspend();
+         }
+      } catch (InvalidTransactionException e) {
+         throw new CacheException("Unable to resume transaction " + transaction, e);
+      } finally {
+         if (threadTransaction != null) {
+            try {
+               transactionManager.resume(threadTransaction);
+            } catch (InvalidTransactionException e) {
+               throw new CacheException("Unable to resume transaction " + threadTransaction, e);
+            }
+         }
+      }
+   }
+
+   private static Collection<List<Object>> groupByOwner(AdvancedCache<?, ?> cache, Set<?> keys) {
+      DistributionManager distributionManager = cache.getDistributionManager();
+      if (distributionManager == null) {
+         return keys.isEmpty() ? Collections.emptyList() : Collections.singletonList(new ArrayList<>(keys));
+      }
+
+      LocalizedCacheTopology topology = distributionManager.getCacheTopology();
+      DataConversion keyDataConversion = cache.getKeyDataConversion();
+      Map<Address, List<Object>> groups = new LinkedHashMap<>();
+      for (Object key : keys) {
+         Objects.requireNonNull(key, "key");
+         DistributionInfo info = topology.getDistribution(keyDataConversion.toStorage(key));
+         Address owner = info.isReadOwner() ? topology.getLocalAddress() : info.primary();
+         groups.computeIfAbsent(owner, a -> new ArrayList<>()).add(key);
+      }
+      return groups.values();
+   }
+}
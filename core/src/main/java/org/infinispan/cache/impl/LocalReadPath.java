@@ -0,0 +1,148 @@
+package org.infinispan.cache.impl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commands.read.GetKeyValueCommand;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.expiration.impl.InternalExpirationManager;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.interceptors.AsyncInterceptor;
+import org.infinispan.interceptors.AsyncInterceptorChain;
+import org.infinispan.interceptors.impl.CacheMgmtInterceptor;
+import org.infinispan.interceptors.impl.CallInterceptor;
+import org.infinispan.interceptors.impl.EntryWrappingInterceptor;
+import org.infinispan.interceptors.impl.InvocationContextInterceptor;
+import org.infinispan.interceptors.locking.NonTransactionalLockingInterceptor;
+import org.infinispan.notifications.cachelistener.CacheNotifier;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryVisited;
+import org.infinispan.util.concurrent.CompletionStages;
+
+/**
+ * Reads a key directly from the data container, without creating an invocation context and a command and without
+ * going through the interceptor chain.
+ * <p>
+ * Only local, non-transactional caches without stores can use it, because in other caches the interceptors may have
+ * to load the entry, fetch it from another node or register it in a transaction. The interceptor chain is checked
+ * every time it changes: it may only contain the interceptors of a local cache that {@link CacheImpl#get(Object)}
+ * replicates here, or interceptors that are pass-through for {@link GetKeyValueCommand}. Caches with
+ * {@link CacheEntryVisited} listeners also use the interceptor chain.
+ * <p>
+ * {@link #get(Object)} returns {@link #FALLBACK} when the caller should invoke a command instead, e.g. when the cache is
+ * stopping or when removing an expired entry does not complete immediately.
+ *
+ * @since 13.0
+ */
+final class LocalReadPath<K, V> {
+   static final Object FALLBACK = new Object();
+
+   private final ComponentRegistry componentRegistry;
+   private final AsyncInterceptorChain interceptorChain;
+   private final InternalDataContainer<K, V> dataContainer;
+   private final InternalExpirationManager<K, V> expirationManager;
+   private final CacheNotifier<K, V> notifier;
+   private final KeyPartitioner keyPartitioner;
+   private final TimeService timeService;
+
+   private volatile ChainCheck chainCheck = new ChainCheck(Collections.emptyList(), false, null);
+
+   LocalReadPath(ComponentRegistry componentRegistry, AsyncInterceptorChain interceptorChain,
+                 InternalDataContainer<K, V> dataContainer, InternalExpirationManager<K, V> expirationManager,
+                 CacheNotifier<K, V> notifier, KeyPartitioner keyPartitioner, TimeService timeService) {
+      this.componentRegistry = componentRegistry;
+      this.interceptorChain = interceptorChain;
+      this.dataContainer = dataContainer;
+      this.expirationManager = expirationManager;
+      this.notifier = notifier;
+      this.keyPartitioner = keyPartitioner;
+      this.timeService = timeService;
+   }
+
+   static boolean isSupported(Configuration configuration) {
+      return !configuration.clustering().cacheMode().isClustered() &&
+            !configuration.transaction().transactionMode().isTransactional() &&
+            !configuration.invocationBatching().enabled() &&
+            !configuration.persistence().usingStores();
+   }
+
+   /**
+    * @return The value of the key, {@code null} if the key doesn't exist or {@link #FALLBACK} if the read must go
+    * through the interceptor chain.
+    */
+   Object get(Object key) {
+      if (!componentRegistry.getStatus().allowInvocations() || notifier.hasListener(CacheEntryVisited.class))
+         return FALLBACK;
+
+      ChainCheck check = checkChain();
+      if (!check.allowed)
+         return FALLBACK;
+
+      CacheMgmtInterceptor statsInterceptor = check.statsInterceptor;
+      boolean statisticsEnabled = statsInterceptor != null && statsInterceptor.getStatisticsEnabled();
+      long start = statisticsEnabled ? timeService.time() : 0;
+
+      int segment = keyPartitioner.getSegment(key);
+      InternalCacheEntry<K, V> entry = dataContainer.peek(segment, key);
+      if (entry != null && entry.canExpire()) {
+         CompletionStage<Boolean> expiredStage = expirationManager.handlePossibleExpiration(entry, segment, false);
+         if (!CompletionStages.isCompletedSuccessfully(expiredStage)) {
+            // Let the interceptors wait for the removal without blocking this thread
+            return FALLBACK;
+         }
+         if (CompletionStages.join(expiredStage)) {
+            entry = null;
+         }
+      }
+      V value = entry != null ? entry.getValue() : null;
+      if (statisticsEnabled) {
+         statsInterceptor.addDataRead(value != null, timeService.timeDuration(start, TimeUnit.NANOSECONDS));
+      }
+      return value;
+   }
+
+   private ChainCheck checkChain() {
+      // The chain replaces the list every time an interceptor is added or removed
+      List<AsyncInterceptor> interceptors = interceptorChain.getInterceptors();
+      ChainCheck check = chainCheck;
+      if (check.interceptors != interceptors) {
+         check = ChainCheck.check(interceptors);
+         chainCheck = check;
+      }
+      return check;
+   }
+
+   private static final class ChainCheck {
+      final List<AsyncInterceptor> interceptors;
+      final boolean allowed;
+      final CacheMgmtInterceptor statsInterceptor;
+
+      ChainCheck(List<AsyncInterceptor> interceptors, boolean allowed, CacheMgmtInterceptor statsInterceptor) {
+         this.interceptors = interceptors;
+         this.allowed = allowed;
+         this.statsInterceptor = statsInterceptor;
+      }
+
+      static ChainCheck check(List<AsyncInterceptor> interceptors) {
+         CacheMgmtInterceptor statsInterceptor = null;
+         for (AsyncInterceptor interceptor : interceptors) {
+            Class<?> interceptorClass = interceptor.getClass();
+            if (interceptorClass == CacheMgmtInterceptor.class) {
+               statsInterceptor = (CacheMgmtInterceptor) interceptor;
+            } else if (interceptorClass != InvocationContextInterceptor.class &&
+                  interceptorClass != NonTransactionalLockingInterceptor.class &&
+                  interceptorClass != EntryWrappingInterceptor.class &&
+                  interceptorClass != CallInterceptor.class &&
+                  !interceptor.isPassThrough(GetKeyValueCommand.class)) {
+               return new ChainCheck(interceptors, false, null);
+            }
+         }
+         return new ChainCheck(interceptors, !interceptors.isEmpty(), statsInterceptor);
+      }
+   }
+}
@@ -44,6 +44,7 @@
 import org.infinispan.commands.remote.ClusteredGetAllCommand;
 import org.infinispan.commands.remote.ClusteredGetCommand;
 import org.infinispan.commands.remote.GetKeysInGroupCommand;
+import org.infinispan.commands.remote.MultipleRpcCommand;
 import org.infinispan.commands.remote.RenewBiasCommand;
 import org.infinispan.commands.remote.RevokeBiasCommand;
 import org.infinispan.commands.remote.SingleRpcCommand;
@@ -51,6 +52,7 @@
 import org.infinispan.commands.remote.recovery.GetInDoubtTransactionsCommand;
 import org.infinispan.commands.remote.recovery.GetInDoubtTxInfoCommand;
 import org.infinispan.commands.remote.recovery.TxCompletionNotificationCommand;
+import org.infinispan.commands.statetransfer.ConflictResolutionDigestCommand;
 import org.infinispan.commands.statetransfer.ConflictResolutionStartCommand;
 import org.infinispan.commands.statetransfer.ScatteredStateConfirmRevokedCommand;
 import org.infinispan.commands.statetransfer.ScatteredStateGetKeysCommand;
@@ -410,6 +412,13 @@ default SingleRpcCommand buildSingleRpcCommand(ReplicableCommand call) {
     */
    SingleRpcCommand buildSingleRpcCommand(VisitableCommand command);
 
+   /**
+    * Builds a MultipleRpcCommand "envelope" containing several independent commands sent to the same node
+    * @param commands VisitableCommands to include in the envelope
+    * @return a MultipleRpcCommand
+    */
+   MultipleRpcCommand buildMultipleRpcCommand(VisitableCommand[] commands);
+
    /**
     * Builds a ClusteredGetCommand, which is a remote lookup command
     * @param key key to look up
@@ -448,6 +457,10 @@ default SingleRpcCommand buildSingleRpcCommand(ReplicableCommand call) {
 
    ConflictResolutionStartCommand buildConflictResolutionStartCommand(int topologyId, IntSet segments);
 
+   ConflictResolutionStartCommand buildConflictResolutionStartCommand(int topologyId, IntSet segments, long bucketMask);
+
+   ConflictResolutionDigestCommand buildConflictResolutionDigestCommand(int topologyId, IntSet segments);
+
    StateTransferCancelCommand buildStateTransferCancelCommand(int topologyId, IntSet segments);
 
    StateTransferGetListenersCommand buildStateTransferGetListenersCommand(int topologyId);
@@ -456,6 +469,9 @@ default SingleRpcCommand buildSingleRpcCommand(ReplicableCommand call) {
 
    StateTransferStartCommand buildStateTransferStartCommand(int topologyId, IntSet segments);
 
+   StateTransferStartCommand buildStateTransferStartCommand(int topologyId, IntSet segments,
+                                                            Map<Integer, Long> bucketMasks);
+
    ScatteredStateGetKeysCommand buildScatteredStateGetKeysCommand(int topologyId, IntSet segments);
 
    ScatteredStateConfirmRevokedCommand buildScatteredStateConfirmRevokeCommand(int topologyId, IntSet segments);
@@ -45,6 +45,7 @@
 import org.infinispan.commands.remote.ClusteredGetAllCommand;
 import org.infinispan.commands.remote.ClusteredGetCommand;
 import org.infinispan.commands.remote.GetKeysInGroupCommand;
+import org.infinispan.commands.remote.MultipleRpcCommand;
 import org.infinispan.commands.remote.RenewBiasCommand;
 import org.infinispan.commands.remote.RevokeBiasCommand;
 import org.infinispan.commands.remote.SingleRpcCommand;
@@ -52,6 +53,7 @@
 import org.infinispan.commands.remote.recovery.GetInDoubtTransactionsCommand;
 import org.infinispan.commands.remote.recovery.GetInDoubtTxInfoCommand;
 import org.infinispan.commands.remote.recovery.TxCompletionNotificationCommand;
+import org.infinispan.commands.statetransfer.ConflictResolutionDigestCommand;
 import org.infinispan.commands.statetransfer.ConflictResolutionStartCommand;
 import org.infinispan.commands.statetransfer.ScatteredStateConfirmRevokedCommand;
 import org.infinispan.commands.statetransfer.ScatteredStateGetKeysCommand;
@@ -311,6 +313,11 @@ public SingleRpcCommand buildSingleRpcCommand(VisitableCommand call) {
       return new SingleRpcCommand(cacheName, call);
    }
 
+   @Override
+   public MultipleRpcCommand buildMultipleRpcCommand(VisitableCommand[] commands) {
+      return new MultipleRpcCommand(cacheName, commands);
+   }
+
    @Override
    public ClusteredGetCommand buildClusteredGetCommand(Object key, Integer segment, long flagsBitSet) {
       return new ClusteredGetCommand(key, cacheName, segment, flagsBitSet);
@@ -353,6 +360,17 @@ public ConflictResolutionStartCommand buildConflictResolutionStartCommand(int to
       return new ConflictResolutionStartCommand(cacheName, topologyId, segments);
    }
 
+   @Override
+   public ConflictResolutionStartCommand buildConflictResolutionStartCommand(int topologyId, IntSet segments,
+                                                                             long bucketMask) {
+      return new ConflictResolutionStartCommand(cacheName, topologyId, segments, bucketMask);
+   }
+
+   @Override
+   public ConflictResolutionDigestCommand buildConflictResolutionDigestCommand(int topologyId, IntSet segments) {
+      return new ConflictResolutionDigestCommand(cacheName, topologyId, segments);
+   }
+
    @Override
    public ScatteredStateConfirmRevokedCommand buildScatteredStateConfirmRevokeCommand(int topologyId, IntSet segments) {
       return new ScatteredStateConfirmRevokedCommand(cacheName, topologyId, segments);
@@ -383,6 +401,12 @@ public StateTransferStartCommand buildStateTransferStartCommand(int topologyId,
       return new StateTransferStartCommand(cacheName, topologyId, segments);
    }
 
+   @Override
+   public StateTransferStartCommand buildStateTransferStartCommand(int topologyId, IntSet segments,
+                                                                   Map<Integer, Long> bucketMasks) {
+      return new StateTransferStartCommand(cacheName, topologyId, segments, bucketMasks);
+   }
+
    @Override
    public StateResponseCommand buildStateResponseCommand(int topologyId, Collection<StateChunk> stateChunks, boolean applyState, boolean pushTransfer) {
       return new StateResponseCommand(cacheName, topologyId, stateChunks, applyState, pushTransfer);
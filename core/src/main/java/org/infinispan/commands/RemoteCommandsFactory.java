@@ -32,6 +32,7 @@
 import org.infinispan.commands.remote.ClusteredGetAllCommand;
 import org.infinispan.commands.remote.ClusteredGetCommand;
 import org.infinispan.commands.remote.GetKeysInGroupCommand;
+import org.infinispan.commands.remote.MultipleRpcCommand;
 import org.infinispan.commands.remote.RenewBiasCommand;
 import org.infinispan.commands.remote.RevokeBiasCommand;
 import org.infinispan.commands.remote.SingleRpcCommand;
@@ -39,6 +40,7 @@
 import org.infinispan.commands.remote.recovery.GetInDoubtTransactionsCommand;
 import org.infinispan.commands.remote.recovery.GetInDoubtTxInfoCommand;
 import org.infinispan.commands.remote.recovery.TxCompletionNotificationCommand;
+import org.infinispan.commands.statetransfer.ConflictResolutionDigestCommand;
 import org.infinispan.commands.statetransfer.ConflictResolutionStartCommand;
 import org.infinispan.commands.statetransfer.ScatteredStateConfirmRevokedCommand;
 import org.infinispan.commands.statetransfer.ScatteredStateGetKeysCommand;
@@ -322,12 +324,18 @@ public CacheRpcCommand fromStream(byte id, byte type, ByteString cacheName) {
             case SingleRpcCommand.COMMAND_ID:
                command = new SingleRpcCommand(cacheName);
                break;
+            case MultipleRpcCommand.COMMAND_ID:
+               command = new MultipleRpcCommand(cacheName);
+               break;
             case ClusteredGetCommand.COMMAND_ID:
                command = new ClusteredGetCommand(cacheName);
                break;
             case ConflictResolutionStartCommand.COMMAND_ID:
                command = new ConflictResolutionStartCommand(cacheName);
                break;
+            case ConflictResolutionDigestCommand.COMMAND_ID:
+               command = new ConflictResolutionDigestCommand(cacheName);
+               break;
             case ScatteredStateConfirmRevokedCommand.COMMAND_ID:
                command = new ScatteredStateConfirmRevokedCommand(cacheName);
                break;
@@ -0,0 +1,78 @@
+package org.infinispan.commands.remote;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.util.ByteString;
+
+/**
+ * Aggregates several independent commands sent to the same node in a single message.
+ * <p>
+ * The receiver does not invoke this command, {@link org.infinispan.remoting.inboundhandler.GlobalInboundInvocationHandler}
+ * handles each of the commands as a separate {@link SingleRpcCommand}, in the order they were added. The response is
+ * a {@link org.infinispan.remoting.responses.SuccessfulResponse} with an array holding the response of each command.
+ *
+ * @since 13.0
+ */
+public class MultipleRpcCommand extends BaseRpcCommand {
+
+   public static final byte COMMAND_ID = 37;
+
+   private VisitableCommand[] commands;
+
+   private MultipleRpcCommand() {
+      super(null); // For command id uniqueness test
+   }
+
+   public MultipleRpcCommand(ByteString cacheName, VisitableCommand[] commands) {
+      super(cacheName);
+      this.commands = commands;
+   }
+
+   public MultipleRpcCommand(ByteString cacheName) {
+      super(cacheName);
+   }
+
+   @Override
+   public byte getCommandId() {
+      return COMMAND_ID;
+   }
+
+   @Override
+   public void writeTo(ObjectOutput output) throws IOException {
+      MarshallUtil.marshallArray(commands, output);
+   }
+
+   @Override
+   public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
+      commands = MarshallUtil.unmarshallArray(input, VisitableCommand[]::new);
+   }
+
+   @Override
+   public CompletionStage<?> invokeAsync(ComponentRegistry componentRegistry) {
+      throw new IllegalStateException("The commands of a MultipleRpcCommand must be handled separately");
+   }
+
+   public VisitableCommand[] getCommands() {
+      return commands;
+   }
+
+   @Override
+   public boolean isReturnValueExpected() {
+      return true;
+   }
+
+   @Override
+   public String toString() {
+      return "MultipleRpcCommand{" +
+            "cacheName='" + cacheName + '\'' +
+            ", commands=" + Arrays.toString(commands) +
+            '}';
+   }
+}
@@ -0,0 +1,47 @@
+package org.infinispan.commands.statetransfer;
+
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.statetransfer.StateProvider;
+import org.infinispan.util.ByteString;
+
+/**
+ * Get the digests of the entries in the given segments before conflict resolution.
+ *
+ * @since 13.0
+ * @see org.infinispan.conflict.impl.ReplicaDigest
+ */
+public class ConflictResolutionDigestCommand extends AbstractStateTransferCommand {
+
+   public static final byte COMMAND_ID = 113;
+
+   // For command id uniqueness test only
+   public ConflictResolutionDigestCommand() {
+      this(null);
+   }
+
+   public ConflictResolutionDigestCommand(ByteString cacheName) {
+      super(COMMAND_ID, cacheName);
+   }
+
+   public ConflictResolutionDigestCommand(ByteString cacheName, int topologyId, IntSet segments) {
+      super(COMMAND_ID, cacheName, topologyId, segments);
+   }
+
+   @Override
+   public CompletionStage<?> invokeAsync(ComponentRegistry registry) throws Throwable {
+      StateProvider stateProvider = registry.getStateTransferManager().getStateProvider();
+      return stateProvider.getReplicaDigests(segments);
+   }
+
+   @Override
+   public String toString() {
+      return "ConflictResolutionDigestCommand{" +
+            "topologyId=" + topologyId +
+            ", segments=" + segments +
+            ", cacheName=" + cacheName +
+            '}';
+   }
+}
@@ -1,8 +1,12 @@
 package org.infinispan.commands.statetransfer;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.concurrent.CompletionStage;
 
 import org.infinispan.commons.util.IntSet;
+import org.infinispan.conflict.impl.ReplicaDigest;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.statetransfer.StateProvider;
 import org.infinispan.util.ByteString;
@@ -18,6 +22,8 @@ public class ConflictResolutionStartCommand extends AbstractStateTransferCommand
 
    public static final byte COMMAND_ID = 112;
 
+   private long bucketMask;
+
    // For command id uniqueness test only
    public ConflictResolutionStartCommand() {
       this(null);
@@ -28,21 +34,39 @@ public ConflictResolutionStartCommand(ByteString cacheName) {
    }
 
    public ConflictResolutionStartCommand(ByteString cacheName, int topologyId, IntSet segments) {
+      this(cacheName, topologyId, segments, ReplicaDigest.ALL_BUCKETS);
+   }
+
+   public ConflictResolutionStartCommand(ByteString cacheName, int topologyId, IntSet segments, long bucketMask) {
       super(COMMAND_ID, cacheName, topologyId, segments);
+      this.bucketMask = bucketMask;
    }
 
    @Override
    public CompletionStage<?> invokeAsync(ComponentRegistry registry) throws Throwable {
       StateProvider stateProvider = registry.getStateTransferManager().getStateProvider();
-      stateProvider.startOutboundTransfer(origin, topologyId, segments, false);
+      stateProvider.startConflictResolutionTransfer(origin, topologyId, segments, bucketMask);
       return CompletableFutures.completedNull();
    }
 
+   @Override
+   public void writeTo(ObjectOutput output) throws IOException {
+      super.writeTo(output);
+      output.writeLong(bucketMask);
+   }
+
+   @Override
+   public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
+      super.readFrom(input);
+      bucketMask = input.readLong();
+   }
+
    @Override
    public String toString() {
       return "ConflictResolutionStartCommand{" +
             "topologyId=" + topologyId +
             ", segments=" + segments +
+            ", bucketMask=" + Long.toHexString(bucketMask) +
             ", cacheName=" + cacheName +
             '}';
    }
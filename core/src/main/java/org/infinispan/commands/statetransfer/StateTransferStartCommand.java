@@ -1,7 +1,15 @@
 package org.infinispan.commands.statetransfer;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CompletionStage;
 
+import org.infinispan.commons.marshall.MarshallUtil;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.statetransfer.StateProvider;
@@ -18,6 +26,9 @@ public class StateTransferStartCommand extends AbstractStateTransferCommand {
 
    public static final byte COMMAND_ID = 116;
 
+   // The buckets to send for each segment, null to send all the entries
+   private Map<Integer, Long> bucketMasks;
+
    // For command id uniqueness test only
    public StateTransferStartCommand() {
       this(null);
@@ -28,21 +39,44 @@ public StateTransferStartCommand(ByteString cacheName) {
    }
 
    public StateTransferStartCommand(ByteString cacheName, int topologyId, IntSet segments) {
+      this(cacheName, topologyId, segments, null);
+   }
+
+   public StateTransferStartCommand(ByteString cacheName, int topologyId, IntSet segments,
+                                    Map<Integer, Long> bucketMasks) {
       super(COMMAND_ID, cacheName, topologyId, segments);
+      this.bucketMasks = bucketMasks;
    }
 
    @Override
    public CompletionStage<?> invokeAsync(ComponentRegistry registry) throws Throwable {
       StateProvider stateProvider = registry.getStateTransferManager().getStateProvider();
-      stateProvider.startOutboundTransfer(origin, topologyId, segments, true);
+      if (bucketMasks == null) {
+         stateProvider.startOutboundTransfer(origin, topologyId, segments, true);
+      } else {
+         stateProvider.startDeltaTransfer(origin, topologyId, segments, bucketMasks);
+      }
       return CompletableFutures.completedNull();
    }
 
+   @Override
+   public void writeTo(ObjectOutput output) throws IOException {
+      super.writeTo(output);
+      MarshallUtil.marshallMap(bucketMasks, DataOutput::writeInt, DataOutput::writeLong, output);
+   }
+
+   @Override
+   public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
+      super.readFrom(input);
+      bucketMasks = MarshallUtil.unmarshallMap(input, DataInput::readInt, DataInput::readLong, HashMap::new);
+   }
+
    @Override
    public String toString() {
       return "StateTransferStartCommand{" +
             "topologyId=" + topologyId +
             ", segments=" + segments +
+            ", bucketMasks=" + bucketMasks +
             ", cacheName=" + cacheName +
             '}';
    }
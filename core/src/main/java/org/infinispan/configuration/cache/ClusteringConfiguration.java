@@ -58,10 +58,16 @@ public Object readAttributeValue(String enclosing, AttributeDefinition attribute
    public static final AttributeDefinition<Integer> INVALIDATION_BATCH_SIZE = AttributeDefinition.builder("invalidationBatchSize",  128).immutable().build();
    public static final AttributeDefinition<BiasAcquisition> BIAS_ACQUISITION = AttributeDefinition.builder("biasAcquisition", BiasAcquisition.ON_WRITE).immutable().build();
    public static final AttributeDefinition<Long> BIAS_LIFESPAN = AttributeDefinition.builder("biasLifespan", TimeUnit.MINUTES.toMillis(5)).immutable().build();
+   public static final AttributeDefinition<Long> WRITE_COALESCING_DELAY = AttributeDefinition.builder("writeCoalescingDelay", 0L).immutable().build();
+   public static final AttributeDefinition<Integer> WRITE_COALESCING_MAX_BATCH_SIZE = AttributeDefinition.builder("writeCoalescingMaxBatchSize", 64).immutable().build();
+   public static final AttributeDefinition<Boolean> READ_FROM_FASTEST_OWNER = AttributeDefinition.builder("readFromFastestOwner", false).immutable().build();
+   public static final AttributeDefinition<Long> CLUSTER_LISTENER_BATCH_DELAY = AttributeDefinition.builder("clusterListenerBatchDelay", 0L).immutable().build();
    private final List<ConfigurationInfo> elements;
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(ClusteringConfiguration.class, CACHE_MODE, REMOTE_TIMEOUT, INVALIDATION_BATCH_SIZE, BIAS_ACQUISITION, BIAS_LIFESPAN);
+      return new AttributeSet(ClusteringConfiguration.class, CACHE_MODE, REMOTE_TIMEOUT, INVALIDATION_BATCH_SIZE, BIAS_ACQUISITION, BIAS_LIFESPAN,
+            WRITE_COALESCING_DELAY, WRITE_COALESCING_MAX_BATCH_SIZE, READ_FROM_FASTEST_OWNER,
+            CLUSTER_LISTENER_BATCH_DELAY);
    }
 
    public static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(CLUSTERING.getLocalName(), false);
@@ -144,6 +150,37 @@ public long biasLifespan() {
       return attributes.attribute(BIAS_LIFESPAN).get();
    }
 
+   /**
+    * The time (in microseconds) that a write sent to the primary owner of its key waits for other writes to the same
+    * node, so that they are all sent in a single message. 0 means that writes are never coalesced.
+    */
+   public long writeCoalescingDelay() {
+      return attributes.attribute(WRITE_COALESCING_DELAY).get();
+   }
+
+   /**
+    * The maximum number of writes sent in a single message when write coalescing is enabled.
+    */
+   public int writeCoalescingMaxBatchSize() {
+      return attributes.attribute(WRITE_COALESCING_MAX_BATCH_SIZE).get();
+   }
+
+   /**
+    * Whether remote reads are sent first to the owner with the lowest recent response times instead of the primary
+    * owner.
+    */
+   public boolean readFromFastestOwner() {
+      return attributes.attribute(READ_FROM_FASTEST_OWNER).get();
+   }
+
+   /**
+    * The time (in milliseconds) that the events for async cluster listeners are kept, so that all the events for the
+    * same node are sent in a single message. 0 means that events are sent at the end of each operation.
+    */
+   public long clusterListenerBatchDelay() {
+      return attributes.attribute(CLUSTER_LISTENER_BATCH_DELAY).get();
+   }
+
    /**
     * Configure hash sub element
     */
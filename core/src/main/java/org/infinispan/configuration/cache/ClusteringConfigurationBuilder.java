@@ -3,8 +3,12 @@
 import static org.infinispan.configuration.cache.ClusteringConfiguration.BIAS_ACQUISITION;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.BIAS_LIFESPAN;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.CACHE_MODE;
+import static org.infinispan.configuration.cache.ClusteringConfiguration.CLUSTER_LISTENER_BATCH_DELAY;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.INVALIDATION_BATCH_SIZE;
+import static org.infinispan.configuration.cache.ClusteringConfiguration.READ_FROM_FASTEST_OWNER;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.REMOTE_TIMEOUT;
+import static org.infinispan.configuration.cache.ClusteringConfiguration.WRITE_COALESCING_DELAY;
+import static org.infinispan.configuration.cache.ClusteringConfiguration.WRITE_COALESCING_MAX_BATCH_SIZE;
 import static org.infinispan.util.logging.Log.CONFIG;
 
 import java.util.ArrayList;
@@ -112,6 +116,47 @@ public ClusteringConfigurationBuilder biasLifespan(long l, TimeUnit unit) {
       return this;
    }
 
+   /**
+    * The time that a write sent to the primary owner of its key waits for other writes to the same node, so that they
+    * are all sent in a single message. Each write still gets its own response. Only applies to the single key writes
+    * of non-transactional caches. The delay is stored with microsecond precision, 0 means that writes are never
+    * coalesced.
+    */
+   public ClusteringConfigurationBuilder writeCoalescingDelay(long delay, TimeUnit unit) {
+      attributes.attribute(WRITE_COALESCING_DELAY).set(unit.toMicros(delay));
+      return this;
+   }
+
+   /**
+    * The maximum number of writes sent in a single message when write coalescing is enabled. A batch that reaches this
+    * size is sent without waiting for the rest of the delay.
+    */
+   public ClusteringConfigurationBuilder writeCoalescingMaxBatchSize(int maxBatchSize) {
+      attributes.attribute(WRITE_COALESCING_MAX_BATCH_SIZE).set(maxBatchSize);
+      return this;
+   }
+
+   /**
+    * Send remote reads first to the owner with the lowest recent response times, instead of the primary owner. The
+    * other owners are still asked if the first one does not respond in time. Only applies to non-transactional
+    * caches, transactional caches always read from the primary owner first.
+    */
+   public ClusteringConfigurationBuilder readFromFastestOwner(boolean readFromFastestOwner) {
+      attributes.attribute(READ_FROM_FASTEST_OWNER).set(readFromFastestOwner);
+      return this;
+   }
+
+   /**
+    * The time that the events for async cluster listeners are kept, so that all the events for the same node are sent
+    * in a single message. Listeners with {@link org.infinispan.notifications.Listener#coalesceClusterEvents()} only
+    * receive the latest event for each key in a batch. Sync cluster listeners are not affected.
+    * The delay is stored with millisecond precision, 0 means that events are sent at the end of each operation.
+    */
+   public ClusteringConfigurationBuilder clusterListenerBatchDelay(long delay, TimeUnit unit) {
+      attributes.attribute(CLUSTER_LISTENER_BATCH_DELAY).set(unit.toMillis(delay));
+      return this;
+   }
+
    /**
     * Configure hash sub element
     */
@@ -171,6 +216,18 @@ public void validate() {
          if (hash().numOwners() == 1 && partitionHandling().whenSplit() != PartitionHandling.ALLOW_READ_WRITES)
             throw CONFIG.singleOwnerNotSetToAllowReadWrites();
       }
+      long writeCoalescingDelay = attributes.attribute(WRITE_COALESCING_DELAY).get();
+      if (writeCoalescingDelay < 0) {
+         throw CONFIG.invalidWriteCoalescingDelay(writeCoalescingDelay);
+      }
+      int writeCoalescingMaxBatchSize = attributes.attribute(WRITE_COALESCING_MAX_BATCH_SIZE).get();
+      if (writeCoalescingMaxBatchSize < 1) {
+         throw CONFIG.invalidWriteCoalescingMaxBatchSize(writeCoalescingMaxBatchSize);
+      }
+      long clusterListenerBatchDelay = attributes.attribute(CLUSTER_LISTENER_BATCH_DELAY).get();
+      if (clusterListenerBatchDelay < 0) {
+         throw CONFIG.invalidClusterListenerBatchDelay(clusterListenerBatchDelay);
+      }
    }
 
    @Override
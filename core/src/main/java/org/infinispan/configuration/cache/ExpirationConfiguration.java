@@ -20,11 +20,13 @@ public class ExpirationConfiguration implements Matchable<ExpirationConfiguratio
    public static final AttributeDefinition<Long> MAX_IDLE = AttributeDefinition.builder("maxIdle", -1l).build();
    public static final AttributeDefinition<Boolean> REAPER_ENABLED = AttributeDefinition.builder("reaperEnabled", true).immutable().autoPersist(false).build();
    public static final AttributeDefinition<Long> WAKEUP_INTERVAL = AttributeDefinition.builder("wakeUpInterval", TimeUnit.MINUTES.toMillis(1)).xmlName("interval").build();
+   public static final AttributeDefinition<Boolean> TIMER_WHEEL = AttributeDefinition.builder("timerWheel", false).immutable().build();
+   public static final AttributeDefinition<Integer> SEGMENTS_PER_INTERVAL = AttributeDefinition.builder("segmentsPerInterval", -1).immutable().build();
 
    public static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(EXPIRATION.getLocalName());
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(ExpirationConfiguration.class, LIFESPAN, MAX_IDLE, REAPER_ENABLED, WAKEUP_INTERVAL);
+      return new AttributeSet(ExpirationConfiguration.class, LIFESPAN, MAX_IDLE, REAPER_ENABLED, WAKEUP_INTERVAL, SEGMENTS_PER_INTERVAL, TIMER_WHEEL);
    }
 
    @Override
@@ -36,6 +38,8 @@ public ElementDefinition getElementDefinition() {
    private final Attribute<Long> maxIdle;
    private final Attribute<Boolean> reaperEnabled;
    private final Attribute<Long> wakeUpInterval;
+   private final Attribute<Integer> segmentsPerInterval;
+   private final Attribute<Boolean> timerWheel;
    private final AttributeSet attributes;
 
    ExpirationConfiguration(AttributeSet attributes) {
@@ -44,6 +48,8 @@ public ElementDefinition getElementDefinition() {
       maxIdle = attributes.attribute(MAX_IDLE);
       reaperEnabled = attributes.attribute(REAPER_ENABLED);
       wakeUpInterval = attributes.attribute(WAKEUP_INTERVAL);
+      segmentsPerInterval = attributes.attribute(SEGMENTS_PER_INTERVAL);
+      timerWheel = attributes.attribute(TIMER_WHEEL);
    }
 
    /**
@@ -84,6 +90,27 @@ public long wakeUpInterval() {
       return wakeUpInterval.get();
    }
 
+   /**
+    * Maximum number of segments that each run of the expiration reaper processes. Runs resume from where the
+    * previous one stopped and give priority to the segments holding entries that are about to expire, so that
+    * the data container is covered incrementally instead of in one pass per interval. Cache stores are purged once
+    * all the segments have been processed. Only applies to caches with a segmented data container, that is
+    * distributed and replicated caches. -1 means that every run processes all the segments.
+    */
+   public int segmentsPerInterval() {
+      return segmentsPerInterval.get();
+   }
+
+   /**
+    * Whether entries that can expire are indexed by their expiration time in a timing wheel, so that the expiration
+    * reaper only visits the entries whose lifespan or max idle has elapsed instead of all the entries of the cache.
+    * This is worth enabling when only a small part of the entries can expire, at the cost of some memory for each of
+    * those entries. Only applies to distributed and replicated caches that store entries on the heap.
+    */
+   public boolean timerWheel() {
+      return timerWheel.get();
+   }
+
    @Override
    public String toString() {
       return "ExpirationConfiguration [attributes=" + attributes + "]";
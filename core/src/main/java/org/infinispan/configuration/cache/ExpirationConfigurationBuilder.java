@@ -3,7 +3,10 @@
 import static org.infinispan.configuration.cache.ExpirationConfiguration.LIFESPAN;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.MAX_IDLE;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.REAPER_ENABLED;
+import static org.infinispan.configuration.cache.ExpirationConfiguration.SEGMENTS_PER_INTERVAL;
+import static org.infinispan.configuration.cache.ExpirationConfiguration.TIMER_WHEEL;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.WAKEUP_INTERVAL;
+import static org.infinispan.util.logging.Log.CONFIG;
 
 import java.util.concurrent.TimeUnit;
 
@@ -130,8 +133,43 @@ public ExpirationConfigurationBuilder wakeUpInterval(long l, TimeUnit unit) {
       return wakeUpInterval(unit.toMillis(l));
    }
 
+   /**
+    * Maximum number of segments that each run of the expiration reaper processes. Runs resume from where the
+    * previous one stopped and give priority to the segments holding entries that are about to expire, so that
+    * the data container is covered incrementally instead of in one pass per interval. Cache stores are purged once
+    * all the segments have been processed. Only applies to caches with a segmented data container, that is
+    * distributed and replicated caches. -1 means that every run processes all the segments.
+    */
+   public ExpirationConfigurationBuilder segmentsPerInterval(int segmentsPerInterval) {
+      attributes.attribute(SEGMENTS_PER_INTERVAL).set(segmentsPerInterval);
+      return this;
+   }
+
+   public int segmentsPerInterval() {
+      return attributes.attribute(SEGMENTS_PER_INTERVAL).get();
+   }
+
+   /**
+    * Whether entries that can expire are indexed by their expiration time in a timing wheel, so that the expiration
+    * reaper only visits the entries whose lifespan or max idle has elapsed instead of all the entries of the cache.
+    * This is worth enabling when only a small part of the entries can expire, at the cost of some memory for each of
+    * those entries. Only applies to distributed and replicated caches that store entries on the heap.
+    */
+   public ExpirationConfigurationBuilder timerWheel(boolean timerWheel) {
+      attributes.attribute(TIMER_WHEEL).set(timerWheel);
+      return this;
+   }
+
+   public boolean timerWheel() {
+      return attributes.attribute(TIMER_WHEEL).get();
+   }
+
    @Override
    public void validate() {
+      int segmentsPerInterval = attributes.attribute(SEGMENTS_PER_INTERVAL).get();
+      if (segmentsPerInterval == 0 || segmentsPerInterval < -1) {
+         throw CONFIG.invalidExpirationSegmentsPerInterval(segmentsPerInterval);
+      }
    }
 
    @Override
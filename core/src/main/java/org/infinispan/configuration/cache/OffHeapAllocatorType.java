@@ -0,0 +1,18 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Defines how native memory is obtained for entries stored with {@link StorageType#OFF_HEAP}.
+ *
+ * @since 13.0
+ */
+public enum OffHeapAllocatorType {
+   /**
+    * Every entry is allocated and freed directly through the native allocator.
+    */
+   UNPOOLED,
+   /**
+    * Entries are carved out of large slabs grouped by size class, and freed entries are kept in free lists to be
+    * reused by later writes. Slabs are only released when the cache is stopped.
+    */
+   POOLED
+}
@@ -1,6 +1,7 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.SEGMENTED;
+import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.COMPACTION_THRESHOLD;
 import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.FRAGMENTATION_FACTOR;
 import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.LOCATION;
 import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.MAX_ENTRIES;
@@ -92,6 +93,18 @@ public SingleFileStoreConfigurationBuilder fragmentationFactor(float fragmentati
       return this;
    }
 
+   /**
+    * The store reclaims the space of removed entries in the background once the space freed since the last compaction
+    * exceeds this ratio of the file size. The compaction moves the entries at the end of the file into the free space
+    * before them and then truncates the file. When the store is segmented, each segment has its own file and is
+    * compacted independently. A value of 1 disables the background compaction, leaving only the truncation done
+    * when the store is purged.
+    */
+   public SingleFileStoreConfigurationBuilder compactionThreshold(float compactionThreshold) {
+      attributes.attribute(COMPACTION_THRESHOLD).set(compactionThreshold);
+      return this;
+   }
+
    @Override
    public void validate() {
       Attribute<Boolean> segmentedAttribute = attributes.attribute(SEGMENTED);
@@ -99,6 +112,10 @@ public void validate() {
          NOTIFIED_SEGMENTED = true;
          Log.CONFIG.segmentedStoreUsesManyFileDescriptors(SingleFileStore.class.getSimpleName());
       }
+      float compactionThreshold = attributes.attribute(COMPACTION_THRESHOLD).get();
+      if (!(compactionThreshold > 0 && compactionThreshold <= 1)) {
+         throw Log.CONFIG.invalidSingleFileStoreCompactionThreshold(compactionThreshold);
+      }
       super.validate();
    }
 
@@ -23,17 +23,22 @@ public class StateTransferConfiguration implements Matchable<StateTransferConfig
    public static final AttributeDefinition<Boolean> FETCH_IN_MEMORY_STATE = AttributeDefinition.builder("fetchInMemoryState", true).xmlName("enabled").immutable().build();
    public static final AttributeDefinition<Long> TIMEOUT = AttributeDefinition.builder("timeout", TimeUnit.MINUTES.toMillis(4)).immutable().build();
    public static final AttributeDefinition<Integer> CHUNK_SIZE = AttributeDefinition.builder("chunkSize", 512).immutable().build();
+   public static final AttributeDefinition<Boolean> BULK_APPLY = AttributeDefinition.builder("bulkApply", false).immutable().build();
+   public static final AttributeDefinition<Integer> REBALANCE_PRIORITY = AttributeDefinition.builder("rebalancePriority", 0).immutable().build();
 
    public static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(STATE_TRANSFER.getLocalName());
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(StateTransferConfiguration.class, FETCH_IN_MEMORY_STATE, TIMEOUT, CHUNK_SIZE, AWAIT_INITIAL_TRANSFER);
+      return new AttributeSet(StateTransferConfiguration.class, FETCH_IN_MEMORY_STATE, TIMEOUT, CHUNK_SIZE, AWAIT_INITIAL_TRANSFER, BULK_APPLY,
+            REBALANCE_PRIORITY);
    }
 
    private final Attribute<Boolean> awaitInitialTransfer;
    private final Attribute<Boolean> fetchInMemoryState;
    private final Attribute<Long> timeout;
    private final Attribute<Integer> chunkSize;
+   private final Attribute<Boolean> bulkApply;
+   private final Attribute<Integer> rebalancePriority;
    private final AttributeSet attributes;
 
    StateTransferConfiguration(AttributeSet attributes) {
@@ -42,6 +47,8 @@ static AttributeSet attributeDefinitionSet() {
       fetchInMemoryState = attributes.attribute(FETCH_IN_MEMORY_STATE);
       timeout = attributes.attribute(TIMEOUT);
       chunkSize = attributes.attribute(CHUNK_SIZE);
+      bulkApply = attributes.attribute(BULK_APPLY);
+      rebalancePriority = attributes.attribute(REBALANCE_PRIORITY);
    }
 
    /**
@@ -84,6 +91,22 @@ public int chunkSize() {
       return chunkSize.get();
    }
 
+   /**
+    * If {@code true}, the entries of each received state chunk are written directly in the data container and in a
+    * single batch to the stores, instead of invoking a put command for each entry.
+    */
+   public boolean bulkApply() {
+      return bulkApply.get();
+   }
+
+   /**
+    * The priority of the cache when the coordinator limits the number of caches that rebalance at the same time.
+    * Caches with a higher priority start their rebalance first.
+    */
+   public int rebalancePriority() {
+      return rebalancePriority.get();
+   }
+
    /**
     * If {@code true}, this will cause the first call to method {@code CacheManager.getCache()} on the joiner node to
     * block and wait until the joining is complete and the cache has finished receiving state from neighboring caches
@@ -1,8 +1,10 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.StateTransferConfiguration.AWAIT_INITIAL_TRANSFER;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.BULK_APPLY;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.CHUNK_SIZE;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.FETCH_IN_MEMORY_STATE;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.REBALANCE_PRIORITY;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.TIMEOUT;
 import static org.infinispan.util.logging.Log.CONFIG;
 
@@ -14,6 +16,7 @@
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.commons.configuration.elements.ElementDefinition;
 import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.transaction.TransactionMode;
 
 /**
  * Configures how state is transferred when a cache joins or leaves the cluster. Used in distributed and
@@ -75,6 +78,29 @@ public StateTransferConfigurationBuilder chunkSize(int i) {
       return this;
    }
 
+   /**
+    * If {@code true}, the entries of each received state chunk are written directly in the data container and in a
+    * single batch to the stores, instead of invoking a put command for each entry. Only supported in
+    * non-transactional distributed and replicated caches.
+    * <p>
+    * Chunks are still applied with put commands while the cache has listeners for created or modified entries,
+    * indexing, cross-site backups or custom interceptors, because those need to see every entry.
+    */
+   public StateTransferConfigurationBuilder bulkApply(boolean b) {
+      attributes.attribute(BULK_APPLY).set(b);
+      return this;
+   }
+
+   /**
+    * The priority of the cache when the coordinator limits the number of caches that rebalance at the same time, see
+    * {@link org.infinispan.configuration.global.TransportConfigurationBuilder#maxConcurrentRebalances(int)}.
+    * Caches with a higher priority start their rebalance first. The default is {@code 0}.
+    */
+   public StateTransferConfigurationBuilder rebalancePriority(int priority) {
+      attributes.attribute(REBALANCE_PRIORITY).set(priority);
+      return this;
+   }
+
    /**
     * This is the maximum amount of time - in milliseconds - to wait for state from neighboring
     * caches, before throwing an exception and aborting startup.
@@ -115,6 +141,13 @@ public void validate() {
             && !getClusteringBuilder().cacheMode().needsStateTransfer())
          throw CONFIG.awaitInitialTransferOnlyForDistOrRepl();
 
+      if (attributes.attribute(BULK_APPLY).get()) {
+         TransactionMode transactionMode = transaction().transactionMode();
+         if ((transactionMode != null && transactionMode.isTransactional()) || clustering().cacheMode().isScattered()) {
+            throw CONFIG.bulkStateTransferApplyNotSupported();
+         }
+      }
+
       Attribute<Long> timeoutAttribute = attributes.attribute(TIMEOUT);
       Attribute<Long> remoteTimeoutAttribute = clustering().attributes().attribute(ClusteringConfiguration.REMOTE_TIMEOUT);
       if (timeoutAttribute.get() < remoteTimeoutAttribute.get()) {
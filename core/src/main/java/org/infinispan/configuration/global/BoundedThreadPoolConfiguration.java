@@ -19,6 +19,7 @@ class BoundedThreadPoolConfiguration implements ConfigurationInfo {
    static final AttributeDefinition<Long> KEEP_ALIVE_TIME = AttributeDefinition.builder("keepAliveTime", null, Long.class).build();
    static final AttributeDefinition<Integer> QUEUE_LENGTH = AttributeDefinition.builder("queue-length", null, Integer.class).build();
    static final AttributeDefinition<Boolean> NON_BLOCKING = AttributeDefinition.builder("non-blocking", null, Boolean.class).build();
+   static final AttributeDefinition<Boolean> VIRTUAL_THREADS = AttributeDefinition.builder("virtual-threads", false, Boolean.class).build();
 
    private final AttributeSet attributes;
    private final Attribute<String> name;
@@ -28,10 +29,11 @@ class BoundedThreadPoolConfiguration implements ConfigurationInfo {
    private final Attribute<Long> keepAliveTime;
    private final Attribute<Integer> queueLength;
    private final Attribute<Boolean> nonBlocking;
+   private final Attribute<Boolean> virtualThreads;
 
    public static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(BoundedThreadPoolConfiguration.class, NAME, THREAD_FACTORY, MAX_THREADS, CORE_THREADS,
-            KEEP_ALIVE_TIME, QUEUE_LENGTH, NON_BLOCKING);
+            KEEP_ALIVE_TIME, QUEUE_LENGTH, NON_BLOCKING, VIRTUAL_THREADS);
    }
 
    static ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(Element.BLOCKING_BOUNDED_QUEUE_THREAD_POOL.getLocalName());
@@ -45,6 +47,7 @@ public static AttributeSet attributeDefinitionSet() {
       this.keepAliveTime = attributes.attribute(KEEP_ALIVE_TIME);
       this.queueLength = attributes.attribute(QUEUE_LENGTH);
       this.nonBlocking = attributes.attribute(NON_BLOCKING);
+      this.virtualThreads = attributes.attribute(VIRTUAL_THREADS);
    }
 
    @Override
@@ -84,6 +87,14 @@ public Boolean isNonBlocking() {
       return nonBlocking.get();
    }
 
+   /**
+    * @return {@code true} if each task runs in a new virtual thread, and {@code maxThreads} only limits the number of
+    * tasks running at the same time.
+    */
+   public Boolean isVirtualThreads() {
+      return virtualThreads.get();
+   }
+
    @Override
    public String toString() {
       return "BoundedThreadPoolConfiguration{" +
@@ -5,13 +5,16 @@
 import static org.infinispan.configuration.global.BoundedThreadPoolConfiguration.MAX_THREADS;
 import static org.infinispan.configuration.global.BoundedThreadPoolConfiguration.NON_BLOCKING;
 import static org.infinispan.configuration.global.BoundedThreadPoolConfiguration.QUEUE_LENGTH;
+import static org.infinispan.configuration.global.BoundedThreadPoolConfiguration.VIRTUAL_THREADS;
 import static org.infinispan.configuration.global.CachedThreadPoolConfiguration.NAME;
 import static org.infinispan.configuration.global.CachedThreadPoolConfiguration.THREAD_FACTORY;
+import static org.infinispan.util.logging.Log.CONFIG;
 
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.factories.threads.CoreExecutorFactory;
 import org.infinispan.factories.threads.DefaultThreadFactory;
+import org.infinispan.factories.threads.VirtualThreadPoolExecutorFactory;
 
 /*
  * @since 10.0
@@ -80,12 +83,30 @@ public Boolean isNonBlocking() {
       return attributes.attribute(NON_BLOCKING).get();
    }
 
+   /**
+    * Runs each task in a new virtual thread instead of a pooled thread, if the runtime supports virtual threads.
+    * {@link #maxThreads(Integer)} then limits the number of tasks running at the same time, and
+    * {@link #queueLength(Integer)} the number of tasks waiting for a running task to complete.
+    * Only blocking thread pools can use virtual threads.
+    */
+   public BoundedThreadPoolConfigurationBuilder virtualThreads(Boolean virtualThreads) {
+      attributes.attribute(VIRTUAL_THREADS).set(virtualThreads);
+      return this;
+   }
+
+   public Boolean isVirtualThreads() {
+      return attributes.attribute(VIRTUAL_THREADS).get();
+   }
+
    public String name() {
       return attributes.attribute(NAME).get();
    }
 
    @Override
    public void validate() {
+      if (Boolean.TRUE.equals(isVirtualThreads()) && Boolean.TRUE.equals(isNonBlocking())) {
+         throw CONFIG.virtualThreadsInNonBlockingPool(name());
+      }
    }
 
    @Override
@@ -114,8 +135,12 @@ public String toString() {
    public ThreadPoolConfiguration asThreadPoolConfigurationBuilder() {
       ThreadPoolConfigurationBuilder builder = new ThreadPoolConfigurationBuilder(getGlobalConfig());
       boolean isNonBlocking = isNonBlocking();
-      builder.threadPoolFactory(CoreExecutorFactory.executorFactory(maxThreads(), coreThreads(), queueLength(),
-            keepAliveTime(), isNonBlocking));
+      if (Boolean.TRUE.equals(isVirtualThreads()) && !isNonBlocking) {
+         builder.threadPoolFactory(VirtualThreadPoolExecutorFactory.create(maxThreads(), queueLength()));
+      } else {
+         builder.threadPoolFactory(CoreExecutorFactory.executorFactory(maxThreads(), coreThreads(), queueLength(),
+               keepAliveTime(), isNonBlocking));
+      }
       builder.name(name());
       if (threadFactory() != null) {
          DefaultThreadFactory threadFactory = getGlobalConfig().threads().getThreadFactory(threadFactory()).create().getThreadFactory(isNonBlocking);
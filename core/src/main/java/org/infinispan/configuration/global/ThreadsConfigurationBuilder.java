@@ -121,6 +121,7 @@ public ThreadPoolConfigurationBuilder blockingThreadPool() {
 
    @Override
    public void validate() {
+      boundedThreadPoolBuilders.forEach(BoundedThreadPoolConfigurationBuilder::validate);
    }
 
    @Override
@@ -29,13 +29,16 @@ public class TransportConfiguration implements ConfigurationInfo {
          .immutable().build();
    public static final AttributeDefinition<Long> INITIAL_CLUSTER_TIMEOUT = AttributeDefinition.builder(
            "initialClusterTimeout", TimeUnit.MINUTES.toMillis(1)).build();
+   public static final AttributeDefinition<Integer> MAX_CONCURRENT_REBALANCES = AttributeDefinition.builder(
+         "maxConcurrentRebalances", 0).immutable().build();
    public static final AttributeDefinition<String> STACK = AttributeDefinition.builder("stack", null, String.class).build();
    public static final AttributeDefinition<String> TRANSPORT_EXECUTOR = AttributeDefinition.builder("executor", "transport-pool", String.class).build();
    public static final AttributeDefinition<String> REMOTE_EXECUTOR = AttributeDefinition.builder("remoteCommandExecutor", "remote-command-pool", String.class).build();
 
    static AttributeSet attributeSet() {
       return new AttributeSet(TransportConfiguration.class, CLUSTER_NAME, MACHINE_ID, RACK_ID, SITE_ID, NODE_NAME,
-            DISTRIBUTED_SYNC_TIMEOUT, INITIAL_CLUSTER_SIZE, INITIAL_CLUSTER_TIMEOUT, STACK, TRANSPORT_EXECUTOR, REMOTE_EXECUTOR);
+            DISTRIBUTED_SYNC_TIMEOUT, INITIAL_CLUSTER_SIZE, INITIAL_CLUSTER_TIMEOUT, MAX_CONCURRENT_REBALANCES, STACK,
+            TRANSPORT_EXECUTOR, REMOTE_EXECUTOR);
    }
 
    static ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(Element.TRANSPORT.getLocalName());
@@ -49,6 +52,7 @@ static AttributeSet attributeSet() {
    private final Attribute<Long> distributedSyncTimeout;
    private final Attribute<Integer> initialClusterSize;
    private final Attribute<Long> initialClusterTimeout;
+   private final Attribute<Integer> maxConcurrentRebalances;
    private final AttributeSet attributes;
    private final JGroupsConfiguration jgroupsConfiguration;
    private final ThreadPoolConfiguration transportThreadPool;
@@ -73,6 +77,7 @@ static AttributeSet attributeSet() {
       distributedSyncTimeout = attributes.attribute(DISTRIBUTED_SYNC_TIMEOUT);
       initialClusterSize = attributes.attribute(INITIAL_CLUSTER_SIZE);
       initialClusterTimeout = attributes.attribute(INITIAL_CLUSTER_TIMEOUT);
+      maxConcurrentRebalances = attributes.attribute(MAX_CONCURRENT_REBALANCES);
       nodeName = attributes.attribute(NODE_NAME);
    }
 
@@ -113,6 +118,13 @@ public long initialClusterTimeout() {
       return initialClusterTimeout.get();
    }
 
+   /**
+    * The maximum number of caches that the coordinator rebalances at the same time, {@code 0} if there is no limit.
+    */
+   public int maxConcurrentRebalances() {
+      return maxConcurrentRebalances.get();
+   }
+
    public Transport transport() {
       return jgroupsConfiguration.transport();
    }
@@ -5,12 +5,14 @@
 import static org.infinispan.configuration.global.TransportConfiguration.INITIAL_CLUSTER_SIZE;
 import static org.infinispan.configuration.global.TransportConfiguration.INITIAL_CLUSTER_TIMEOUT;
 import static org.infinispan.configuration.global.TransportConfiguration.MACHINE_ID;
+import static org.infinispan.configuration.global.TransportConfiguration.MAX_CONCURRENT_REBALANCES;
 import static org.infinispan.configuration.global.TransportConfiguration.NODE_NAME;
 import static org.infinispan.configuration.global.TransportConfiguration.RACK_ID;
 import static org.infinispan.configuration.global.TransportConfiguration.REMOTE_EXECUTOR;
 import static org.infinispan.configuration.global.TransportConfiguration.SITE_ID;
 import static org.infinispan.configuration.global.TransportConfiguration.STACK;
 import static org.infinispan.configuration.global.TransportConfiguration.TRANSPORT_EXECUTOR;
+import static org.infinispan.util.logging.Log.CONFIG;
 
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
@@ -117,6 +119,17 @@ public TransportConfigurationBuilder initialClusterTimeout(long initialClusterTi
       return this;
    }
 
+   /**
+    * Sets the maximum number of caches that the coordinator rebalances at the same time. When the limit is reached,
+    * the other caches wait for a rebalance to finish, and they start in the order of their
+    * {@link org.infinispan.configuration.cache.StateTransferConfigurationBuilder#rebalancePriority(int)}.
+    * The default is {@code 0}, which means there is no limit.
+    */
+   public TransportConfigurationBuilder maxConcurrentRebalances(int maxConcurrentRebalances) {
+      attributes.attribute(MAX_CONCURRENT_REBALANCES).set(maxConcurrentRebalances);
+      return this;
+   }
+
    /**
     * Class that represents a network transport. Must implement
     * org.infinispan.remoting.transport.Transport
@@ -193,6 +206,9 @@ void validate() {
       if(attributes.attribute(CLUSTER_NAME).get() == null){
           throw new CacheConfigurationException("Transport clusterName cannot be null");
       }
+      if (attributes.attribute(MAX_CONCURRENT_REBALANCES).get() < 0) {
+         throw CONFIG.invalidMaxConcurrentRebalances(attributes.attribute(MAX_CONCURRENT_REBALANCES).get());
+      }
    }
 
    public JGroupsConfigurationBuilder jgroups() {
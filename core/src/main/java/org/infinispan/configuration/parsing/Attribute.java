@@ -18,6 +18,7 @@ public enum Attribute {
     ADDRESS_COUNT,
     AFTER,
     ALIASES,
+    ALLOCATOR,
     @Deprecated
     ALLOW_DUPLICATE_DOMAINS("duplicate-domains"),
     @Deprecated
@@ -35,6 +36,7 @@ public enum Attribute {
     BIAS_ACQUISITION,
     BIAS_LIFESPAN,
     BLOCKING_EXECUTOR,
+    BULK_APPLY,
     CACHE_SIZE,
     CACHE_TIMEOUT,
     CALIBRATE_BY_DELETES,
@@ -42,7 +44,9 @@ public enum Attribute {
     CHUNK_SIZE,
     CLASS,
     CLUSTER,
+    CLUSTER_LISTENER_BATCH_DELAY,
     COMMIT_INTERVAL,
+    COMPACTION_THRESHOLD,
     COMPLETED_TX_TIMEOUT("complete-timeout"),
     CONCURRENCY_LEVEL,
     CONFIGURATION,
@@ -100,6 +104,7 @@ public enum Attribute {
     MAPPER,
     MARSHALLER_CLASS("marshaller"),
     MAX_BATCH_SIZE,
+    MAX_CONCURRENT_REBALANCES,
     MAX_COUNT,
     MAX_ENTRIES,
     MAX_IDLE,
@@ -140,8 +145,10 @@ public enum Attribute {
     QUEUE_SIZE,
     RACK_ID("rack"),
     RAM_BUFFER_SIZE,
+    READ_FROM_FASTEST_OWNER,
     READ_ONLY,
     REAPER_WAKE_UP_INTERVAL("reaper-interval"),
+    REBALANCE_PRIORITY,
     RECOVERY_INFO_CACHE_NAME("recovery-cache"),
     REFRESH_INTERVAL,
     RELATIVE_TO,
@@ -154,6 +161,7 @@ public enum Attribute {
     ROLES,
     SEGMENTED,
     SEGMENTS,
+    SEGMENTS_PER_INTERVAL,
     SHARED,
     SHUTDOWN_HOOK,
     @Deprecated
@@ -184,6 +192,7 @@ public enum Attribute {
     THREAD_POLICY,
     THREAD_POOL_SIZE,
     TIMEOUT,
+    TIMER_WHEEL,
     TOTAL_ORDER_EXECUTOR,
     TRANSACTION_MANAGER_LOOKUP_CLASS("transaction-manager-lookup"),
     TRANSACTION_PROTOCOL("protocol"),
@@ -197,9 +206,12 @@ public enum Attribute {
     VALUE_EQUIVALENCE,
     VERSION,
     VERSIONING_SCHEME("scheme"),
+    VIRTUAL_THREADS,
     WAIT_TIME,
     WHEN_SPLIT,
     WHEN_FULL,
+    WRITE_COALESCING_DELAY,
+    WRITE_COALESCING_MAX_BATCH_SIZE,
     WRITE_SKEW_CHECK("write-skew"),
     ZERO_CAPACITY_NODE,
    ;
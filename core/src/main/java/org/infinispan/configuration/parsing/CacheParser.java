@@ -37,6 +37,7 @@
 import org.infinispan.configuration.cache.InterceptorConfiguration;
 import org.infinispan.configuration.cache.InterceptorConfigurationBuilder;
 import org.infinispan.configuration.cache.MemoryConfigurationBuilder;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
 import org.infinispan.configuration.cache.PartitionHandlingConfigurationBuilder;
 import org.infinispan.configuration.cache.SecurityConfigurationBuilder;
 import org.infinispan.configuration.cache.SingleFileStoreConfigurationBuilder;
@@ -591,6 +592,13 @@ private void parseMemory(final ConfigurationReader reader, final ConfigurationBu
                case WHEN_FULL:
                   memoryBuilder.whenFull(EvictionStrategy.valueOf(value));
                   break;
+               case ALLOCATOR:
+                  if (reader.getSchema().since(13, 0)) {
+                     memoryBuilder.allocator(OffHeapAllocatorType.valueOf(value));
+                  } else {
+                     throw ParseUtils.unexpectedAttribute(reader, i);
+                  }
+                  break;
                default:
                   throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -1002,6 +1010,22 @@ private void parseExpiration(ConfigurationReader reader, ConfigurationBuilder bu
                builder.expiration().wakeUpInterval(Long.parseLong(value));
                break;
             }
+            case SEGMENTS_PER_INTERVAL: {
+               if (reader.getSchema().since(13, 0)) {
+                  builder.expiration().segmentsPerInterval(Integer.parseInt(value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
+            }
+            case TIMER_WHEEL: {
+               if (reader.getSchema().since(13, 0)) {
+                  builder.expiration().timerWheel(Boolean.parseBoolean(value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -1103,6 +1127,38 @@ private void parseClusteredCacheAttribute(ConfigurationReader reader,
             builder.clustering().remoteTimeout(Long.parseLong(value));
             break;
          }
+         case WRITE_COALESCING_DELAY: {
+            if (reader.getSchema().since(13, 0)) {
+               builder.clustering().writeCoalescingDelay(Long.parseLong(value), TimeUnit.MICROSECONDS);
+            } else {
+               throw ParseUtils.unexpectedAttribute(reader, index);
+            }
+            break;
+         }
+         case WRITE_COALESCING_MAX_BATCH_SIZE: {
+            if (reader.getSchema().since(13, 0)) {
+               builder.clustering().writeCoalescingMaxBatchSize(Integer.parseInt(value));
+            } else {
+               throw ParseUtils.unexpectedAttribute(reader, index);
+            }
+            break;
+         }
+         case READ_FROM_FASTEST_OWNER: {
+            if (reader.getSchema().since(13, 0)) {
+               builder.clustering().readFromFastestOwner(Boolean.parseBoolean(value));
+            } else {
+               throw ParseUtils.unexpectedAttribute(reader, index);
+            }
+            break;
+         }
+         case CLUSTER_LISTENER_BATCH_DELAY: {
+            if (reader.getSchema().since(13, 0)) {
+               builder.clustering().clusterListenerBatchDelay(Long.parseLong(value), TimeUnit.MILLISECONDS);
+            } else {
+               throw ParseUtils.unexpectedAttribute(reader, index);
+            }
+            break;
+         }
          default: {
             this.parseCacheAttribute(reader, index, attribute, value, builder);
          }
@@ -1156,6 +1212,22 @@ private void parseStateTransfer(ConfigurationReader reader, ConfigurationBuilder
                builder.clustering().stateTransfer().chunkSize(Integer.parseInt(value));
                break;
             }
+            case BULK_APPLY: {
+               if (reader.getSchema().since(13, 0)) {
+                  builder.clustering().stateTransfer().bulkApply(Boolean.parseBoolean(value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
+            }
+            case REBALANCE_PRIORITY: {
+               if (reader.getSchema().since(13, 0)) {
+                  builder.clustering().stateTransfer().rebalancePriority(Integer.parseInt(value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -1406,6 +1478,14 @@ protected void parseFileStore(ConfigurationReader reader, ConfigurationBuilderHo
                storeBuilder.fragmentationFactor(Float.parseFloat(value));
                break;
             }
+            case COMPACTION_THRESHOLD: {
+               if (reader.getSchema().since(13, 0)) {
+                  storeBuilder.compactionThreshold(Float.parseFloat(value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
+            }
             default: {
                parseStoreAttribute(reader, i, storeBuilder);
             }
@@ -296,6 +296,7 @@ private void parseBoundedQueueThreadPool(ConfigurationReader reader, Configurati
       int coreThreads = 0;
       int queueLength = 0;
       long keepAlive = 0;
+      boolean virtualThreads = false;
 
       for (int i = 0; i < reader.getAttributeCount(); i++) {
          ParseUtils.requireNoNamespaceAttribute(reader, i);
@@ -327,6 +328,13 @@ private void parseBoundedQueueThreadPool(ConfigurationReader reader, Configurati
                keepAlive = Long.parseLong(value);
                break;
             }
+            case VIRTUAL_THREADS: {
+               if (isNonBlocking || !reader.getSchema().since(13, 0)) {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               virtualThreads = Boolean.parseBoolean(value);
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -334,7 +342,8 @@ private void parseBoundedQueueThreadPool(ConfigurationReader reader, Configurati
       }
 
       threadsBuilder.addBoundedThreadPool(name).threadFactory(threadFactoryName).coreThreads(coreThreads)
-            .maxThreads(maxThreads).queueLength(queueLength).keepAliveTime(keepAlive).nonBlocking(isNonBlocking);
+            .maxThreads(maxThreads).queueLength(queueLength).keepAliveTime(keepAlive).nonBlocking(isNonBlocking)
+            .virtualThreads(virtualThreads);
       ParseUtils.requireNoContent(reader);
    }
 
@@ -1064,6 +1073,14 @@ private void parseTransport(ConfigurationReader reader, ConfigurationBuilderHold
                   }
                   break;
                }
+               case MAX_CONCURRENT_REBALANCES: {
+                  if (reader.getSchema().since(13, 0)) {
+                     transport.maxConcurrentRebalances(Integer.parseInt(value));
+                  } else {
+                     throw ParseUtils.unexpectedAttribute(reader, i);
+                  }
+                  break;
+               }
                default: {
                   throw ParseUtils.unexpectedAttribute(reader, i);
                }
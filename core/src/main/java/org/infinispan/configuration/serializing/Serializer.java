@@ -71,6 +71,7 @@
 import org.infinispan.factories.threads.DefaultThreadFactory;
 import org.infinispan.factories.threads.EnhancedQueueExecutorFactory;
 import org.infinispan.factories.threads.NonBlockingThreadPoolExecutorFactory;
+import org.infinispan.factories.threads.VirtualThreadPoolExecutorFactory;
 import org.infinispan.protostream.SerializationContextInitializer;
 import org.infinispan.remoting.transport.jgroups.EmbeddedJGroupsChannelConfigurator;
 import org.infinispan.remoting.transport.jgroups.FileJGroupsChannelConfigurator;
@@ -97,6 +98,7 @@ public class Serializer extends AbstractStoreSerializer implements Configuration
       THREAD_POOL_FACTORIES.put(CachedThreadPoolExecutorFactory.class.getName(), Element.CACHED_THREAD_POOL);
       THREAD_POOL_FACTORIES.put(NonBlockingThreadPoolExecutorFactory.class.getName(), Element.BLOCKING_BOUNDED_QUEUE_THREAD_POOL);
       THREAD_POOL_FACTORIES.put(EnhancedQueueExecutorFactory.class.getName(), Element.BLOCKING_BOUNDED_QUEUE_THREAD_POOL);
+      THREAD_POOL_FACTORIES.put(VirtualThreadPoolExecutorFactory.class.getName(), Element.BLOCKING_BOUNDED_QUEUE_THREAD_POOL);
       THREAD_POOL_FACTORIES.put(ScheduledThreadPoolExecutorFactory.class.getName(), Element.SCHEDULED_THREAD_POOL);
    }
 
@@ -204,6 +206,11 @@ private void writeThreadPool(ConfigurationWriter writer, String name, ThreadPool
             writer.writeAttribute(Attribute.CORE_THREADS, Integer.toString(pool.coreThreads()));
             writer.writeAttribute(Attribute.QUEUE_LENGTH, Integer.toString(pool.queueLength()));
             writer.writeAttribute(Attribute.KEEP_ALIVE_TIME, Long.toString(pool.keepAlive()));
+         } else if (threadPoolFactory instanceof VirtualThreadPoolExecutorFactory) {
+            VirtualThreadPoolExecutorFactory pool = (VirtualThreadPoolExecutorFactory) threadPoolFactory;
+            writer.writeAttribute(Attribute.MAX_THREADS, Integer.toString(pool.maxThreads()));
+            writer.writeAttribute(Attribute.QUEUE_LENGTH, Integer.toString(pool.queueLength()));
+            writer.writeAttribute(Attribute.VIRTUAL_THREADS, "true");
          }
          writer.writeEndElement();
       }
@@ -442,6 +449,7 @@ private void writeTransport(ConfigurationWriter writer, GlobalConfiguration glob
          attributes.write(writer, TransportConfiguration.DISTRIBUTED_SYNC_TIMEOUT, Attribute.LOCK_TIMEOUT);
          attributes.write(writer, TransportConfiguration.INITIAL_CLUSTER_SIZE, Attribute.INITIAL_CLUSTER_SIZE);
          attributes.write(writer, TransportConfiguration.INITIAL_CLUSTER_TIMEOUT, Attribute.INITIAL_CLUSTER_TIMEOUT);
+         attributes.write(writer, TransportConfiguration.MAX_CONCURRENT_REBALANCES, Attribute.MAX_CONCURRENT_REBALANCES);
          writer.writeEndElement();
       }
    }
@@ -569,6 +577,10 @@ private void writeCommonClusteredCacheAttributes(ConfigurationWriter writer, Con
       ClusteringConfiguration clustering = configuration.clustering();
       writer.writeAttribute(Attribute.MODE, clustering.cacheMode().isSynchronous() ? "SYNC" : "ASYNC");
       clustering.attributes().write(writer, ClusteringConfiguration.REMOTE_TIMEOUT, Attribute.REMOTE_TIMEOUT);
+      clustering.attributes().write(writer, ClusteringConfiguration.WRITE_COALESCING_DELAY, Attribute.WRITE_COALESCING_DELAY);
+      clustering.attributes().write(writer, ClusteringConfiguration.WRITE_COALESCING_MAX_BATCH_SIZE, Attribute.WRITE_COALESCING_MAX_BATCH_SIZE);
+      clustering.attributes().write(writer, ClusteringConfiguration.READ_FROM_FASTEST_OWNER, Attribute.READ_FROM_FASTEST_OWNER);
+      clustering.attributes().write(writer, ClusteringConfiguration.CLUSTER_LISTENER_BATCH_DELAY, Attribute.CLUSTER_LISTENER_BATCH_DELAY);
    }
 
    private void writeCommonCacheAttributesElements(ConfigurationWriter writer, String name, Configuration configuration) {
@@ -658,6 +670,7 @@ private void writeMemory(ConfigurationWriter writer, Configuration configuration
             attributes.write(writer, MemoryConfiguration.MAX_SIZE, Attribute.MAX_SIZE);
          }
          attributes.write(writer, MemoryConfiguration.WHEN_FULL, Attribute.WHEN_FULL);
+         attributes.write(writer, MemoryConfiguration.ALLOCATOR, Attribute.ALLOCATOR);
          writer.writeEndElement();
       }
    }
@@ -474,7 +474,9 @@ private class ReplicaSpliterator extends Spliterators.AbstractSpliterator<Map<Ad
       private final long endTime;
       private int nextSegment = 0;
       private Iterator<Map<Address, CacheEntry<K, V>>> iterator = Collections.emptyIterator();
-      private volatile CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> segmentRequestFuture;
+      // The segments with different replicas, and the buckets that are different in each segment
+      private Map<Integer, Long> differentBuckets;
+      private volatile CompletableFuture<?> segmentRequestFuture;
 
       ReplicaSpliterator(LocalizedCacheTopology topology) {
          super(Long.MAX_VALUE, DISTINCT | NONNULL);
@@ -489,11 +491,28 @@ public boolean tryAdvance(Consumer<? super Map<Address, CacheEntry<K, V>>> actio
          while (!iterator.hasNext()) {
             if (nextSegment < totalSegments) {
                try {
+                  if (differentBuckets == null) {
+                     // Compare the digests first, and only request the replicas that are different
+                     long remainingTime = timeService.remainingTime(endTime, TimeUnit.MILLISECONDS);
+                     CompletableFuture<Map<Integer, Long>> digestsFuture = stateReceiver.getDifferentBuckets(topology, remainingTime);
+                     segmentRequestFuture = digestsFuture;
+                     differentBuckets = digestsFuture.get(remainingTime, TimeUnit.MILLISECONDS);
+                  }
+                  Long bucketMask = differentBuckets.get(nextSegment);
+                  if (bucketMask == null) {
+                     if (log.isTraceEnabled())
+                        log.tracef("Cache %s skipping segment %s, all the replicas have the same digest", cacheName, nextSegment);
+                     nextSegment++;
+                     continue;
+                  }
                   if (log.isTraceEnabled())
-                     log.tracef("Cache %s attempting to receive all replicas for segment %s with topology %s", cacheName, nextSegment, topology);
+                     log.tracef("Cache %s attempting to receive all replicas for segment %s, buckets %s with topology %s",
+                           cacheName, nextSegment, Long.toHexString(bucketMask), topology);
                   long remainingTime = timeService.remainingTime(endTime, TimeUnit.MILLISECONDS);
-                  segmentRequestFuture = stateReceiver.getAllReplicasForSegment(nextSegment, topology, remainingTime);
-                  List<Map<Address, CacheEntry<K, V>>> segmentEntries = segmentRequestFuture.get(remainingTime, TimeUnit.MILLISECONDS);
+                  CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> replicasFuture =
+                        stateReceiver.getAllReplicasForSegment(nextSegment, topology, remainingTime, bucketMask);
+                  segmentRequestFuture = replicasFuture;
+                  List<Map<Address, CacheEntry<K, V>>> segmentEntries = replicasFuture.get(remainingTime, TimeUnit.MILLISECONDS);
                   if (log.isTraceEnabled())
                      log.tracef("Cache %s segment %s entries received: %s", cacheName, nextSegment, segmentEntries);
                   nextSegment++;
@@ -0,0 +1,115 @@
+package org.infinispan.conflict.impl;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.infinispan.commons.hash.Hash;
+import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.persistence.spi.MarshallableEntry;
+
+/**
+ * Digest of the entries that a replica holds in one segment, used to find the entries that are different between the
+ * owners of the segment without transferring them.
+ * <p>
+ * The keys of a segment are split in {@link #BUCKETS} buckets, and the digest keeps a hash of the keys and values of
+ * each bucket. The bucket hash is the sum of the entry hashes, so it doesn't depend on the iteration order. The owners
+ * only need to transfer the entries of the buckets whose hashes are different, as a bit mask with one bit per bucket.
+ * <p>
+ * The entry hash is a 64-bit {@link MurmurHash3} hash of the marshalled key, value, metadata and internal metadata,
+ * plus the created and last used timestamps, so it doesn't depend on the {@code hashCode()} of the user classes and
+ * an entry updated with the same value and a different version or expiration is transferred as well. Mortal entries
+ * have different timestamps on each owner, so their buckets are usually transferred.
+ *
+ * @since 13.0
+ */
+public final class ReplicaDigest {
+   public static final int BUCKETS = Long.SIZE;
+   public static final long ALL_BUCKETS = -1L;
+
+   private static final Hash HASH = MurmurHash3.getInstance();
+
+   private ReplicaDigest() {
+   }
+
+   public static long[] newDigest() {
+      return new long[BUCKETS];
+   }
+
+   public static int bucket(Object key) {
+      // The segment is computed from the high bits of the same hash, use the low bits for the bucket
+      return HASH.hash(key) & (BUCKETS - 1);
+   }
+
+   public static boolean inBuckets(Object key, long bucketMask) {
+      return bucketMask == ALL_BUCKETS || (bucketMask & (1L << bucket(key))) != 0;
+   }
+
+   /**
+    * Adds an entry to the digest. The entry must be created with the persistence marshaller, so that all the owners
+    * hash the same bytes for the same entry.
+    */
+   public static void add(long[] digest, MarshallableEntry<?, ?> entry) {
+      long hash = hash(entry.getKeyBytes());
+      hash = mix(hash + hash(entry.getValueBytes()));
+      hash = mix(hash + hash(entry.getMetadataBytes()));
+      hash = mix(hash + hash(entry.getInternalMetadataBytes()));
+      hash = mix(hash + entry.created());
+      hash = mix(hash + entry.lastUsed());
+      digest[bucket(entry.getKey())] += hash;
+   }
+
+   /**
+    * @return {@code true} if the digest doesn't include any entry.
+    */
+   public static boolean isEmpty(long[] digest) {
+      for (long bucketHash : digest) {
+         if (bucketHash != 0)
+            return false;
+      }
+      return true;
+   }
+
+   /**
+    * @return A mask with the buckets that are different in at least one of the digests, {@code 0} if all the digests
+    * are equal.
+    */
+   public static long differentBuckets(Collection<long[]> digests) {
+      Iterator<long[]> iterator = digests.iterator();
+      if (!iterator.hasNext())
+         return 0;
+
+      long[] first = iterator.next();
+      long mask = 0;
+      while (iterator.hasNext()) {
+         long[] digest = iterator.next();
+         for (int i = 0; i < BUCKETS; i++) {
+            if (first[i] != digest[i]) {
+               mask |= 1L << i;
+            }
+         }
+      }
+      return mask;
+   }
+
+   private static long hash(ByteBuffer buffer) {
+      if (buffer == null)
+         return 0;
+
+      byte[] bytes = buffer.getBuf();
+      if (buffer.getOffset() != 0 || buffer.getLength() != bytes.length) {
+         bytes = buffer.copy().getBuf();
+      }
+      return MurmurHash3.MurmurHash3_x64_64(bytes, 9001);
+   }
+
+   private static long mix(long h) {
+      // fmix64 from MurmurHash3, so that entries that differ in a few bits change the sum in many bits
+      h ^= h >>> 33;
+      h *= 0xff51afd7ed558ccdL;
+      h ^= h >>> 33;
+      h *= 0xc4ceb9fe1a85ec53L;
+      h ^= h >>> 33;
+      return h;
+   }
+}
@@ -31,7 +31,24 @@
     *
     * @throws IllegalStateException if this method is invoked whilst a previous request for Replicas is still executing
     */
-   CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> getAllReplicasForSegment(int segmentId, LocalizedCacheTopology topology, long timeout);
+   default CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> getAllReplicasForSegment(int segmentId, LocalizedCacheTopology topology, long timeout) {
+      return getAllReplicasForSegment(segmentId, topology, timeout, ReplicaDigest.ALL_BUCKETS);
+   }
+
+   /**
+    * Return the replicas of the cache entries for a given segment, only for the keys in the given buckets of
+    * {@link ReplicaDigest}.
+    */
+   CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> getAllReplicasForSegment(int segmentId, LocalizedCacheTopology topology, long timeout, long bucketMask);
+
+   /**
+    * Compare the {@link ReplicaDigest}s of all the owners of every segment.
+    *
+    * @return a map with the segments that have different entries on different owners, and for every segment a mask
+    * with the buckets that are different. If an owner does not send its digests, all the buckets of its segments are
+    * considered different.
+    */
+   CompletableFuture<Map<Integer, Long>> getDifferentBuckets(LocalizedCacheTopology topology, long timeout);
 
    void receiveState(Address sender, int topologyId, Collection<StateChunk> stateChunks);
 }
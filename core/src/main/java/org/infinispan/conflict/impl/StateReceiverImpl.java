@@ -11,17 +11,22 @@
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.statetransfer.ConflictResolutionDigestCommand;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.logging.Log;
 import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.container.entries.NullCacheEntry;
 import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.executors.LimitedExecutor;
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
@@ -33,11 +38,18 @@
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.notifications.cachelistener.annotation.DataRehashed;
 import org.infinispan.notifications.cachelistener.event.DataRehashedEvent;
+import org.infinispan.remoting.inboundhandler.DeliverOrder;
+import org.infinispan.remoting.responses.SuccessfulResponse;
 import org.infinispan.remoting.rpc.RpcManager;
+import org.infinispan.remoting.rpc.RpcOptions;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.impl.PassthroughSingleResponseCollector;
 import org.infinispan.statetransfer.InboundTransferTask;
 import org.infinispan.statetransfer.StateChunk;
+import org.infinispan.statetransfer.StateProvider;
 import org.infinispan.topology.CacheTopology;
+import org.infinispan.util.concurrent.AggregateCompletionStage;
+import org.infinispan.util.concurrent.CompletionStages;
 
 /**
  * @author Ryan Emerson
@@ -55,6 +67,7 @@
    @Inject CommandsFactory commandsFactory;
    @Inject InternalDataContainer<K, V> dataContainer;
    @Inject RpcManager rpcManager;
+   @Inject StateProvider stateProvider;
    @Inject @ComponentName(NON_BLOCKING_EXECUTOR)
    ExecutorService nonBlockingExecutor;
 
@@ -94,8 +107,63 @@ public void onDataRehash(DataRehashedEvent<K, V> dataRehashedEvent) {
    }
 
    @Override
-   public CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> getAllReplicasForSegment(int segmentId, LocalizedCacheTopology topology, long timeout) {
-      return requestMap.computeIfAbsent(segmentId, id -> new SegmentRequest(id, topology, timeout)).requestState();
+   public CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> getAllReplicasForSegment(int segmentId, LocalizedCacheTopology topology, long timeout, long bucketMask) {
+      return requestMap.computeIfAbsent(segmentId, id -> new SegmentRequest(id, topology, timeout, bucketMask)).requestState();
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   public CompletableFuture<Map<Integer, Long>> getDifferentBuckets(LocalizedCacheTopology topology, long timeout) {
+      ConsistentHash writeCH = topology.getWriteConsistentHash();
+      Map<Address, Map<Integer, long[]>> digests = new ConcurrentHashMap<>();
+      AggregateCompletionStage<Void> digestsStage = CompletionStages.aggregateCompletionStage();
+      RpcOptions rpcOptions = new RpcOptions(DeliverOrder.NONE, timeout, TimeUnit.MILLISECONDS);
+      for (Address member : writeCH.getMembers()) {
+         IntSet segments = IntSets.from(writeCH.getSegmentsForOwner(member));
+         if (segments.isEmpty())
+            continue;
+
+         if (member.equals(rpcManager.getAddress())) {
+            // Include the store entries and exclude the L1 entries, like the remote owners
+            digestsStage.dependsOn(stateProvider.getReplicaDigests(segments)
+                  .thenAccept(localDigests -> digests.put(member, localDigests)));
+            continue;
+         }
+
+         ConflictResolutionDigestCommand cmd = commandsFactory.buildConflictResolutionDigestCommand(topology.getTopologyId(), segments);
+         digestsStage.dependsOn(rpcManager.invokeCommand(member, cmd, PassthroughSingleResponseCollector.INSTANCE, rpcOptions)
+               .handle((response, throwable) -> {
+                  if (throwable == null && response instanceof SuccessfulResponse) {
+                     digests.put(member, (Map<Integer, long[]>) ((SuccessfulResponse) response).getResponseValue());
+                  } else if (log.isTraceEnabled()) {
+                     log.tracef(throwable, "Cache %s did not receive digests from %s, all its segments will be requested: %s",
+                           cacheName, member, response);
+                  }
+                  return null;
+               }));
+      }
+      return digestsStage.freeze().thenApply(ignored -> {
+         Map<Integer, Long> differentBuckets = new HashMap<>();
+         for (int segment = 0; segment < writeCH.getNumSegments(); segment++) {
+            List<Address> owners = topology.getSegmentDistribution(segment).writeOwners();
+            List<long[]> ownerDigests = new ArrayList<>(owners.size());
+            for (Address owner : owners) {
+               Map<Integer, long[]> memberDigests = digests.get(owner);
+               long[] digest = memberDigests != null ? memberDigests.get(segment) : null;
+               if (digest == null) {
+                  ownerDigests = null;
+                  break;
+               }
+               ownerDigests.add(digest);
+            }
+            long bucketMask = ownerDigests != null ? ReplicaDigest.differentBuckets(ownerDigests) : ReplicaDigest.ALL_BUCKETS;
+            if (bucketMask != 0) {
+               differentBuckets.put(segment, bucketMask);
+            }
+         }
+         if (log.isTraceEnabled()) log.tracef("Cache %s segments with different replicas: %s", cacheName, differentBuckets.keySet());
+         return differentBuckets;
+      }).toCompletableFuture();
    }
 
    @Override
@@ -134,15 +202,17 @@ class SegmentRequest {
       final int segmentId;
       final LocalizedCacheTopology topology;
       final long timeout;
+      final long bucketMask;
       final List<Address> replicaHosts;
       final Map<K, Map<Address, CacheEntry<K, V>>> keyReplicaMap = new HashMap<>();
       final Map<Address, InboundTransferTask> transferTaskMap = new ConcurrentHashMap<>();
       CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> future;
 
-      SegmentRequest(int segmentId, LocalizedCacheTopology topology, long timeout) {
+      SegmentRequest(int segmentId, LocalizedCacheTopology topology, long timeout, long bucketMask) {
          this.segmentId = segmentId;
          this.topology = topology;
          this.timeout = timeout;
+         this.bucketMask = bucketMask;
          this.replicaHosts = topology.getSegmentDistribution(segmentId).writeOwners();
       }
 
@@ -168,9 +238,8 @@ synchronized CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> requestStat
 
          for (final Address replica : replicaHosts) {
             if (replica.equals(rpcManager.getAddress())) {
-               dataContainer.forEach(entry -> {
-                  int keySegment = topology.getDistribution(entry.getKey()).segmentId();
-                  if (keySegment == segmentId) {
+               dataContainer.forEach(IntSets.immutableSet(segmentId), entry -> {
+                  if (ReplicaDigest.inBuckets(entry.getKey(), bucketMask)) {
                      addKeyToReplicaMap(replica, entry);
                   }
                });
@@ -188,7 +257,9 @@ synchronized CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> requestStat
                   if (!transferTaskMap.containsKey(replica))
                      return;
 
-                  transferTask.requestSegments().exceptionally(throwable -> {
+                  CompletionStage<Void> transferStage = bucketMask == ReplicaDigest.ALL_BUCKETS ?
+                        transferTask.requestSegments() : transferTask.requestConflictResolutionSegments(bucketMask);
+                  transferStage.exceptionally(throwable -> {
                      if (log.isTraceEnabled()) log.tracef(throwable, "Cache %s exception when processing InboundTransferTask", cacheName);
                      cancel(throwable);
                      return null;
@@ -274,6 +345,7 @@ void addKeyToReplicaMap(Address address, CacheEntry<K, V> ice) {
       public String toString() {
          return "SegmentRequest{" +
                "segmentId=" + segmentId +
+               ", bucketMask=" + Long.toHexString(bucketMask) +
                ", topology=" + topology.getTopologyId() +
                ", replicaHosts=" + replicaHosts +
                ", keyReplicaMap=" + keyReplicaMap +
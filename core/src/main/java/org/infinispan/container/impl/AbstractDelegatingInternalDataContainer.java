@@ -157,6 +157,11 @@ public Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired(IntSet segmen
       return delegate().iteratorIncludingExpired(segments);
    }
 
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> expirationCandidates(IntSet segments, long currentTimeMillis) {
+      return delegate().expirationCandidates(segments, currentTimeMillis);
+   }
+
    @Override
    public void forEach(Consumer<? super InternalCacheEntry<K, V>> action) {
       delegate().forEach(action);
@@ -120,33 +120,8 @@ public boolean touch(int segment, Object k, long currentTimeMillis) {
    public void put(int segment, K k, V v, Metadata metadata, PrivateMetadata internalMetadata, long createdTimestamp, long lastUseTimestamp) {
       PeekableTouchableMap<K, V> entries = getMapForSegment(segment);
       if (entries != null) {
-         boolean l1Entry = false;
-         if (metadata instanceof L1Metadata) {
-            metadata = ((L1Metadata) metadata).metadata();
-            l1Entry = true;
-         }
-         InternalCacheEntry<K, V> e = entries.get(k);
-
-         if (log.isTraceEnabled()) {
-            log.tracef("Creating new ICE for writing. Existing=%s, metadata=%s, new value=%s", e, metadata, toStr(v));
-         }
-         final InternalCacheEntry<K, V> copy;
-         if (l1Entry) {
-            copy = entryFactory.createL1(k, v, metadata);
-         } else if (e != null) {
-            copy = entryFactory.update(e, v, metadata);
-         } else {
-            // this is a brand-new entry
-            // -1 signals the timestamps should be ignored
-            if (createdTimestamp == -1 && lastUseTimestamp == -1) {
-               copy = entryFactory.create(k, v, metadata);
-            } else {
-               copy = entryFactory.create(k, v, metadata, createdTimestamp, metadata.lifespan(),
-                                          lastUseTimestamp, metadata.maxIdle());
-            }
-         }
-
-         copy.setInternalMetadata(internalMetadata);
+         InternalCacheEntry<K, V> copy = entryForPut(entries.get(k), k, v, metadata, internalMetadata,
+                                                     createdTimestamp, lastUseTimestamp);
          if (log.isTraceEnabled())
             log.tracef("Store %s=%s in container", k, copy);
          entries.put(k, copy);
@@ -155,6 +130,42 @@ public void put(int segment, K k, V v, Metadata metadata, PrivateMetadata intern
       }
    }
 
+   /**
+    * Creates the entry stored by {@link #put(int, Object, Object, Metadata, PrivateMetadata, long, long)}.
+    * @param e the entry currently stored for the key, or {@code null}
+    */
+   protected InternalCacheEntry<K, V> entryForPut(InternalCacheEntry<K, V> e, K k, V v, Metadata metadata,
+                                                  PrivateMetadata internalMetadata, long createdTimestamp,
+                                                  long lastUseTimestamp) {
+      boolean l1Entry = false;
+      if (metadata instanceof L1Metadata) {
+         metadata = ((L1Metadata) metadata).metadata();
+         l1Entry = true;
+      }
+
+      if (log.isTraceEnabled()) {
+         log.tracef("Creating new ICE for writing. Existing=%s, metadata=%s, new value=%s", e, metadata, toStr(v));
+      }
+      final InternalCacheEntry<K, V> copy;
+      if (l1Entry) {
+         copy = entryFactory.createL1(k, v, metadata);
+      } else if (e != null) {
+         copy = entryFactory.update(e, v, metadata);
+      } else {
+         // this is a brand-new entry
+         // -1 signals the timestamps should be ignored
+         if (createdTimestamp == -1 && lastUseTimestamp == -1) {
+            copy = entryFactory.create(k, v, metadata);
+         } else {
+            copy = entryFactory.create(k, v, metadata, createdTimestamp, metadata.lifespan(),
+                                       lastUseTimestamp, metadata.maxIdle());
+         }
+      }
+
+      copy.setInternalMetadata(internalMetadata);
+      return copy;
+   }
+
    @Override
    public void put(K k, V v, Metadata metadata) {
       put(getSegmentForKey(k), k, v, metadata, null, -1, -1);
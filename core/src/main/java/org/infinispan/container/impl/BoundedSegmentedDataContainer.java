@@ -108,6 +108,8 @@ protected void computeEntryRemoved(K key, InternalCacheEntry<K, V> value) {
       if (map != null) {
          map.remove(key, value);
       }
+      // Evictions by size only go through this method
+      super.computeEntryRemoved(key, value);
    }
 
    @Override
@@ -124,6 +126,7 @@ public InternalCacheEntry<K, V> peek(Object k) {
    @Override
    public void clear() {
       entries.clear();
+      clearExpirationIndex();
    }
 
    @Override
@@ -9,6 +9,7 @@
 import java.util.Objects;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiConsumer;
@@ -21,12 +22,16 @@
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.logging.Log;
 import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.commons.util.ByRef;
 import org.infinispan.commons.util.ConcatIterator;
 import org.infinispan.commons.util.FlattenSpliterator;
 import org.infinispan.commons.util.IntSet;
+import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.annotations.Stop;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.metadata.impl.PrivateMetadata;
 import org.reactivestreams.Publisher;
 
 import io.reactivex.rxjava3.core.Flowable;
@@ -37,6 +42,11 @@
  * segments are required.
  * <p>
  * This implementation doesn't support bounding or temporary entries (L1).
+ * <p>
+ * When {@link org.infinispan.configuration.cache.ExpirationConfiguration#timerWheel()} is enabled and entries are
+ * stored on the heap, the keys of the entries that can expire are also indexed by their expiration time in an
+ * {@link ExpirationTimerWheel} for each segment, and {@link #expirationCandidates(IntSet, long)} only returns the
+ * entries whose deadline has passed.
  * @author wburns
  * @since 9.3
  */
@@ -47,6 +57,8 @@
    protected final AtomicReferenceArray<PeekableTouchableMap<K, V>> maps;
    protected final Supplier<PeekableTouchableMap<K, V>> mapSupplier;
    protected boolean shouldStopSegments;
+   // Expiration index of each segment, null when the index is disabled
+   protected AtomicReferenceArray<ExpirationTimerWheel<K>> wheels;
 
    protected io.reactivex.rxjava3.functions.Predicate<InternalCacheEntry<K, V>> notExpiredPredicate;
 
@@ -58,6 +70,9 @@ public DefaultSegmentedDataContainer(Supplier<PeekableTouchableMap<K, V>> mapSup
 
    @Start
    public void start() {
+      if (configuration.expiration().timerWheel() && !configuration.memory().isOffHeap()) {
+         wheels = new AtomicReferenceArray<>(maps.length());
+      }
       // Local (invalidation), replicated and scattered cache we just instantiate all the maps immediately
       // Scattered needs this for backups as they can be for any segment
       // Distributed needs them all only at beginning for preload of data - rehash event will remove others
@@ -96,6 +111,106 @@ public PeekableTouchableMap<K, V> getMapForSegment(int segment) {
       return maps.get(segment);
    }
 
+   @Override
+   public void put(int segment, K k, V v, Metadata metadata, PrivateMetadata internalMetadata, long createdTimestamp,
+         long lastUseTimestamp) {
+      if (wheels == null) {
+         super.put(segment, k, v, metadata, internalMetadata, createdTimestamp, lastUseTimestamp);
+         return;
+      }
+      // The index must be updated under the lock of the key, otherwise a concurrent remove could drop it
+      compute(segment, k, (key, oldEntry, factory) -> entryForPut(oldEntry, key, v, metadata, internalMetadata,
+                                                                    createdTimestamp, lastUseTimestamp));
+   }
+
+   @SuppressWarnings("unchecked")
+   @Override
+   public InternalCacheEntry<K, V> remove(int segment, Object k) {
+      if (wheels == null) {
+         return super.remove(segment, k);
+      }
+      ByRef<InternalCacheEntry<K, V>> removed = new ByRef<>(null);
+      compute(segment, (K) k, (key, oldEntry, factory) -> {
+         removed.set(oldEntry);
+         return null;
+      });
+      InternalCacheEntry<K, V> e = removed.get();
+      return e == null || (e.canExpire() && e.isExpired(timeService.wallClockTime())) ? null : e;
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> compute(int segment, K key, DataContainer.ComputeAction<K, V> action) {
+      if (wheels == null) {
+         return super.compute(segment, key, action);
+      }
+      return super.compute(segment, key, (k, oldEntry, factory) -> {
+         InternalCacheEntry<K, V> newEntry = action.compute(k, oldEntry, factory);
+         // Removals are handled by computeEntryRemoved
+         if (newEntry != oldEntry && newEntry != null) {
+            updateExpirationIndex(segment, k, newEntry);
+         }
+         return newEntry;
+      });
+   }
+
+   @Override
+   protected void computeEntryRemoved(K key, InternalCacheEntry<K, V> value) {
+      // Invoked under the lock of the key by compute and evict
+      if (wheels != null) {
+         updateExpirationIndex(getSegmentForKey(key), key, null);
+      }
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> expirationCandidates(IntSet segments, long currentTimeMillis) {
+      if (wheels == null) {
+         return super.expirationCandidates(segments, currentTimeMillis);
+      }
+      List<InternalCacheEntry<K, V>> candidates = new ArrayList<>();
+      segments.forEach((int s) -> {
+         ExpirationTimerWheel<K> wheel = wheels.get(s);
+         PeekableTouchableMap<K, V> map = getMapForSegment(s);
+         if (wheel == null || map == null) {
+            return;
+         }
+         for (ExpirationTimerWheel.Node<K> node : wheel.advance(currentTimeMillis)) {
+            long seenDeadline = node.deadline;
+            InternalCacheEntry<K, V> ice = map.peek(node.key);
+            if (ice != null && ice.canExpire() && ice.isExpired(currentTimeMillis)) {
+               candidates.add(ice);
+            } else {
+               // The entry was removed or updated without the index noticing, or its max idle was extended by a read
+               wheel.refresh(node, seenDeadline, ice != null && ice.canExpire() ? ice.getExpiryTime() : -1);
+            }
+         }
+      });
+      return candidates.iterator();
+   }
+
+   /**
+    * @return the number of keys in the expiration index of the given segment
+    */
+   int expirationIndexSize(int segment) {
+      ExpirationTimerWheel<K> wheel = wheels != null ? wheels.get(segment) : null;
+      return wheel != null ? wheel.size() : 0;
+   }
+
+   /**
+    * Updates the expiration index with the entry that is now stored in the container for the given key.
+    * @param entry the entry now stored for the key, or {@code null} if the key was removed
+    */
+   @SuppressWarnings("unchecked")
+   protected void updateExpirationIndex(int segment, Object key, InternalCacheEntry<K, V> entry) {
+      ExpirationTimerWheel<K> wheel = wheels.get(segment);
+      if (wheel != null) {
+         if (entry != null && entry.canExpire()) {
+            wheel.schedule(entry.getKey(), entry.getExpiryTime());
+         } else {
+            wheel.remove((K) key);
+         }
+      }
+   }
+
    @Override
    public Publisher<InternalCacheEntry<K, V>> publisher(int segment) {
       ConcurrentMap<K, InternalCacheEntry<K, V>> mapForSegment = maps.get(segment);
@@ -213,6 +328,31 @@ public void clear() {
             map.clear();
          }
       }
+      clearExpirationIndex();
+   }
+
+   @Override
+   public void clear(IntSet segments) {
+      super.clear(segments);
+      if (wheels != null) {
+         segments.forEach((int s) -> {
+            ExpirationTimerWheel<K> wheel = wheels.get(s);
+            if (wheel != null) {
+               wheel.clear();
+            }
+         });
+      }
+   }
+
+   protected void clearExpirationIndex() {
+      if (wheels != null) {
+         for (int i = 0; i < wheels.length(); ++i) {
+            ExpirationTimerWheel<K> wheel = wheels.get(i);
+            if (wheel != null) {
+               wheel.clear();
+            }
+         }
+      }
    }
 
    @Override
@@ -266,6 +406,9 @@ public void forEachSegment(ObjIntConsumer<PeekableTouchableMap<K, V>> segmentMap
    }
 
    private void startNewMap(int segment) {
+      if (wheels != null && wheels.get(segment) == null) {
+         wheels.compareAndSet(segment, null, new ExpirationTimerWheel<>(timeService.wallClockTime()));
+      }
       if (maps.get(segment) == null) {
          PeekableTouchableMap<K, V> newMap = mapSupplier.get();
          // Just in case of concurrent starts - this shouldn't be possible
@@ -280,6 +423,9 @@ private void startNewMap(int segment) {
    }
 
    private void stopMap(int segment, boolean notifyListener) {
+      if (wheels != null) {
+         wheels.set(segment, null);
+      }
       ConcurrentMap<K, InternalCacheEntry<K, V>> map = maps.getAndSet(segment, null);
       if (map != null) {
          if (notifyListener && !map.isEmpty()) {
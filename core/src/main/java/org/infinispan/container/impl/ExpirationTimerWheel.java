@@ -0,0 +1,198 @@
+package org.infinispan.container.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Hierarchical timing wheel that indexes the keys of a segment by the time their entries expire, so that the
+ * expiration reaper only has to look at the entries whose deadline has passed.
+ * <p>
+ * The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots, each slot of a level spanning 64 times the time of
+ * a slot of the level below it: about 1 second, 1 minute, 1 hour and 3 days. A key is placed in the lowest level
+ * that can hold its deadline, or in an overflow list if it is beyond the last level. When the wheel is advanced, the
+ * slots whose time has come are emptied and their keys are placed again, which moves them to a lower level or, once
+ * their deadline has passed, to the list of expired keys.
+ * <p>
+ * Expired keys stay in that list until the entry is removed from the container or its deadline is updated, so an
+ * expiration that does not complete is retried on the next advance. The deadline of an entry with a max idle is
+ * only updated when it is found in the expired list while it was touched in the meantime, which keeps reads from
+ * having to update the wheel.
+ * <p>
+ * All the methods synchronize on the wheel, which is not contended as there is one wheel per segment.
+ *
+ * @since 13.0
+ */
+@ThreadSafe
+class ExpirationTimerWheel<K> {
+   static final int LEVELS = 4;
+   static final int SLOTS = 64;
+   // The slot of each level is 64 times bigger than the slot of the level below it
+   private static final int[] SHIFTS = {10, 16, 22, 28};
+   private static final int OVERFLOW = LEVELS * SLOTS;
+   private static final int EXPIRED = OVERFLOW + 1;
+
+   private final Map<K, Node<K>> nodes = new HashMap<>();
+   // Heads of the doubly linked list of each slot, followed by the overflow and the expired lists
+   @SuppressWarnings("unchecked")
+   private final Node<K>[] heads = new Node[EXPIRED + 1];
+   private long currentTime;
+
+   ExpirationTimerWheel(long currentTime) {
+      this.currentTime = currentTime;
+   }
+
+   /**
+    * Sets the deadline of a key, replacing the previous one if present.
+    * @param key the key of the entry
+    * @param deadline the wall clock time when the entry expires, or a negative value if the entry never expires,
+    *                 which removes the key from the wheel
+    */
+   synchronized void schedule(K key, long deadline) {
+      if (deadline < 0) {
+         remove(key);
+         return;
+      }
+      Node<K> node = nodes.get(key);
+      if (node == null) {
+         node = new Node<>(key);
+         nodes.put(key, node);
+      } else if (node.deadline == deadline) {
+         return;
+      } else {
+         unlink(node);
+      }
+      node.deadline = deadline;
+      place(node);
+   }
+
+   /**
+    * Updates the deadline of a key returned by {@link #advance(long)}, unless it was rescheduled or removed after
+    * being returned.
+    * @param node the node returned by {@link #advance(long)}
+    * @param seenDeadline the deadline of the node when it was returned
+    * @param deadline the new deadline, or a negative value to remove the key
+    */
+   synchronized void refresh(Node<K> node, long seenDeadline, long deadline) {
+      if (nodes.get(node.key) == node && node.deadline == seenDeadline) {
+         schedule(node.key, deadline);
+      }
+   }
+
+   synchronized void remove(K key) {
+      Node<K> node = nodes.remove(key);
+      if (node != null) {
+         unlink(node);
+      }
+   }
+
+   synchronized void clear() {
+      nodes.clear();
+      for (int i = 0; i < heads.length; ++i) {
+         heads[i] = null;
+      }
+   }
+
+   synchronized int size() {
+      return nodes.size();
+   }
+
+   /**
+    * Advances the wheel to the given time, moving the keys whose deadline has passed to the expired list.
+    * @param now the current wall clock time
+    * @return the nodes of the keys in the expired list, including the keys expired by previous advances that were
+    *         not removed yet
+    */
+   synchronized List<Node<K>> advance(long now) {
+      if (now > currentTime) {
+         long previous = currentTime;
+         currentTime = now;
+         for (int level = 0; level < LEVELS; ++level) {
+            long previousTicks = previous >>> SHIFTS[level];
+            long ticks = now >>> SHIFTS[level];
+            // Keys of the current slot of the first level may expire before the end of the slot, so it is always
+            // processed. Keys are never placed in the current slot of the other levels, as they would fit in the
+            // level below it.
+            long first = level == 0 ? previousTicks : previousTicks + 1;
+            long count = Math.min(ticks - first + 1, SLOTS);
+            for (long i = 0; i < count; ++i) {
+               replaceSlot(level * SLOTS + (int) ((first + i) & (SLOTS - 1)));
+            }
+         }
+         if ((previous >>> SHIFTS[LEVELS - 1]) != (now >>> SHIFTS[LEVELS - 1])) {
+            replaceSlot(OVERFLOW);
+         }
+      }
+      List<Node<K>> expired = new ArrayList<>();
+      for (Node<K> node = heads[EXPIRED]; node != null; node = node.next) {
+         expired.add(node);
+      }
+      return expired;
+   }
+
+   private void replaceSlot(int slot) {
+      Node<K> node = heads[slot];
+      heads[slot] = null;
+      while (node != null) {
+         Node<K> next = node.next;
+         node.prev = null;
+         node.next = null;
+         place(node);
+         node = next;
+      }
+   }
+
+   private void place(Node<K> node) {
+      long deadline = node.deadline;
+      if (deadline <= currentTime) {
+         link(node, EXPIRED);
+         return;
+      }
+      long delta = deadline - currentTime;
+      for (int level = 0; level < LEVELS; ++level) {
+         if (delta < (long) SLOTS << SHIFTS[level]) {
+            link(node, level * SLOTS + (int) ((deadline >>> SHIFTS[level]) & (SLOTS - 1)));
+            return;
+         }
+      }
+      link(node, OVERFLOW);
+   }
+
+   private void link(Node<K> node, int slot) {
+      node.slot = slot;
+      node.next = heads[slot];
+      if (node.next != null) {
+         node.next.prev = node;
+      }
+      heads[slot] = node;
+   }
+
+   private void unlink(Node<K> node) {
+      if (node.prev != null) {
+         node.prev.next = node.next;
+      } else {
+         heads[node.slot] = node.next;
+      }
+      if (node.next != null) {
+         node.next.prev = node.prev;
+      }
+      node.prev = null;
+      node.next = null;
+   }
+
+   static final class Node<K> {
+      final K key;
+      // Only read outside of the wheel lock by the thread that advanced the wheel, as a hint
+      volatile long deadline;
+      int slot;
+      Node<K> prev;
+      Node<K> next;
+
+      Node(K key) {
+         this.key = key;
+      }
+   }
+}
@@ -199,6 +199,20 @@ default int sizeIncludingExpired(IntSet segments) {
     */
    Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired(IntSet segments);
 
+   /**
+    * Returns the entries mapping to the provided segments that the expiration reaper has to check. Any entry that is
+    * expired at the given time must be returned, but the iterator may also return entries that are not expired.
+    * <p>
+    * The default implementation returns all the entries, as {@link #iteratorIncludingExpired(IntSet)} does.
+    * Containers that index their entries by expiration time only return the entries whose deadline has passed.
+    * @param segments segments of entries to use
+    * @param currentTimeMillis the current wall clock time
+    * @return iterator that returns the entries mapped to the given segments that could be expired
+    */
+   default Iterator<InternalCacheEntry<K, V>> expirationCandidates(IntSet segments, long currentTimeMillis) {
+      return iteratorIncludingExpired(segments);
+   }
+
    default Publisher<InternalCacheEntry<K, V>> publisher(int segment) {
       return Flowable.fromIterable(() -> iterator(IntSets.immutableSet(segment)));
    }
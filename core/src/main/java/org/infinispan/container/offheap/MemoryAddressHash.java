@@ -27,6 +27,13 @@ public MemoryAddressHash(int pointers, OffHeapMemoryAllocator allocator) {
       UNSAFE.setMemory(memory, bytes, (byte) 0);
    }
 
+   /**
+    * Sets all the address lookups to 0, without returning the previous addresses.
+    */
+   public void clear() {
+      UNSAFE.setMemory(memory, ((long) pointerCount) << 3, (byte) 0);
+   }
+
    public void putMemoryAddressOffset(int offset, long address) {
       MEMORY.putLong(memory, offset << 3, address);
    }
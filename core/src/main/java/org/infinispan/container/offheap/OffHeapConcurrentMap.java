@@ -70,6 +70,14 @@
  * write lock for the lock region, are ({@code put}, {@code remove}, {@code replace}, {@code compute}. A clear
  * will acquire all write locks when invoked. This allows the clear to also resize the map down to the initial size.
  * <p>
+ * If the {@link OffHeapMemoryAllocator} retains deallocated memory (see
+ * {@link OffHeapMemoryAllocator#retainsDeallocatedMemory()}), {@code get} and {@code peek} first attempt an optimistic
+ * read, that is they read the lock region without acquiring its lock and then validate the stamp of the lock. Only if
+ * a write to the region happened concurrently is the read retried while holding the read lock. As a reader may be
+ * looking at a memory lookup that was replaced by a resize or clear, the replaced lookups are then not freed until the
+ * map is closed, and are reused by later resizes instead. A {@code get} on a map with an {@link EntryListener} always
+ * acquires the read lock, as the listener must only be notified for entries that are still present.
+ * <p>
  * When this map is constructed it is also possible to provide an {@link EntryListener} that is invoked when various
  * operations are performed in the map. Note that the various modification callbacks <b>MUST</b> free the old address,
  * or else a memory leak will occur. Please see the various methods for clarification on these methods.
@@ -109,6 +117,8 @@ public class OffHeapConcurrentMap implements ConcurrentMap<WrappedBytes, Interna
    private final static int LOCK_SHIFT = 31 - Integer.numberOfTrailingZeros(LOCK_COUNT);
    // The number of bits required to shift to the right to get the bucket size from a given pointer address
    private final static int LOCK_REGION_SHIFT = Integer.numberOfTrailingZeros(LOCK_COUNT);
+   // Returned by an optimistic read that could not be validated
+   private final static Object RETRY_LOCKED = new Object();
 
    private final AtomicLong size = new AtomicLong();
    private final StripedLock locks;
@@ -118,6 +128,9 @@ public class OffHeapConcurrentMap implements ConcurrentMap<WrappedBytes, Interna
 
    private final EntryListener listener;
 
+   // Whether get and peek can read without acquiring the read lock, only possible if the allocator retains memory
+   private final boolean optimisticReads;
+
    // Once this threshold size is met, the underlying buckets will be re-sized if possible
    // This variable can be read outside of locks - thus is volatile, however should only be modified while holding
    // all write locks
@@ -140,12 +153,17 @@ public class OffHeapConcurrentMap implements ConcurrentMap<WrappedBytes, Interna
    private MemoryAddressHash oldMemoryLookup;
    @GuardedBy("locks")
    private int oldMemoryShift;
+   // Memory lookups that were replaced while optimistic reads are enabled - these can't be freed until the map is
+   // closed as a concurrent optimistic read may still be reading them. They are reused by later resizes instead.
+   @GuardedBy("locks#lockAll")
+   private final Queue<MemoryAddressHash> retiredLookups = new ArrayDeque<>();
 
    public OffHeapConcurrentMap(OffHeapMemoryAllocator allocator,
          OffHeapEntryFactory offHeapEntryFactory, EntryListener listener) {
       this.allocator = Objects.requireNonNull(allocator);
       this.offHeapEntryFactory = Objects.requireNonNull(offHeapEntryFactory);
       this.listener = listener;
+      this.optimisticReads = allocator.retainsDeallocatedMemory();
 
       locks = new StripedLock(LOCK_COUNT);
 
@@ -369,13 +387,45 @@ private boolean sizeMemoryBuckets(int bucketCount) {
 
       oldMemoryLookup = memoryLookup;
       oldMemoryShift = memoryShift;
-      memoryLookup = new MemoryAddressHash(bucketCount, allocator);
+      memoryLookup = newMemoryLookup(bucketCount);
       // Max capacity is 2^31 (thus find the bit position that would be like dividing evenly into that)
       memoryShift = 31 - Integer.numberOfTrailingZeros(bucketCount);
 
       return true;
    }
 
+   /**
+    * Returns a memory lookup with the given amount of buckets, reusing a retired lookup of the same size if possible.
+    * @param bucketCount the amount of buckets
+    * @return a memory lookup with all buckets empty
+    */
+   @GuardedBy("locks#lockAll")
+   private MemoryAddressHash newMemoryLookup(int bucketCount) {
+      int pointerCount = Util.findNextHighestPowerOfTwo(bucketCount);
+      for (Iterator<MemoryAddressHash> iterator = retiredLookups.iterator(); iterator.hasNext(); ) {
+         MemoryAddressHash retired = iterator.next();
+         if (retired.getPointerCount() == pointerCount) {
+            iterator.remove();
+            retired.clear();
+            return retired;
+         }
+      }
+      return new MemoryAddressHash(bucketCount, allocator);
+   }
+
+   /**
+    * Frees the given memory lookup, unless an optimistic read may still be reading it.
+    * @param lookup the memory lookup that is no longer referenced by this map
+    */
+   @GuardedBy("locks#lockAll")
+   private void retireMemoryLookup(MemoryAddressHash lookup) {
+      if (optimisticReads) {
+         retiredLookups.add(lookup);
+      } else {
+         lookup.deallocate();
+      }
+   }
+
    /**
     * Computes the threshold for when a resize should occur. The returned value will be 75% of provided number, assuming
     * it is a power of two (provides a .75 load factor)
@@ -466,7 +516,7 @@ private void transferComplete() {
       }
       this.oldMemoryLookup = null;
 
-      oldMemoryLookup.deallocate();
+      retireMemoryLookup(oldMemoryLookup);
    }
 
    /**
@@ -550,6 +600,10 @@ public void close() {
          actualClear();
          memoryLookup.deallocate();
          memoryLookup = null;
+         MemoryAddressHash retired;
+         while ((retired = retiredLookups.poll()) != null) {
+            retired.deallocate();
+         }
       } finally {
          locks.unlockAll();
       }
@@ -622,6 +676,15 @@ private InternalCacheEntry<WrappedBytes, WrappedBytes> peekOrGet(WrappedBytes k,
       int hashCode = k.hashCode();
       int lockOffset = getLockOffset(hashCode);
       StampedLock stampedLock = locks.getLockWithOffset(lockOffset);
+      if (optimisticReads && (peek || listener == null)) {
+         long stamp = stampedLock.tryOptimisticRead();
+         if (stamp != 0) {
+            Object result = optimisticPeekOrGet(stampedLock, stamp, k, hashCode);
+            if (result != RETRY_LOCKED) {
+               return (InternalCacheEntry<WrappedBytes, WrappedBytes>) result;
+            }
+         }
+      }
       long readStamp = stampedLock.readLock();
       try {
          checkDeallocation();
@@ -637,6 +700,49 @@ private InternalCacheEntry<WrappedBytes, WrappedBytes> peekOrGet(WrappedBytes k,
       }
    }
 
+   /**
+    * Attempts to find the entry for the given key without acquiring any lock. Every address is validated against the
+    * stamp before being followed, as a concurrent write may have freed it, and the entry read is only returned if no
+    * write happened in the lock region while reading it. Memory that was freed concurrently is still mapped as the
+    * allocator retains it, however it may contain anything, so any exception is treated as a failed validation.
+    * @return the entry, null if the key is not present or {@link #RETRY_LOCKED} if the read must be done again
+    * holding the read lock
+    */
+   private Object optimisticPeekOrGet(StampedLock stampedLock, long stamp, WrappedBytes k, int hashCode) {
+      try {
+         MemoryAddressHash memoryLookup = this.memoryLookup;
+         // Reads during a resize need to know if the region was transferred, which requires the lock
+         if (memoryLookup == null || pendingBlocks != null) {
+            return RETRY_LOCKED;
+         }
+         int memoryOffset = getOffset(hashCode, memoryShift);
+         if (!stampedLock.validate(stamp)) {
+            return RETRY_LOCKED;
+         }
+         long address = memoryLookup.getMemoryAddressOffset(memoryOffset);
+         while (address != 0) {
+            if (!stampedLock.validate(stamp) || !allocator.isRetained(address)) {
+               return RETRY_LOCKED;
+            }
+            long nextAddress = offHeapEntryFactory.getNext(address);
+            if (offHeapEntryFactory.equalsKey(address, k, hashCode)) {
+               if (!stampedLock.validate(stamp)) {
+                  return RETRY_LOCKED;
+               }
+               InternalCacheEntry<WrappedBytes, WrappedBytes> ice = offHeapEntryFactory.fromMemory(address);
+               return stampedLock.validate(stamp) ? ice : RETRY_LOCKED;
+            }
+            address = nextAddress;
+         }
+         return stampedLock.validate(stamp) ? null : RETRY_LOCKED;
+      } catch (RuntimeException e) {
+         if (log.isTraceEnabled()) {
+            log.tracef(e, "Optimistic read of key %s failed, retrying with lock", k);
+         }
+         return RETRY_LOCKED;
+      }
+   }
+
    @GuardedBy("locks#readLock")
    private InternalCacheEntry<WrappedBytes, WrappedBytes> lockedPeekOrGet(MemoryAddressHash memoryLookup,
          WrappedBytes k, int hashCode, boolean peek) {
@@ -924,7 +1030,7 @@ private void actualClear() {
       };
       int pointerCount = memoryLookup.getPointerCount();
       memoryLookup.removeAll().forEach(removeEntries);
-      memoryLookup.deallocate();
+      retireMemoryLookup(memoryLookup);
       memoryLookup = null;
       if (listener != null) {
          boolean resized = listener.resize(-pointerCount);
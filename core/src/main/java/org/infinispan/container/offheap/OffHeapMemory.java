@@ -159,6 +159,36 @@ long allocate(long size) {
       return address;
    }
 
+   /**
+    * Allocates a region of memory whose blocks are carved out and tracked individually by the caller through
+    * {@link #trackBlock(long, long)} and {@link #untrackBlock(long)}.
+    */
+   long allocateRegion(long size) {
+      return UNSAFE.allocateMemory(size);
+   }
+
+   void freeRegion(long address) {
+      UNSAFE.freeMemory(address);
+   }
+
+   void trackBlock(long address, long size) {
+      if (log.isTraceEnabled()) {
+         Long prev = allocatedBlocks.put(address, size);
+         if (prev != null) {
+            throw new IllegalArgumentException();
+         }
+      }
+   }
+
+   void untrackBlock(long address) {
+      if (log.isTraceEnabled()) {
+         Long prev = allocatedBlocks.remove(address);
+         if (prev == null) {
+            throw new IllegalArgumentException();
+         }
+      }
+   }
+
    void free(long address) {
       if (log.isTraceEnabled()) {
          Long prev = allocatedBlocks.remove(address);
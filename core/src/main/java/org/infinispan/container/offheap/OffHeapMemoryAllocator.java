@@ -23,4 +23,34 @@ public interface OffHeapMemoryAllocator {
    void deallocate(long memoryAddress, long size);
 
    long getAllocatedAmount();
+
+   /**
+    * Returns the amount of memory used by an allocation of the given length, including the overhead of this allocator.
+    * @param memoryLength the size of memory to allocate
+    * @return the resulting size taking into account the allocator overhead
+    */
+   default long allocationSize(long memoryLength) {
+      return UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(memoryLength);
+   }
+
+   /**
+    * Returns whether this allocator may keep deallocated memory mapped until it is stopped. When it does, memory at an
+    * address for which {@link #isRetained(long)} returns {@code true} can be read without holding a lock, as long as the
+    * read is validated afterwards, as the memory may have been deallocated and reused concurrently.
+    * @return whether deallocated memory may be retained by this allocator
+    */
+   default boolean retainsDeallocatedMemory() {
+      return false;
+   }
+
+   /**
+    * Returns whether the memory at the given address remains mapped after being deallocated, until this allocator is
+    * stopped. This also guarantees that reading lengths stored in the block at the given address, which could belong to
+    * any entry that previously used that block, does not read outside of mapped memory.
+    * @param memoryAddress the address to check, which may have already been deallocated
+    * @return whether the memory at the given address is retained
+    */
+   default boolean isRetained(long memoryAddress) {
+      return false;
+   }
 }
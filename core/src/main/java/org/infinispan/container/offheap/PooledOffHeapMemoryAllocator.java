@@ -0,0 +1,369 @@
+package org.infinispan.container.offheap;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.util.ProcessorInfo;
+import org.infinispan.commons.util.Util;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import sun.misc.Unsafe;
+
+/**
+ * Memory allocator that carves blocks out of large native slabs, grouped by size class, instead of requesting memory
+ * from the native allocator for every entry.
+ * <p>
+ * Requests are rounded up to the closest size class: multiples of 16 bytes up to 256 bytes and then four classes for
+ * every power of two up to {@link #MAX_POOLED_SIZE}. Each size class owns its slabs, which are {@link #SLAB_SIZE}
+ * bytes each. Freed blocks are pushed onto a striped free list of their size class, picked by the freeing thread, so
+ * that they can be reused without going back to the native allocator. The link to the next free block is stored in
+ * the first 8 bytes of the free block itself. Requests larger than {@link #MAX_POOLED_SIZE} (e.g. the bucket array of
+ * the map) are allocated directly as {@link UnpooledOffHeapMemoryAllocator} does.
+ * <p>
+ * Slabs are only returned to the operating system when the allocator is stopped, so the reserved memory reflects the
+ * peak usage of each size class. This also means that a block stays readable after it has been deallocated, which is
+ * what allows {@link OffHeapConcurrentMap} to read entries without acquiring a lock (see {@link #isRetained(long)}).
+ * Every slab is followed by a guard region of four times its block size: any length read from a block was written by an
+ * entry that fit in that block, so reading fields of a block that is concurrently reused never leaves mapped memory.
+ * @since 13.0
+ */
+@MBean(objectName = "PooledOffHeapMemoryAllocator", description = "Allocates off-heap memory from pooled slabs")
+@Scope(Scopes.NAMED_CACHE)
+public class PooledOffHeapMemoryAllocator implements OffHeapMemoryAllocator {
+   private static final Log log = LogFactory.getLog(PooledOffHeapMemoryAllocator.class, Log.class);
+   private static final OffHeapMemory MEMORY = OffHeapMemory.INSTANCE;
+   private static final Unsafe UNSAFE = UnsafeHolder.UNSAFE;
+
+   static final int SLAB_SIZE = 1 << 20;
+   static final int MAX_POOLED_SIZE = 1 << 14;
+
+   private static final int SMALL_SIZE_LIMIT = 256;
+   private static final int SMALL_CLASS_COUNT = SMALL_SIZE_LIMIT >>> 4;
+   private static final int SMALL_LIMIT_SHIFT = Integer.numberOfTrailingZeros(SMALL_SIZE_LIMIT);
+   static final int SIZE_CLASS_COUNT = SMALL_CLASS_COUNT +
+         4 * (Integer.numberOfTrailingZeros(MAX_POOLED_SIZE) - SMALL_LIMIT_SHIFT);
+
+   private final SizeClass[] sizeClasses;
+   private final int stripeMask;
+
+   // Base addresses of all slabs in ascending order, where only the first slabCount are valid. Modified while holding
+   // the monitor of this allocator. Slabs are inserted in place, so a concurrent isRetained may miss a slab while
+   // others are being shifted, which only makes the caller fall back to a locked read.
+   private volatile long[] slabBases = new long[16];
+   private volatile int slabCount;
+   private final LongAdder slabMemory = new LongAdder();
+   private final LongAdder pooledInUse = new LongAdder();
+   private final LongAdder pooledRequested = new LongAdder();
+   private final LongAdder unpooledAllocated = new LongAdder();
+
+   public PooledOffHeapMemoryAllocator() {
+      this(ProcessorInfo.availableProcessors());
+   }
+
+   PooledOffHeapMemoryAllocator(int stripes) {
+      int stripeCount = Util.findNextHighestPowerOfTwo(stripes);
+      stripeMask = stripeCount - 1;
+      sizeClasses = new SizeClass[SIZE_CLASS_COUNT];
+      for (int i = 0; i < sizeClasses.length; ++i) {
+         sizeClasses[i] = new SizeClass(blockSize(i), stripeCount);
+      }
+   }
+
+   /**
+    * Returns the size class that will hold an allocation of the given size, which must not be larger than
+    * {@link #MAX_POOLED_SIZE}.
+    */
+   static int sizeClass(long size) {
+      if (size <= SMALL_SIZE_LIMIT) {
+         return size <= 16 ? 0 : (int) ((size + 15) >>> 4) - 1;
+      }
+      // Sizes in (2^k, 2^(k+1)] are split in 4 classes each 2^(k-2) apart
+      int log2 = 63 - Long.numberOfLeadingZeros(size - 1);
+      int sub = (int) ((size - 1 - (1L << log2)) >>> (log2 - 2));
+      return SMALL_CLASS_COUNT + ((log2 - SMALL_LIMIT_SHIFT) << 2) + sub;
+   }
+
+   /**
+    * Returns the amount of memory reserved for a slab of the given block size, including its guard region.
+    */
+   static long regionSize(int blockSize) {
+      return SLAB_SIZE + ((long) blockSize << 2);
+   }
+
+   /**
+    * Returns the size of the blocks handed out by the given size class.
+    */
+   static int blockSize(int sizeClass) {
+      if (sizeClass < SMALL_CLASS_COUNT) {
+         return (sizeClass + 1) << 4;
+      }
+      int offset = sizeClass - SMALL_CLASS_COUNT;
+      int log2 = SMALL_LIMIT_SHIFT + (offset >>> 2);
+      return (1 << log2) + (((offset & 3) + 1) << (log2 - 2));
+   }
+
+   @Override
+   public long allocate(long memoryLength) {
+      if (memoryLength > MAX_POOLED_SIZE) {
+         long estimatedMemoryLength = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(memoryLength);
+         long memoryLocation = MEMORY.allocate(memoryLength);
+         unpooledAllocated.add(estimatedMemoryLength);
+         if (log.isTraceEnabled()) {
+            log.tracef("Allocated unpooled off-heap memory at 0x%016x with %d bytes", memoryLocation, estimatedMemoryLength);
+         }
+         return memoryLocation;
+      }
+      SizeClass sizeClass = sizeClasses[sizeClass(memoryLength)];
+      long memoryLocation = sizeClass.allocate(stripe());
+      pooledInUse.add(sizeClass.blockSize);
+      pooledRequested.add(memoryLength);
+      MEMORY.trackBlock(memoryLocation, memoryLength);
+      if (log.isTraceEnabled()) {
+         log.tracef("Allocated pooled off-heap memory at 0x%016x with %d bytes from size class of %d bytes",
+               memoryLocation, memoryLength, sizeClass.blockSize);
+      }
+      return memoryLocation;
+   }
+
+   @Override
+   public void deallocate(long memoryAddress, long size) {
+      if (size > MAX_POOLED_SIZE) {
+         long estimatedMemoryLength = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(size);
+         unpooledAllocated.add(-estimatedMemoryLength);
+         if (log.isTraceEnabled()) {
+            log.tracef("Deallocating unpooled off-heap memory at 0x%016x with %d bytes", memoryAddress, estimatedMemoryLength);
+         }
+         MEMORY.free(memoryAddress);
+         return;
+      }
+      SizeClass sizeClass = sizeClasses[sizeClass(size)];
+      if (log.isTraceEnabled()) {
+         log.tracef("Returning pooled off-heap memory at 0x%016x with %d bytes to size class of %d bytes",
+               memoryAddress, size, sizeClass.blockSize);
+      }
+      MEMORY.untrackBlock(memoryAddress);
+      sizeClass.free(memoryAddress, stripe());
+      pooledInUse.add(-sizeClass.blockSize);
+      pooledRequested.add(-size);
+   }
+
+   /**
+    * Returns the size of the block handed out for the given length, or the estimated size of the allocation when it is
+    * too large to be pooled.
+    */
+   @Override
+   public long allocationSize(long memoryLength) {
+      if (memoryLength > MAX_POOLED_SIZE) {
+         return UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(memoryLength);
+      }
+      return blockSize(sizeClass(memoryLength));
+   }
+
+   private int stripe() {
+      return (int) Thread.currentThread().getId() & stripeMask;
+   }
+
+   /**
+    * Returns the amount of native memory reserved by this allocator, that is all the slabs plus the estimated size of
+    * the allocations too large to be pooled.
+    */
+   @Override
+   public long getAllocatedAmount() {
+      return slabMemory.sum() + unpooledAllocated.sum();
+   }
+
+   @Override
+   public boolean retainsDeallocatedMemory() {
+      return true;
+   }
+
+   @Override
+   public boolean isRetained(long memoryAddress) {
+      long[] bases = slabBases;
+      int count = Math.min(slabCount, bases.length);
+      int index = Arrays.binarySearch(bases, 0, count, memoryAddress);
+      // Either the slab starting at the address or the closest one before it
+      int slabIndex = index >= 0 ? index : -index - 2;
+      if (slabIndex < 0 || slabIndex >= count) {
+         return false;
+      }
+      long base = bases[slabIndex];
+      return base != 0 && memoryAddress >= base && memoryAddress - base < SLAB_SIZE;
+   }
+
+   private synchronized long addSlab(int blockSize) {
+      long regionSize = regionSize(blockSize);
+      long slab = MEMORY.allocateRegion(regionSize);
+      long[] bases = slabBases;
+      int count = slabCount;
+      int position = -Arrays.binarySearch(bases, 0, count, slab) - 1;
+      if (count == bases.length) {
+         long[] newBases = new long[count << 1];
+         System.arraycopy(bases, 0, newBases, 0, position);
+         newBases[position] = slab;
+         System.arraycopy(bases, position, newBases, position + 1, count - position);
+         slabBases = newBases;
+      } else {
+         System.arraycopy(bases, position, bases, position + 1, count - position);
+         bases[position] = slab;
+      }
+      slabCount = count + 1;
+      slabMemory.add(regionSize);
+      if (log.isTraceEnabled()) {
+         log.tracef("Allocated slab at 0x%016x for size class of %d bytes", slab, blockSize);
+      }
+      return slab;
+   }
+
+   @ManagedAttribute(
+         description = "Number of slabs reserved by the off-heap allocator",
+         displayName = "Slab count"
+   )
+   public long getSlabCount() {
+      return slabCount;
+   }
+
+   @ManagedAttribute(
+         description = "Amount of slab memory handed out to entries, including size class rounding (bytes)",
+         displayName = "Pooled memory used",
+         units = Units.BYTES
+   )
+   public long getPooledMemoryUsed() {
+      return pooledInUse.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Ratio of slab memory currently handed out to entries to the memory reserved by all slabs",
+         displayName = "Slab utilization",
+         units = Units.PERCENTAGE
+   )
+   public double getSlabUtilization() {
+      double reserved = slabMemory.sum();
+      if (reserved <= 0)
+         return 0;
+      return pooledInUse.sum() / reserved;
+   }
+
+   @ManagedAttribute(
+         description = "Ratio of pooled memory lost to rounding requests up to their size class",
+         displayName = "Internal fragmentation",
+         units = Units.PERCENTAGE
+   )
+   public double getFragmentation() {
+      double inUse = pooledInUse.sum();
+      if (inUse <= 0)
+         return 0;
+      return 1 - pooledRequested.sum() / inUse;
+   }
+
+   /**
+    * Releases all the slabs back to the operating system. Any block still handed out is no longer valid after this
+    * method returns, so it must only be invoked after the container using this allocator has been stopped.
+    */
+   @Stop
+   public void stop() {
+      for (SizeClass sizeClass : sizeClasses) {
+         sizeClass.reset();
+      }
+      synchronized (this) {
+         long[] bases = slabBases;
+         for (int i = 0; i < slabCount; ++i) {
+            MEMORY.freeRegion(bases[i]);
+         }
+         slabBases = new long[16];
+         slabCount = 0;
+      }
+      slabMemory.reset();
+      pooledInUse.reset();
+      pooledRequested.reset();
+   }
+
+   private final class SizeClass {
+      private final int blockSize;
+      private final FreeList[] freeLists;
+
+      // The following fields are guarded by this
+      private long bumpAddress;
+      private long bumpLimit;
+
+      SizeClass(int blockSize, int stripeCount) {
+         this.blockSize = blockSize;
+         this.freeLists = new FreeList[stripeCount];
+         for (int i = 0; i < stripeCount; ++i) {
+            freeLists[i] = new FreeList();
+         }
+      }
+
+      long allocate(int stripe) {
+         long address = freeLists[stripe].pop();
+         if (address != 0) {
+            return address;
+         }
+         // Prefer blocks freed by other threads over growing the slab, to keep fragmentation down
+         for (int i = 1; i < freeLists.length; ++i) {
+            FreeList other = freeLists[(stripe + i) & stripeMask];
+            if (other.count > 0 && (address = other.pop()) != 0) {
+               return address;
+            }
+         }
+         return carve();
+      }
+
+      void free(long address, int stripe) {
+         freeLists[stripe].push(address);
+      }
+
+      private synchronized long carve() {
+         if (bumpAddress + blockSize > bumpLimit) {
+            long slab = addSlab(blockSize);
+            bumpAddress = slab;
+            bumpLimit = slab + SLAB_SIZE;
+         }
+         long address = bumpAddress;
+         bumpAddress += blockSize;
+         return address;
+      }
+
+      synchronized void reset() {
+         for (FreeList freeList : freeLists) {
+            freeList.clear();
+         }
+         bumpAddress = 0;
+         bumpLimit = 0;
+      }
+   }
+
+   private static final class FreeList {
+      // Guarded by this
+      private long head;
+      // Written while holding the monitor, read without it to skip empty stripes
+      private volatile int count;
+
+      synchronized long pop() {
+         long address = head;
+         if (address != 0) {
+            head = UNSAFE.getLong(address);
+            count--;
+         }
+         return address;
+      }
+
+      synchronized void push(long address) {
+         UNSAFE.putLong(address, head);
+         head = address;
+         count++;
+      }
+
+      synchronized void clear() {
+         head = 0;
+         count = 0;
+      }
+   }
+}
@@ -30,6 +30,8 @@
    public int getPoolSize() {
       if (executor instanceof ThreadPoolExecutor) {
          return ((ThreadPoolExecutor) executor).getPoolSize();
+      } else if (executor instanceof VirtualThreadExecutor) {
+         return ((VirtualThreadExecutor) executor).getPendingTasks();
       } else {
          return -1;
       }
@@ -43,6 +45,8 @@ public int getPoolSize() {
    public int getActiveCount() {
       if (executor instanceof ThreadPoolExecutor) {
          return ((ThreadPoolExecutor) executor).getActiveCount();
+      } else if (executor instanceof VirtualThreadExecutor) {
+         return ((VirtualThreadExecutor) executor).getRunningTasks();
       } else {
          return -1;
       }
@@ -57,6 +61,8 @@ public int getActiveCount() {
    public int getMaximumPoolSize() {
       if (executor instanceof ThreadPoolExecutor) {
          return ((ThreadPoolExecutor) executor).getMaximumPoolSize();
+      } else if (executor instanceof VirtualThreadExecutor) {
+         return ((VirtualThreadExecutor) executor).getMaxConcurrency();
       } else {
          return -1;
       }
@@ -68,6 +74,8 @@ public void setMaximumPoolSize(int maximumPoolSize) {
          if (!(((ThreadPoolExecutor)executor).getQueue() instanceof SynchronousQueue)) {
             ((ThreadPoolExecutor) executor).setCorePoolSize(maximumPoolSize);
          }
+      } else if (executor instanceof VirtualThreadExecutor) {
+         ((VirtualThreadExecutor) executor).setMaxConcurrency(maximumPoolSize);
       } else {
          throw new UnsupportedOperationException();
       }
@@ -81,6 +89,8 @@ public void setMaximumPoolSize(int maximumPoolSize) {
    public int getLargestPoolSize() {
       if (executor instanceof ThreadPoolExecutor) {
          return ((ThreadPoolExecutor) executor).getLargestPoolSize();
+      } else if (executor instanceof VirtualThreadExecutor) {
+         return ((VirtualThreadExecutor) executor).getLargestRunningTasks();
       } else {
          return -1;
       }
@@ -94,6 +104,8 @@ public int getLargestPoolSize() {
    public int getQueueSize() {
       if (executor instanceof ThreadPoolExecutor) {
          return ((ThreadPoolExecutor) executor).getQueue().size();
+      } else if (executor instanceof VirtualThreadExecutor) {
+         return ((VirtualThreadExecutor) executor).getWaitingTasks();
       } else {
          return -1;
       }
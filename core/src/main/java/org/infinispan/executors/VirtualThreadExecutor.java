@@ -0,0 +1,230 @@
+package org.infinispan.executors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.commons.jdkspecific.ThreadCreator;
+import org.infinispan.commons.util.concurrent.BlockingRejectedExecutionHandler;
+
+/**
+ * Executor that runs each task in a new virtual thread.
+ * <p>
+ * The number of tasks running at the same time is limited by a semaphore instead of by the number of threads: a task
+ * that doesn't get a permit parks its virtual thread until a running task completes, which only costs the memory of
+ * the virtual thread stack. At most {@code maxConcurrency + queueLength} tasks can be submitted and not completed,
+ * further tasks are rejected with {@link BlockingRejectedExecutionHandler}, like the platform thread pools.
+ * <p>
+ * The threads are created with {@link ThreadCreator}, so they are only virtual threads if the runtime supports them.
+ *
+ * @since 13.0
+ */
+public class VirtualThreadExecutor extends AbstractExecutorService {
+   private final ThreadGroup threadGroup;
+   private final String threadNamePrefix;
+   private final int queueLength;
+   private final AdjustableSemaphore permits;
+   private final AtomicLong threadIndex = new AtomicLong();
+
+   // Tasks that were submitted and did not complete, running or waiting for a permit
+   private final AtomicInteger pendingTasks = new AtomicInteger();
+   private final AtomicInteger runningTasks = new AtomicInteger();
+   private final AtomicInteger largestRunningTasks = new AtomicInteger();
+   private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+   private volatile boolean shutdown;
+
+   public VirtualThreadExecutor(ThreadGroup threadGroup, String threadNamePrefix, int maxConcurrency,
+                                int queueLength) {
+      this.threadGroup = threadGroup;
+      this.threadNamePrefix = threadNamePrefix;
+      this.queueLength = queueLength;
+      this.permits = new AdjustableSemaphore(maxConcurrency);
+   }
+
+   @Override
+   public void execute(Runnable command) {
+      if (shutdown)
+         throw new RejectedExecutionException("Executor " + threadNamePrefix + " was shut down");
+
+      if (pendingTasks.incrementAndGet() > permits.maxPermits() + queueLength) {
+         pendingTasks.decrementAndGet();
+         BlockingRejectedExecutionHandler.getInstance().rejectedExecution(command, this);
+         return;
+      }
+      Thread thread = ThreadCreator.createThread(threadGroup, () -> run(command), true);
+      thread.setName(threadNamePrefix + "-v" + threadIndex.incrementAndGet());
+      thread.setDaemon(true);
+      try {
+         thread.start();
+      } catch (Throwable t) {
+         taskCompleted();
+         throw t;
+      }
+   }
+
+   private void run(Runnable command) {
+      Thread thread = Thread.currentThread();
+      threads.add(thread);
+      try {
+         permits.acquire();
+      } catch (InterruptedException e) {
+         // Interrupted by shutdownNow() before the task could start
+         threads.remove(thread);
+         taskCompleted();
+         return;
+      }
+      int running = runningTasks.incrementAndGet();
+      largestRunningTasks.accumulateAndGet(running, Math::max);
+      try {
+         command.run();
+      } finally {
+         runningTasks.decrementAndGet();
+         permits.release();
+         threads.remove(thread);
+         taskCompleted();
+      }
+   }
+
+   private void taskCompleted() {
+      if (pendingTasks.decrementAndGet() == 0 && shutdown) {
+         synchronized (this) {
+            notifyAll();
+         }
+      }
+   }
+
+   /**
+    * @return The number of tasks that were submitted and did not complete yet, which is also the number of live
+    * threads.
+    */
+   public int getPendingTasks() {
+      return pendingTasks.get();
+   }
+
+   /**
+    * @return The number of tasks running right now.
+    */
+   public int getRunningTasks() {
+      return runningTasks.get();
+   }
+
+   /**
+    * @return The largest number of tasks that ever ran at the same time.
+    */
+   public int getLargestRunningTasks() {
+      return largestRunningTasks.get();
+   }
+
+   /**
+    * @return The number of tasks waiting for a running task to complete.
+    */
+   public int getWaitingTasks() {
+      return Math.max(0, pendingTasks.get() - runningTasks.get());
+   }
+
+   public int getMaxConcurrency() {
+      return permits.maxPermits();
+   }
+
+   /**
+    * Changes the maximum number of tasks that can run at the same time. Running tasks are not interrupted if the
+    * maximum is lower than the number of running tasks.
+    */
+   public void setMaxConcurrency(int maxConcurrency) {
+      if (maxConcurrency <= 0)
+         throw new IllegalArgumentException("maxConcurrency must be positive, but was " + maxConcurrency);
+
+      permits.setMaxPermits(maxConcurrency);
+   }
+
+   @Override
+   public void shutdown() {
+      shutdown = true;
+      if (pendingTasks.get() == 0) {
+         synchronized (this) {
+            notifyAll();
+         }
+      }
+   }
+
+   @Override
+   public List<Runnable> shutdownNow() {
+      shutdown();
+      for (Thread thread : threads) {
+         thread.interrupt();
+      }
+      // The tasks already have their own threads, so there are no queued tasks to return
+      return new ArrayList<>();
+   }
+
+   @Override
+   public boolean isShutdown() {
+      return shutdown;
+   }
+
+   @Override
+   public boolean isTerminated() {
+      return shutdown && pendingTasks.get() == 0;
+   }
+
+   @Override
+   public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      long deadline = System.nanoTime() + unit.toNanos(timeout);
+      synchronized (this) {
+         while (!isTerminated()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0)
+               return false;
+
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+         }
+      }
+      return true;
+   }
+
+   @Override
+   public String toString() {
+      return "VirtualThreadExecutor{" +
+            "name=" + threadNamePrefix +
+            ", maxConcurrency=" + permits.maxPermits() +
+            ", runningTasks=" + runningTasks.get() +
+            ", pendingTasks=" + pendingTasks.get() +
+            '}';
+   }
+
+   /**
+    * Semaphore with a number of permits that can change after creation.
+    * <p>
+    * Extends {@link Semaphore} instead of using a monitor, because a virtual thread waiting on a monitor pins its
+    * carrier thread.
+    */
+   private static class AdjustableSemaphore extends Semaphore {
+      private volatile int maxPermits;
+
+      AdjustableSemaphore(int maxPermits) {
+         super(maxPermits);
+         this.maxPermits = maxPermits;
+      }
+
+      int maxPermits() {
+         return maxPermits;
+      }
+
+      synchronized void setMaxPermits(int maxPermits) {
+         int delta = maxPermits - this.maxPermits;
+         this.maxPermits = maxPermits;
+         if (delta > 0) {
+            release(delta);
+         } else if (delta < 0) {
+            reducePermits(-delta);
+         }
+      }
+   }
+}
@@ -1,8 +1,10 @@
 package org.infinispan.expiration.impl;
 
 import static org.infinispan.commons.util.Util.toStr;
+import static org.infinispan.util.logging.Log.CONTAINER;
 
 import java.util.Iterator;
+import java.util.PrimitiveIterator;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
@@ -31,6 +33,7 @@
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.statetransfer.OutdatedTopologyException;
+import org.infinispan.util.concurrent.AggregateCompletionStage;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.CompletionStages;
 import org.infinispan.util.logging.Log;
@@ -68,6 +71,8 @@
 
    private Address localAddress;
    private long timeout;
+   // Only accessed by the thread running the expiration task
+   private long storePurgeRotations;
 
    @Override
    public void start() {
@@ -89,7 +94,8 @@ public void processExpiration() {
          // Purge all contents until we know we did so with a stable topology
          do {
             topology = distributionManager.getCacheTopology();
-         } while (purgeInMemoryContents(topology));
+         } while (purgeInMemoryContents(topology, primarySegments(topology), timeService.wallClockTime(),
+               MAX_CONCURRENT_EXPIRATIONS, null));
       }
 
       if (!Thread.currentThread().isInterrupted()) {
@@ -97,11 +103,88 @@ public void processExpiration() {
       }
    }
 
+   @Override
+   protected void processScheduledExpiration() {
+      if (segmentScheduler != null) {
+         processExpirationSlice();
+      } else {
+         processExpiration();
+      }
+   }
+
+   /**
+    * Processes the next slice of the primary segments chosen by the {@link #segmentScheduler}, expiring the segments of
+    * the slice in parallel. The cache stores are purged once all the segments have been processed.
+    */
+   void processExpirationSlice() {
+      long start = 0;
+      if (!Thread.currentThread().isInterrupted()) {
+         try {
+            long currentTimeMillis = timeService.wallClockTime();
+            IntSet slice = segmentScheduler.nextSlice(primarySegments(distributionManager.getCacheTopology()),
+                  currentTimeMillis);
+            if (log.isTraceEnabled()) {
+               log.tracef("Purging segments %s of data container of expired entries", slice);
+               start = timeService.time();
+            }
+            AggregateCompletionStage<Void> aggregateStage = CompletionStages.aggregateCompletionStage();
+            for (PrimitiveIterator.OfInt iter = slice.iterator(); iter.hasNext(); ) {
+               int segment = iter.nextInt();
+               aggregateStage.dependsOn(segmentExecutor.execute(() -> purgeSegment(segment, currentTimeMillis), segment));
+            }
+            CompletionStages.join(aggregateStage.freeze());
+            if (log.isTraceEnabled()) {
+               log.tracef("Purging segments %s of data container completed in %s", slice,
+                          Util.prettyPrintTime(timeService.timeDuration(start, TimeUnit.MILLISECONDS)));
+            }
+         } catch (Exception e) {
+            CONTAINER.exceptionPurgingDataContainer(e);
+         }
+      }
+
+      long rotations = segmentScheduler.completedRotations();
+      if (rotations != storePurgeRotations && !Thread.currentThread().isInterrupted()) {
+         storePurgeRotations = rotations;
+         CompletionStages.join(persistenceManager.purgeExpired());
+      }
+   }
+
    /**
-    * Purges in memory contents removing any expired entries.
+    * Expires the expired entries of a primary segment, recording the expiration times of the others in the
+    * {@link #segmentScheduler}.
+    */
+   private void purgeSegment(int segment, long currentTimeMillis) {
+      LocalizedCacheTopology topology = distributionManager.getCacheTopology();
+      // The segments of a slice are processed concurrently, so they share the limit of concurrent expirations
+      int maxConcurrentExpirations = Math.max(1, MAX_CONCURRENT_EXPIRATIONS / segmentParallelism);
+      ExpirationSegmentScheduler.SegmentScan scan = segmentScheduler.startScan(segment, currentTimeMillis);
+      boolean complete = false;
+      try {
+         // If the topology changed, the segment will be processed again by a later run
+         complete = primarySegments(topology).contains(segment) &&
+               !purgeInMemoryContents(topology, IntSets.immutableSet(segment), currentTimeMillis,
+                     maxConcurrentExpirations, scan);
+      } finally {
+         scan.finish(complete);
+      }
+   }
+
+   private IntSet primarySegments(LocalizedCacheTopology topology) {
+      if (topology.getReadConsistentHash().getMembers().contains(localAddress)) {
+         return IntSets.from(topology.getReadConsistentHash().getPrimarySegmentsForOwner(localAddress));
+      } else {
+         return IntSets.immutableEmptySet();
+      }
+   }
+
+   /**
+    * Purges in memory contents of the given segments removing any expired entries.
+    * @param scan records the entries of the segment that was scanned, {@code null} when the reaper always processes
+    *             all the segments
     * @return true if there was a topology change
     */
-   private boolean purgeInMemoryContents(LocalizedCacheTopology topology) {
+   private boolean purgeInMemoryContents(LocalizedCacheTopology topology, IntSet segments, long currentTimeMillis,
+         int maxConcurrentExpirations, ExpirationSegmentScheduler.SegmentScan scan) {
       long start = 0;
       int removedEntries = 0;
       AtomicInteger errors = new AtomicInteger();
@@ -113,17 +196,9 @@ private boolean purgeInMemoryContents(LocalizedCacheTopology topology) {
          // We limit how many non blocking expiration removals performed concurrently
          // The addition to the queue shouldn't ever block but rather pollForCompletion when we are waiting for
          // prior tasks to complete
-         BlockingQueue<CompletableFuture<?>> expirationPermits = new ArrayBlockingQueue<>(MAX_CONCURRENT_EXPIRATIONS);
-         long currentTimeMillis = timeService.wallClockTime();
+         BlockingQueue<CompletableFuture<?>> expirationPermits = new ArrayBlockingQueue<>(maxConcurrentExpirations);
 
-         IntSet segments;
-         if (topology.getReadConsistentHash().getMembers().contains(localAddress)) {
-            segments = IntSets.from(topology.getReadConsistentHash().getPrimarySegmentsForOwner(localAddress));
-         } else {
-            segments = IntSets.immutableEmptySet();
-         }
-
-         for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.running().iteratorIncludingExpired(segments);
+         for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.running().expirationCandidates(segments, currentTimeMillis);
               purgeCandidates.hasNext();) {
             InternalCacheEntry<K, V> ice = purgeCandidates.next();
             if (ice.canExpire()) {
@@ -142,7 +217,7 @@ private boolean purgeInMemoryContents(LocalizedCacheTopology topology) {
                }
                if (expiredMortal || expiredTransient) {
                   // Any expirations over the max must check for another to finish before it can proceed
-                  if (++removedEntries > MAX_CONCURRENT_EXPIRATIONS && !pollForCompletion(expirationPermits, start, removedEntries, errors)) {
+                  if (++removedEntries > maxConcurrentExpirations && !pollForCompletion(expirationPermits, start, removedEntries, errors)) {
                      return false;
                   }
                   CompletableFuture<?> stage;
@@ -153,6 +228,11 @@ private boolean purgeInMemoryContents(LocalizedCacheTopology topology) {
                      stage = handleMaxIdleExpireEntry(ice, false, currentTimeMillis);
                   }
                   stage.whenComplete((obj, t) -> addStageToPermits(expirationPermits, stage));
+                  if (scan != null) {
+                     scan.reclaimed();
+                  }
+               } else if (scan != null) {
+                  scan.retained(ice.getExpiryTime());
                }
             }
             // Short circuit if topology has changed
@@ -162,7 +242,7 @@ private boolean purgeInMemoryContents(LocalizedCacheTopology topology) {
             }
          }
          // We wait for any pending expiration to complete before returning
-         int expirationsLeft = Math.min(removedEntries, MAX_CONCURRENT_EXPIRATIONS);
+         int expirationsLeft = Math.min(removedEntries, maxConcurrentExpirations);
          for (int i = 0; i < expirationsLeft; ++i) {
             if (!pollForCompletion(expirationPermits, start, removedEntries, errors)) {
                return false;
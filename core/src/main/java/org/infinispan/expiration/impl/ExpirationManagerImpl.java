@@ -16,6 +16,7 @@
 import org.infinispan.AdvancedCache;
 import org.infinispan.cache.impl.AbstractDelegatingCache;
 import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.entries.InternalCacheEntry;
@@ -29,11 +30,15 @@
 import org.infinispan.factories.impl.ComponentRef;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.metadata.impl.PrivateMetadata;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.util.concurrent.BlockingManager;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.CompletionStages;
 import org.infinispan.util.logging.Log;
@@ -43,6 +48,7 @@
 
 @ThreadSafe
 @Scope(Scopes.NAMED_CACHE)
+@MBean(objectName = "ExpirationManager", description = "Component that removes expired entries from the cache")
 public class ExpirationManagerImpl<K, V> implements InternalExpirationManager<K, V> {
    private static final Log log = LogFactory.getLog(ExpirationManagerImpl.class);
 
@@ -55,11 +61,20 @@
    @Inject protected TimeService timeService;
    @Inject protected KeyPartitioner keyPartitioner;
    @Inject protected ComponentRef<AdvancedCache<K, V>> cacheRef;
+   @Inject protected BlockingManager blockingManager;
 
    protected boolean enabled;
    protected String cacheName;
    protected AdvancedCache<K, V> cache;
 
+   /**
+    * Selects the segments processed on each run when the reaper only handles a slice of the segments at a time,
+    * {@code null} when every run processes the whole data container.
+    */
+   protected ExpirationSegmentScheduler segmentScheduler;
+   protected int segmentParallelism;
+   protected BlockingManager.BlockingExecutor segmentExecutor;
+
    /**
     * This map is used for performance reasons.  Essentially when an expiration event should not be raised this
     * map should be populated first.  The main examples are if an expiration is about to occur for that key or the
@@ -83,6 +98,14 @@ public void start() {
             CONTAINER.notStartingEvictionThread();
             enabled = false;
          } else {
+            int segmentsPerInterval = configuration.expiration().segmentsPerInterval();
+            // Only a segmented data container can iterate over a subset of the segments without a full scan
+            if (segmentsPerInterval > 0 && configuration.clustering().cacheMode().needsStateTransfer()) {
+               // The scans of a container with a timer wheel only visit the expired entries
+               boolean timerWheel = configuration.expiration().timerWheel() && !configuration.memory().isOffHeap();
+               segmentScheduler = new ExpirationSegmentScheduler(configuration.clustering().hash().numSegments(),
+                     segmentsPerInterval, expWakeUpInt, !timerWheel);
+            }
             expirationTask = executor.scheduleWithFixedDelay(new ScheduledTask(),
                   expWakeUpInt, expWakeUpInt, TimeUnit.MILLISECONDS);
          }
@@ -90,6 +113,10 @@ public void start() {
       // Data container entries are retrieved directly, so we don't need to worry about an encodings
       this.cache = AbstractDelegatingCache.unwrapCache(cacheRef.wired()).getAdvancedCache();
       this.cacheName = cache.getName();
+      if (segmentScheduler != null) {
+         segmentParallelism = ProcessorInfo.availableProcessors();
+         segmentExecutor = blockingManager.limitedBlockingExecutor("ExpirationManager-" + cacheName, segmentParallelism);
+      }
    }
 
    @Override
@@ -123,6 +150,38 @@ public void processExpiration() {
       }
    }
 
+   /**
+    * Invoked periodically by the reaper. Processes the whole data container and the cache stores.
+    */
+   protected void processScheduledExpiration() {
+      processExpiration();
+   }
+
+   @ManagedAttribute(
+         description = "Progress of the expiration reaper through all the segments of the data container",
+         displayName = "Expiration progress",
+         units = Units.PERCENTAGE
+   )
+   public double getExpirationProgress() {
+      return segmentScheduler != null ? segmentScheduler.rotationProgress() : 0;
+   }
+
+   @ManagedAttribute(
+         description = "Number of segments holding entries that are already expired but were not processed yet by the expiration reaper",
+         displayName = "Expiration backlog"
+   )
+   public int getExpirationBacklog() {
+      return segmentScheduler != null ? segmentScheduler.backlog() : 0;
+   }
+
+   @ManagedAttribute(
+         description = "Number of entries removed by the incremental expiration reaper",
+         displayName = "Reclaimed entries"
+   )
+   public long getReclaimedEntries() {
+      return segmentScheduler != null ? segmentScheduler.reclaimedEntries() : 0;
+   }
+
    @Override
    public boolean isEnabled() {
       return enabled;
@@ -290,7 +349,7 @@ class ScheduledTask implements Runnable {
       public void run() {
          LogFactory.pushNDC(cacheName, log.isTraceEnabled());
          try {
-            processExpiration();
+            processScheduledExpiration();
          } finally {
             LogFactory.popNDC(log.isTraceEnabled());
          }
@@ -0,0 +1,203 @@
+package org.infinispan.expiration.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Decides which segments the expiration reaper processes on each of its runs, so that a single run only handles a
+ * bounded slice of the data container instead of all of it.
+ * <p>
+ * Every scanned segment records the earliest expiration time of the entries it still holds and how many of those
+ * are due to expire before a full rotation of the segments completes. Half of each slice goes to the segments whose
+ * earliest expiration has already passed, ordered by the number of entries close to expiring, and the remainder
+ * continues a round robin over all the segments from where the previous run stopped. The round robin guarantees
+ * that every segment is scanned at least once every {@code 2 * numSegments / segmentsPerInterval} runs.
+ * <p>
+ * When the data container indexes the entries in a timer wheel, the scans only visit the expired entries, so they
+ * can't record the entries close to expiring. The due segments are not prioritized then, and the whole slice comes
+ * from the round robin.
+ * <p>
+ * Slices are computed by a single thread, while scans of the different segments of a slice may be recorded
+ * concurrently.
+ *
+ * @since 13.0
+ */
+@ThreadSafe
+class ExpirationSegmentScheduler {
+   private final int numSegments;
+   private final int segmentsPerInterval;
+   private final long horizon;
+   private final boolean prioritizeDueSegments;
+   // Earliest expiration time of the entries of each segment, 0 for segments that were never scanned
+   private final long[] earliestExpiration;
+   private final int[] nearExpiryEntries;
+   private final LongAdder reclaimedEntries = new LongAdder();
+
+   private int cursor;
+   private volatile int rotationProgress;
+   private volatile long completedRotations;
+   private volatile int backlog;
+
+   /**
+    * @param numSegments the number of segments of the data container
+    * @param segmentsPerInterval how many segments are processed on each run
+    * @param wakeUpInterval the time between two runs, in milliseconds
+    */
+   ExpirationSegmentScheduler(int numSegments, int segmentsPerInterval, long wakeUpInterval) {
+      this(numSegments, segmentsPerInterval, wakeUpInterval, true);
+   }
+
+   /**
+    * @param numSegments the number of segments of the data container
+    * @param segmentsPerInterval how many segments are processed on each run
+    * @param wakeUpInterval the time between two runs, in milliseconds
+    * @param prioritizeDueSegments whether the scans record the retained entries, so that the segments with expired
+    *                              entries can be processed first
+    */
+   ExpirationSegmentScheduler(int numSegments, int segmentsPerInterval, long wakeUpInterval,
+                              boolean prioritizeDueSegments) {
+      this.numSegments = numSegments;
+      this.prioritizeDueSegments = prioritizeDueSegments;
+      this.segmentsPerInterval = Math.min(segmentsPerInterval, numSegments);
+      int runsPerRotation = (numSegments + this.segmentsPerInterval - 1) / this.segmentsPerInterval;
+      this.horizon = runsPerRotation * wakeUpInterval;
+      this.earliestExpiration = new long[numSegments];
+      this.nearExpiryEntries = new int[numSegments];
+   }
+
+   /**
+    * Selects the segments to process in the next run.
+    * @param eligible the segments that the current node is responsible for expiring
+    * @param currentTime the current wall clock time
+    * @return the segments to scan, at most {@code segmentsPerInterval} of them
+    */
+   synchronized IntSet nextSlice(IntSet eligible, long currentTime) {
+      IntSet slice = IntSets.mutableEmptySet(numSegments);
+      if (prioritizeDueSegments) {
+         prioritizeDueSegments(eligible, currentTime, slice);
+      }
+
+      // Fill the rest of the slice with the segments following the cursor
+      for (int visited = 0; visited < numSegments && slice.size() < segmentsPerInterval; ++visited) {
+         int segment = cursor;
+         if (++cursor == numSegments) {
+            cursor = 0;
+            completedRotations++;
+         }
+         if (eligible.contains(segment)) {
+            slice.set(segment);
+         }
+      }
+      rotationProgress = cursor;
+      return slice;
+   }
+
+   private void prioritizeDueSegments(IntSet eligible, long currentTime, IntSet slice) {
+      int dueCount = 0;
+      long[] due = new long[eligible.size()];
+      for (int segment = 0; segment < numSegments; ++segment) {
+         if (eligible.contains(segment) && earliestExpiration[segment] <= currentTime) {
+            // Sort by descending near expiry count, then by segment
+            due[dueCount++] = ((long) (Integer.MAX_VALUE - nearExpiryEntries[segment]) << 32) | segment;
+         }
+      }
+      backlog = dueCount;
+      Arrays.sort(due, 0, dueCount);
+      int prioritized = Math.min(dueCount, segmentsPerInterval / 2);
+      for (int i = 0; i < prioritized; ++i) {
+         slice.set((int) due[i]);
+      }
+   }
+
+   /**
+    * @return the number of times the round robin went over all the segments
+    */
+   long completedRotations() {
+      return completedRotations;
+   }
+
+   /**
+    * Starts the scan of a segment, which must be done on a single thread.
+    * @param segment the segment being scanned
+    * @param currentTime the wall clock time that is used to determine whether entries are expired
+    */
+   SegmentScan startScan(int segment, long currentTime) {
+      return new SegmentScan(segment, currentTime);
+   }
+
+   /**
+    * @return how far the current rotation over all the segments has progressed, between 0 and 1
+    */
+   double rotationProgress() {
+      return (double) rotationProgress / numSegments;
+   }
+
+   /**
+    * @return how many segments held already expired entries when the last slice was selected, always {@code 0} if
+    * the due segments are not prioritized
+    */
+   int backlog() {
+      return backlog;
+   }
+
+   /**
+    * @return the number of entries that were expired by scans
+    */
+   long reclaimedEntries() {
+      return reclaimedEntries.sum();
+   }
+
+   private synchronized void record(int segment, long earliest, int nearExpiry) {
+      earliestExpiration[segment] = earliest;
+      nearExpiryEntries[segment] = nearExpiry;
+   }
+
+   class SegmentScan {
+      private final int segment;
+      private final long nearExpiryTime;
+      private long earliest = Long.MAX_VALUE;
+      private int nearExpiry;
+      private int reclaimed;
+
+      private SegmentScan(int segment, long currentTime) {
+         this.segment = segment;
+         this.nearExpiryTime = currentTime + horizon;
+      }
+
+      /**
+       * Records an entry that was not expired when the scan reached it.
+       * @param expiryTime the expiration time of the entry, or -1 if it never expires
+       */
+      void retained(long expiryTime) {
+         if (expiryTime >= 0) {
+            earliest = Math.min(earliest, expiryTime);
+            if (expiryTime <= nearExpiryTime) {
+               nearExpiry++;
+            }
+         }
+      }
+
+      /**
+       * Records an entry that was expired.
+       */
+      void reclaimed() {
+         reclaimed++;
+      }
+
+      /**
+       * Completes the scan, which is ignored if it was not able to go over all the entries of the segment.
+       * @param complete whether all the entries of the segment were scanned
+       */
+      void finish(boolean complete) {
+         reclaimedEntries.add(reclaimed);
+         if (complete) {
+            record(segment, earliest, nearExpiry);
+         }
+      }
+   }
+}
@@ -0,0 +1,67 @@
+package org.infinispan.factories.threads;
+
+import static org.infinispan.commons.logging.Log.CONFIG;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import org.infinispan.commons.executors.NonBlockingResource;
+import org.infinispan.commons.jdkspecific.ThreadCreator;
+import org.infinispan.executors.VirtualThreadExecutor;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Executor factory for blocking executors that run each task in a new virtual thread, see
+ * {@link VirtualThreadExecutor}.
+ * <p>
+ * {@code maxThreads} limits the number of tasks running at the same time, and {@code queueLength} the number of tasks
+ * waiting for a running task to complete. If the runtime does not support virtual threads, the factory creates a
+ * regular {@link EnhancedQueueExecutorFactory} executor with the same settings.
+ *
+ * @since 13.0
+ */
+public class VirtualThreadPoolExecutorFactory extends AbstractThreadPoolExecutorFactory<ExecutorService> {
+   private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
+
+   protected VirtualThreadPoolExecutorFactory(int maxThreads, int coreThreads, int queueLength, long keepAlive) {
+      super(maxThreads, coreThreads, queueLength, keepAlive);
+   }
+
+   public static VirtualThreadPoolExecutorFactory create(int maxThreads, int queueSize) {
+      int coreThreads = queueSize == 0 ? 1 : maxThreads;
+      return new VirtualThreadPoolExecutorFactory(maxThreads, coreThreads, queueSize,
+            NonBlockingThreadPoolExecutorFactory.DEFAULT_KEEP_ALIVE_MILLIS);
+   }
+
+   @Override
+   public ExecutorService createExecutor(ThreadFactory factory) {
+      if (factory instanceof NonBlockingResource) {
+         throw new IllegalStateException("Executor factory configured to be blocking and received a thread" +
+               " factory that creates non-blocking threads!");
+      }
+      if (!ThreadCreator.isVirtualThreadSupported()) {
+         log.virtualThreadsNotSupported();
+         return new EnhancedQueueExecutorFactory(maxThreads, coreThreads, queueLength, keepAlive).createExecutor(factory);
+      }
+      ThreadGroup threadGroup = Thread.currentThread().getThreadGroup();
+      String threadNamePrefix = "virtual";
+      if (factory instanceof DefaultThreadFactory) {
+         // Keep the thread group, BlockingManager uses it to check if the current thread can block
+         DefaultThreadFactory defaultThreadFactory = (DefaultThreadFactory) factory;
+         threadGroup = defaultThreadFactory.threadGroup();
+         threadNamePrefix = defaultThreadFactory.getName() != null ? defaultThreadFactory.getName() : threadGroup.getName();
+      }
+      return new VirtualThreadExecutor(threadGroup, threadNamePrefix, maxThreads, queueLength);
+   }
+
+   @Override
+   public void validate() {
+      if (maxThreads <= 0)
+         throw CONFIG.illegalValueThreadPoolParameter("max threads", "> 0");
+
+      if (queueLength < 0)
+         throw CONFIG.illegalValueThreadPoolParameter("work queue length", ">= 0");
+   }
+}
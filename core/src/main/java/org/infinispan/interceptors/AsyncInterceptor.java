@@ -27,4 +27,17 @@ public interface AsyncInterceptor {
     * Sets up the interceptor. Do not call explicitly.
     */
    void setNextInterceptor(AsyncInterceptor interceptorStage);
+
+   /**
+    * Returns {@code true} if this interceptor only invokes the next interceptor for every command of the given type,
+    * with the current configuration and state of the cache, so the chain can skip it for those commands.
+    * <p>
+    * The chain only calls this method when it is modified or when {@link AsyncInterceptorChain#refreshPassThrough()}
+    * is called, so an interceptor whose answer changes at runtime must call the latter.
+    *
+    * @since 13.0
+    */
+   default boolean isPassThrough(Class<? extends VisitableCommand> commandType) {
+      return false;
+   }
 }
@@ -117,4 +117,13 @@ boolean replaceInterceptor(AsyncInterceptor replacingInterceptor,
     */
    boolean containsInterceptorType(Class<? extends AsyncInterceptor> interceptorType,
                                                    boolean alsoMatchSubClasses);
+
+   /**
+    * Asks the interceptors again which command types they skip, see
+    * {@link AsyncInterceptor#isPassThrough(Class)}.
+    *
+    * @since 13.0
+    */
+   default void refreshPassThrough() {
+   }
 }
@@ -5,6 +5,8 @@
 import java.util.concurrent.CompletionStage;
 
 import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.read.GetCacheEntryCommand;
+import org.infinispan.commands.read.GetKeyValueCommand;
 import org.infinispan.commons.util.Experimental;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.context.InvocationContext;
@@ -29,6 +31,9 @@ public abstract class BaseAsyncInterceptor implements AsyncInterceptor {
    @Inject protected Configuration cacheConfiguration;
    private AsyncInterceptor nextInterceptor;
    private DDAsyncInterceptor nextDDInterceptor;
+   // Next interceptor for key reads, skipping the interceptors that don't do anything for them
+   private AsyncInterceptor nextReadInterceptor;
+   private DDAsyncInterceptor nextReadDDInterceptor;
 
    /**
     * Used internally to set up the interceptor.
@@ -38,6 +43,39 @@ public final void setNextInterceptor(AsyncInterceptor nextInterceptor) {
       this.nextInterceptor = nextInterceptor;
       this.nextDDInterceptor =
             nextInterceptor instanceof DDAsyncInterceptor ? (DDAsyncInterceptor) nextInterceptor : null;
+      setNextReadInterceptor(nextInterceptor);
+   }
+
+   /**
+    * Used internally to set up the interceptor, must be called after {@link #setNextInterceptor(AsyncInterceptor)}.
+    */
+   public final void setNextReadInterceptor(AsyncInterceptor nextReadInterceptor) {
+      this.nextReadInterceptor = nextReadInterceptor;
+      this.nextReadDDInterceptor =
+            nextReadInterceptor instanceof DDAsyncInterceptor ? (DDAsyncInterceptor) nextReadInterceptor : null;
+   }
+
+   /**
+    * @return {@code true} if the command is a single key read, which has its own path through the chain.
+    */
+   public static boolean isKeyRead(VisitableCommand command) {
+      // No other command extends these classes, so the checks are cheap
+      return command instanceof GetKeyValueCommand || command instanceof GetCacheEntryCommand;
+   }
+
+   private Object invokeNextInterceptor(InvocationContext ctx, VisitableCommand command) throws Throwable {
+      if (isKeyRead(command)) {
+         if (nextReadDDInterceptor != null) {
+            return command.acceptVisitor(ctx, nextReadDDInterceptor);
+         } else {
+            return nextReadInterceptor.visitCommand(ctx, command);
+         }
+      }
+      if (nextDDInterceptor != null) {
+         return command.acceptVisitor(ctx, nextDDInterceptor);
+      } else {
+         return nextInterceptor.visitCommand(ctx, command);
+      }
    }
 
    /**
@@ -55,11 +93,7 @@ public final void setNextInterceptor(AsyncInterceptor nextInterceptor) {
     */
    public final Object invokeNext(InvocationContext ctx, VisitableCommand command) {
       try {
-         if (nextDDInterceptor != null) {
-            return command.acceptVisitor(ctx, nextDDInterceptor);
-         } else {
-            return nextInterceptor.visitCommand(ctx, command);
-         }
+         return invokeNextInterceptor(ctx, command);
       } catch (Throwable throwable) {
          return new ExceptionSyncInvocationStage(throwable);
       }
@@ -75,11 +109,7 @@ public final <C extends VisitableCommand> Object invokeNextThenApply(InvocationC
                                            InvocationSuccessFunction<C> function) {
       try {
          Object rv;
-         if (nextDDInterceptor != null) {
-            rv = command.acceptVisitor(ctx, nextDDInterceptor);
-         } else {
-            rv = nextInterceptor.visitCommand(ctx, command);
-         }
+         rv = invokeNextInterceptor(ctx, command);
          if (rv instanceof InvocationStage) {
             return ((InvocationStage) rv).thenApply(ctx, command, function);
          }
@@ -99,11 +129,7 @@ public final <C extends VisitableCommand> Object invokeNextThenAccept(Invocation
                                            InvocationSuccessAction<C> action) {
       try {
          Object rv;
-         if (nextDDInterceptor != null) {
-            rv = command.acceptVisitor(ctx, nextDDInterceptor);
-         } else {
-            rv = nextInterceptor.visitCommand(ctx, command);
-         }
+         rv = invokeNextInterceptor(ctx, command);
          if (rv instanceof InvocationStage) {
             return ((InvocationStage) rv).thenAccept(ctx, command, action);
          }
@@ -124,11 +150,7 @@ public final <C extends VisitableCommand> Object invokeNextAndExceptionally(Invo
                                                   InvocationExceptionFunction<C> function) {
       try {
          Object rv;
-         if (nextDDInterceptor != null) {
-            rv = command.acceptVisitor(ctx, nextDDInterceptor);
-         } else {
-            rv = nextInterceptor.visitCommand(ctx, command);
-         }
+         rv = invokeNextInterceptor(ctx, command);
          if (rv instanceof InvocationStage) {
             return ((InvocationStage) rv).andExceptionally(ctx, command, function);
          }
@@ -151,11 +173,7 @@ public final <C extends VisitableCommand> Object invokeNextAndFinally(Invocation
          Object rv;
          Throwable throwable;
          try {
-            if (nextDDInterceptor != null) {
-               rv = command.acceptVisitor(ctx, nextDDInterceptor);
-            } else {
-               rv = nextInterceptor.visitCommand(ctx, command);
-            }
+            rv = invokeNextInterceptor(ctx, command);
             throwable = null;
 
             if (rv instanceof InvocationStage) {
@@ -184,11 +202,7 @@ public final <C extends VisitableCommand> Object invokeNextAndHandle(InvocationC
          Object rv;
          Throwable throwable;
          try {
-            if (nextDDInterceptor != null) {
-               rv = command.acceptVisitor(ctx, nextDDInterceptor);
-            } else {
-               rv = nextInterceptor.visitCommand(ctx, command);
-            }
+            rv = invokeNextInterceptor(ctx, command);
             throwable = null;
 
             if (rv instanceof InvocationStage) {
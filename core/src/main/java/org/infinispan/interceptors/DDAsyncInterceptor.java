@@ -1,5 +1,7 @@
 package org.infinispan.interceptors;
 
+import java.lang.reflect.Method;
+
 import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commands.Visitor;
 import org.infinispan.commands.control.LockControlCommand;
@@ -55,6 +57,37 @@ protected Object handleDefault(InvocationContext ctx, VisitableCommand command)
       return invokeNext(ctx, command);
    }
 
+   /**
+    * An interceptor is a pass-through for a command type if it does not override the {@code visitXxx} method of the
+    * command, nor {@link #handleDefault(InvocationContext, VisitableCommand)}. Subclasses that skip a command type
+    * only in some states should override this method.
+    */
+   @Override
+   public boolean isPassThrough(Class<? extends VisitableCommand> commandType) {
+      try {
+         Method visitMethod = getClass().getMethod("visit" + commandType.getSimpleName(), InvocationContext.class,
+                                                   commandType);
+         return visitMethod.getDeclaringClass() == DDAsyncInterceptor.class &&
+               declaringClass("handleDefault", InvocationContext.class, VisitableCommand.class) == DDAsyncInterceptor.class;
+      } catch (NoSuchMethodException e) {
+         // Not a command with a simple visit method
+         return false;
+      }
+   }
+
+   private Class<?> declaringClass(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+      // Class.getMethod() only finds public methods
+      for (Class<?> c = getClass(); c != null; c = c.getSuperclass()) {
+         try {
+            c.getDeclaredMethod(name, parameterTypes);
+            return c;
+         } catch (NoSuchMethodException e) {
+            // Try the superclass
+         }
+      }
+      throw new NoSuchMethodException(name);
+   }
+
    @Override
    public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand command)
          throws Throwable {
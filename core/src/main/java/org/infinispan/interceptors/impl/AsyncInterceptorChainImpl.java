@@ -10,6 +10,8 @@
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.read.GetCacheEntryCommand;
+import org.infinispan.commands.read.GetKeyValueCommand;
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.util.ImmutableListCopy;
@@ -20,6 +22,7 @@
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.interceptors.AsyncInterceptor;
 import org.infinispan.interceptors.AsyncInterceptorChain;
+import org.infinispan.interceptors.BaseAsyncInterceptor;
 import org.infinispan.interceptors.InvocationStage;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.TimeoutException;
@@ -47,6 +50,8 @@ public class AsyncInterceptorChainImpl implements AsyncInterceptorChain {
    // Modifications are guarded with "lock", but reads do not need synchronization
    private volatile List<AsyncInterceptor> interceptors = EMPTY_INTERCEPTORS_LIST;
    private volatile AsyncInterceptor firstInterceptor = null;
+   // First interceptor for key reads, skipping the interceptors that don't do anything for them
+   private volatile AsyncInterceptor firstReadInterceptor = null;
 
    public AsyncInterceptorChainImpl(ComponentRegistry componentRegistry) {
       this.componentRegistry = componentRegistry;
@@ -54,6 +59,8 @@ public AsyncInterceptorChainImpl(ComponentRegistry componentRegistry) {
 
    @Start
    void printChainInfo() {
+      // The interceptors are started now, so they know if they do anything for reads
+      refreshPassThrough();
       if (log.isDebugEnabled()) {
          log.debugf("Interceptor chain size: %d", size());
          log.debugf("Interceptor chain is: %s", toString());
@@ -223,7 +230,8 @@ public void appendInterceptor(AsyncInterceptor ci, boolean isCustom) {
    @Override
    public CompletableFuture<Object> invokeAsync(InvocationContext ctx, VisitableCommand command) {
       try {
-         Object result = firstInterceptor.visitCommand(ctx, command);
+         AsyncInterceptor first = BaseAsyncInterceptor.isKeyRead(command) ? firstReadInterceptor : firstInterceptor;
+         Object result = first.visitCommand(ctx, command);
          if (result instanceof InvocationStage) {
             return ((InvocationStage) result).toCompletableFuture();
          } else {
@@ -241,7 +249,8 @@ public CompletableFuture<Object> invokeAsync(InvocationContext ctx, VisitableCom
    @Override
    public Object invoke(InvocationContext ctx, VisitableCommand command) {
       try {
-         Object result = firstInterceptor.visitCommand(ctx, command);
+         AsyncInterceptor first = BaseAsyncInterceptor.isKeyRead(command) ? firstReadInterceptor : firstInterceptor;
+         Object result = first.visitCommand(ctx, command);
          if (result instanceof InvocationStage) {
             return ((InvocationStage) result).get();
          } else {
@@ -333,6 +342,16 @@ public List<AsyncInterceptor> getInterceptors() {
       return interceptors;
    }
 
+   @Override
+   public void refreshPassThrough() {
+      lock.lock();
+      try {
+         rebuildReadPath();
+      } finally {
+         lock.unlock();
+      }
+   }
+
    private void rebuildInterceptors() {
       ListIterator<AsyncInterceptor> it = interceptors.listIterator(interceptors.size());
       // The CallInterceptor
@@ -343,5 +362,32 @@ private void rebuildInterceptors() {
          nextInterceptor = interceptor;
       }
       this.firstInterceptor = nextInterceptor;
+      rebuildReadPath();
+   }
+
+   private void rebuildReadPath() {
+      if (interceptors.isEmpty())
+         return;
+
+      ListIterator<AsyncInterceptor> it = interceptors.listIterator(interceptors.size());
+      // The CallInterceptor is never skipped
+      AsyncInterceptor nextInterceptor = it.previous();
+      int skipped = 0;
+      while (it.hasPrevious()) {
+         AsyncInterceptor interceptor = it.previous();
+         if (interceptor instanceof BaseAsyncInterceptor) {
+            ((BaseAsyncInterceptor) interceptor).setNextReadInterceptor(nextInterceptor);
+         }
+         if (interceptor.isPassThrough(GetKeyValueCommand.class) &&
+               interceptor.isPassThrough(GetCacheEntryCommand.class)) {
+            skipped++;
+         } else {
+            nextInterceptor = interceptor;
+         }
+      }
+      this.firstReadInterceptor = nextInterceptor;
+      if (log.isTraceEnabled()) {
+         log.tracef("Key reads skip %d interceptors", skipped);
+      }
    }
 }
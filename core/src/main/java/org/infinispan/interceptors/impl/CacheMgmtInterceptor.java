@@ -118,6 +118,15 @@ public Object visitEvictCommand(InvocationContext ctx, EvictCommand command) thr
       return super.visitEvictCommand(ctx, command);
    }
 
+   @Override
+   public boolean isPassThrough(Class<? extends VisitableCommand> commandType) {
+      // Reads only need this interceptor to record the hits and misses
+      if (commandType == GetKeyValueCommand.class || commandType == GetCacheEntryCommand.class)
+         return !getStatisticsEnabled();
+
+      return super.isPassThrough(commandType);
+   }
+
    @Override
    public final Object visitGetKeyValueCommand(InvocationContext ctx, GetKeyValueCommand command) {
       return visitDataReadCommand(ctx, command);
@@ -1,6 +1,9 @@
 package org.infinispan.interceptors.impl;
 
+import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.impl.ComponentRef;
+import org.infinispan.interceptors.AsyncInterceptorChain;
 import org.infinispan.interceptors.DDAsyncInterceptor;
 import org.infinispan.jmx.JmxStatisticsExposer;
 import org.infinispan.jmx.annotations.MBean;
@@ -16,7 +19,9 @@
 @MBean
 public abstract class JmxStatsCommandInterceptor extends DDAsyncInterceptor implements JmxStatisticsExposer {
 
-   private boolean statisticsEnabled = false;
+   @Inject ComponentRef<AsyncInterceptorChain> interceptorChain;
+
+   private volatile boolean statisticsEnabled = false;
 
    @Start
    public final void onStart() {
@@ -40,6 +45,11 @@ public boolean getStatisticsEnabled() {
    @Override
    public void setStatisticsEnabled(boolean enabled) {
       statisticsEnabled = enabled;
+      // The interceptor may skip some commands only when statistics are disabled
+      AsyncInterceptorChain chain = interceptorChain != null && interceptorChain.isRunning() ? interceptorChain.running() : null;
+      if (chain != null) {
+         chain.refreshPassThrough();
+      }
    }
 
    /**
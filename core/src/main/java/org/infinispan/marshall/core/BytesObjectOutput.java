@@ -2,9 +2,11 @@
 
 import java.io.IOException;
 import java.io.ObjectOutput;
+import java.io.OutputStream;
 
 import org.infinispan.commons.io.ByteBuffer;
 import org.infinispan.commons.io.ByteBufferImpl;
+import org.infinispan.commons.marshall.StreamAwareMarshaller;
 
 /**
  * Array backed, expandable {@link ObjectOutput} implementation.
@@ -15,6 +17,7 @@ final class BytesObjectOutput implements ObjectOutput {
 
    byte bytes[];
    int pos;
+   private OutputStream stream;
 
    BytesObjectOutput(int size, GlobalMarshaller marshaller) {
       this.bytes = new byte[size];
@@ -234,6 +237,19 @@ public void close() {
       // No-op
    }
 
+   /**
+    * Marshalls {@code obj} straight into this buffer, prefixed by its length, instead of marshalling it to a temporary
+    * array first and copying that array.
+    */
+   void writeLengthPrefixed(StreamAwareMarshaller marshaller, Object obj) throws IOException {
+      int lengthPos = skipIntSize();
+      if (stream == null) {
+         stream = new BytesOutputStream();
+      }
+      marshaller.writeObject(obj, stream);
+      writeIntDirect(pos - lengthPos - 4, lengthPos);
+   }
+
    private int ensureCapacity(int len) {
       int newcount = pos + len;
       if (newcount > bytes.length) {
@@ -277,4 +293,15 @@ ByteBuffer toByteBuffer() {
       return ByteBufferImpl.create(bytes, 0, pos);
    }
 
+   private class BytesOutputStream extends OutputStream {
+      @Override
+      public void write(int b) {
+         writeByte(b);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+         BytesObjectOutput.this.write(b, off, len);
+      }
+   }
 }
@@ -632,6 +632,17 @@ private static void writeRawUnknown(Marshaller marshaller, Object obj, ObjectOut
       } else if (marshaller instanceof StreamAwareMarshaller && out instanceof StreamBytesObjectOutput) {
          OutputStream outputStream = ((StreamBytesObjectOutput) out).stream;
          ((StreamAwareMarshaller) marshaller).writeObject(obj, outputStream);
+      } else if (marshaller instanceof StreamAwareMarshaller && out instanceof BytesObjectOutput) {
+         try {
+            ((BytesObjectOutput) out).writeLengthPrefixed((StreamAwareMarshaller) marshaller, obj);
+         } catch (MarshallingException e) {
+            log.cannotMarshall(obj.getClass(), e);
+            throw e;
+         } catch (RuntimeException e) {
+            // IOExceptions and errors are propagated as they are
+            log.cannotMarshall(obj.getClass(), e);
+            throw new MarshallingException(e.getMessage(), e);
+         }
       } else {
          try {
             byte[] bytes = marshaller.objectToByteBuffer(obj);
@@ -900,6 +911,13 @@ Object readUnknown(Marshaller marshaller, ObjectInput in) throws IOException, Cl
          }
       } else {
          int length = in.readInt();
+         if (in instanceof AbstractBytesObjectInput) {
+            // Unmarshall the bytes in place instead of copying them to a temporary array
+            AbstractBytesObjectInput bytesIn = (AbstractBytesObjectInput) in;
+            Object o = marshaller.objectFromByteBuffer(bytesIn.bytes, bytesIn.pos, length);
+            bytesIn.pos += length;
+            return o;
+         }
          byte[] bytes = new byte[length];
          in.readFully(bytes);
          return marshaller.objectFromByteBuffer(bytes);
@@ -53,9 +53,12 @@
  *
  * <h4>Locking semantics</h4>
  * The sync mode will guarantee that listeners are notified for mutations on the same key sequentially, since
- * the lock for the key will be held when notifying the listener. Async however can have events notified in any order
- * so they should not be used when this ordering is required. If however the notification thread pool size is limited
- * to one, this will provide ordering for async events, but the throughput of async events may be reduced.
+ * the lock for the key will be held when notifying the listener. Async listeners receive their events one at a time,
+ * in the order they were queued, but the events of different keys may be queued in a different order than the
+ * operations were applied.
+ * <p>The queue of an async listener is unbounded by default. Setting {@link #queueCapacity()} bounds it, and the
+ * {@link #overflowPolicy()} decides whether a full queue slows down the cache operations, drops the oldest events,
+ * or only keeps the latest event for each key.
  * <p>Because the key lock is held for the entire execution of sync listeners (until the completion stage is done),
  * sync listeners should be as short as possible.
  * Acquiring additional locks is not recommended, as it could lead to deadlocks.
@@ -357,6 +360,53 @@
     */
    Observation observation() default Observation.BOTH;
 
+   /**
+    * The maximum number of events of an async listener that can wait to be delivered. Only applies to listeners with
+    * {@link #sync()} set to {@code false}.
+    * @return the maximum number of queued events, or {@code 0} for an unbounded queue
+    * @see #overflowPolicy()
+    * @since 13.0
+    */
+   int queueCapacity() default 0;
+
+   /**
+    * What to do with a new event when the queue of an async listener is full.
+    * @return the overflow policy of this listener
+    * @see OverflowPolicy
+    * @since 13.0
+    */
+   OverflowPolicy overflowPolicy() default OverflowPolicy.BLOCK;
+
+   /**
+    * Whether a clustered listener only receives the latest event for each key from each batch of events sent by an
+    * owner, see {@link org.infinispan.configuration.cache.ClusteringConfigurationBuilder#clusterListenerBatchDelay(long, java.util.concurrent.TimeUnit)}.
+    * Only applies to listeners with {@link #clustered()} set to {@code true} and {@link #sync()} set to {@code false}.
+    * @return true if the listener only needs the latest event for each key
+    * @since 13.0
+    */
+   boolean coalesceClusterEvents() default false;
+
+   /**
+    * Enumeration that defines what happens to a new event when the queue of an async listener is full.
+    * @since 13.0
+    */
+   enum OverflowPolicy {
+      /**
+       * The operation that generated the event does not complete until the event has a place in the queue. The
+       * thread is not blocked.
+       */
+      BLOCK,
+      /**
+       * The oldest event in the queue is dropped.
+       */
+      DROP_OLDEST,
+      /**
+       * If there is a queued event for the same key, the new event replaces it, so the listener only sees the latest
+       * event for each key. Otherwise, or if the event does not have a key, behaves like {@link #BLOCK}.
+       */
+      COALESCE_BY_KEY,
+   }
+
 
    /**
     * Enumeration that defines when a listener event can be observed. A listener can receive an event before and/or
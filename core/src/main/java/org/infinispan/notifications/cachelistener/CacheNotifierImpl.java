@@ -32,6 +32,7 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import javax.transaction.Status;
@@ -71,6 +72,10 @@
 import org.infinispan.filter.CacheFilters;
 import org.infinispan.interceptors.AsyncInterceptorChain;
 import org.infinispan.interceptors.locking.ClusteringDependentLogic;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.manager.ClusterExecutor;
 import org.infinispan.marshall.core.EncoderRegistry;
 import org.infinispan.metadata.Metadata;
@@ -164,6 +169,7 @@
  * @since 4.0
  */
 @Scope(Scopes.NAMED_CACHE)
+@MBean(objectName = "CacheNotifier", description = "Component that delivers the cache events to the registered listeners")
 public class CacheNotifierImpl<K, V> extends AbstractListenerImpl<Event<K, V>, CacheEntryListenerInvocation<K, V>>
       implements ClusterCacheNotifier<K, V> {
 
@@ -984,6 +990,10 @@ public Collection<ClusterListenerReplicateCallable<K, V>> retrieveClusterListene
       return callables;
    }
 
+   private static boolean isCoalescing(Listener l) {
+      return l.coalesceClusterEvents();
+   }
+
    private void registerClusterListenerCallablesToInstall(Set<Object> enlistedAlready,
                                                           Set<ClusterListenerReplicateCallable<K, V>> callables,
                                                           List<CacheEntryListenerInvocation<K, V>> listenerInvocations) {
@@ -994,14 +1004,16 @@ private void registerClusterListenerCallablesToInstall(Set<Object> enlistedAlrea
                Set<Class<? extends Annotation>> filterAnnotations = listener.getFilterAnnotations();
                callables.add(new ClusterListenerReplicateCallable(cache.wired().getName(), listener.getIdentifier(),
                      rpcManager.getAddress(), listener.getFilter(), listener.getConverter(), listener.isSync(),
-                     filterAnnotations, listener.getKeyDataConversion(), listener.getValueDataConversion(), listener.useStorageFormat()));
+                     filterAnnotations, listener.getKeyDataConversion(), listener.getValueDataConversion(), listener.useStorageFormat(),
+                     isCoalescing(testListenerClassValidity(listener.getTarget().getClass()))));
                enlistedAlready.add(listener.getTarget());
             } else if (listener.getTarget() instanceof RemoteClusterListener) {
                RemoteClusterListener lcl = (RemoteClusterListener) listener.getTarget();
                Set<Class<? extends Annotation>> filterAnnotations = listener.getFilterAnnotations();
                callables.add(new ClusterListenerReplicateCallable(cache.wired().getName(), lcl.getId(), lcl.getOwnerAddress(),
                      listener.getFilter(), listener.getConverter(), listener.isSync(),
-                     filterAnnotations, listener.getKeyDataConversion(), listener.getValueDataConversion(), listener.useStorageFormat()));
+                     filterAnnotations, listener.getKeyDataConversion(), listener.getValueDataConversion(), listener.useStorageFormat(),
+                     lcl.isCoalesce()));
                enlistedAlready.add(listener.getTarget());
             }
          }
@@ -1172,7 +1184,7 @@ private <C> CompletionStage<Void> registerClusterListeners(List<Address> members
       }
       ClusterListenerReplicateCallable<K, V> callable = new ClusterListenerReplicateCallable(cache.wired().getName(),
             generatedId, ourAddress, filter, converter, l.sync(),
-            findListenerCallbacks(listener), keyDataConversion, valueDataConversion, useStorageFormat);
+            findListenerCallbacks(listener), keyDataConversion, valueDataConversion, useStorageFormat, isCoalescing(l));
       TriConsumer<Address, Void, Throwable> handleSuspect = (a, ignore, t) -> {
          if (t != null && !(t instanceof SuspectException)) {
             log.debugf(t, "Address: %s encountered an exception while adding cluster listener", a);
@@ -2009,6 +2021,41 @@ public String toString() {
       }
    }
 
+   @ManagedAttribute(
+         description = "Number of events waiting to be delivered to async listeners",
+         displayName = "Queued async listener events"
+   )
+   public int getQueuedAsyncEvents() {
+      return getAsyncQueuedEvents();
+   }
+
+   @ManagedAttribute(
+         description = "Age of the oldest event waiting to be delivered to an async listener, in milliseconds",
+         displayName = "Async listener lag",
+         units = Units.MILLISECONDS
+   )
+   public long getAsyncEventLag() {
+      return getAsyncMaxLag(TimeUnit.MILLISECONDS);
+   }
+
+   @ManagedAttribute(
+         description = "Number of events dropped because the queue of an async listener was full",
+         displayName = "Dropped async listener events",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getDroppedAsyncEvents() {
+      return getAsyncDroppedEvents();
+   }
+
+   @ManagedAttribute(
+         description = "Number of events that replaced a queued event for the same key because the queue of an async listener was full",
+         displayName = "Coalesced async listener events",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getCoalescedAsyncEvents() {
+      return getAsyncCoalescedEvents();
+   }
+
    @Override
    public CompletionStage<Void> removeListenerAsync(Object listener) {
       removeListenerFromMaps(listener);
@@ -16,8 +16,10 @@
     * @param identifier The cluster listener that is identified for these events
     * @param events The events that were generated
     * @param sync Whether these events need to be sent synchronously or not
+    * @param coalesce Whether the listener only needs the latest event for each key
     */
-   void addEvents(Object batchIdentifier, Address target, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync);
+   void addEvents(Object batchIdentifier, Address target, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync,
+                  boolean coalesce);
 
    /**
     * Sends all previously added events for the given identifier
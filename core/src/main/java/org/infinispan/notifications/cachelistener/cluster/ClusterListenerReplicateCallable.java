@@ -50,11 +50,13 @@
    private final DataConversion keyDataConversion;
    private final DataConversion valueDataConversion;
    private final boolean useStorageFormat;
+   private final boolean coalesce;
 
    public ClusterListenerReplicateCallable(String cacheName, UUID identifier, Address origin, CacheEventFilter<K, V> filter,
                                            CacheEventConverter<K, V, ?> converter, boolean sync,
                                            Set<Class<? extends Annotation>> filterAnnotations,
-                                           DataConversion keyDataConversion, DataConversion valueDataConversion, boolean useStorageFormat) {
+                                           DataConversion keyDataConversion, DataConversion valueDataConversion, boolean useStorageFormat,
+                                           boolean coalesce) {
       this.cacheName = cacheName;
       this.identifier = identifier;
       this.origin = origin;
@@ -65,6 +67,7 @@ public ClusterListenerReplicateCallable(String cacheName, UUID identifier, Addre
       this.keyDataConversion = keyDataConversion;
       this.valueDataConversion = valueDataConversion;
       this.useStorageFormat = useStorageFormat;
+      this.coalesce = coalesce;
 
       if (log.isTraceEnabled())
          log.tracef("Created clustered listener replicate callable for: %s", filterAnnotations);
@@ -110,7 +113,7 @@ public void accept(EmbeddedCacheManager cacheManager, Cache<K, V> cache) {
                }
                if (!alreadyInstalled) {
                   RemoteClusterListener listener = new RemoteClusterListener(identifier, origin, cacheNotifier,
-                        cacheManagerNotifier, eventManager, sync);
+                        cacheManagerNotifier, eventManager, sync, coalesce);
                   ListenerHolder listenerHolder = new ListenerHolder(listener, keyDataConversion, valueDataConversion, useStorageFormat);
                   cacheNotifier.addFilteredListener(listenerHolder, filter, converter, filterAnnotations);
                   cacheManagerNotifier.addListener(listener);
@@ -163,6 +166,7 @@ public void writeObject(ObjectOutput output, ClusterListenerReplicateCallable ob
          DataConversion.writeTo(output, object.keyDataConversion);
          DataConversion.writeTo(output, object.valueDataConversion);
          output.writeBoolean(object.useStorageFormat);
+         output.writeBoolean(object.coalesce);
       }
 
       @Override
@@ -183,8 +187,9 @@ public ClusterListenerReplicateCallable readObject(ObjectInput input) throws IOE
          DataConversion keyDataConversion = DataConversion.readFrom(input);
          DataConversion valueDataConversion = DataConversion.readFrom(input);
          boolean raw = input.readBoolean();
+         boolean coalesce = input.readBoolean();
          return new ClusterListenerReplicateCallable(cacheName, id, address, filter, converter, sync, filterAnnotations,
-               keyDataConversion, valueDataConversion, raw);
+               keyDataConversion, valueDataConversion, raw, coalesce);
       }
 
       @Override
@@ -200,6 +205,7 @@ public String toString() {
             ", identifier=" + identifier +
             ", origin=" + origin +
             ", sync=" + sync +
+            ", coalesce=" + coalesce +
             '}';
    }
 }
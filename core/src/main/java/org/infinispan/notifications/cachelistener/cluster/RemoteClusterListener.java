@@ -48,18 +48,21 @@ public class RemoteClusterListener {
    private final CacheManagerNotifier cacheManagerNotifier;
    private final ClusterEventManager eventManager;
    private final boolean sync;
+   private final boolean coalesce;
 
    private final ConcurrentMap<GlobalTransaction, Queue<CacheEntryEvent>> transactionChanges =
          new ConcurrentHashMap<>();
 
    public RemoteClusterListener(UUID id, Address origin, CacheNotifier cacheNotifier,
-                                CacheManagerNotifier cacheManagerNotifier, ClusterEventManager eventManager, boolean sync) {
+                                CacheManagerNotifier cacheManagerNotifier, ClusterEventManager eventManager, boolean sync,
+                                boolean coalesce) {
       this.id = id;
       this.origin = origin;
       this.cacheNotifier = cacheNotifier;
       this.cacheManagerNotifier = cacheManagerNotifier;
       this.eventManager = eventManager;
       this.sync = sync;
+      this.coalesce = coalesce;
    }
 
    public UUID getId() {
@@ -70,6 +73,13 @@ public Address getOwnerAddress() {
       return origin;
    }
 
+   /**
+    * @return whether the cluster listener only needs the latest event for each key
+    */
+   public boolean isCoalesce() {
+      return coalesce;
+   }
+
    @ViewChanged
    public CompletionStage<Void> viewChange(ViewChangedEvent event) {
       if (!event.getNewMembers().contains(origin)) {
@@ -109,7 +119,8 @@ public CompletionStage<Void> handleClusterEvents(CacheEntryEvent event) {
             log.tracef("Passing Event to manager %s to send to %s", event, origin);
          }
          // Non tx event batching is keyed by the invoking thread.
-         eventManager.addEvents(Thread.currentThread(), origin, id, Collections.singleton(ClusterEvent.fromEvent(event)), sync);
+         eventManager.addEvents(Thread.currentThread(), origin, id, Collections.singleton(ClusterEvent.fromEvent(event)), sync,
+               coalesce);
       }
       return CompletableFutures.completedNull();
    }
@@ -127,7 +138,7 @@ public CompletionStage<Void> transactionCompleted(TransactionCompletedEvent even
                log.tracef("Passing Event(s) to manager %s to send to %s", eventsToSend, origin);
             }
          }
-         eventManager.addEvents(transaction, origin, id, eventsToSend, sync);
+         eventManager.addEvents(transaction, origin, id, eventsToSend, sync, coalesce);
       }
       return CompletableFutures.completedNull();
    }
@@ -1,27 +1,46 @@
 package org.infinispan.notifications.cachelistener.cluster.impl;
 
+import static org.infinispan.factories.KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR;
+
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.configuration.cache.ClusteringConfiguration;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
 import org.infinispan.factories.impl.ComponentRef;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
 import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.Listener;
 import org.infinispan.notifications.cachelistener.cluster.ClusterEvent;
 import org.infinispan.notifications.cachelistener.cluster.ClusterEventManager;
 import org.infinispan.notifications.cachelistener.cluster.MultiClusterEventCommand;
+import org.infinispan.notifications.cachemanagerlistener.CacheManagerNotifier;
+import org.infinispan.notifications.cachemanagerlistener.annotation.ViewChanged;
+import org.infinispan.notifications.cachemanagerlistener.event.ViewChangedEvent;
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
 import org.infinispan.remoting.responses.ValidResponse;
 import org.infinispan.remoting.rpc.RpcManager;
@@ -34,7 +53,11 @@
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
+import net.jcip.annotations.GuardedBy;
+
+@MBean(objectName = "ClusterEventManager", description = "Sends the events of the cluster listeners to their nodes")
 @Scope(Scopes.NAMED_CACHE)
+@Listener(observation = Listener.Observation.POST)
 public class BatchingClusterEventManagerImpl<K, V> implements ClusterEventManager<K, V> {
    private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
 
@@ -42,8 +65,14 @@
    @Inject Configuration configuration;
    @Inject RpcManager rpcManager;
    @Inject ComponentRef<CommandsFactory> commandsFactory;
+   @Inject @ComponentName(TIMEOUT_SCHEDULE_EXECUTOR) ScheduledExecutorService timeoutExecutor;
+   @Inject CacheManagerNotifier cacheManagerNotifier;
 
    private long timeout;
+   private long batchDelay;
+   private final Map<Address, DelayedEvents> delayedEvents = new ConcurrentHashMap<>();
+   private final LongAdder sentBatches = new LongAdder();
+   private final LongAdder coalescedEvents = new LongAdder();
 
    private final Map<Object, EventContext<K, V>> eventContextMap = new ConcurrentHashMap<>();
 
@@ -54,21 +83,64 @@ public void start() {
                    .addListener((a, ignored) -> {
                       timeout = a.get();
                    });
+      batchDelay = configuration.clustering().clusterListenerBatchDelay();
+      if (batchDelay > 0) {
+         cacheManagerNotifier.addListener(this);
+      }
+   }
+
+   @ManagedAttribute(description = "Number of messages sent with the delayed events of async cluster listeners", displayName = "Number of cluster listener event batches", measurementType = MeasurementType.TRENDSUP)
+   public long getSentBatches() {
+      return sentBatches.sum();
+   }
+
+   @ManagedAttribute(description = "Number of delayed cluster listener events that were not sent because a later event for the same key replaced them", displayName = "Number of coalesced cluster listener events", measurementType = MeasurementType.TRENDSUP)
+   public long getCoalescedEvents() {
+      return coalescedEvents.sum();
+   }
+
+   @Stop
+   public void stop() {
+      if (batchDelay > 0) {
+         cacheManagerNotifier.removeListener(this);
+      }
+      // Send the delayed events right away, the origin may still be running
+      for (DelayedEvents delayed : delayedEvents.values()) {
+         delayed.send();
+      }
+   }
+
+   @ViewChanged
+   public void viewChanged(ViewChangedEvent event) {
+      // The events for the nodes that left can't be delivered
+      List<Address> newMembers = event.getNewMembers();
+      Iterator<DelayedEvents> iterator = delayedEvents.values().iterator();
+      while (iterator.hasNext()) {
+         DelayedEvents delayed = iterator.next();
+         if (!newMembers.contains(delayed.target)) {
+            if (log.isTraceEnabled()) {
+               log.tracef("Dropping delayed events for %s, it is no longer a member", delayed.target);
+            }
+            iterator.remove();
+            delayed.clear();
+         }
+      }
    }
 
    @Override
-   public void addEvents(Object batchIdentifier, Address target, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync) {
+   public void addEvents(Object batchIdentifier, Address target, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync,
+                         boolean coalesce) {
       eventContextMap.compute(batchIdentifier, (ignore, eventContext) -> {
          if (eventContext == null) {
             if (log.isTraceEnabled()) {
                log.tracef("Created new unicast event context for identifier %s", batchIdentifier);
             }
-            eventContext = new UnicastEventContext<>();
+            eventContext = new UnicastEventContext();
          }
          if (log.isTraceEnabled()) {
             log.tracef("Adding new events %s for identifier %s", events, batchIdentifier);
          }
-         eventContext.addTargets(target, identifier, events, sync);
+         eventContext.addTargets(target, identifier, events, sync, coalesce);
          return eventContext;
       });
    }
@@ -100,16 +172,16 @@ public void dropEvents(Object batchIdentifier) {
    }
 
    private interface EventContext<K, V> {
-      void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync);
+      void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync, boolean coalesce);
 
       CompletionStage<Void> sendToTargets();
    }
 
-   protected class UnicastEventContext<K, V> implements EventContext<K, V> {
+   protected class UnicastEventContext implements EventContext<K, V> {
       protected final Map<Address, TargetEvents<K, V>> targets = new HashMap<>();
 
       @Override
-      public void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync) {
+      public void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync, boolean coalesce) {
          TargetEvents<K, V> targetEvents = targets.get(address);
          if (targetEvents == null) {
             targetEvents = new TargetEvents<>();
@@ -126,6 +198,9 @@ public void addTargets(Address address, UUID identifier, Collection<ClusterEvent
          if (sync) {
             targetEvents.sync = true;
          }
+         if (coalesce) {
+            targetEvents.coalesced.add(identifier);
+         }
       }
 
       @Override
@@ -134,6 +209,16 @@ public CompletionStage<Void> sendToTargets() {
          CommandsFactory factory = commandsFactory.running();
          for (Entry<Address, TargetEvents<K, V>> entry : targets.entrySet()) {
             TargetEvents<K, V> multiEvents = entry.getValue();
+            if (!multiEvents.sync && batchDelay > 0) {
+               // Nobody waits for async events, so they can wait for the events of other operations
+               delayedEvents.computeIfAbsent(entry.getKey(), DelayedEvents::new).add(multiEvents);
+               continue;
+            }
+            DelayedEvents delayed = delayedEvents.get(entry.getKey());
+            if (delayed != null) {
+               // Send the older events of the async listeners first
+               delayed.send();
+            }
             MultiClusterEventCommand<K, V> callable = factory.buildMultiClusterEventCommand(multiEvents.events);
             CompletionStage<ValidResponse> stage = rpcManager.invokeCommand(entry.getKey(), callable, SingleResponseCollector.validOnly(),
                   new RpcOptions(DeliverOrder.NONE, timeout, TimeUnit.MILLISECONDS));
@@ -147,6 +232,81 @@ public CompletionStage<Void> sendToTargets() {
 
    private static class TargetEvents<K, V> {
       final Map<UUID, Collection<ClusterEvent<K, V>>> events = new HashMap<>();
+      final Set<UUID> coalesced = new HashSet<>();
       boolean sync = false;
    }
+
+   /**
+    * The events of the async cluster listeners on one node, waiting for the batch delay to expire.
+    */
+   private class DelayedEvents {
+      private final Address target;
+      @GuardedBy("this")
+      private Map<UUID, Collection<ClusterEvent<K, V>>> events = new HashMap<>();
+      @GuardedBy("this")
+      private Map<UUID, Map<Object, ClusterEvent<K, V>>> eventsByKey = new HashMap<>();
+      @GuardedBy("this")
+      private boolean scheduled;
+
+      DelayedEvents(Address target) {
+         this.target = target;
+      }
+
+      void add(TargetEvents<K, V> targetEvents) {
+         synchronized (this) {
+            for (Entry<UUID, Collection<ClusterEvent<K, V>>> entry : targetEvents.events.entrySet()) {
+               UUID identifier = entry.getKey();
+               if (targetEvents.coalesced.contains(identifier)) {
+                  // Only the latest event for each key is sent, in the position of the first event for that key
+                  Map<Object, ClusterEvent<K, V>> listenerEvents =
+                        eventsByKey.computeIfAbsent(identifier, ignored -> new LinkedHashMap<>());
+                  for (ClusterEvent<K, V> event : entry.getValue()) {
+                     if (listenerEvents.put(event.getKey(), event) != null) {
+                        coalescedEvents.increment();
+                     }
+                  }
+               } else {
+                  events.computeIfAbsent(identifier, ignored -> new ArrayList<>()).addAll(entry.getValue());
+               }
+            }
+            if (scheduled)
+               return;
+
+            scheduled = true;
+         }
+         timeoutExecutor.schedule(this::send, batchDelay, TimeUnit.MILLISECONDS);
+      }
+
+      synchronized void clear() {
+         events = new HashMap<>();
+         eventsByKey = new HashMap<>();
+      }
+
+      void send() {
+         Map<UUID, Collection<ClusterEvent<K, V>>> eventsToSend;
+         synchronized (this) {
+            scheduled = false;
+            eventsToSend = events;
+            for (Entry<UUID, Map<Object, ClusterEvent<K, V>>> entry : eventsByKey.entrySet()) {
+               eventsToSend.put(entry.getKey(), new ArrayList<>(entry.getValue().values()));
+            }
+            if (eventsToSend.isEmpty())
+               return;
+
+            events = new HashMap<>();
+            eventsByKey = new HashMap<>();
+         }
+         if (log.isTraceEnabled()) {
+            log.tracef("Sending delayed events to %s for listeners %s", target, eventsToSend.keySet());
+         }
+         sentBatches.increment();
+         MultiClusterEventCommand<K, V> command = commandsFactory.running().buildMultiClusterEventCommand(eventsToSend);
+         rpcManager.invokeCommand(target, command, SingleResponseCollector.validOnly(),
+                                  new RpcOptions(DeliverOrder.NONE, timeout, TimeUnit.MILLISECONDS))
+                   .exceptionally(t -> {
+                      log.debugf(t, "Unable to send delayed cluster listener events to %s", target);
+                      return null;
+                   });
+      }
+   }
 }
@@ -19,7 +19,8 @@
 @SurvivesRestarts
 public class ClusterEventManagerStub<K, V> implements ClusterEventManager<K, V> {
    @Override
-   public void addEvents(Object batchIdentifier, Address target, UUID identifier, Collection<ClusterEvent<K, V>> clusterEvents, boolean sync) {
+   public void addEvents(Object batchIdentifier, Address target, UUID identifier, Collection<ClusterEvent<K, V>> clusterEvents, boolean sync,
+                         boolean coalesce) {
 
    }
 
@@ -15,7 +15,9 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import javax.security.auth.Subject;
@@ -35,6 +37,7 @@
 import org.infinispan.notifications.cachelistener.annotation.CacheEntryExpired;
 import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
 import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
 import org.infinispan.security.Security;
 import org.infinispan.util.concurrent.AggregateCompletionStage;
 import org.infinispan.util.concurrent.BlockingManager;
@@ -58,6 +61,8 @@
    @Inject
    BlockingManager blockingManager;
    protected final Map<Class<? extends Annotation>, List<L>> listenersMap = new HashMap<>(16, 0.99f);
+   // One queue per async listener, shared by all its methods so that the listener sees the events in order
+   private final Map<Object, AsyncListenerQueue> asyncQueues = new ConcurrentHashMap<>();
 
    protected abstract class AbstractInvocationBuilder {
       protected Object target;
@@ -129,6 +134,7 @@ public void stop() {
       for (List<L> list : listenersMap.values()) {
          if (list != null) list.clear();
       }
+      asyncQueues.clear();
    }
 
    protected CompletionStage<Void> resumeOnCPU(CompletionStage<Void> stage, Object traceId) {
@@ -176,6 +182,60 @@ protected void removeListenerFromMaps(Object listener) {
       for (Class<? extends Annotation> annotation :
             getAllowedMethodAnnotations(testListenerClassValidity(listener.getClass())).keySet())
          removeListenerInvocation(annotation, listener);
+      asyncQueues.remove(listener);
+   }
+
+   private AsyncListenerQueue getAsyncQueue(Object listener) {
+      return asyncQueues.computeIfAbsent(listener, l -> {
+         Listener annotation = testListenerClassValidity(l.getClass());
+         return new AsyncListenerQueue(asyncProcessor, annotation.queueCapacity(), annotation.overflowPolicy());
+      });
+   }
+
+   /**
+    * @return The number of events waiting to be delivered to async listeners
+    */
+   protected int getAsyncQueuedEvents() {
+      int queuedEvents = 0;
+      for (AsyncListenerQueue queue : asyncQueues.values()) {
+         queuedEvents += queue.size();
+      }
+      return queuedEvents;
+   }
+
+   /**
+    * @return The age of the oldest event waiting to be delivered to an async listener, or 0 if there are none
+    */
+   protected long getAsyncMaxLag(TimeUnit unit) {
+      long maxLag = 0;
+      for (AsyncListenerQueue queue : asyncQueues.values()) {
+         maxLag = Math.max(maxLag, queue.lag(unit));
+      }
+      return maxLag;
+   }
+
+   /**
+    * @return The number of events that were not delivered to async listeners with a full queue and the {@link
+    * Listener.OverflowPolicy#DROP_OLDEST} policy
+    */
+   protected long getAsyncDroppedEvents() {
+      long droppedEvents = 0;
+      for (AsyncListenerQueue queue : asyncQueues.values()) {
+         droppedEvents += queue.droppedEvents();
+      }
+      return droppedEvents;
+   }
+
+   /**
+    * @return The number of events that replaced a queued event with the same key in async listeners with a full queue
+    * and the {@link Listener.OverflowPolicy#COALESCE_BY_KEY} policy
+    */
+   protected long getAsyncCoalescedEvents() {
+      long coalescedEvents = 0;
+      for (AsyncListenerQueue queue : asyncQueues.values()) {
+         coalescedEvents += queue.coalescedEvents();
+      }
+      return coalescedEvents;
    }
 
    protected Set<L> removeListenerInvocation(Class<? extends Annotation> annotation, Object listener) {
@@ -382,6 +442,7 @@ protected static void testListenerMethodValidity(Method m, Class<?> allowedParam
       final boolean sync;
       final WeakReference<ClassLoader> classLoader;
       final Subject subject;
+      final AsyncListenerQueue asyncQueue;
 
       public ListenerInvocationImpl(Object target, Method method, boolean sync, ClassLoader classLoader, Subject subject) {
          this.target = target;
@@ -389,6 +450,7 @@ public ListenerInvocationImpl(Object target, Method method, boolean sync, ClassL
          this.sync = sync;
          this.classLoader = new WeakReference<>(classLoader);
          this.subject = subject;
+         this.asyncQueue = sync ? null : getAsyncQueue(target);
       }
 
       @Override
@@ -458,8 +520,17 @@ public CompletionStage<Void> invoke(final A event) {
                return stage;
             }
          } else {
-            asyncProcessor.execute(r::get);
-            getLog().tracef("Listener %s has completed event %s", target, event);
+            Object key = event instanceof CacheEntryEvent ? ((CacheEntryEvent<?, ?>) event).getKey() : null;
+            CompletionStage<Void> stage = asyncQueue.offer(key, () -> {
+               try {
+                  r.get();
+               } catch (Throwable t) {
+                  // Don't let the exception stop the delivery of the other queued events
+                  getLog().unableToInvokeListenerMethod(method, target, t);
+               }
+            });
+            getLog().tracef("Listener %s has queued event %s", target, event);
+            return stage;
          }
          return CompletableFutures.completedNull();
       }
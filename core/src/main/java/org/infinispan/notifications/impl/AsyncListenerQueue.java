@@ -0,0 +1,198 @@
+package org.infinispan.notifications.impl;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.notifications.Listener;
+import org.infinispan.util.concurrent.CompletableFutures;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Queue of the events waiting to be delivered to an async listener.
+ * <p>
+ * The events are delivered in the order they were added, by a single drain task running in the async notification
+ * executor. The drain task delivers all the queued events before it completes, so a burst of events only needs one
+ * executor task.
+ * <p>
+ * If the queue has a capacity and it is full, a new event is handled according to the {@link
+ * Listener.OverflowPolicy} of the listener. Blocked events don't block the caller thread, instead the returned stage
+ * completes once the event has a place in the queue.
+ *
+ * @since 13.0
+ */
+class AsyncListenerQueue {
+   // Give the other listeners a chance to run after this many events
+   private static final int MAX_EVENTS_PER_DRAIN = 1024;
+
+   private final Executor executor;
+   private final int capacity;
+   private final Listener.OverflowPolicy overflowPolicy;
+
+   @GuardedBy("this")
+   private final ArrayDeque<Element> queue = new ArrayDeque<>();
+   @GuardedBy("this")
+   private final ArrayDeque<Element> blocked = new ArrayDeque<>();
+   @GuardedBy("this")
+   private final Map<Object, Element> elementsByKey;
+   @GuardedBy("this")
+   private boolean draining;
+
+   private final LongAdder droppedEvents = new LongAdder();
+   private final LongAdder coalescedEvents = new LongAdder();
+
+   AsyncListenerQueue(Executor executor, int capacity, Listener.OverflowPolicy overflowPolicy) {
+      this.executor = executor;
+      this.capacity = capacity;
+      this.overflowPolicy = overflowPolicy;
+      this.elementsByKey = overflowPolicy == Listener.OverflowPolicy.COALESCE_BY_KEY ? new HashMap<>() : null;
+   }
+
+   /**
+    * Adds an event to the queue.
+    *
+    * @param key The key of the event, used to coalesce events, or {@code null} if the event does not have a key.
+    * @param task Delivers the event to the listener.
+    * @return A stage that completes when the event is in the queue.
+    */
+   CompletionStage<Void> offer(Object key, Runnable task) {
+      Element element = new Element(key, task, System.nanoTime());
+      synchronized (this) {
+         if (capacity > 0 && queue.size() >= capacity) {
+            switch (overflowPolicy) {
+               case DROP_OLDEST:
+                  removeElement(queue.poll());
+                  droppedEvents.increment();
+                  break;
+               case COALESCE_BY_KEY:
+                  Element existing = key != null ? elementsByKey.get(key) : null;
+                  if (existing != null) {
+                     // Keep the position and the age of the queued event, but deliver the latest one
+                     existing.task = task;
+                     coalescedEvents.increment();
+                     return CompletableFutures.completedNull();
+                  }
+                  return block(element);
+               default:
+                  return block(element);
+            }
+         }
+         addElement(element);
+         if (draining)
+            return CompletableFutures.completedNull();
+
+         draining = true;
+      }
+      submitDrain();
+      return CompletableFutures.completedNull();
+   }
+
+   @GuardedBy("this")
+   private CompletionStage<Void> block(Element element) {
+      element.unblocked = new CompletableFuture<>();
+      blocked.add(element);
+      return element.unblocked;
+   }
+
+   @GuardedBy("this")
+   private void addElement(Element element) {
+      queue.add(element);
+      if (elementsByKey != null && element.key != null) {
+         elementsByKey.put(element.key, element);
+      }
+   }
+
+   @GuardedBy("this")
+   private void removeElement(Element element) {
+      if (elementsByKey != null && element.key != null) {
+         elementsByKey.remove(element.key, element);
+      }
+   }
+
+   private void submitDrain() {
+      try {
+         executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+         synchronized (this) {
+            draining = false;
+         }
+         throw e;
+      }
+   }
+
+   private void drain() {
+      for (int i = 0; i < MAX_EVENTS_PER_DRAIN; i++) {
+         Runnable task;
+         CompletableFuture<Void> unblocked = null;
+         synchronized (this) {
+            Element element = queue.poll();
+            if (element == null) {
+               draining = false;
+               return;
+            }
+            removeElement(element);
+            task = element.task;
+
+            Element blockedElement = blocked.poll();
+            if (blockedElement != null) {
+               addElement(blockedElement);
+               unblocked = blockedElement.unblocked;
+            }
+         }
+         if (unblocked != null) {
+            unblocked.complete(null);
+         }
+         task.run();
+      }
+      // Keep the draining flag, the next drain task continues where this one stopped
+      submitDrain();
+   }
+
+   synchronized int size() {
+      return queue.size() + blocked.size();
+   }
+
+   /**
+    * @return The time since the oldest event waiting in the queue was added, or 0 if the queue is empty.
+    */
+   long lag(TimeUnit unit) {
+      long enqueueTime;
+      synchronized (this) {
+         Element oldest = queue.peek();
+         if (oldest == null)
+            return 0;
+
+         enqueueTime = oldest.enqueueTime;
+      }
+      return unit.convert(System.nanoTime() - enqueueTime, TimeUnit.NANOSECONDS);
+   }
+
+   long droppedEvents() {
+      return droppedEvents.sum();
+   }
+
+   long coalescedEvents() {
+      return coalescedEvents.sum();
+   }
+
+   private static class Element {
+      final Object key;
+      final long enqueueTime;
+      @GuardedBy("AsyncListenerQueue.this")
+      Runnable task;
+      CompletableFuture<Void> unblocked;
+
+      Element(Object key, Runnable task, long enqueueTime) {
+         this.key = key;
+         this.task = task;
+         this.enqueueTime = enqueueTime;
+      }
+   }
+}
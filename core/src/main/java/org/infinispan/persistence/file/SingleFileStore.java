@@ -21,6 +21,7 @@
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.StampedLock;
 import java.util.function.Predicate;
 
@@ -68,6 +69,11 @@
  * <p/>
  * This class is fully thread safe, yet allows for concurrent load / store
  * of individual cache entries.
+ * <p/>
+ * The space of removed entries is reused by new entries, and it is reclaimed in the background once enough of the
+ * file is free (see {@link SingleFileStoreConfiguration#compactionThreshold()}): the entries at the end of the file
+ * are moved into the free space before them so that the file can be truncated. When the store is segmented, there is
+ * one file, free list and compaction per segment.
  *
  * @author Karsten Blees
  * @author Mircea Markus
@@ -117,6 +123,12 @@
    private long filePos = MAGIC_LATEST.length;
    private File file;
    private float fragmentationFactor = .75f;
+   // Total size of the entries in the free list, guarded by the free list monitor
+   private long freeSpace;
+   // Free space left by the last compaction, which does not count towards the next one
+   private long compactedFreeSpace;
+   private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+   private Executor compactionExecutor;
    // Prevent clear() from truncating the file after a write() allocated the entry but before it wrote the data
    private final StampedLock resizeLock = new StampedLock();
    private TimeService timeService;
@@ -133,6 +145,7 @@ public void init(InitializationContext ctx) {
       this.configuration = ctx.getConfiguration();
       this.timeService = ctx.getTimeService();
       this.entryFactory = ctx.getMarshallableEntryFactory();
+      this.compactionExecutor = ctx.getBlockingManager().asExecutor("SingleFileStore-compaction");
    }
 
    @Override
@@ -183,6 +196,8 @@ public void start() {
 
    @Override
    public void stop() {
+      // Wait for a running compaction to finish
+      long stamp = resizeLock.writeLock();
       try {
          if (channel != null) {
             log.tracef("Stopping store %s, size = %d, file size = %d", ctx.getCache().getName(), entries.size(), channel.size());
@@ -193,9 +208,13 @@ public void stop() {
             entries = null;
             freeList = null;
             filePos = MAGIC_LATEST.length;
+            freeSpace = 0;
+            compactedFreeSpace = 0;
          }
       } catch (Exception e) {
          throw new PersistenceException(e);
+      } finally {
+         resizeLock.unlockWrite(stamp);
       }
    }
 
@@ -249,7 +268,7 @@ private void rebuildIndex() throws Exception {
             entries.put(key, fe);
          } else {
             // add to free list
-            freeList.add(fe);
+            addFreeEntry(fe);
          }
       }
    }
@@ -448,6 +467,7 @@ private FileEntry allocate(int len) {
 
             // found one, remove from freeList
             it.remove();
+            freeSpace -= free.size;
             return allocateExistingEntry(free, len);
          }
 
@@ -494,7 +514,24 @@ private void addNewFreeEntry(FileEntry fe) throws IOException {
       buf.putLong(-1);
       buf.flip();
       channel.write(buf, fe.offset);
-      freeList.add(fe);
+      addFreeEntry(fe);
+   }
+
+   private boolean addFreeEntry(FileEntry fe) {
+      synchronized (freeList) {
+         if (!freeList.add(fe))
+            return false;
+         freeSpace += fe.size;
+         return true;
+      }
+   }
+
+   private void removeFreeEntry(FileEntry fe) {
+      synchronized (freeList) {
+         if (freeList.remove(fe)) {
+            freeSpace -= fe.size;
+         }
+      }
    }
 
    /**
@@ -508,10 +545,127 @@ private void free(FileEntry fe) throws IOException {
          // No need to wait for readers to unlock here, the FileEntry instance is not modified,
          // and allocate() won't return an entry as long as it has a reader.
          channel.write(ByteBuffer.wrap(ZERO_INT), fe.offset + KEYLEN_POS);
-         if (!freeList.add(fe)) {
-            throw new IllegalStateException(String.format("Trying to free an entry that was not allocated: %s", fe));
+         synchronized (freeList) {
+            if (!addFreeEntry(fe)) {
+               throw new IllegalStateException(String.format("Trying to free an entry that was not allocated: %s", fe));
+            }
+            if (log.isTraceEnabled()) log.tracef("Deleted entry at %d:%d, there are now %d free entries", fe.offset, fe.size, freeList.size());
+            if (freeSpace - compactedFreeSpace > configuration.compactionThreshold() * (filePos - MAGIC_LATEST.length - compactedFreeSpace)) {
+               scheduleCompaction();
+            }
+         }
+      }
+   }
+
+   private void scheduleCompaction() {
+      if (compactionScheduled.compareAndSet(false, true)) {
+         compactionExecutor.execute(() -> {
+            try {
+               compact();
+            } catch (Throwable t) {
+               log.debugf(t, "Compaction of %s failed", file);
+            } finally {
+               compactionScheduled.set(false);
+            }
+         });
+      }
+   }
+
+   /**
+    * Moves the entries at the end of the file into the free space before them, starting from the last one, and then
+    * truncates the file. Writes, deletes and loads are not blocked, an entry that is replaced or removed while it is
+    * moved is simply not moved.
+    */
+   void compact() {
+      long stamp = resizeLock.readLock();
+      try {
+         if (channel == null)
+            return;
+
+         long startTime = 0;
+         if (log.isTraceEnabled()) startTime = timeService.wallClockTime();
+         List<KeyValuePair<K, FileEntry>> liveEntries = new ArrayList<>(entries.size());
+         synchronized (entries) {
+            for (Map.Entry<K, FileEntry> e : entries.entrySet()) {
+               liveEntries.add(new KeyValuePair<>(e.getKey(), e.getValue()));
+            }
+         }
+         liveEntries.sort(Comparator.comparingLong((KeyValuePair<K, FileEntry> kvp) -> kvp.getValue().offset).reversed());
+
+         int movedEntries = 0;
+         ByteBuffer buf = ByteBuffer.allocate(KEY_POS_LATEST);
+         for (KeyValuePair<K, FileEntry> kvp : liveEntries) {
+            K key = kvp.getKey();
+            FileEntry fe = kvp.getValue();
+            FileEntry target = allocateBefore(fe.actualSize(), fe.offset);
+            if (target == null)
+               continue;
+
+            synchronized (entries) {
+               if (entries.get(key) != fe) {
+                  // Replaced or removed since the copy was made, the target is not used
+                  free(target);
+                  continue;
+               }
+               // Lock the entry so that its space is not reused if it is freed during the copy
+               fe.lock();
+            }
+            FileEntry moved = new FileEntry(target.offset, target.size, fe.keyLen, fe.dataLen, fe.metadataLen,
+                  fe.internalMetadataLen, fe.expiryTime);
+            try {
+               buf = readChannel(buf, fe.offset, fe.actualSize());
+               buf.flip();
+               buf.putInt(0, moved.size);
+               channel.write(buf, moved.offset);
+            } finally {
+               fe.unlock();
+            }
+
+            boolean replaced;
+            synchronized (entries) {
+               replaced = entries.get(key) == fe;
+               if (replaced) {
+                  entries.put(key, moved);
+               }
+            }
+            if (replaced) {
+               free(fe);
+               movedEntries++;
+            } else {
+               free(moved);
+            }
+         }
+
+         synchronized (freeList) {
+            processFreeEntries();
+            compactedFreeSpace = freeSpace;
+         }
+         if (log.isTraceEnabled()) log.tracef("Compacted %s, moved %d entries in %d ms, file size is %d, free space is %d",
+               file, movedEntries, timeService.wallClockTime() - startTime, filePos, compactedFreeSpace);
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      } finally {
+         resizeLock.unlockRead(stamp);
+      }
+   }
+
+   /**
+    * Allocates the requested space in a free entry located before the given file position.
+    *
+    * @return the allocated space or {@code null} if there is no free entry of sufficient size before the position
+    */
+   private FileEntry allocateBefore(int len, long position) {
+      synchronized (freeList) {
+         for (Iterator<FileEntry> it = freeList.tailSet(new FileEntry(0, len)).iterator(); it.hasNext(); ) {
+            FileEntry free = it.next();
+            if (free.isLocked() || free.offset >= position)
+               continue;
+
+            it.remove();
+            freeSpace -= free.size;
+            return allocateExistingEntry(free, len);
          }
-         if (log.isTraceEnabled()) log.tracef("Deleted entry at %d:%d, there are now %d free entries", fe.offset, fe.size, freeList.size());
+         return null;
       }
    }
 
@@ -608,6 +762,8 @@ public void clear() {
                // clear in-memory state
                entries.clear();
                freeList.clear();
+               freeSpace = 0;
+               compactedFreeSpace = 0;
 
                // reset file
                if (log.isTraceEnabled()) log.tracef("Truncating file, current size is %d", filePos);
@@ -808,7 +964,7 @@ private void truncateFile(List<FileEntry> entries) {
          if (!fe.isLocked() && ((fe.offset + fe.size) == filePos)) {
             truncateOffset = fe.offset;
             filePos = fe.offset;
-            freeList.remove(fe);
+            removeFreeEntry(fe);
             it.remove();
             reclaimedSpace += fe.size;
             removedEntries++;
@@ -848,12 +1004,12 @@ private void mergeFreeEntries(List<FileEntry> entries) {
          if ((lastEntry != null) && (lastEntry.offset == (fe.offset + fe.size))) {
             if (newEntry == null) {
                newEntry = new FileEntry(fe.offset, fe.size + lastEntry.size);
-               freeList.remove(lastEntry);
+               removeFreeEntry(lastEntry);
                mergeCounter++;
             } else {
                newEntry = new FileEntry(fe.offset, fe.size + newEntry.size);
             }
-            freeList.remove(fe);
+            removeFreeEntry(fe);
             mergeCounter++;
          } else {
             if (newEntry != null) {
@@ -1,6 +1,8 @@
 package org.infinispan.persistence.support;
 
 import java.util.PrimitiveIterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReferenceArray;
@@ -14,9 +16,11 @@
 import org.infinispan.commons.reactive.RxJavaInterop;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.configuration.cache.AbstractSegmentedStoreConfiguration;
 import org.infinispan.configuration.cache.HashConfiguration;
 import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.executors.LimitedExecutor;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.persistence.InitializationContextImpl;
 import org.infinispan.persistence.internal.PersistenceUtil;
@@ -24,6 +28,9 @@
 import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.util.concurrent.AggregateCompletionStage;
+import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.CompletionStages;
 import org.reactivestreams.Publisher;
 
@@ -235,8 +242,23 @@ public void start() {
       // Local (invalidation), replicated and scattered cache we just instantiate all the maps immediately
       // Scattered needs this for backups as they can be for any segment
       // Distributed needs them all only at beginning for preload of data - rehash event will remove others
+      // Stores of different segments are independent, so they are started (and rebuild their index) in parallel
+      String name = "ComposedSegmentedLoadWriteStore-" + cache.getName();
+      Executor executor = new LimitedExecutor(name, ctx.getBlockingManager().asExecutor(name),
+            ProcessorInfo.availableProcessors());
+      AggregateCompletionStage<Void> startStage = CompletionStages.aggregateCompletionStage();
       for (int i = 0; i < stores.length(); ++i) {
-         startNewStoreForSegment(i);
+         int segment = i;
+         startStage.dependsOn(CompletableFuture.runAsync(() -> startNewStoreForSegment(segment), executor));
+      }
+      try {
+         CompletionStages.join(startStage.freeze());
+      } catch (CompletionException e) {
+         Throwable cause = CompletableFutures.extractException(e);
+         if (cause instanceof PersistenceException) {
+            throw (PersistenceException) cause;
+         }
+         throw new PersistenceException(cause);
       }
 
       // Distributed is the only mode that allows for dynamic addition/removal of maps as others own all segments
@@ -9,12 +9,16 @@
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commands.GlobalRpcCommand;
 import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commands.remote.CacheRpcCommand;
+import org.infinispan.commands.remote.MultipleRpcCommand;
+import org.infinispan.commands.remote.SingleRpcCommand;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.IllegalLifecycleStateException;
 import org.infinispan.configuration.ConfigurationManager;
@@ -157,12 +161,36 @@ private void handleCacheRpcCommand(Address origin, CacheRpcCommand command, Repl
          return;
       }
       CommandsFactory commandsFactory = cr.getCommandsFactory();
+      PerCacheInboundInvocationHandler handler = cr.getPerCacheInboundInvocationHandler();
+      if (command.getCommandId() == MultipleRpcCommand.COMMAND_ID) {
+         handleMultipleRpcCommand(origin, (MultipleRpcCommand) command, commandsFactory, handler, reply, mode);
+         return;
+      }
       // initialize this command with components specific to the intended cache instance
       commandsFactory.initializeReplicableCommand(command, true);
-      PerCacheInboundInvocationHandler handler = cr.getPerCacheInboundInvocationHandler();
       handler.handle(command, reply, mode);
    }
 
+   private void handleMultipleRpcCommand(Address origin, MultipleRpcCommand command, CommandsFactory commandsFactory,
+                                         PerCacheInboundInvocationHandler handler, Reply reply, DeliverOrder mode) {
+      // Each command goes through the same checks as if it had been sent in its own message
+      VisitableCommand[] commands = command.getCommands();
+      Response[] responses = new Response[commands.length];
+      AtomicInteger pending = new AtomicInteger(commands.length);
+      for (int i = 0; i < commands.length; ++i) {
+         int index = i;
+         SingleRpcCommand singleRpcCommand = commandsFactory.buildSingleRpcCommand(commands[i]);
+         singleRpcCommand.setOrigin(origin);
+         commandsFactory.initializeReplicableCommand(singleRpcCommand, true);
+         handler.handle(singleRpcCommand, response -> {
+            responses[index] = response != null ? response : SuccessfulResponse.SUCCESSFUL_EMPTY_RESPONSE;
+            if (pending.decrementAndGet() == 0) {
+               reply.reply(SuccessfulResponse.create(responses));
+            }
+         }, mode);
+      }
+   }
+
    private void handleReplicableCommand(Address origin, ReplicableCommand command, Reply reply, DeliverOrder order) {
       if (log.isTraceEnabled()) {
          log.tracef("Attempting to execute non-CacheRpcCommand: %s [sender=%s]", command, origin);
@@ -1,5 +1,6 @@
 package org.infinispan.remoting.rpc;
 
+import static org.infinispan.factories.KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR;
 import static org.infinispan.factories.impl.MBeanMetadata.AttributeMetadata;
 import static org.infinispan.remoting.rpc.RpcManagerImpl.OBJECT_NAME;
 import static org.infinispan.util.logging.Log.CLUSTER;
@@ -14,6 +15,7 @@
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
@@ -24,6 +26,7 @@
 import org.infinispan.commands.TopologyAffectedCommand;
 import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commands.remote.CacheRpcCommand;
+import org.infinispan.commands.write.DataWriteCommand;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.configuration.attributes.Attribute;
 import org.infinispan.commons.configuration.attributes.AttributeListener;
@@ -33,6 +36,7 @@
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.distribution.DistributionManager;
 import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.annotations.Stop;
@@ -88,6 +92,7 @@ public class RpcManagerImpl implements RpcManager, JmxStatisticsExposer, CustomM
    @Inject DistributionManager distributionManager;
    @Inject TimeService timeService;
    @Inject XSiteMetricsCollector xSiteMetricsCollector;
+   @Inject @ComponentName(TIMEOUT_SCHEDULE_EXECUTOR) ScheduledExecutorService timeoutExecutor;
 
    private final Function<ReplicableCommand, ReplicableCommand> toCacheRpcCommand = this::toCacheRpcCommand;
    private final AttributeListener<Long> updateRpcOptions = this::updateRpcOptions;
@@ -100,6 +105,8 @@ public class RpcManagerImpl implements RpcManager, JmxStatisticsExposer, CustomM
    private boolean statisticsEnabled = false; // by default, don't gather statistics.
 
    private volatile RpcOptions syncRpcOptions;
+   private WriteCoalescer writeCoalescer;
+   private boolean readFromFastestOwner;
 
    @Override
    public Collection<AttributeMetadata> getCustomMetrics() {
@@ -136,6 +143,14 @@ void start() {
                    .attributes().attribute(ClusteringConfiguration.REMOTE_TIMEOUT)
                    .addListener(updateRpcOptions);
       updateRpcOptions(configuration.clustering().attributes().attribute(ClusteringConfiguration.REMOTE_TIMEOUT), null);
+
+      long writeCoalescingDelay = configuration.clustering().writeCoalescingDelay();
+      if (writeCoalescingDelay > 0 && !configuration.transaction().transactionMode().isTransactional()) {
+         writeCoalescer = new WriteCoalescer(t, cf.wired(), timeoutExecutor, writeCoalescingDelay,
+                                             configuration.clustering().writeCoalescingMaxBatchSize());
+      }
+      readFromFastestOwner = configuration.clustering().readFromFastestOwner() &&
+            !configuration.transaction().transactionMode().isTransactional();
    }
 
    @Stop
@@ -172,24 +187,34 @@ public String getPendingViewAsString() {
    @Override
    public <T> CompletionStage<T> invokeCommand(Address target, ReplicableCommand command,
                                                ResponseCollector<T> collector, RpcOptions rpcOptions) {
-      CacheRpcCommand cacheRpc = toCacheRpcCommand(command);
-
       if (!statisticsEnabled) {
-         return t.invokeCommand(target, cacheRpc, collector, rpcOptions.deliverOrder(),
-                                rpcOptions.timeout(), rpcOptions.timeUnit());
+         return invokeCommandOnTarget(target, command, collector, rpcOptions);
       }
 
       long startTimeNanos = timeService.time();
       CompletionStage<T> invocation;
       try {
-         invocation = t.invokeCommand(target, cacheRpc, collector, rpcOptions.deliverOrder(),
-                                      rpcOptions.timeout(), rpcOptions.timeUnit());
+         invocation = invokeCommandOnTarget(target, command, collector, rpcOptions);
       } catch (Exception e) {
          return errorReplicating(e);
       }
       return invocation.handle((response, throwable) -> updateStatistics(startTimeNanos, response, throwable));
    }
 
+   private <T> CompletionStage<T> invokeCommandOnTarget(Address target, ReplicableCommand command,
+                                                        ResponseCollector<T> collector, RpcOptions rpcOptions) {
+      // Only the writes invoked on a single target, i.e. forwarded to the primary owner, are coalesced
+      // The triangle and backup writes are sent with sendTo/sendToMany or to multiple targets and don't get here
+      if (writeCoalescer != null && command instanceof DataWriteCommand &&
+            rpcOptions.deliverOrder() == DeliverOrder.NONE && !target.equals(t.getAddress())) {
+         checkTopologyId(command);
+         return writeCoalescer.invokeCommand(target, (DataWriteCommand) command, collector, rpcOptions);
+      }
+      CacheRpcCommand cacheRpc = toCacheRpcCommand(command);
+      return t.invokeCommand(target, cacheRpc, collector, rpcOptions.deliverOrder(),
+                             rpcOptions.timeout(), rpcOptions.timeUnit());
+   }
+
    private void checkTopologyId(ReplicableCommand command) {
       if (command instanceof TopologyAffectedCommand && ((TopologyAffectedCommand) command).getTopologyId() < 0) {
          throw new IllegalArgumentException("Command does not have a topology id");
@@ -260,6 +285,9 @@ public <T> CompletionStage<T> invokeCommandOnAll(ReplicableCommand command, Resp
    public <T> CompletionStage<T> invokeCommandStaggered(Collection<Address> targets, ReplicableCommand command,
                                                         ResponseCollector<T> collector, RpcOptions rpcOptions) {
       CacheRpcCommand cacheRpc = toCacheRpcCommand(command);
+      if (readFromFastestOwner) {
+         targets = t.orderByResponseTime(targets);
+      }
 
       if (!statisticsEnabled) {
          return t.invokeCommandStaggered(targets, cacheRpc, collector, rpcOptions.deliverOrder(), rpcOptions.timeout(),
@@ -453,6 +481,9 @@ public void resetStatistics() {
       replicationCount.reset();
       replicationFailures.reset();
       totalReplicationTime.reset();
+      if (writeCoalescer != null) {
+         writeCoalescer.resetStatistics();
+      }
       xSiteMetricsCollector.resetRequestsSent();
       xSiteMetricsCollector.resetRequestReceived();
    }
@@ -467,6 +498,16 @@ public long getReplicationFailures() {
       return isStatisticsEnabled() ? replicationFailures.sum() : -1;
    }
 
+   @ManagedAttribute(description = "Number of writes sent to their primary owner through write coalescing", displayName = "Number of coalesced writes", measurementType = MeasurementType.TRENDSUP)
+   public long getCoalescedWrites() {
+      return writeCoalescer != null ? writeCoalescer.getCoalescedCommands() : 0;
+   }
+
+   @ManagedAttribute(description = "Number of messages sent by write coalescing, each of them with one or more writes", displayName = "Number of coalesced write batches", measurementType = MeasurementType.TRENDSUP)
+   public long getCoalescedWriteBatches() {
+      return writeCoalescer != null ? writeCoalescer.getSentBatches() : 0;
+   }
+
    @ManagedAttribute(description = "Enables or disables the gathering of statistics by this component", displayName = "Statistics enabled", dataType = DataType.TRAIT, writable = true)
    public boolean isStatisticsEnabled() {
       return statisticsEnabled;
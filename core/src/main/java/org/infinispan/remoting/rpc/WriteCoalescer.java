@@ -0,0 +1,210 @@
+package org.infinispan.remoting.rpc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.remote.MultipleRpcCommand;
+import org.infinispan.remoting.responses.Response;
+import org.infinispan.remoting.responses.SuccessfulResponse;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.ResponseCollector;
+import org.infinispan.remoting.transport.Transport;
+import org.infinispan.remoting.transport.impl.PassthroughSingleResponseCollector;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Coalesces the commands sent to the same node within a short delay in a single {@link MultipleRpcCommand}.
+ * <p>
+ * The first command for a node starts a batch and schedules it to be sent after the delay, the following commands for
+ * the same node join the batch until it is sent, or until it reaches the maximum size. The receiver handles each
+ * command separately and in the order they joined the batch, and each command completes with its own response.
+ *
+ * @since 13.0
+ */
+class WriteCoalescer {
+   private static final Log log = LogFactory.getLog(WriteCoalescer.class);
+
+   private final Transport transport;
+   private final CommandsFactory commandsFactory;
+   private final ScheduledExecutorService timeoutExecutor;
+   private final long delayMicros;
+   private final int maxBatchSize;
+   private final ConcurrentMap<Address, Batch> batches = new ConcurrentHashMap<>();
+
+   private final LongAdder coalescedCommands = new LongAdder();
+   private final LongAdder sentBatches = new LongAdder();
+
+   WriteCoalescer(Transport transport, CommandsFactory commandsFactory, ScheduledExecutorService timeoutExecutor,
+                  long delayMicros, int maxBatchSize) {
+      this.transport = transport;
+      this.commandsFactory = commandsFactory;
+      this.timeoutExecutor = timeoutExecutor;
+      this.delayMicros = delayMicros;
+      this.maxBatchSize = maxBatchSize;
+   }
+
+   <T> CompletionStage<T> invokeCommand(Address target, VisitableCommand command, ResponseCollector<T> collector,
+                                        RpcOptions rpcOptions) {
+      Entry<T> entry = new Entry<>(command, collector);
+      while (true) {
+         Batch batch = batches.computeIfAbsent(target, t -> new Batch(t, rpcOptions));
+         int size = batch.add(entry);
+         if (size == 1 && maxBatchSize > 1) {
+            timeoutExecutor.schedule(() -> send(batch), delayMicros, TimeUnit.MICROSECONDS);
+         }
+         if (size == maxBatchSize) {
+            send(batch);
+         }
+         if (size > 0) {
+            return entry.future;
+         }
+         // The batch was sent while we were adding the command
+         batches.remove(target, batch);
+      }
+   }
+
+   long getCoalescedCommands() {
+      return coalescedCommands.sum();
+   }
+
+   long getSentBatches() {
+      return sentBatches.sum();
+   }
+
+   void resetStatistics() {
+      coalescedCommands.reset();
+      sentBatches.reset();
+   }
+
+   private void send(Batch batch) {
+      List<Entry<?>> entries = batch.close();
+      if (entries == null) {
+         // Already sent because it was full
+         return;
+      }
+      batches.remove(batch.target, batch);
+      sentBatches.increment();
+      coalescedCommands.add(entries.size());
+      RpcOptions rpcOptions = batch.rpcOptions;
+      try {
+         if (entries.size() == 1) {
+            entries.get(0).sendAlone(batch.target, rpcOptions);
+            return;
+         }
+         VisitableCommand[] commands = new VisitableCommand[entries.size()];
+         for (int i = 0; i < commands.length; ++i) {
+            commands[i] = entries.get(i).command;
+         }
+         if (log.isTraceEnabled()) {
+            log.tracef("Sending %d coalesced commands to %s", commands.length, batch.target);
+         }
+         MultipleRpcCommand rpcCommand = commandsFactory.buildMultipleRpcCommand(commands);
+         transport.invokeCommand(batch.target, rpcCommand, PassthroughSingleResponseCollector.INSTANCE,
+                                 rpcOptions.deliverOrder(), rpcOptions.timeout(), rpcOptions.timeUnit())
+                  .whenComplete((response, throwable) -> {
+                     if (throwable != null) {
+                        for (Entry<?> entry : entries) {
+                           entry.future.completeExceptionally(throwable);
+                        }
+                     } else {
+                        completeEntries(batch.target, entries, response);
+                     }
+                  });
+      } catch (Throwable t) {
+         for (Entry<?> entry : entries) {
+            entry.future.completeExceptionally(t);
+         }
+      }
+   }
+
+   private static void completeEntries(Address target, List<Entry<?>> entries, Response response) {
+      Object value = response instanceof SuccessfulResponse ? ((SuccessfulResponse) response).getResponseValue() : null;
+      if (value instanceof Response[]) {
+         Response[] responses = (Response[]) value;
+         for (int i = 0; i < entries.size(); ++i) {
+            entries.get(i).complete(target, responses[i]);
+         }
+      } else {
+         // The target left or could not handle the batch, every command gets the same response
+         for (Entry<?> entry : entries) {
+            entry.complete(target, response);
+         }
+      }
+   }
+
+   private static class Batch {
+      final Address target;
+      final RpcOptions rpcOptions;
+      @GuardedBy("this")
+      List<Entry<?>> entries = new ArrayList<>();
+
+      Batch(Address target, RpcOptions rpcOptions) {
+         this.target = target;
+         this.rpcOptions = rpcOptions;
+      }
+
+      /**
+       * @return the size of the batch after adding the entry, or 0 if the batch was already sent
+       */
+      synchronized int add(Entry<?> entry) {
+         if (entries == null) {
+            return 0;
+         }
+         entries.add(entry);
+         return entries.size();
+      }
+
+      synchronized List<Entry<?>> close() {
+         List<Entry<?>> closed = entries;
+         entries = null;
+         return closed;
+      }
+   }
+
+   private class Entry<T> {
+      final VisitableCommand command;
+      final ResponseCollector<T> collector;
+      final CompletableFuture<T> future = new CompletableFuture<>();
+
+      Entry(VisitableCommand command, ResponseCollector<T> collector) {
+         this.command = command;
+         this.collector = collector;
+      }
+
+      void sendAlone(Address target, RpcOptions rpcOptions) {
+         transport.invokeCommand(target, commandsFactory.buildSingleRpcCommand(command), collector,
+                                 rpcOptions.deliverOrder(), rpcOptions.timeout(), rpcOptions.timeUnit())
+                  .whenComplete((result, throwable) -> {
+                     if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                     } else {
+                        future.complete(result);
+                     }
+                  });
+      }
+
+      void complete(Address target, Response response) {
+         try {
+            T result = collector.addResponse(target, response);
+            if (result == null) {
+               result = collector.finish();
+            }
+            future.complete(result);
+         } catch (Throwable t) {
+            future.completeExceptionally(t);
+         }
+      }
+   }
+}
@@ -205,6 +205,11 @@ public <T> CompletionStage<T> invokeCommandStaggered(Collection<Address> targets
       return actual.invokeCommandStaggered(targets, command, collector, deliverOrder, timeout, unit);
    }
 
+   @Override
+   public List<Address> orderByResponseTime(Collection<Address> targets) {
+      return actual.orderByResponseTime(targets);
+   }
+
    @Override
    public <T> CompletionStage<T> invokeCommands(Collection<Address> targets,
                                                 Function<Address, ReplicableCommand> commandGenerator,
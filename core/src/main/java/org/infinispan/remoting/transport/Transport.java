@@ -448,6 +448,20 @@ default <T> CompletionStage<T> invokeCommands(Collection<Address> targets,
       return invokeCommands(targets, commandGenerator, responseCollector, deliverOrder, timeout, TimeUnit.MILLISECONDS);
    }
 
+   /**
+    * Order a collection of nodes by their recent response times, fastest first.
+    * <p>
+    * Used to pick the first target of {@link #invokeCommandStaggered(Collection, ReplicableCommand,
+    * ResponseCollector, DeliverOrder, long, TimeUnit)}. Implementations that do not track response times
+    * keep the original order.
+    *
+    * @since 13.0
+    */
+   @Experimental
+   default List<Address> orderByResponseTime(Collection<Address> targets) {
+      return new ArrayList<>(targets);
+   }
+
    /**
     * Invoke different commands on a collection of nodes and pass the responses to a {@link ResponseCollector}.
     * <p>
@@ -1,6 +1,5 @@
 package org.infinispan.remoting.transport.impl;
 
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
@@ -17,11 +16,11 @@
 public class RequestRepository {
    private static final Log log = LogFactory.getLog(RequestRepository.class);
 
-   private final ConcurrentHashMap<Long, Request<?>> requests;
+   private final RequestTable requests;
    private final AtomicLong nextRequestId = new AtomicLong(1);
 
    public RequestRepository() {
-      requests = new ConcurrentHashMap<>();
+      requests = new RequestTable();
    }
 
    public long newRequestId() {
@@ -56,6 +55,6 @@ public void removeRequest(long requestId) {
    }
 
    public void forEach(Consumer<Request<?>> consumer) {
-      requests.forEach((id, request) -> consumer.accept(request));
+      requests.values().forEach(consumer);
    }
 }
@@ -0,0 +1,184 @@
+package org.infinispan.remoting.transport.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.commons.util.ProcessorInfo;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Map of the in-flight requests, keyed by the primitive request id.
+ * <p>
+ * The table is split in stripes, each an open addressing hash table with linear probing, guarded by its own lock.
+ * Request ids are allocated sequentially, so consecutive requests always land in different stripes. Unlike a {@code
+ * ConcurrentHashMap<Long, Request<?>>}, adding and removing a request does not allocate anything unless a stripe must
+ * grow.
+ *
+ * @since 13.0
+ */
+class RequestTable {
+   private static final int INITIAL_STRIPE_CAPACITY = 16;
+   private static final int MAX_STRIPES = 64;
+
+   private final Stripe[] stripes;
+   private final int stripeMask;
+
+   RequestTable() {
+      this(Math.min(MAX_STRIPES, 2 * ProcessorInfo.availableProcessors()));
+   }
+
+   RequestTable(int concurrencyLevel) {
+      int numStripes = 1;
+      int shift = 0;
+      while (numStripes < concurrencyLevel) {
+         numStripes <<= 1;
+         shift++;
+      }
+      stripes = new Stripe[numStripes];
+      for (int i = 0; i < numStripes; i++) {
+         stripes[i] = new Stripe(shift);
+      }
+      stripeMask = numStripes - 1;
+   }
+
+   /**
+    * @return The request already registered with the same id, or {@code null} if the request was added.
+    */
+   Request<?> putIfAbsent(long requestId, Request<?> request) {
+      assert requestId != Request.NO_REQUEST_ID;
+      return stripe(requestId).putIfAbsent(requestId, request);
+   }
+
+   Request<?> get(long requestId) {
+      return stripe(requestId).get(requestId);
+   }
+
+   void remove(long requestId) {
+      stripe(requestId).remove(requestId);
+   }
+
+   /**
+    * @return A snapshot of the registered requests, so that callers can complete them without holding any lock.
+    */
+   List<Request<?>> values() {
+      List<Request<?>> values = new ArrayList<>();
+      for (Stripe stripe : stripes) {
+         stripe.addValuesTo(values);
+      }
+      return values;
+   }
+
+   private Stripe stripe(long requestId) {
+      return stripes[(int) requestId & stripeMask];
+   }
+
+   /**
+    * A key of {@link Request#NO_REQUEST_ID} marks an empty slot.
+    */
+   private static final class Stripe {
+      // The low bits of the keys are the same for all the keys of a stripe, so they are ignored
+      private final int shift;
+      @GuardedBy("this")
+      private long[] keys = new long[INITIAL_STRIPE_CAPACITY];
+      @GuardedBy("this")
+      private Request<?>[] values = new Request<?>[INITIAL_STRIPE_CAPACITY];
+      @GuardedBy("this")
+      private int size;
+
+      Stripe(int shift) {
+         this.shift = shift;
+      }
+
+      synchronized Request<?> putIfAbsent(long key, Request<?> value) {
+         int mask = keys.length - 1;
+         int slot = slot(key, mask);
+         while (keys[slot] != Request.NO_REQUEST_ID) {
+            if (keys[slot] == key) {
+               return values[slot];
+            }
+            slot = (slot + 1) & mask;
+         }
+         keys[slot] = key;
+         values[slot] = value;
+         // Keep the load factor under 0.5 so the probe sequences stay short
+         if (++size > keys.length >>> 1) {
+            resize(keys.length << 1);
+         }
+         return null;
+      }
+
+      synchronized Request<?> get(long key) {
+         int mask = keys.length - 1;
+         int slot = slot(key, mask);
+         long current;
+         while ((current = keys[slot]) != Request.NO_REQUEST_ID) {
+            if (current == key) {
+               return values[slot];
+            }
+            slot = (slot + 1) & mask;
+         }
+         return null;
+      }
+
+      synchronized void remove(long key) {
+         int mask = keys.length - 1;
+         int slot = slot(key, mask);
+         long current;
+         while ((current = keys[slot]) != key) {
+            if (current == Request.NO_REQUEST_ID) {
+               return;
+            }
+            slot = (slot + 1) & mask;
+         }
+         size--;
+         // Shift back the following entries of the probe sequence instead of leaving a tombstone
+         int free = slot;
+         slot = (slot + 1) & mask;
+         while ((current = keys[slot]) != Request.NO_REQUEST_ID) {
+            int home = slot(current, mask);
+            if (((slot - home) & mask) >= ((slot - free) & mask)) {
+               keys[free] = current;
+               values[free] = values[slot];
+               free = slot;
+            }
+            slot = (slot + 1) & mask;
+         }
+         keys[free] = Request.NO_REQUEST_ID;
+         values[free] = null;
+      }
+
+      synchronized void addValuesTo(List<Request<?>> list) {
+         for (Request<?> value : values) {
+            if (value != null) {
+               list.add(value);
+            }
+         }
+      }
+
+      private int slot(long key, int mask) {
+         // Spread the sequential ids, otherwise the long-running requests form clusters that the new ids must probe
+         return (int) (((key >>> shift) * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+      }
+
+      @GuardedBy("this")
+      private void resize(int newCapacity) {
+         long[] oldKeys = keys;
+         Request<?>[] oldValues = values;
+         keys = new long[newCapacity];
+         values = new Request<?>[newCapacity];
+         int mask = newCapacity - 1;
+         for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != Request.NO_REQUEST_ID) {
+               int slot = slot(key, mask);
+               while (keys[slot] != Request.NO_REQUEST_ID) {
+                  slot = (slot + 1) & mask;
+               }
+               keys[slot] = key;
+               values[slot] = oldValues[i];
+            }
+         }
+      }
+   }
+}
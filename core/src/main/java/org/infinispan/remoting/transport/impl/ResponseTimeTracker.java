@@ -0,0 +1,109 @@
+package org.infinispan.remoting.transport.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.remoting.transport.Address;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Keeps a histogram of the recent response times of each node.
+ * <p>
+ * The response times are kept in power of 2 buckets, starting at 1 microsecond. Every {@link #DECAY_INTERVAL}
+ * samples the counts of all the buckets of a node are halved, so old samples lose weight and the percentiles follow
+ * the current behaviour of the node, e.g. a GC pause or a slow disk.
+ *
+ * @since 13.0
+ */
+public class ResponseTimeTracker {
+   static final int BUCKETS = 32;
+   static final int DECAY_INTERVAL = 1024;
+   static final int MIN_SAMPLES = 16;
+
+   private final ConcurrentMap<Address, Histogram> histograms = new ConcurrentHashMap<>();
+
+   /**
+    * Records the time it took {@code target} to respond to a request.
+    */
+   public void record(Address target, long responseTimeNanos) {
+      histograms.computeIfAbsent(target, a -> new Histogram()).record(responseTimeNanos);
+   }
+
+   /**
+    * @return The estimated {@code percentile} (between 0 and 1) of the response times of {@code target}, in
+    * nanoseconds, or {@code -1} if there are not enough samples for an estimate.
+    */
+   public long percentile(Address target, double percentile) {
+      Histogram histogram = histograms.get(target);
+      return histogram != null ? histogram.percentile(percentile) : -1;
+   }
+
+   /**
+    * @return The targets ordered by the estimated {@code percentile} of their response times, fastest first. Targets
+    * without an estimate keep their relative order, before the targets with an estimate, so that they are asked
+    * first and collect the samples they need.
+    */
+   public List<Address> orderByResponseTime(Collection<Address> targets, double percentile) {
+      List<Address> ordered = new ArrayList<>(targets);
+      if (ordered.size() > 1) {
+         // List.sort is stable, so targets with the same estimate keep their order
+         // Targets without an estimate have a negative one and go first
+         ordered.sort(Comparator.comparingLong(a -> percentile(a, percentile)));
+      }
+      return ordered;
+   }
+
+   /**
+    * Drops the response times of the nodes that are no longer members.
+    */
+   public void retainAll(Set<Address> members) {
+      histograms.keySet().retainAll(members);
+   }
+
+   private static class Histogram {
+      @GuardedBy("this")
+      private final int[] counts = new int[BUCKETS];
+      @GuardedBy("this")
+      private int total;
+      @GuardedBy("this")
+      private int sinceDecay;
+
+      synchronized void record(long nanos) {
+         long micros = Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1);
+         int bucket = Math.min(63 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+         counts[bucket]++;
+         total++;
+         if (++sinceDecay >= DECAY_INTERVAL) {
+            sinceDecay = 0;
+            total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+               counts[i] >>= 1;
+               total += counts[i];
+            }
+         }
+      }
+
+      synchronized long percentile(double percentile) {
+         if (total < MIN_SAMPLES)
+            return -1;
+
+         long threshold = (long) Math.ceil(total * percentile);
+         long cumulative = 0;
+         for (int i = 0; i < BUCKETS; i++) {
+            cumulative += counts[i];
+            if (cumulative >= threshold) {
+               // The upper bound of the bucket, so that the estimate is never lower than the real percentile
+               return TimeUnit.MICROSECONDS.toNanos(2L << i);
+            }
+         }
+         return TimeUnit.MICROSECONDS.toNanos(2L << (BUCKETS - 1));
+      }
+   }
+}
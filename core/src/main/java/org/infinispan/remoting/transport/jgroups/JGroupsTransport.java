@@ -82,6 +82,7 @@
 import org.infinispan.remoting.transport.impl.MultiTargetRequest;
 import org.infinispan.remoting.transport.impl.Request;
 import org.infinispan.remoting.transport.impl.RequestRepository;
+import org.infinispan.remoting.transport.impl.ResponseTimeTracker;
 import org.infinispan.remoting.transport.impl.SingleResponseCollector;
 import org.infinispan.remoting.transport.impl.SingleTargetRequest;
 import org.infinispan.remoting.transport.impl.SingletonMapResponseCollector;
@@ -183,6 +184,7 @@ public class JGroupsTransport implements Transport {
    private volatile Set<String>  sitesView = Collections.emptySet();
    private CompletableFuture<Void> nextViewFuture = new CompletableFuture<>();
    private RequestRepository requests;
+   private final ResponseTimeTracker responseTimes = new ResponseTimeTracker();
 
    // ------------------------------------------------------------------------------------------------------------------
    // Lifecycle and setup stuff
@@ -747,6 +749,7 @@ protected void receiveClusterView(View newView) {
          if (requests != null) {
             requests.forEach(request -> request.onNewView(clusterView.getMembersSet()));
          }
+         responseTimes.retainAll(clusterView.getMembersSet());
       });
 
       JGroupsAddressCache.pruneAddressCache();
@@ -999,6 +1002,11 @@ public <T> CompletionStage<T> invokeCommandStaggered(Collection<Address> targets
       return request;
    }
 
+   @Override
+   public List<Address> orderByResponseTime(Collection<Address> targets) {
+      return responseTimes.orderByResponseTime(targets, StaggeredRequest.STAGGER_PERCENTILE);
+   }
+
    @Override
    public <T> CompletionStage<T> invokeCommands(Collection<Address> targets,
                                                 Function<Address, ReplicableCommand> commandGenerator,
@@ -1290,6 +1298,10 @@ ScheduledExecutorService getTimeoutExecutor() {
       return timeoutExecutor;
    }
 
+   ResponseTimeTracker getResponseTimes() {
+      return responseTimes;
+   }
+
    private void processMessage(Message message) {
       org.jgroups.Address src = message.src();
       short flags = message.getFlags();
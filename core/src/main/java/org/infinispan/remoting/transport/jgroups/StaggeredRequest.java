@@ -15,10 +15,18 @@
 import net.jcip.annotations.GuardedBy;
 
 /**
+ * Request that is sent to one target at a time, until one of them returns a valid response.
+ * <p>
+ * The next target is asked once the response time percentile {@link #STAGGER_PERCENTILE} of the current target has
+ * passed without a response, or after a fixed fraction of the timeout if the transport does not have enough samples
+ * for that target yet. The fixed delay is also an upper bound for the adaptive one.
+ *
  * @author Dan Berindei
  * @since 9.1
  */
 public class StaggeredRequest<T> extends MultiTargetRequest<T> {
+   static final double STAGGER_PERCENTILE = 0.95;
+
    private final ReplicableCommand command;
    private final DeliverOrder deliverOrder;
    private final JGroupsTransport transport;
@@ -27,6 +35,12 @@
    private long deadline;
    @GuardedBy("responseCollector")
    private int targetIndex;
+   @GuardedBy("responseCollector")
+   private final Address[] sentTargets;
+   @GuardedBy("responseCollector")
+   private final long[] sendTimes;
+   @GuardedBy("responseCollector")
+   private int sentCount;
 
    StaggeredRequest(ResponseCollector<T> responseCollector, long requestId, RequestRepository repository,
                     Collection<Address> targets, Address excludedTarget, ReplicableCommand command,
@@ -38,6 +52,8 @@
       this.transport = transport;
 
       this.deadline = transport.timeService.expectedEndTime(timeout, unit);
+      this.sentTargets = new Address[getTargetsSize()];
+      this.sendTimes = new long[getTargetsSize()];
    }
 
    @Override
@@ -47,6 +63,7 @@ public void setTimeout(ScheduledExecutorService timeoutExecutor, long timeout, T
 
    @Override
    public synchronized void onResponse(Address sender, Response response) {
+      recordResponseTime(sender);
       super.onResponse(sender, response);
 
       sendNextMessage();
@@ -63,6 +80,7 @@ protected void onTimeout() {
       if (isFinalTimeout) {
          super.onTimeout();
       } else {
+         recordStaggerTimeout();
          sendNextMessage();
       }
    }
@@ -93,6 +111,9 @@ void sendNextMessage() {
             }
 
             isFinalTarget = targetIndex >= getTargetsSize();
+            sentTargets[sentCount] = target;
+            sendTimes[sentCount] = transport.getTimeService().time();
+            sentCount++;
          }
 
          // Sending may block in flow-control or even in TCP, so we must do it outside the critical section
@@ -104,10 +125,54 @@ void sendNextMessage() {
          long delayNanos = transport.getTimeService().remainingTime(deadline, TimeUnit.NANOSECONDS);
          if (!isFinalTarget) {
             delayNanos = delayNanos / 10 / getTargetsSize();
+            long targetPercentile = transport.getResponseTimes().percentile(target, STAGGER_PERCENTILE);
+            if (targetPercentile >= 0) {
+               delayNanos = Math.min(delayNanos, targetPercentile);
+            }
          }
          super.setTimeout(transport.getTimeoutExecutor(), delayNanos, TimeUnit.NANOSECONDS);
       } catch (Exception e) {
          completeExceptionally(e);
       }
    }
+
+   /**
+    * The last target did not respond before the stagger timeout, so its response time is at least the time since
+    * the message was sent. Without this sample a slow target would keep an estimate based only on its fast responses.
+    */
+   private void recordStaggerTimeout() {
+      Address target;
+      long sendTime;
+      synchronized (responseCollector) {
+         if (sentCount == 0 || sentTargets[sentCount - 1] == null)
+            return;
+
+         target = sentTargets[sentCount - 1];
+         sendTime = sendTimes[sentCount - 1];
+         // A late response is not recorded again
+         sentTargets[sentCount - 1] = null;
+      }
+      long elapsed = transport.getTimeService().timeDuration(sendTime, TimeUnit.NANOSECONDS);
+      transport.getResponseTimes().record(target, elapsed);
+   }
+
+   private void recordResponseTime(Address sender) {
+      boolean sent = false;
+      long sendTime = 0;
+      synchronized (responseCollector) {
+         for (int i = 0; i < sentCount; i++) {
+            if (sender.equals(sentTargets[i])) {
+               sent = true;
+               sendTime = sendTimes[i];
+               // Only record the first response from each target
+               sentTargets[i] = null;
+               break;
+            }
+         }
+      }
+      if (sent) {
+         long responseTime = transport.getTimeService().timeDuration(sendTime, TimeUnit.NANOSECONDS);
+         transport.getResponseTimes().record(sender, responseTime);
+      }
+   }
 }
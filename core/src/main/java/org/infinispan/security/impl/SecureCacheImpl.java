@@ -44,6 +44,7 @@
 import org.infinispan.security.SecureCache;
 import org.infinispan.stats.Stats;
 import org.infinispan.util.concurrent.locks.LockManager;
+import org.reactivestreams.Publisher;
 
 /**
  * SecureCacheImpl.
@@ -869,6 +870,12 @@ public CompletableFuture<Map<K, V>> getAllAsync(Set<?> keys) {
       return delegate.getAllAsync(keys);
    }
 
+   @Override
+   public Publisher<Map.Entry<K, V>> getAllPublisher(Set<?> keys, int maxKeysPerOwner) {
+      authzManager.checkPermission(subject, AuthorizationPermission.BULK_READ);
+      return delegate.getAllPublisher(keys, maxKeysPerOwner);
+   }
+
    @Override
    public LockManager getLockManager() {
       authzManager.checkPermission(subject, writePermission);
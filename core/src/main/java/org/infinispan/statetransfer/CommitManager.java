@@ -1,6 +1,7 @@
 package org.infinispan.statetransfer;
 
 import static org.infinispan.commons.util.Util.toStr;
+import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.PRIVATE;
 
 import java.util.Iterator;
 import java.util.Map;
@@ -11,6 +12,7 @@
 import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.ByRef;
 import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.entries.ReadCommittedEntry;
 import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.context.Flag;
@@ -18,8 +20,11 @@
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.util.concurrent.CompletableFutures;
+import org.infinispan.util.concurrent.CompletionStages;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -37,9 +42,13 @@ public class CommitManager {
 
    private static final Log log = LogFactory.getLog(CommitManager.class);
    private final ConcurrentMap<Object, DiscardPolicy> tracker = new ConcurrentHashMap<>();
+   // The store updates of state transfer that are still in progress, or that a normal operation may have written
+   // before. Only updated while the key is guarded by the tracker.
+   private final ConcurrentMap<Object, CompletionStage<Void>> storeUpdates = new ConcurrentHashMap<>();
 
    @Inject InternalDataContainer dataContainer;
    @Inject PersistenceManager persistenceManager;
+   @Inject MarshallableEntryFactory<?, ?> marshallableEntryFactory;
    @Inject TimeService timeService;
 
    private volatile boolean trackStateTransfer;
@@ -62,6 +71,9 @@ public final void startTrack(Flag track) {
     */
    public final void stopTrack(Flag track) {
       setTrack(track, false);
+      if (track == Flag.PUT_FOR_STATE_TRANSFER) {
+         storeUpdates.clear();
+      }
       if (!trackStateTransfer && !trackXSiteStateTransfer) {
          if (log.isTraceEnabled()) {
             log.tracef("Tracking is disabled. Clear tracker: %s", tracker);
@@ -117,7 +129,11 @@ public final CompletionStage<Void> commit(final CacheEntry entry, final Flag ope
             }
             return discardPolicy;
          }
-         byRef.set(commitEntry(entry, segment, ctx));
+         CompletionStage<Void> stage = commitEntry(entry, segment, ctx);
+         if (operation != Flag.PUT_FOR_STATE_TRANSFER) {
+            stage = rewriteAfterStoreUpdate(entry, segment, stage);
+         }
+         byRef.set(stage);
          DiscardPolicy newDiscardPolicy = calculateDiscardPolicy(operation);
          if (log.isTraceEnabled()) {
             log.tracef("Committed key=%s. Old discard policy=%s. New discard policy=%s", toStr(entry.getKey()),
@@ -132,6 +148,156 @@ public final CompletionStage<Void> commit(final CacheEntry entry, final Flag ope
       return CompletableFutures.completedNull();
    }
 
+   /**
+    * It commits an entry received by state transfer directly in the data container, without wrapping it in a context
+    * entry. Like {@link #commit(CacheEntry, Flag, int, boolean, InvocationContext)} with
+    * {@link Flag#PUT_FOR_STATE_TRANSFER}, the entry is discarded if state transfer is not tracked or if a normal
+    * operation already updated the key.
+    * <p>
+    * The entry is written to the stores later, by {@code storeUpdate}. A normal operation that updates the key before
+    * the end of the state transfer writes its value to the stores again after {@code storeUpdate} completes, because it
+    * may have written to the stores before {@code storeUpdate} and its value would be overwritten.
+    *
+    * @param entry       the entry received by state transfer
+    * @param segment     the segment of the key
+    * @param storeUpdate completes when the entry is written to the stores, or {@code null} if the entry is not written
+    *                    to the stores
+    * @return {@code true} if the entry was committed, {@code false} if it was discarded.
+    */
+   public final boolean commitStateTransferEntry(InternalCacheEntry entry, int segment,
+                                                 CompletionStage<Void> storeUpdate) {
+      if (!trackStateTransfer) {
+         if (log.isTraceEnabled()) {
+            log.tracef("Not committing key=%s. It is a state transfer key but no track is enabled!",
+                  toStr(entry.getKey()));
+         }
+         return false;
+      }
+      ByRef.Boolean committed = new ByRef.Boolean(false);
+      tracker.compute(entry.getKey(), (key, discardPolicy) -> {
+         if (discardPolicy != null && discardPolicy.ignore(Flag.PUT_FOR_STATE_TRANSFER)) {
+            if (log.isTraceEnabled()) {
+               log.tracef("Not committing key=%s. It was already overwritten! Discard policy=%s", toStr(key),
+                     discardPolicy);
+            }
+            return discardPolicy;
+         }
+         dataContainer.put(segment, key, entry.getValue(), entry.getMetadata(), entry.getInternalMetadata(),
+               entry.getCreated(), entry.getLastUsed());
+         addStoreUpdate(key, storeUpdate);
+         committed.set(true);
+         return calculateDiscardPolicy(Flag.PUT_FOR_STATE_TRANSFER);
+      });
+      return committed.get();
+   }
+
+   /**
+    * Like {@link #commitStateTransferEntry(InternalCacheEntry, int, CompletionStage)}, but for an entry received by
+    * state transfer that is written only to the stores. It doesn't write anything, it only checks if the entry can be
+    * written and tracks the key like a committed state transfer entry.
+    *
+    * @param key         the key of the entry received by state transfer
+    * @param storeUpdate completes when the entry is written to the stores, or {@code null} if the operations don't
+    *                    need to write to the stores after it
+    * @return {@code true} if the entry can be written, {@code false} if it must be discarded.
+    */
+   public final boolean commitStateTransferKey(Object key, CompletionStage<Void> storeUpdate) {
+      if (!trackStateTransfer) {
+         if (log.isTraceEnabled()) {
+            log.tracef("Not committing key=%s. It is a state transfer key but no track is enabled!", toStr(key));
+         }
+         return false;
+      }
+      ByRef.Boolean committed = new ByRef.Boolean(false);
+      tracker.compute(key, (k, discardPolicy) -> {
+         if (discardPolicy != null && discardPolicy.ignore(Flag.PUT_FOR_STATE_TRANSFER)) {
+            if (log.isTraceEnabled()) {
+               log.tracef("Not committing key=%s. It was already overwritten! Discard policy=%s", toStr(k),
+                     discardPolicy);
+            }
+            return discardPolicy;
+         }
+         addStoreUpdate(k, storeUpdate);
+         committed.set(true);
+         return calculateDiscardPolicy(Flag.PUT_FOR_STATE_TRANSFER);
+      });
+      return committed.get();
+   }
+
+   /**
+    * It removes an entry from the data container before requesting the key's segment by state transfer, because the
+    * entry may have been removed or updated in the other owners. Like
+    * {@link #commitStateTransferEntry(InternalCacheEntry, int, CompletionStage)}, the entry is not removed if state
+    * transfer is not tracked or if a normal operation already updated the key.
+    * <p>
+    * The caller removes the entry from the private stores and completes {@code storeUpdate} after it, so a normal
+    * operation that updates the key concurrently writes to the stores again after the removal.
+    *
+    * @param key         the key of the local entry
+    * @param segment     the segment of the key
+    * @param storeUpdate completes when the entry is removed from the stores
+    * @return {@code true} if the entry was removed and must be removed from the stores, {@code false} if it was kept.
+    */
+   public final boolean removeStateTransferEntry(Object key, int segment, CompletionStage<Void> storeUpdate) {
+      if (!trackStateTransfer) {
+         if (log.isTraceEnabled()) {
+            log.tracef("Not removing key=%s. State transfer is not tracked!", toStr(key));
+         }
+         return false;
+      }
+      ByRef.Boolean removed = new ByRef.Boolean(false);
+      tracker.compute(key, (k, discardPolicy) -> {
+         if (discardPolicy != null && discardPolicy.ignore(Flag.PUT_FOR_STATE_TRANSFER)) {
+            if (log.isTraceEnabled()) {
+               log.tracef("Not removing key=%s. It was already overwritten! Discard policy=%s", toStr(k),
+                     discardPolicy);
+            }
+            return discardPolicy;
+         }
+         dataContainer.remove(segment, k);
+         addStoreUpdate(k, storeUpdate);
+         removed.set(true);
+         return discardPolicy;
+      });
+      return removed.get();
+   }
+
+   private void addStoreUpdate(Object key, CompletionStage<Void> storeUpdate) {
+      if (storeUpdate != null) {
+         storeUpdates.put(key, storeUpdate);
+      }
+   }
+
+   /**
+    * A normal operation writes to the stores before committing the entry, so a state transfer store update of the same
+    * key may have overwritten it. Writes the committed entry to the private stores again after the store update.
+    * Must be invoked while the key is guarded by the tracker.
+    */
+   private CompletionStage<Void> rewriteAfterStoreUpdate(CacheEntry entry, int segment,
+                                                         CompletionStage<Void> commitStage) {
+      CompletionStage<Void> storeUpdate = storeUpdates.get(entry.getKey());
+      if (storeUpdate == null)
+         return commitStage;
+
+      if (log.isTraceEnabled()) {
+         log.tracef("Writing key=%s to the stores after the state transfer store update", toStr(entry.getKey()));
+      }
+      CompletionStage<Void> rewrite = storeUpdate.exceptionally(t -> null)
+                                                 .thenCompose(ignored -> writeToStores(entry, segment));
+      // Later operations write after this one
+      storeUpdates.put(entry.getKey(), rewrite);
+      return commitStage.thenCompose(ignored -> rewrite);
+   }
+
+   private CompletionStage<Void> writeToStores(CacheEntry entry, int segment) {
+      if (entry.isRemoved()) {
+         return CompletionStages.ignoreValue(persistenceManager.deleteFromAllStores(entry.getKey(), segment, PRIVATE));
+      }
+      MarshallableEntry<?, ?> marshallableEntry = marshallableEntryFactory.create(entry.getKey(), entry.getValue(),
+            entry.getMetadata(), entry.getInternalMetadata(), entry.getCreated(), entry.getLastUsed());
+      return persistenceManager.writeToAllNonTxStores(marshallableEntry, segment, PRIVATE);
+   }
+
    private CompletionStage<Void> commitEntry(CacheEntry entry, int segment, InvocationContext ctx) {
       if (entry instanceof ReadCommittedEntry) {
          return ((ReadCommittedEntry) entry).commit(segment, dataContainer);
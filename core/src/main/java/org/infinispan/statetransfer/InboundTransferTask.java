@@ -2,6 +2,7 @@
 
 import static org.infinispan.util.concurrent.CompletionStages.handleAndCompose;
 
+import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -112,6 +113,10 @@ public Address getSource() {
       return source;
    }
 
+   public int getTopologyId() {
+      return topologyId;
+   }
+
    /**
     * Send START_STATE_TRANSFER request to source node.
     *
@@ -124,6 +129,28 @@ public CompletionStage<Void> requestSegments() {
             segments -> commandsFactory.buildConflictResolutionStartCommand(topologyId, segments));
    }
 
+   /**
+    * Send a conflict resolution request to the source node, only for the keys in the given buckets of
+    * {@link org.infinispan.conflict.impl.ReplicaDigest}.
+    *
+    * @return a {@code CompletableFuture} that completes when the transfer is done.
+    */
+   public CompletionStage<Void> requestConflictResolutionSegments(long bucketMask) {
+      return startTransfer(segments -> commandsFactory.buildConflictResolutionStartCommand(topologyId, segments,
+                                                                                           bucketMask));
+   }
+
+   /**
+    * Send a state transfer request to the source node, only for the keys in the given buckets of
+    * {@link org.infinispan.conflict.impl.ReplicaDigest} for each segment.
+    *
+    * @return a {@code CompletableFuture} that completes when the transfer is done.
+    */
+   public CompletionStage<Void> requestSegments(Map<Integer, Long> bucketMasks) {
+      return startTransfer(segments -> commandsFactory.buildStateTransferStartCommand(topologyId, segments,
+                                                                                      bucketMasks));
+   }
+
    public CompletionStage<Void> requestKeys() {
       return startTransfer(segments -> commandsFactory.buildScatteredStateGetKeysCommand(topologyId, segments));
    }
@@ -0,0 +1,120 @@
+package org.infinispan.statetransfer;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.io.ByteBufferImpl;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.MarshalledValue;
+
+/**
+ * An entry read from a store and sent by state transfer in the form the store keeps it: the value and the metadata
+ * stay marshalled by the persistence marshaller, so neither the sender nor the receiver has to unmarshall and marshall
+ * them again. Only the key is unmarshalled, because it is needed to find the segment and to check for concurrent
+ * writes.
+ *
+ * @since 13.0
+ */
+public class MarshalledStateEntry implements MarshalledValue {
+   private final Object key;
+   private final ByteBuffer valueBytes;
+   private final ByteBuffer metadataBytes;
+   private final ByteBuffer internalMetadataBytes;
+   private final long created;
+   private final long lastUsed;
+
+   public MarshalledStateEntry(Object key, ByteBuffer valueBytes, ByteBuffer metadataBytes,
+                               ByteBuffer internalMetadataBytes, long created, long lastUsed) {
+      this.key = key;
+      this.valueBytes = valueBytes;
+      this.metadataBytes = metadataBytes;
+      this.internalMetadataBytes = internalMetadataBytes;
+      this.created = created;
+      this.lastUsed = lastUsed;
+   }
+
+   public static MarshalledStateEntry from(MarshallableEntry<?, ?> entry) {
+      return new MarshalledStateEntry(entry.getKey(), entry.getValueBytes(), entry.getMetadataBytes(),
+            entry.getInternalMetadataBytes(), entry.created(), entry.lastUsed());
+   }
+
+   public Object getKey() {
+      return key;
+   }
+
+   @Override
+   public ByteBuffer getValueBytes() {
+      return valueBytes;
+   }
+
+   @Override
+   public ByteBuffer getMetadataBytes() {
+      return metadataBytes;
+   }
+
+   @Override
+   public ByteBuffer getInternalMetadataBytes() {
+      return internalMetadataBytes;
+   }
+
+   @Override
+   public long getCreated() {
+      return created;
+   }
+
+   @Override
+   public long getLastUsed() {
+      return lastUsed;
+   }
+
+   @Override
+   public String toString() {
+      return "MarshalledStateEntry{" +
+            "key=" + key +
+            ", valueBytes=" + (valueBytes == null ? 0 : valueBytes.getLength()) +
+            ", created=" + created +
+            ", lastUsed=" + lastUsed +
+            '}';
+   }
+
+   static void writeTo(ObjectOutput output, MarshalledStateEntry entry) throws IOException {
+      output.writeObject(entry.key);
+      writeBytes(output, entry.valueBytes);
+      writeBytes(output, entry.metadataBytes);
+      writeBytes(output, entry.internalMetadataBytes);
+      output.writeLong(entry.created);
+      output.writeLong(entry.lastUsed);
+   }
+
+   static MarshalledStateEntry readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
+      Object key = input.readObject();
+      ByteBuffer valueBytes = readBytes(input);
+      ByteBuffer metadataBytes = readBytes(input);
+      ByteBuffer internalMetadataBytes = readBytes(input);
+      long created = input.readLong();
+      long lastUsed = input.readLong();
+      return new MarshalledStateEntry(key, valueBytes, metadataBytes, internalMetadataBytes, created, lastUsed);
+   }
+
+   private static void writeBytes(ObjectOutput output, ByteBuffer bytes) throws IOException {
+      if (bytes == null) {
+         MarshallUtil.marshallSize(output, -1);
+      } else {
+         MarshallUtil.marshallSize(output, bytes.getLength());
+         output.write(bytes.getBuf(), bytes.getOffset(), bytes.getLength());
+      }
+   }
+
+   private static ByteBuffer readBytes(ObjectInput input) throws IOException {
+      int length = MarshallUtil.unmarshallSize(input);
+      if (length < 0)
+         return null;
+
+      byte[] bytes = new byte[length];
+      input.readFully(bytes);
+      return ByteBufferImpl.create(bytes);
+   }
+}
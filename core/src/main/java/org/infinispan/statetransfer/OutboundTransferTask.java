@@ -127,17 +127,30 @@ public int getTopologyId() {
     * @param entries a {@code Flowable} with all the entries that need to be sent
     */
    public CompletionStage<Void> execute(Flowable<InternalCacheEntry<Object, Object>> entries) {
+      return execute(entries, Flowable.empty());
+   }
+
+   /**
+    * Starts sending entries to the target node. The store entries are sent after the other entries, without
+    * unmarshalling their values and metadata.
+    *
+    * @return a completion stage that completes when all the entries have been sent.
+    * @param entries a {@code Flowable} with the entries that need to be sent
+    * @param storeEntries a {@code Flowable} with the store entries that need to be sent in their marshalled form
+    */
+   public CompletionStage<Void> execute(Flowable<InternalCacheEntry<Object, Object>> entries,
+                                        Flowable<MarshalledStateEntry> storeEntries) {
       CompletableFuture<Void> taskFuture = new CompletableFuture<>();
       try {
-         AtomicReference<List<InternalCacheEntry<Object, Object>>> batchRef =
-            new AtomicReference<>(Collections.emptyList());
-         entries.buffer(chunkSize)
+         AtomicReference<List<Object>> batchRef = new AtomicReference<>(Collections.emptyList());
+         Flowable.<Object>concat(entries, storeEntries)
+                .buffer(chunkSize)
                 .takeUntil(batch -> cancelled)
                 .concatMapCompletable(batch -> {
                    // Send the previous batch, not the current one
                    // This allows us to mark all the segments as finished in the same RPC with the
                    // last batch
-                   List<InternalCacheEntry<Object, Object>> previousBatch = batchRef.getAndSet(batch);
+                   List<Object> previousBatch = batchRef.getAndSet(batch);
                    if (previousBatch.isEmpty())
                       return Completable.complete();
 
@@ -151,7 +164,7 @@ public void onSubscribe(Disposable d) {
                    @Override
                    public void onComplete() {
                       // Send the remaining entries and mark all the segments as finished
-                      List<InternalCacheEntry<Object, Object>> previousBatch = batchRef.get();
+                      List<Object> previousBatch = batchRef.get();
                       sendEntries(previousBatch, true)
                          .whenComplete((ignored, throwable) -> {
                             if (throwable == null) {
@@ -173,14 +186,20 @@ public void onError(Throwable e) {
       return taskFuture;
    }
 
-   private CompletionStage<Void> sendEntries(List<InternalCacheEntry<Object, Object>> entries, boolean isLast) {
+   private CompletionStage<Void> sendEntries(List<Object> entries, boolean isLast) {
       Map<Integer, StateChunk> chunks = new HashMap<>();
-      for (InternalCacheEntry<Object, Object> ice : entries) {
-         int segmentId = keyPartitioner.getSegment(ice.getKey());
+      for (Object entry : entries) {
+         boolean storeEntry = entry instanceof MarshalledStateEntry;
+         Object key = storeEntry ? ((MarshalledStateEntry) entry).getKey() : ((InternalCacheEntry<?, ?>) entry).getKey();
+         int segmentId = keyPartitioner.getSegment(key);
          if (segments.contains(segmentId)) {
             StateChunk chunk = chunks.computeIfAbsent(
-               segmentId, segment -> new StateChunk(segment, new ArrayList<>(), isLast));
-            chunk.getCacheEntries().add(ice);
+               segmentId, segment -> new StateChunk(segment, new ArrayList<>(), new ArrayList<>(), isLast));
+            if (storeEntry) {
+               chunk.getStoreEntries().add((MarshalledStateEntry) entry);
+            } else {
+               chunk.getCacheEntries().add((InternalCacheEntry<?, ?>) entry);
+            }
          }
       }
 
@@ -3,11 +3,13 @@
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
 
 import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.commons.marshall.MarshallUtil;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.marshall.core.Ids;
 
@@ -30,14 +32,25 @@ public class StateChunk {
     */
    private final Collection<InternalCacheEntry<?, ?>> cacheEntries;
 
+   /**
+    * Entries read from a store, still in their marshalled form. They also belong to segmentId.
+    */
+   private final Collection<MarshalledStateEntry> storeEntries;
+
    /**
     * Indicates to receiver if there are more chunks to come for this segment.
     */
    private final boolean isLastChunk;
 
    public StateChunk(int segmentId, Collection<InternalCacheEntry<?, ?>> cacheEntries, boolean isLastChunk) {
+      this(segmentId, cacheEntries, Collections.emptyList(), isLastChunk);
+   }
+
+   public StateChunk(int segmentId, Collection<InternalCacheEntry<?, ?>> cacheEntries,
+                     Collection<MarshalledStateEntry> storeEntries, boolean isLastChunk) {
       this.segmentId = segmentId;
       this.cacheEntries = cacheEntries;
+      this.storeEntries = storeEntries;
       this.isLastChunk = isLastChunk;
    }
 
@@ -49,6 +62,10 @@ public int getSegmentId() {
       return cacheEntries;
    }
 
+   public Collection<MarshalledStateEntry> getStoreEntries() {
+      return storeEntries;
+   }
+
    public boolean isLastChunk() {
       return isLastChunk;
    }
@@ -58,11 +75,15 @@ public String toString() {
       return "StateChunk{" +
             "segmentId=" + segmentId +
             ", cacheEntries=" + cacheEntries.size() +
+            ", storeEntries=" + storeEntries.size() +
             ", isLastChunk=" + isLastChunk +
             '}';
    }
 
    public static class Externalizer extends AbstractExternalizer<StateChunk> {
+      // Written in place of the isLastChunk boolean, so chunks without store entries keep the old format
+      private static final byte LAST_CHUNK = 1;
+      private static final byte HAS_STORE_ENTRIES = 1 << 1;
 
       @Override
       public Integer getId() {
@@ -78,7 +99,17 @@ public Set<Class<? extends StateChunk>> getTypeClasses() {
       public void writeObject(ObjectOutput output, StateChunk object) throws IOException {
          output.writeInt(object.segmentId);
          output.writeObject(object.cacheEntries);
-         output.writeBoolean(object.isLastChunk);
+         boolean hasStoreEntries = !object.storeEntries.isEmpty();
+         byte flags = 0;
+         if (object.isLastChunk) flags |= LAST_CHUNK;
+         if (hasStoreEntries) flags |= HAS_STORE_ENTRIES;
+         output.writeByte(flags);
+         if (hasStoreEntries) {
+            MarshallUtil.marshallSize(output, object.storeEntries.size());
+            for (MarshalledStateEntry entry : object.storeEntries) {
+               MarshalledStateEntry.writeTo(output, entry);
+            }
+         }
       }
 
       @Override
@@ -86,8 +117,19 @@ public void writeObject(ObjectOutput output, StateChunk object) throws IOExcepti
       public StateChunk readObject(ObjectInput input) throws IOException, ClassNotFoundException {
          int segmentId = input.readInt();
          Collection<InternalCacheEntry<?, ?>> cacheEntries = (Collection<InternalCacheEntry<?, ?>>) input.readObject();
-         boolean isLastChunk = input.readBoolean();
-         return new StateChunk(segmentId, cacheEntries, isLastChunk);
+         byte flags = input.readByte();
+         Collection<MarshalledStateEntry> storeEntries;
+         if ((flags & HAS_STORE_ENTRIES) == 0) {
+            storeEntries = Collections.emptyList();
+         } else {
+            int storeEntryCount = MarshallUtil.unmarshallSize(input);
+            storeEntries = new ArrayList<>(storeEntryCount);
+            for (int i = 0; i < storeEntryCount; i++) {
+               storeEntries.add(MarshalledStateEntry.readFrom(input));
+            }
+         }
+         boolean isLastChunk = (flags & LAST_CHUNK) != 0;
+         return new StateChunk(segmentId, cacheEntries, storeEntries, isLastChunk);
       }
    }
 }
@@ -21,6 +21,23 @@ public interface StateConsumer {
 
    boolean isStateTransferInProgressForKey(Object key);
 
+   /**
+    * @return the number of segments requested since the current or the last state transfer started, including the
+    * segments already received.
+    */
+   int getRequestedSegmentCount();
+
+   /**
+    * @return the number of requested segments that were not received yet.
+    */
+   int getPendingSegmentCount();
+
+   /**
+    * @return the {@link org.infinispan.commons.time.TimeService#time()} when the current or the last state transfer
+    * started.
+    */
+   long getStateTransferStartTime();
+
    /**
     * Receive notification of topology changes. {@link org.infinispan.commands.statetransfer.StateTransferStartCommand},
     * or {@link org.infinispan.commands.statetransfer.ScatteredStateGetKeysCommand} for
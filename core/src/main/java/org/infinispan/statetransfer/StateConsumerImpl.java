@@ -16,6 +16,7 @@
 import static org.infinispan.util.logging.Log.PERSISTENCE;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -46,6 +47,7 @@
 import org.infinispan.commands.write.InvalidateCommand;
 import org.infinispan.commands.write.PutKeyValueCommand;
 import org.infinispan.commons.IllegalLifecycleStateException;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.tx.TransactionImpl;
 import org.infinispan.commons.tx.XidImpl;
 import org.infinispan.commons.util.EnumUtil;
@@ -56,8 +58,10 @@
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.Configurations;
 import org.infinispan.conflict.impl.InternalConflictManager;
+import org.infinispan.conflict.impl.ReplicaDigest;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.container.impl.InternalEntryFactory;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.InvocationContextFactory;
 import org.infinispan.context.impl.LocalTxInvocationContext;
@@ -77,9 +81,13 @@
 import org.infinispan.interceptors.AsyncInterceptorChain;
 import org.infinispan.metadata.impl.InternalMetadataImpl;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
 import org.infinispan.notifications.cachelistener.annotation.DataRehashed;
 import org.infinispan.notifications.cachelistener.cluster.ClusterListenerReplicateCallable;
 import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
 import org.infinispan.reactive.publisher.impl.LocalPublisherManager;
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
 import org.infinispan.remoting.inboundhandler.PerCacheInboundInvocationHandler;
@@ -152,12 +160,24 @@ public class StateConsumerImpl implements StateConsumer {
    @Inject protected LocalPublisherManager<Object, Object> localPublisherManager;
    @Inject PerCacheInboundInvocationHandler inboundInvocationHandler;
    @Inject XSiteStateTransferManager xSiteStateTransferManager;
+   @Inject MarshallableEntryFactory<?, ?> marshallableEntryFactory;
+   @Inject InternalEntryFactory entryFactory;
+   @Inject TimeService timeService;
+   @Inject StateProvider stateProvider;
 
    protected String cacheName;
    protected long timeout;
    protected boolean isFetchEnabled;
    protected boolean isTransactional;
    protected boolean isInvalidationMode;
+   // Apply the received entries without put commands, see StateTransferConfiguration.bulkApply()
+   private boolean bulkApply;
+   private boolean bulkApplyToStores;
+   // Write the marshalled store entries received with bulkApply only to the stores
+   private boolean bulkApplyStoreEntries;
+   // Request only the entries that are different from the ones already in the local private stores,
+   // until the local node has joined the cache for the first time
+   private volatile boolean deltaTransfer;
    protected volatile KeyInvalidationListener keyInvalidationListener; //for test purpose only!
 
    protected volatile CacheTopology cacheTopology;
@@ -198,6 +218,14 @@ public class StateConsumerImpl implements StateConsumer {
    @GuardedBy("transferMapsLock")
    protected final Map<Integer, List<InboundTransferTask>> transfersBySegment = new HashMap<>();
 
+   /**
+    * The segments requested since the current state transfer started, including the ones already received. Only used
+    * to report the progress of the state transfer.
+    */
+   @GuardedBy("transferMapsLock")
+   private final IntSet requestedSegments = IntSets.mutableEmptySet();
+   private volatile long stateTransferStartTime;
+
    /**
     * Limit to one state request at a time.
     */
@@ -233,6 +261,25 @@ public boolean isStateTransferInProgress() {
       return stateTransferTopologyId.get() != NO_STATE_TRANSFER_IN_PROGRESS;
    }
 
+   @Override
+   public int getRequestedSegmentCount() {
+      synchronized (transferMapsLock) {
+         return requestedSegments.size();
+      }
+   }
+
+   @Override
+   public int getPendingSegmentCount() {
+      synchronized (transferMapsLock) {
+         return transfersBySegment.size();
+      }
+   }
+
+   @Override
+   public long getStateTransferStartTime() {
+      return stateTransferStartTime;
+   }
+
    @Override
    public boolean isStateTransferInProgressForKey(Object key) {
       if (isInvalidationMode) {
@@ -271,6 +318,10 @@ public CompletionStage<CompletionStage<Void>> onTopologyUpdate(final CacheTopolo
          log.tracef("Received new topology for cache %s, isRebalance = %b, isMember = %b, topology = %s", cacheName,
                     isRebalance, isMember, cacheTopology);
 
+      if (wasMember) {
+         // Only the first join after a restart can find the entries in the private stores
+         deltaTransfer = false;
+      }
       if (!ownsData && isMember) {
          ownsData = true;
       } else if (ownsData && !isMember) {
@@ -292,7 +343,12 @@ public CompletionStage<CompletionStage<Void>> onTopologyUpdate(final CacheTopolo
       if (startRebalance) {
          // Only update the rebalance topology id when starting the rebalance, as we're going to ignore any state
          // response with a smaller topology id
-         stateTransferTopologyId.compareAndSet(NO_STATE_TRANSFER_IN_PROGRESS, cacheTopology.getTopologyId());
+         if (stateTransferTopologyId.compareAndSet(NO_STATE_TRANSFER_IN_PROGRESS, cacheTopology.getTopologyId())) {
+            synchronized (transferMapsLock) {
+               requestedSegments.clear();
+            }
+            stateTransferStartTime = timeService.time();
+         }
          conflictManager.cancelVersionRequests();
          if (cacheNotifier.hasListener(DataRehashed.class)) {
             stage = cacheNotifier.notifyDataRehashed(cacheTopology.getCurrentCH(), cacheTopology.getPendingCH(),
@@ -616,7 +672,7 @@ private CompletionStage<?> applyStateIteration(Address sender, boolean pushTrans
          StateChunk stateChunk = iterator.next();
          if (pushTransfer) {
             // push-transfer is specific for scattered cache but this is the easiest way to integrate it
-            chunkStage = doApplyState(sender, stateChunk.getSegmentId(), stateChunk.getCacheEntries());
+            chunkStage = doApplyState(sender, stateChunk);
          } else {
             chunkStage = applyChunk(sender, mySegments, stateChunk);
          }
@@ -644,7 +700,7 @@ private CompletionStage<Void> applyChunk(Address sender, IntSet mySegments, Stat
          }
       }
       if (inboundTransfer != null) {
-         return doApplyState(sender, stateChunk.getSegmentId(), stateChunk.getCacheEntries())
+         return doApplyState(sender, stateChunk)
                    .thenAccept(
                       v -> inboundTransfer.onStateReceived(stateChunk.getSegmentId(), stateChunk.isLastChunk()));
       } else {
@@ -655,6 +711,15 @@ private CompletionStage<Void> applyChunk(Address sender, IntSet mySegments, Stat
       return CompletableFutures.completedNull();
    }
 
+   private CompletionStage<?> doApplyState(Address sender, StateChunk stateChunk) {
+      CompletionStage<?> stage = doApplyState(sender, stateChunk.getSegmentId(), stateChunk.getCacheEntries());
+      Collection<MarshalledStateEntry> storeEntries = stateChunk.getStoreEntries();
+      if (storeEntries.isEmpty())
+         return stage;
+
+      return stage.thenCompose(ignored -> applyStoreEntries(sender, stateChunk.getSegmentId(), storeEntries));
+   }
+
    private CompletionStage<?> doApplyState(Address sender, int segmentId,
                                            Collection<InternalCacheEntry<?, ?>> cacheEntries) {
       if (cacheEntries == null || cacheEntries.isEmpty())
@@ -698,6 +763,8 @@ private CompletionStage<?> doApplyState(Address sender, int segmentId,
                logApplyException(t, NO_KEY);
             }
          });
+      } else if (bulkApply && !hasEntryListeners()) {
+         return applyInBulk(segmentId, cacheEntries);
       } else {
          // non-tx cache
          AggregateCompletionStage<Void> aggregateStage = CompletionStages.aggregateCompletionStage();
@@ -713,6 +780,89 @@ private CompletionStage<?> doApplyState(Address sender, int segmentId,
       }
    }
 
+   private boolean hasEntryListeners() {
+      // Listeners are notified by the put commands
+      return cacheNotifier.hasListener(CacheEntryCreated.class) || cacheNotifier.hasListener(CacheEntryModified.class);
+   }
+
+   /**
+    * Writes the entries directly in the data container, and then to the non-shared stores in a single batch. Like the
+    * put commands, the entries are written only if state transfer is in progress and no operation updated the key.
+    * The operations that update a key of the batch before it is written write to the stores again after it.
+    */
+   private CompletionStage<?> applyInBulk(int segmentId, Collection<InternalCacheEntry<?, ?>> cacheEntries) {
+      List<MarshallableEntry<Object, Object>> storeEntries = bulkApplyToStores ? new ArrayList<>(cacheEntries.size()) : null;
+      CompletableFuture<Void> storeUpdate = bulkApplyToStores ? new CompletableFuture<>() : null;
+      for (InternalCacheEntry<?, ?> e : cacheEntries) {
+         try {
+            if (commitManager.commitStateTransferEntry(e, segmentId, storeUpdate) && storeEntries != null) {
+               storeEntries.add(marshallableEntryFactory.create((InternalCacheEntry) e));
+            }
+         } catch (Throwable t) {
+            logApplyException(t, e.getKey());
+         }
+      }
+      if (storeEntries == null)
+         return CompletableFutures.completedNull();
+
+      return writeStoreEntries(storeEntries, storeUpdate);
+   }
+
+   private CompletionStage<?> writeStoreEntries(List<MarshallableEntry<Object, Object>> storeEntries,
+                                                CompletableFuture<Void> storeUpdate) {
+      if (storeEntries.isEmpty()) {
+         if (storeUpdate != null) storeUpdate.complete(null);
+         return CompletableFutures.completedNull();
+      }
+
+      return persistenceManager.writeEntries(storeEntries, PRIVATE).handle((ignored, t) -> {
+         // The operations waiting for the batch write their own value even if the batch failed
+         if (storeUpdate != null) storeUpdate.complete(null);
+         if (t != null) {
+            logApplyException(t, NO_KEY);
+         }
+         return null;
+      });
+   }
+
+   /**
+    * Writes the store entries to the non-shared stores in a single batch, without unmarshalling their values, and
+    * without adding them to the data container. If the stores can't take them, or if the listeners must be notified,
+    * the entries are unmarshalled and applied like the other entries.
+    */
+   private CompletionStage<?> applyStoreEntries(Address sender, int segmentId,
+                                                Collection<MarshalledStateEntry> storeEntries) {
+      if (!bulkApplyStoreEntries || hasEntryListeners()) {
+         List<InternalCacheEntry<?, ?>> cacheEntries = new ArrayList<>(storeEntries.size());
+         for (MarshalledStateEntry e : storeEntries) {
+            MarshallableEntry<Object, Object> me = toMarshallableEntry(e);
+            InternalCacheEntry<Object, Object> ice = entryFactory.create(me.getKey(), me.getValue(), me.getMetadata());
+            ice.setInternalMetadata(me.getInternalMetadata());
+            cacheEntries.add(ice);
+         }
+         return doApplyState(sender, segmentId, cacheEntries);
+      }
+
+      if (log.isTraceEnabled()) log.tracef(
+            "Applying store entries for segment %d of cache %s from node %s: received %d entries",
+            segmentId, cacheName, sender, storeEntries.size());
+
+      List<MarshallableEntry<Object, Object>> entries = new ArrayList<>(storeEntries.size());
+      // With passivation the operations don't write to the stores, so they can't be overwritten by the batch
+      CompletableFuture<Void> storeUpdate = bulkApplyToStores ? new CompletableFuture<>() : null;
+      for (MarshalledStateEntry e : storeEntries) {
+         if (commitManager.commitStateTransferKey(e.getKey(), storeUpdate)) {
+            entries.add(toMarshallableEntry(e));
+         }
+      }
+      return writeStoreEntries(entries, storeUpdate);
+   }
+
+   @SuppressWarnings("unchecked")
+   private MarshallableEntry<Object, Object> toMarshallableEntry(MarshalledStateEntry e) {
+      return ((MarshallableEntryFactory<Object, Object>) marshallableEntryFactory).create(e.getKey(), e);
+   }
+
    private CompletionStage<?> invoke1PCPrepare(LocalTransaction localTransaction) {
       PrepareCommand prepareCommand;
       if (Configurations.isTxVersioned(configuration)) {
@@ -796,6 +946,16 @@ public void start() {
 
       rpcOptions = new RpcOptions(DeliverOrder.NONE, timeout, TimeUnit.MILLISECONDS);
 
+      // Indexing, cross-site backups and custom interceptors need a command for every entry
+      bulkApply = configuration.clustering().stateTransfer().bulkApply() && !isTransactional &&
+            !configuration.indexing().enabled() && !configuration.sites().hasEnabledBackups() &&
+            configuration.customInterceptors().interceptors().isEmpty();
+      bulkApplyToStores = configuration.persistence().usingStores() && !configuration.persistence().passivation();
+      bulkApplyStoreEntries = bulkApply && configuration.persistence().stores().stream()
+            .anyMatch(store -> !store.shared() && !store.ignoreModifications() && !store.transactional());
+      deltaTransfer = configuration.persistence().stores().stream()
+            .anyMatch(store -> Configurations.isStateTransferStore(store) && !store.purgeOnStartup());
+
       stateRequestExecutor = new LimitedExecutor("StateRequest-" + cacheName, nonBlockingExecutor, 1);
       running = true;
    }
@@ -1176,13 +1336,108 @@ private InboundTransferTask addTransfer(Address source, IntSet segmentsFromSourc
          addTransfer(inboundTransfer, segmentsFromSource);
       }
 
+      boolean requestDelta = deltaTransfer;
       stateRequestExecutor.executeAsync(() -> {
-         CompletionStage<Void> transferStarted = inboundTransfer.requestSegments();
+         CompletionStage<Void> transferStarted = startTransfer(inboundTransfer, requestDelta);
          return transferStarted.whenComplete((aVoid, throwable) -> onTaskCompletion(inboundTransfer));
       });
       return inboundTransfer;
    }
 
+   /**
+    * Requests the segments of an inbound transfer.
+    * <p>
+    * If the local node is joining the cache after a restart and already has entries in its private stores for the
+    * requested segments, it compares the {@link ReplicaDigest} of its entries with the digest of the source and only
+    * requests the entries in the buckets that are different. The local entries in those buckets are removed before the
+    * request, because they may have been removed in the source.
+    */
+   private CompletionStage<Void> startTransfer(InboundTransferTask inboundTransfer, boolean requestDelta) {
+      if (!requestDelta)
+         return inboundTransfer.requestSegments();
+
+      CompletionStage<Map<Integer, Long>> bucketMasksStage =
+            stateProvider.getReplicaDigests(inboundTransfer.getSegments())
+                         .thenCompose(localDigests -> requestBucketMasks(inboundTransfer, localDigests))
+                         .thenCompose(bucketMasks -> bucketMasks == null ?
+                                                     CompletableFutures.<Map<Integer, Long>>completedNull() :
+                                                     removeStaleEntries(bucketMasks).thenApply(ignored -> bucketMasks));
+      return handleAndCompose(bucketMasksStage, (bucketMasks, throwable) -> {
+         if (bucketMasks == null) {
+            if (throwable != null) {
+               log.debugf(throwable, "Cache %s could not compare digests with %s, requesting all the entries",
+                          cacheName, inboundTransfer.getSource());
+            }
+            return inboundTransfer.requestSegments();
+         }
+         return inboundTransfer.requestSegments(bucketMasks);
+      });
+   }
+
+   @SuppressWarnings("unchecked")
+   private CompletionStage<Map<Integer, Long>> requestBucketMasks(InboundTransferTask inboundTransfer,
+                                                                  Map<Integer, long[]> localDigests) {
+      // Nothing to compare if the local node doesn't have any entries
+      if (localDigests.values().stream().allMatch(ReplicaDigest::isEmpty))
+         return CompletableFutures.completedNull();
+
+      Address source = inboundTransfer.getSource();
+      CacheRpcCommand cmd = commandsFactory.buildConflictResolutionDigestCommand(inboundTransfer.getTopologyId(),
+                                                                                 inboundTransfer.getSegments());
+      return rpcManager.invokeCommand(source, cmd, SingleResponseCollector.validOnly(), rpcOptions)
+                       .thenApply(response -> {
+                          if (!(response instanceof SuccessfulResponse))
+                             return null;
+
+                          Map<Integer, long[]> remoteDigests = (Map<Integer, long[]>) response.getResponseValue();
+                          Map<Integer, Long> bucketMasks = new HashMap<>();
+                          localDigests.forEach((segment, localDigest) -> {
+                             long[] remoteDigest = remoteDigests.get(segment);
+                             long bucketMask = ReplicaDigest.ALL_BUCKETS;
+                             if (remoteDigest != null) {
+                                bucketMask = ReplicaDigest.differentBuckets(Arrays.asList(localDigest, remoteDigest));
+                             }
+                             bucketMasks.put(segment, bucketMask);
+                          });
+                          if (log.isTraceEnabled()) {
+                             log.tracef("Cache %s requesting only the different buckets from %s: %s", cacheName,
+                                        source, bucketMasks);
+                          }
+                          return bucketMasks;
+                       });
+   }
+
+   private CompletionStage<Void> removeStaleEntries(Map<Integer, Long> bucketMasks) {
+      IntSet segments = IntSets.mutableEmptySet(configuration.clustering().hash().numSegments());
+      bucketMasks.forEach((segment, bucketMask) -> {
+         if (bucketMask != 0) {
+            segments.set(segment);
+         }
+      });
+      if (segments.isEmpty())
+         return CompletableFutures.completedNull();
+
+      Predicate<Object> inDifferentBuckets =
+            key -> ReplicaDigest.inBuckets(key, bucketMasks.getOrDefault(getSegment(key), 0L));
+      Flowable<Object> dataContainerKeys = Flowable.fromIterable(() -> dataContainer.iterator(segments))
+                                                   .map(InternalCacheEntry::getKey)
+                                                   .filter(inDifferentBuckets::test);
+      // The keys removed from the data container are removed from the stores as well, but they may be published again
+      Publisher<Object> storeKeys = persistenceManager.publishKeys(segments, inDifferentBuckets, PRIVATE);
+      return Flowable.concat(dataContainerKeys, Flowable.fromPublisher(storeKeys))
+                     .concatMapCompletable(key -> {
+                        int segment = getSegment(key);
+                        CompletableFuture<Void> storeUpdate = new CompletableFuture<>();
+                        if (!commitManager.removeStateTransferEntry(key, segment, storeUpdate))
+                           return Completable.complete();
+                        // The operations that update the key concurrently write to the stores after the removal
+                        CompletionStage<Boolean> stage = persistenceManager.deleteFromAllStores(key, segment, PRIVATE)
+                              .whenComplete((ignored, t) -> storeUpdate.complete(null));
+                        return Completable.fromCompletionStage(stage);
+                     })
+                     .toCompletionStage(null);
+   }
+
    @GuardedBy("transferMapsLock")
    protected void addTransfer(InboundTransferTask inboundTransfer, IntSet segments) {
       if (!running)
@@ -1192,6 +1447,7 @@ protected void addTransfer(InboundTransferTask inboundTransfer, IntSet segments)
          int segmentId = iter.nextInt();
          transfersBySegment.computeIfAbsent(segmentId, s -> new ArrayList<>()).add(inboundTransfer);
       }
+      requestedSegments.addAll(segments);
       transfersBySource.computeIfAbsent(inboundTransfer.getSource(), s -> new ArrayList<>()).add(inboundTransfer);
    }
 
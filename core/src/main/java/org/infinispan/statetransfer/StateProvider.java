@@ -2,6 +2,7 @@
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
@@ -58,6 +59,44 @@ public interface StateProvider {
     */
    void startOutboundTransfer(Address destination, int topologyId, IntSet segments, boolean applyState);
 
+   /**
+    * Start to send the cache entries that belong to the given set of segments and to the given buckets of
+    * {@link org.infinispan.conflict.impl.ReplicaDigest}. This is invoked in response to a
+    * {@link org.infinispan.commands.statetransfer.ConflictResolutionStartCommand}, and the entries are processed by a
+    * {@link StateReceiver} at the destination.
+    *
+    * @param destination the address of the requester
+    * @param topologyId
+    * @param segments
+    * @param bucketMask the buckets to send, {@link org.infinispan.conflict.impl.ReplicaDigest#ALL_BUCKETS} to send all
+    *                   the entries of the segments
+    */
+   void startConflictResolutionTransfer(Address destination, int topologyId, IntSet segments, long bucketMask);
+
+   /**
+    * Start to send the cache entries that belong to the given set of segments, but only the entries in the given
+    * buckets of {@link org.infinispan.conflict.impl.ReplicaDigest} for each segment. This is invoked in response to a
+    * {@link org.infinispan.commands.statetransfer.StateTransferStartCommand} from a joiner that already has most of
+    * the entries in its stores, and the entries are applied to the cache at the destination.
+    *
+    * @param destination the address of the requester
+    * @param topologyId
+    * @param segments
+    * @param bucketMasks the buckets to send for each segment, {@code 0} to only send the end of the segment
+    */
+   void startDeltaTransfer(Address destination, int topologyId, IntSet segments, Map<Integer, Long> bucketMasks);
+
+   /**
+    * Computes the digests of the entries that would be sent for the given segments. This is invoked in response to a
+    * {@link org.infinispan.commands.statetransfer.ConflictResolutionDigestCommand}, and by the local state consumer
+    * before a delta transfer.
+    *
+    * @param segments the segments
+    * @return a {@code CompletionStage} that completes with a {@link org.infinispan.conflict.impl.ReplicaDigest} for
+    * each segment
+    */
+   CompletionStage<Map<Integer, long[]>> getReplicaDigests(IntSet segments);
+
    /**
     * Cancel sending of cache entries that belong to the given set of segments. This is invoked in response to a
     * {@link org.infinispan.commands.statetransfer.StateTransferCancelCommand}.
@@ -15,6 +15,7 @@
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commands.write.WriteCommand;
@@ -22,6 +23,7 @@
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.Configurations;
+import org.infinispan.conflict.impl.ReplicaDigest;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.container.impl.InternalEntryFactory;
@@ -39,6 +41,7 @@
 import org.infinispan.notifications.cachelistener.cluster.ClusterListenerReplicateCallable;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.topology.CacheTopology;
@@ -74,6 +77,7 @@ public class StateProviderImpl implements StateProvider {
    @Inject TransactionTable transactionTable;     // optional
    @Inject protected InternalDataContainer<Object, Object> dataContainer;
    @Inject protected PersistenceManager persistenceManager; // optional
+   @Inject MarshallableEntryFactory<Object, Object> marshallableEntryFactory;
    @Inject protected StateTransferLock stateTransferLock;
    @Inject protected InternalEntryFactory entryFactory;
    @Inject protected KeyPartitioner keyPartitioner;
@@ -275,6 +279,48 @@ private void collectTransactionsToTransfer(Address destination,
 
    @Override
    public void startOutboundTransfer(Address destination, int requestTopologyId, IntSet segments, boolean applyState) {
+      startOutboundTransfer(destination, requestTopologyId, segments, applyState, null);
+   }
+
+   @Override
+   public void startConflictResolutionTransfer(Address destination, int requestTopologyId, IntSet segments,
+                                               long bucketMask) {
+      Predicate<Object> keyFilter = bucketMask != ReplicaDigest.ALL_BUCKETS ?
+                                    key -> ReplicaDigest.inBuckets(key, bucketMask) : null;
+      startOutboundTransfer(destination, requestTopologyId, segments, false, keyFilter);
+   }
+
+   @Override
+   public void startDeltaTransfer(Address destination, int requestTopologyId, IntSet segments,
+                                  Map<Integer, Long> bucketMasks) {
+      if (log.isTraceEnabled()) {
+         log.tracef("Sending only the buckets %s to node %s for cache %s", bucketMasks, destination, cacheName);
+      }
+      Predicate<Object> keyFilter = key -> {
+         Long bucketMask = bucketMasks.get(keyPartitioner.getSegment(key));
+         return bucketMask == null || ReplicaDigest.inBuckets(key, bucketMask);
+      };
+      startOutboundTransfer(destination, requestTopologyId, segments, true, keyFilter);
+   }
+
+   @Override
+   public CompletionStage<Map<Integer, long[]>> getReplicaDigests(IntSet segments) {
+      return Flowable.concat(publishDataContainerEntries(segments), publishStoreEntries(segments))
+                     .<Map<Integer, long[]>>collect(() -> {
+                        Map<Integer, long[]> digests = new HashMap<>();
+                        segments.forEach((int segment) -> digests.put(segment, ReplicaDigest.newDigest()));
+                        return digests;
+                     }, (digests, ice) -> {
+                        long[] digest = digests.get(keyPartitioner.getSegment(ice.getKey()));
+                        if (digest != null) {
+                           ReplicaDigest.add(digest, marshallableEntryFactory.create(ice));
+                        }
+                     })
+                     .toCompletionStage();
+   }
+
+   private void startOutboundTransfer(Address destination, int requestTopologyId, IntSet segments, boolean applyState,
+                                      Predicate<Object> keyFilter) {
       if (log.isTraceEnabled()) {
          log.tracef("Starting outbound transfer to node %s for cache %s, topology id %d, segments %s", destination,
                     cacheName, requestTopologyId, segments);
@@ -286,13 +332,29 @@ public void startOutboundTransfer(Address destination, int requestTopologyId, In
                                   chunkSize, requestTopologyId, keyPartitioner, chunks -> {}, rpcManager,
                                   commandsFactory, timeout, cacheName, applyState, false);
       addTransfer(outboundTransfer);
-      outboundTransfer.execute(Flowable.concat(publishDataContainerEntries(segments), publishStoreEntries(segments)))
-                      .whenComplete((ignored, throwable) -> {
-                         if (throwable != null) {
-                            logError(outboundTransfer, throwable);
-                         }
-                         onTaskCompletion(outboundTransfer);
-                      });
+      CompletionStage<Void> transferStage;
+      if (applyState && sendMarshalledStoreEntries()) {
+         Flowable<InternalCacheEntry<Object, Object>> entries = publishDataContainerEntries(segments);
+         Flowable<MarshalledStateEntry> storeEntries = publishMarshalledStoreEntries(segments);
+         if (keyFilter != null) {
+            entries = entries.filter(ice -> keyFilter.test(ice.getKey()));
+            storeEntries = storeEntries.filter(mse -> keyFilter.test(mse.getKey()));
+         }
+         transferStage = outboundTransfer.execute(entries, storeEntries);
+      } else {
+         Flowable<InternalCacheEntry<Object, Object>> entries =
+            Flowable.concat(publishDataContainerEntries(segments), publishStoreEntries(segments));
+         if (keyFilter != null) {
+            entries = entries.filter(ice -> keyFilter.test(ice.getKey()));
+         }
+         transferStage = outboundTransfer.execute(entries);
+      }
+      transferStage.whenComplete((ignored, throwable) -> {
+         if (throwable != null) {
+            logError(outboundTransfer, throwable);
+         }
+         onTaskCompletion(outboundTransfer);
+      });
    }
 
    protected Flowable<InternalCacheEntry<Object, Object>> publishDataContainerEntries(IntSet segments) {
@@ -308,6 +370,24 @@ protected Flowable<InternalCacheEntry<Object, Object>> publishStoreEntries(IntSe
       return Flowable.fromPublisher(loaderPublisher).map(this::defaultMapEntryFromStore);
    }
 
+   /**
+    * With {@link org.infinispan.configuration.cache.StateTransferConfiguration#bulkApply()} the store entries are sent
+    * with the value and metadata bytes read from the store, and the receiver can write them to its own stores without
+    * unmarshalling them.
+    * <p>
+    * Subclasses that modify the store entries before sending them must return {@code false}.
+    */
+   protected boolean sendMarshalledStoreEntries() {
+      return configuration.clustering().stateTransfer().bulkApply() && configuration.persistence().fetchPersistentState();
+   }
+
+   protected Flowable<MarshalledStateEntry> publishMarshalledStoreEntries(IntSet segments) {
+      Publisher<MarshallableEntry<Object, Object>> loaderPublisher =
+         persistenceManager.publishEntries(segments, k -> !dataContainer.containsKey(k), true, true,
+                                           Configurations::isStateTransferStore);
+      return Flowable.fromPublisher(loaderPublisher).map(MarshalledStateEntry::from);
+   }
+
    protected void addTransfer(OutboundTransferTask transferTask) {
       if (log.isTraceEnabled()) {
          log.tracef("Adding outbound transfer to %s for segments %s", transferTask.getDestination(),
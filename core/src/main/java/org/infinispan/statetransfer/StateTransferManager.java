@@ -29,6 +29,19 @@ public interface StateTransferManager {
     */
    boolean isStateTransferInProgress();
 
+   /**
+    * @return The fraction of the segments requested in the current state transfer that this node already received,
+    * from {@code 0} to {@code 1}. {@code 1} if there is no state transfer in progress.
+    */
+   double getStateTransferProgress();
+
+   /**
+    * @return The estimated time in milliseconds until this node receives all the segments requested in the current
+    * state transfer, based on the rate of the segments received so far. {@code 0} if there is no state transfer in
+    * progress, {@code -1} if no segment was received yet.
+    */
+   long getStateTransferTimeRemaining();
+
    /**
     * Checks if an inbound state transfer is in progress for a given key.
     *
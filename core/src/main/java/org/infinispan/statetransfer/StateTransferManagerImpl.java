@@ -17,6 +17,7 @@
 
 import org.infinispan.commands.TopologyAffectedCommand;
 import org.infinispan.commons.CacheException;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.global.GlobalConfiguration;
@@ -41,6 +42,7 @@
 import org.infinispan.jmx.annotations.DataType;
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.partitionhandling.AvailabilityMode;
 import org.infinispan.partitionhandling.impl.PartitionHandlingManager;
@@ -90,6 +92,7 @@ public class StateTransferManagerImpl implements StateTransferManager {
    @Inject PerCacheInboundInvocationHandler inboundInvocationHandler;
    @Inject IracManager iracManager;
    @Inject IracVersionGenerator iracVersionGenerator;
+   @Inject TimeService timeService;
 
    private final CountDownLatch initialStateTransferComplete = new CountDownLatch(1);
 
@@ -117,7 +120,8 @@ public void start() throws Exception {
             configuration.clustering().cacheMode(),
             capacityFactor,
             localTopologyManager.getPersistentUUID(),
-            persistentStateChecksum);
+            persistentStateChecksum,
+            configuration.clustering().stateTransfer().rebalancePriority());
 
       CompletionStage<CacheTopology> stage = localTopologyManager.join(cacheName, joinInfo, new CacheTopologyHandler() {
          @Override
@@ -285,6 +289,32 @@ public boolean isStateTransferInProgress() {
       return stateConsumer.isStateTransferInProgress();
    }
 
+   @ManagedAttribute(description = "Percentage of the segments requested in the current state transfer that this node already received", displayName = "State transfer progress", units = Units.PERCENTAGE)
+   @Override
+   public double getStateTransferProgress() {
+      int requested = stateConsumer.getRequestedSegmentCount();
+      if (requested == 0)
+         return 1;
+
+      int received = Math.max(0, requested - stateConsumer.getPendingSegmentCount());
+      return (double) received / requested;
+   }
+
+   @ManagedAttribute(description = "Estimated time until this node receives all the segments requested in the current state transfer, -1 if it cannot be estimated yet", displayName = "State transfer time remaining", units = Units.MILLISECONDS)
+   @Override
+   public long getStateTransferTimeRemaining() {
+      int pending = stateConsumer.getPendingSegmentCount();
+      if (pending == 0)
+         return 0;
+
+      int received = stateConsumer.getRequestedSegmentCount() - pending;
+      if (received <= 0)
+         return -1;
+
+      long elapsed = timeService.timeDuration(stateConsumer.getStateTransferStartTime(), TimeUnit.MILLISECONDS);
+      return elapsed * pending / received;
+   }
+
    @Override
    public Map<Address, Response> forwardCommandIfNeeded(TopologyAffectedCommand command, Set<Object> affectedKeys,
                                                         Address origin) {
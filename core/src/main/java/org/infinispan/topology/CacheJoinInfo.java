@@ -27,6 +27,8 @@ public class CacheJoinInfo {
    private final long timeout;
    private final CacheMode cacheMode;
 
+   private final int rebalancePriority;
+
    // Per-node configuration
    private final float capacityFactor;
 
@@ -37,6 +39,13 @@ public class CacheJoinInfo {
    public CacheJoinInfo(ConsistentHashFactory consistentHashFactory, int numSegments, int numOwners, long timeout,
          CacheMode cacheMode, float capacityFactor,
          PersistentUUID persistentUUID, Optional<Integer> persistentStateChecksum) {
+      this(consistentHashFactory, numSegments, numOwners, timeout, cacheMode, capacityFactor, persistentUUID,
+            persistentStateChecksum, 0);
+   }
+
+   public CacheJoinInfo(ConsistentHashFactory consistentHashFactory, int numSegments, int numOwners, long timeout,
+         CacheMode cacheMode, float capacityFactor,
+         PersistentUUID persistentUUID, Optional<Integer> persistentStateChecksum, int rebalancePriority) {
       this.consistentHashFactory = consistentHashFactory;
       this.numSegments = numSegments;
       this.numOwners = numOwners;
@@ -45,6 +54,7 @@ public CacheJoinInfo(ConsistentHashFactory consistentHashFactory, int numSegment
       this.capacityFactor = capacityFactor;
       this.persistentUUID = persistentUUID;
       this.persistentStateChecksum = persistentStateChecksum;
+      this.rebalancePriority = rebalancePriority;
    }
 
    public ConsistentHashFactory getConsistentHashFactory() {
@@ -67,6 +77,10 @@ public CacheMode getCacheMode() {
       return cacheMode;
    }
 
+   public int getRebalancePriority() {
+      return rebalancePriority;
+   }
+
    public float getCapacityFactor() {
       return capacityFactor;
    }
@@ -89,6 +103,7 @@ public int hashCode() {
       result = prime * result + numOwners;
       result = prime * result + numSegments;
       result = prime * result + (int) (timeout ^ (timeout >>> 32));
+      result = prime * result + rebalancePriority;
       result = prime * result + ((persistentUUID == null) ? 0 : persistentUUID.hashCode());
       result = prime * result + ((persistentStateChecksum == null) ? 0 : persistentStateChecksum.hashCode());
       return result;
@@ -118,6 +133,8 @@ public boolean equals(Object obj) {
          return false;
       if (timeout != other.timeout)
          return false;
+      if (rebalancePriority != other.rebalancePriority)
+         return false;
       if (persistentUUID == null) {
          if (other.persistentUUID != null)
             return false;
@@ -139,6 +156,7 @@ public String toString() {
             ", numOwners=" + numOwners +
             ", timeout=" + timeout +
             ", cacheMode=" + cacheMode +
+            ", rebalancePriority=" + rebalancePriority +
             ", persistentUUID=" + persistentUUID +
             ", persistentStateChecksum=" + persistentStateChecksum +
             '}';
@@ -155,6 +173,7 @@ public void writeObject(ObjectOutput output, CacheJoinInfo cacheJoinInfo) throws
          output.writeFloat(cacheJoinInfo.capacityFactor);
          output.writeObject(cacheJoinInfo.persistentUUID);
          output.writeObject(cacheJoinInfo.persistentStateChecksum);
+         output.writeInt(cacheJoinInfo.rebalancePriority);
       }
 
       @Override
@@ -167,8 +186,9 @@ public CacheJoinInfo readObject(ObjectInput unmarshaller) throws IOException, Cl
          float capacityFactor = unmarshaller.readFloat();
          PersistentUUID persistentUUID = (PersistentUUID) unmarshaller.readObject();
          Optional<Integer> persistentStateChecksum = (Optional<Integer>) unmarshaller.readObject();
+         int rebalancePriority = unmarshaller.readInt();
          return new CacheJoinInfo(consistentHashFactory, numSegments, numOwners, timeout, cacheMode,
-               capacityFactor, persistentUUID, persistentStateChecksum);
+               capacityFactor, persistentUUID, persistentStateChecksum, rebalancePriority);
       }
 
       @Override
@@ -68,6 +68,7 @@ public class ClusterCacheStatus implements AvailabilityStrategyContext {
    private final String cacheName;
    private final AvailabilityStrategy availabilityStrategy;
    private final ClusterTopologyManagerImpl clusterTopologyManager;
+   private final RebalanceScheduler rebalanceScheduler;
    private final PersistentUUIDManager persistentUUIDManager;
    private EventLogger eventLogger;
    private final boolean resolveConflictsOnMerge;
@@ -105,10 +106,22 @@ public ClusterCacheStatus(EmbeddedCacheManager cacheManager, String cacheName,
                              Transport transport,
                              PersistentUUIDManager persistentUUIDManager, EventLogManager eventLogManager,
                              Optional<ScopedPersistentState> state, boolean resolveConflictsOnMerge) {
+      this(cacheManager, cacheName, availabilityStrategy, rebalanceType, clusterTopologyManager, transport,
+           persistentUUIDManager, eventLogManager, state, resolveConflictsOnMerge, new RebalanceScheduler(0, null));
+   }
+
+   ClusterCacheStatus(EmbeddedCacheManager cacheManager, String cacheName,
+                      AvailabilityStrategy availabilityStrategy,
+                      RebalanceType rebalanceType, ClusterTopologyManagerImpl clusterTopologyManager,
+                      Transport transport,
+                      PersistentUUIDManager persistentUUIDManager, EventLogManager eventLogManager,
+                      Optional<ScopedPersistentState> state, boolean resolveConflictsOnMerge,
+                      RebalanceScheduler rebalanceScheduler) {
       this.cacheManager = cacheManager;
       this.cacheName = cacheName;
       this.availabilityStrategy = availabilityStrategy;
       this.clusterTopologyManager = clusterTopologyManager;
+      this.rebalanceScheduler = rebalanceScheduler;
       this.transport = transport;
       this.persistentState = state;
       this.resolveConflictsOnMerge = resolveConflictsOnMerge;
@@ -306,6 +319,10 @@ private void setCurrentTopology(CacheTopology newTopology) {
       if (newTopology != null) {
          newTopology.logRoutingTableInformation();
       }
+      if (newTopology == null || newTopology.getPhase() == CacheTopology.Phase.NO_REBALANCE) {
+         // The rebalance finished or was cancelled, let the next cache start its rebalance
+         rebalanceScheduler.finished(this);
+      }
    }
 
    @GuardedBy("this")
@@ -913,6 +930,12 @@ public synchronized void startQueuedRebalance() {
             newTopology.getMembers(), newTopology.getTopologyId()));
          clusterTopologyManager.broadcastTopologyUpdate(cacheName, newTopology, getAvailabilityMode());
       } else if (rebalance) {
+         if (!rebalanceScheduler.tryStart(this)) {
+            // Keep the rebalance queued, the scheduler retries it when another cache finishes rebalancing
+            queuedRebalanceMembers = newMembers;
+            return;
+         }
+
          CacheTopology.Phase newPhase;
          switch (rebalanceType) {
             case FOUR_PHASE:
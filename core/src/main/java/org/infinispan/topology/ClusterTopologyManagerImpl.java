@@ -125,6 +125,7 @@ public class ClusterTopologyManagerImpl implements ClusterTopologyManager {
    private TopologyManagementHelper helper;
    private ConditionFuture<ClusterTopologyManagerImpl> joinViewFuture;
    private ActionSequencer actionSequencer;
+   private RebalanceScheduler rebalanceScheduler;
 
    private final Lock updateLock = new ReentrantLock();
    @GuardedBy("updateLock")
@@ -145,6 +146,8 @@ public void start() {
       helper = new TopologyManagementHelper(gcr);
       joinViewFuture = new ConditionFuture<>(timeoutScheduledExecutor);
       actionSequencer = new ActionSequencer(nonBlockingExecutor, true, timeService);
+      rebalanceScheduler = new RebalanceScheduler(globalConfiguration.transport().maxConcurrentRebalances(),
+                                                  nonBlockingExecutor);
 
       cacheManagerNotifier.addListener(viewListener);
       // The listener already missed the initial view
@@ -285,7 +288,10 @@ public CompletionStage<Void> handleLeave(String cacheName, Address leaver, int v
    }
 
    synchronized void removeCacheStatus(String cacheName) {
-      cacheStatusMap.remove(cacheName);
+      ClusterCacheStatus cacheStatus = cacheStatusMap.remove(cacheName);
+      if (cacheStatus != null) {
+         rebalanceScheduler.removeCache(cacheStatus);
+      }
    }
 
    @Override
@@ -415,6 +421,7 @@ private CompletionStage<Void> recoverClusterStatus(int newViewId) {
       // E.g. if the local node was coordinator, started a rebalance, and then lost coordinator
       // status because of a merge, the existing cache statuses may have a rebalance in progress.
       cacheStatusMap.clear();
+      rebalanceScheduler.clear();
 
       recoveryAttemptCount.set(0);
 
@@ -522,7 +529,8 @@ private ClusterCacheStatus initCacheStatusIfAbsent(String cacheName, CacheMode c
                globalStateManager.flatMap(gsm -> gsm.readScopedState(cacheName));
          return new ClusterCacheStatus(cacheManager, cacheName, availabilityStrategy, RebalanceType.from(cacheMode),
                                        this, transport,
-                                       persistentUUIDManager, eventLogManager, persistedState, resolveConflictsOnMerge);
+                                       persistentUUIDManager, eventLogManager, persistedState, resolveConflictsOnMerge,
+                                       rebalanceScheduler);
       });
    }
 
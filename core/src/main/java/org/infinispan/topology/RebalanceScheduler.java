@@ -0,0 +1,165 @@
+package org.infinispan.topology;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Limits the number of caches that the coordinator rebalances at the same time.
+ * <p>
+ * A cache must acquire a slot with {@link #tryStart(ClusterCacheStatus)} before it starts a rebalance, and it releases
+ * the slot with {@link #finished(ClusterCacheStatus)} when the rebalance ends or is cancelled. If there is no free
+ * slot, the cache keeps its rebalance queued and waits. When a slot is released, the waiting caches retry in the order
+ * of their {@link CacheJoinInfo#getRebalancePriority()}, highest first.
+ * <p>
+ * The slots are only tracked by the current coordinator. A new coordinator doesn't count the rebalances started by the
+ * previous coordinator.
+ *
+ * @since 13.0
+ */
+class RebalanceScheduler {
+   private static final Log log = LogFactory.getLog(RebalanceScheduler.class);
+   private static final Comparator<ClusterCacheStatus> BY_PRIORITY =
+         Comparator.comparingInt(RebalanceScheduler::priority).reversed();
+
+   private final int maxConcurrentRebalances;
+   private final Executor executor;
+
+   @GuardedBy("this")
+   private final Map<String, ClusterCacheStatus> rebalancingCaches = new HashMap<>();
+   @GuardedBy("this")
+   private final Map<String, ClusterCacheStatus> waitingCaches = new HashMap<>();
+
+   /**
+    * @param maxConcurrentRebalances the maximum number of caches rebalancing at the same time, {@code 0} for no limit
+    * @param executor                the executor used to retry the waiting caches when a slot is released
+    */
+   RebalanceScheduler(int maxConcurrentRebalances, Executor executor) {
+      this.maxConcurrentRebalances = maxConcurrentRebalances;
+      this.executor = executor;
+   }
+
+   /**
+    * Acquires a rebalance slot for the cache.
+    * <p>
+    * Must be called while holding the {@code cacheStatus} lock.
+    *
+    * @return {@code true} if the cache can start the rebalance, {@code false} if it must wait.
+    */
+   boolean tryStart(ClusterCacheStatus cacheStatus) {
+      if (maxConcurrentRebalances <= 0)
+         return true;
+
+      String cacheName = cacheStatus.getCacheName();
+      synchronized (this) {
+         if (rebalancingCaches.get(cacheName) == cacheStatus)
+            return true;
+
+         if (rebalancingCaches.size() < maxConcurrentRebalances && !hasWaitingCacheBefore(cacheStatus)) {
+            waitingCaches.remove(cacheName);
+            rebalancingCaches.put(cacheName, cacheStatus);
+            if (log.isTraceEnabled()) log.tracef("Starting rebalance for cache %s, rebalancing caches are %s",
+                                                 cacheName, rebalancingCaches.keySet());
+            return true;
+         }
+
+         waitingCaches.put(cacheName, cacheStatus);
+         log.debugf("Postponing rebalance for cache %s, caches %s are already rebalancing", cacheName,
+                    rebalancingCaches.keySet());
+         return false;
+      }
+   }
+
+   /**
+    * Releases the rebalance slot of the cache, if it has one, and retries the waiting caches.
+    */
+   void finished(ClusterCacheStatus cacheStatus) {
+      if (maxConcurrentRebalances <= 0)
+         return;
+
+      String cacheName = cacheStatus.getCacheName();
+      List<ClusterCacheStatus> waiting;
+      synchronized (this) {
+         if (!rebalancingCaches.remove(cacheName, cacheStatus) || waitingCaches.isEmpty())
+            return;
+
+         waiting = new ArrayList<>(waitingCaches.values());
+      }
+      waiting.sort(BY_PRIORITY);
+      if (log.isTraceEnabled()) log.tracef("Cache %s finished rebalancing, retrying %d waiting caches", cacheName,
+                                           waiting.size());
+      // Start the waiting caches on another thread, as the caller holds the lock of its own cache status
+      executor.execute(() -> startWaitingCaches(waiting));
+   }
+
+   /**
+    * Releases the rebalance slot of a cache that no longer has any members and stops retrying it.
+    */
+   void removeCache(ClusterCacheStatus cacheStatus) {
+      if (maxConcurrentRebalances <= 0)
+         return;
+
+      synchronized (this) {
+         waitingCaches.remove(cacheStatus.getCacheName(), cacheStatus);
+      }
+      finished(cacheStatus);
+   }
+
+   /**
+    * Forgets all the caches, because the local node became coordinator and creates new cache statuses.
+    */
+   synchronized void clear() {
+      rebalancingCaches.clear();
+      waitingCaches.clear();
+   }
+
+   private void startWaitingCaches(List<ClusterCacheStatus> waiting) {
+      while (true) {
+         for (ClusterCacheStatus cacheStatus : waiting) {
+            String cacheName = cacheStatus.getCacheName();
+            synchronized (this) {
+               // A cache that doesn't need a rebalance any more won't add itself back
+               if (!waitingCaches.remove(cacheName, cacheStatus))
+                  continue;
+            }
+            try {
+               cacheStatus.startQueuedRebalance();
+            } catch (Throwable t) {
+               log.rebalanceStartError(cacheName, t);
+            }
+         }
+         synchronized (this) {
+            // A cache that started waiting after the snapshot may have been waiting for a higher priority cache that
+            // didn't take the slot, retry it as well
+            if (rebalancingCaches.size() >= maxConcurrentRebalances || waitingCaches.isEmpty())
+               return;
+
+            waiting = new ArrayList<>(waitingCaches.values());
+         }
+         waiting.sort(BY_PRIORITY);
+      }
+   }
+
+   @GuardedBy("this")
+   private boolean hasWaitingCacheBefore(ClusterCacheStatus cacheStatus) {
+      int priority = priority(cacheStatus);
+      for (ClusterCacheStatus waiting : waitingCaches.values()) {
+         if (priority(waiting) > priority)
+            return true;
+      }
+      return false;
+   }
+
+   private static int priority(ClusterCacheStatus cacheStatus) {
+      CacheJoinInfo joinInfo = cacheStatus.getJoinInfo();
+      return joinInfo != null ? joinInfo.getRebalancePriority() : 0;
+   }
+}
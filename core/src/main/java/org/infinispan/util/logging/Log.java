@@ -2175,4 +2175,32 @@ CacheConfigurationException storeConfiguredHasBothReadAndWriteOnly(String storeC
    @LogMessage(level = ERROR)
    @Message(value = "Failed to send remove request to remote site(s). Reason: tombstone was lost. Key='%s'", id = 639)
    void sendFailMissingTombstone(Object key);
+
+   @Message(value = "The number of segments per expiration interval must be positive or -1 to process all segments, but was %d", id = 640)
+   CacheConfigurationException invalidExpirationSegmentsPerInterval(int segmentsPerInterval);
+
+   @Message(value = "The write coalescing delay must be greater than or equal to 0, but was %d", id = 641)
+   CacheConfigurationException invalidWriteCoalescingDelay(long delay);
+
+   @Message(value = "The write coalescing max batch size must be positive, but was %d", id = 642)
+   CacheConfigurationException invalidWriteCoalescingMaxBatchSize(int maxBatchSize);
+
+   @Message(value = "The cluster listener batch delay must be greater than or equal to 0, but was %d", id = 643)
+   CacheConfigurationException invalidClusterListenerBatchDelay(long delay);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Virtual threads are not supported by this runtime, the blocking thread pool will use platform threads", id = 644)
+   void virtualThreadsNotSupported();
+
+   @Message(value = "Thread pool '%s' cannot use virtual threads because it is non-blocking", id = 645)
+   CacheConfigurationException virtualThreadsInNonBlockingPool(String poolName);
+
+   @Message(value = "Bulk apply of state transfer is only supported in non-transactional distributed and replicated caches", id = 646)
+   CacheConfigurationException bulkStateTransferApplyNotSupported();
+
+   @Message(value = "The maximum number of concurrent rebalances must be greater than or equal to 0, but was %d", id = 647)
+   CacheConfigurationException invalidMaxConcurrentRebalances(int maxConcurrentRebalances);
+
+   @Message(value = "The compaction threshold of the single file store must be greater than 0 and less than or equal to 1, but was %s", id = 648)
+   CacheConfigurationException invalidSingleFileStoreCompactionThreshold(float compactionThreshold);
 }
@@ -0,0 +1,125 @@
+package org.infinispan.api;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.commands.read.GetKeyValueCommand;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.context.InvocationContextFactory;
+import org.infinispan.interceptors.AsyncInterceptorChain;
+import org.infinispan.interceptors.DDAsyncInterceptor;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryVisited;
+import org.infinispan.notifications.cachelistener.event.CacheEntryVisitedEvent;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.ControlledTimeService;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that {@code get} on a local cache reads the data container directly and still behaves like a command.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "api.LocalReadPathTest")
+public class LocalReadPathTest extends SingleCacheManagerTest {
+   private final ControlledTimeService timeService = new ControlledTimeService();
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.statistics().enabled(true);
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(builder);
+      TestingUtil.replaceComponent(cm, TimeService.class, timeService, true);
+      return cm;
+   }
+
+   public void testGetDoesNotCreateContext() {
+      cache.put("k", "v");
+      InvocationContextFactory contextFactory = spy(TestingUtil.extractComponent(cache, InvocationContextFactory.class));
+      TestingUtil.replaceComponent(cache, InvocationContextFactory.class, contextFactory, true);
+
+      assertEquals("v", cache.get("k"));
+      assertNull(cache.get("missing"));
+      verify(contextFactory, never()).createInvocationContext(anyBoolean(), anyInt());
+   }
+
+   public void testStatistics() {
+      cache.put("k", "v");
+      cache.getAdvancedCache().getStats().reset();
+
+      cache.get("k");
+      cache.get("k");
+      cache.get("missing");
+      assertEquals(2, cache.getAdvancedCache().getStats().getHits());
+      assertEquals(1, cache.getAdvancedCache().getStats().getMisses());
+   }
+
+   public void testExpiredEntry() {
+      cache.put("k", "v", 10, TimeUnit.MILLISECONDS);
+      assertEquals("v", cache.get("k"));
+
+      timeService.advance(11);
+      assertNull(cache.get("k"));
+      assertEquals(0, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+   }
+
+   public void testVisitedListener() {
+      cache.put("k", "v");
+      VisitedListener listener = new VisitedListener();
+      cache.addListener(listener);
+      try {
+         assertEquals("v", cache.get("k"));
+         assertEquals(2, listener.visits.get());
+      } finally {
+         cache.removeListener(listener);
+      }
+   }
+
+   public void testInterceptorAddedAfterStart() {
+      cache.put("k", "v");
+      AsyncInterceptorChain chain = cache.getAdvancedCache().getAsyncInterceptorChain();
+      CountingInterceptor interceptor = new CountingInterceptor();
+      chain.addInterceptor(interceptor, 0);
+      try {
+         assertEquals("v", cache.get("k"));
+         assertEquals(1, interceptor.reads.get());
+      } finally {
+         chain.removeInterceptor(CountingInterceptor.class);
+      }
+      assertEquals("v", cache.get("k"));
+      assertEquals(1, interceptor.reads.get());
+   }
+
+   @Listener
+   public static class VisitedListener {
+      final AtomicInteger visits = new AtomicInteger();
+
+      @CacheEntryVisited
+      public void onVisit(CacheEntryVisitedEvent<?, ?> event) {
+         visits.incrementAndGet();
+      }
+   }
+
+   static class CountingInterceptor extends DDAsyncInterceptor {
+      final AtomicInteger reads = new AtomicInteger();
+
+      @Override
+      public Object visitGetKeyValueCommand(InvocationContext ctx, GetKeyValueCommand command) throws Throwable {
+         reads.incrementAndGet();
+         return invokeNext(ctx, command);
+      }
+   }
+}
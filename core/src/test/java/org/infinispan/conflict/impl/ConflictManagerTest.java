@@ -14,6 +14,7 @@
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -169,6 +170,22 @@ public void testConflictsDetected() {
       }
    }
 
+   public void testOnlyDifferentReplicasTransferred() {
+      waitForClusterToForm(CACHE_NAME);
+      IntStream.range(0, NUMBER_OF_CACHE_ENTRIES).forEach(i -> getCache(0).put(i, "v" + i));
+      final int cacheIndex = numMembersInCluster - 1;
+      AtomicInteger receivedEntries = new AtomicInteger();
+      wrapInboundInvocationHandler(getCache(cacheIndex), delegate -> new CountStateResponseEntriesHandler(receivedEntries, delegate));
+
+      // All the digests are equal, so no entries are transferred
+      assertEquals(0, getConflicts(cacheIndex).count());
+      assertEquals(0, receivedEntries.get());
+
+      introduceCacheConflicts();
+      assertEquals(INCONSISTENT_VALUE_INCREMENT, getConflicts(cacheIndex).count());
+      assertTrue(String.valueOf(receivedEntries.get()), receivedEntries.get() < NUMBER_OF_CACHE_ENTRIES);
+   }
+
    public void testConflictsResolvedWithProvidedMergePolicy() {
       createCluster();
       AdvancedCache<Object, Object> cache = getCache(0);
@@ -299,6 +316,25 @@ public void handle(CacheRpcCommand command, Reply reply, DeliverOrder order) {
       }
    }
 
+   private static class CountStateResponseEntriesHandler extends AbstractDelegatingHandler {
+      final AtomicInteger receivedEntries;
+
+      CountStateResponseEntriesHandler(AtomicInteger receivedEntries, PerCacheInboundInvocationHandler delegate) {
+         super(delegate);
+         this.receivedEntries = receivedEntries;
+      }
+
+      @Override
+      public void handle(CacheRpcCommand command, Reply reply, DeliverOrder order) {
+         if (command instanceof StateResponseCommand) {
+            for (StateChunk chunk : ((StateResponseCommand) command).getStateChunks()) {
+               receivedEntries.addAndGet(chunk.getCacheEntries().size());
+            }
+         }
+         delegate.handle(command, reply, order);
+      }
+   }
+
    private class DropClusteredGetCommandHandler extends AbstractDelegatingHandler {
       DropClusteredGetCommandHandler(PerCacheInboundInvocationHandler delegate) {
          super(delegate);
@@ -0,0 +1,151 @@
+package org.infinispan.container.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.IntSets;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.expiration.impl.InternalExpirationManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.util.ControlledTimeService;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the expiration reaper only visits the entries whose deadline has passed when the timer wheel is enabled.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "container.impl.ExpirationTimerWheelDataContainerTest")
+public class ExpirationTimerWheelDataContainerTest extends MultipleCacheManagersTest {
+   private static final int NUM_SEGMENTS = 16;
+
+   private final ControlledTimeService timeService = new ControlledTimeService();
+
+   @Override
+   public Object[] factory() {
+      return new Object[]{
+            new ExpirationTimerWheelDataContainerTest().cacheMode(CacheMode.DIST_SYNC),
+            new ExpirationTimerWheelDataContainerTest().cacheMode(CacheMode.REPL_SYNC),
+      };
+   }
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(cacheMode).hash().numSegments(NUM_SEGMENTS);
+      builder.expiration().disableReaper().timerWheel(true);
+      createCluster(builder, 2);
+      waitForClusterToForm();
+      for (int i = 0; i < 2; ++i) {
+         TestingUtil.replaceComponent(manager(i), TimeService.class, timeService, true);
+      }
+   }
+
+   public void testOnlyExpiredEntriesAreCandidates() {
+      Cache<Object, Object> cache = cache(0);
+      for (int i = 0; i < 100; ++i) {
+         cache.put("immortal-" + i, "value");
+         cache.put("lifespan-" + i, "value", 1, TimeUnit.SECONDS);
+         cache.put("long-lifespan-" + i, "value", 1, TimeUnit.HOURS);
+         cache.put("max-idle-" + i, "value", -1, TimeUnit.SECONDS, 10, TimeUnit.SECONDS);
+      }
+      // With 2 owners and 2 nodes every node stores all the entries, but the immortal ones are not indexed
+      assertEquals(300, indexSize(0));
+
+      timeService.advance(TimeUnit.SECONDS.toMillis(2));
+      // Touch the first half of the max idle entries so they are not expired after 10 more seconds
+      for (int i = 0; i < 50; ++i) {
+         assertEquals("value", cache(1).get("max-idle-" + i));
+      }
+      List<Object> keys = candidateKeys(0);
+      assertEquals(100, keys.size());
+      keys.forEach(k -> assertFalse(k.toString(), k.toString().startsWith("immortal") ||
+            k.toString().startsWith("long-lifespan")));
+
+      timeService.advance(TimeUnit.SECONDS.toMillis(9));
+      for (int i = 0; i < 2; ++i) {
+         TestingUtil.extractComponent(cache(i), InternalExpirationManager.class).processExpiration();
+      }
+      for (int i = 0; i < 100; ++i) {
+         assertNull(cache.get("lifespan-" + i));
+         assertEquals(i < 50 ? "value" : null, cache.get("max-idle-" + i));
+         assertEquals("value", cache.get("long-lifespan-" + i));
+      }
+      // The removed entries left the index, while the touched max idle entries were scheduled again
+      assertEquals(150, indexSize(0));
+
+      cache.clear();
+      assertEquals(0, indexSize(0));
+      assertEquals(0, indexSize(1));
+   }
+
+   public void testConcurrentPutAndRemove() throws Exception {
+      @SuppressWarnings("unchecked")
+      InternalDataContainer<Object, Object> container =
+            TestingUtil.extractComponent(cache(0), InternalDataContainer.class);
+      KeyPartitioner keyPartitioner = TestingUtil.extractComponent(cache(0), KeyPartitioner.class);
+      Metadata metadata = new EmbeddedMetadata.Builder().lifespan(1, TimeUnit.HOURS).build();
+      int numKeys = 100;
+      int numThreads = 4;
+      CyclicBarrier barrier = new CyclicBarrier(numThreads);
+      List<Future<Void>> futures = new ArrayList<>(numThreads);
+      for (int t = 0; t < numThreads; ++t) {
+         boolean put = t % 2 == 0;
+         futures.add(fork(() -> {
+            barrier.await(10, TimeUnit.SECONDS);
+            for (int round = 0; round < 100; ++round) {
+               for (int i = 0; i < numKeys; ++i) {
+                  String key = "k" + i;
+                  int segment = keyPartitioner.getSegment(key);
+                  if (put) {
+                     container.put(segment, key, "value", metadata, null, -1, -1);
+                  } else {
+                     container.remove(segment, key);
+                  }
+               }
+            }
+         }));
+      }
+      for (Future<Void> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+
+      // Every entry left in the container must still be indexed, otherwise it would never expire
+      assertEquals(container.sizeIncludingExpired(), indexSize(0));
+   }
+
+   private List<Object> candidateKeys(int index) {
+      List<Object> keys = new ArrayList<>();
+      InternalDataContainer<?, ?> container = TestingUtil.extractComponent(cache(index), InternalDataContainer.class);
+      Iterator<? extends InternalCacheEntry<?, ?>> iterator = container.expirationCandidates(
+            IntSets.immutableRangeSet(NUM_SEGMENTS), timeService.wallClockTime());
+      iterator.forEachRemaining(ice -> keys.add(ice.getKey()));
+      return keys;
+   }
+
+   private int indexSize(int index) {
+      DefaultSegmentedDataContainer<?, ?> container = (DefaultSegmentedDataContainer<?, ?>) TestingUtil.extractComponent(
+            cache(index), InternalDataContainer.class);
+      int size = 0;
+      for (int segment = 0; segment < NUM_SEGMENTS; ++segment) {
+         size += container.expirationIndexSize(segment);
+      }
+      return size;
+   }
+}
@@ -0,0 +1,96 @@
+package org.infinispan.container.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+/**
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "container.impl.ExpirationTimerWheelTest")
+public class ExpirationTimerWheelTest {
+   private static final long START = 1_600_000_000_000L;
+
+   public void testKeysExpireWhenTheirDeadlinePasses() {
+      Random random = new Random(42);
+      ExpirationTimerWheel<Integer> wheel = new ExpirationTimerWheel<>(START);
+      Map<Integer, Long> deadlines = new HashMap<>();
+      long[] ranges = {TimeUnit.SECONDS.toMillis(2), TimeUnit.MINUTES.toMillis(5), TimeUnit.HOURS.toMillis(10),
+            TimeUnit.DAYS.toMillis(20), TimeUnit.DAYS.toMillis(400)};
+      for (int key = 0; key < 10_000; ++key) {
+         long deadline = START + 1 + (long) (random.nextDouble() * ranges[key % ranges.length]);
+         deadlines.put(key, deadline);
+         wheel.schedule(key, deadline);
+      }
+      assertEquals(deadlines.size(), wheel.size());
+
+      long now = START;
+      while (!deadlines.isEmpty()) {
+         // Steps of various sizes, so that several slots of every level are skipped at times
+         now += (long) (random.nextDouble() * ranges[random.nextInt(ranges.length - 1)] / 4);
+         Set<Integer> expired = new HashSet<>();
+         for (ExpirationTimerWheel.Node<Integer> node : wheel.advance(now)) {
+            assertTrue(node.deadline <= now);
+            expired.add(node.key);
+         }
+         for (Map.Entry<Integer, Long> entry : deadlines.entrySet()) {
+            assertEquals("Key " + entry.getKey() + " with deadline " + entry.getValue() + " at " + now,
+                  entry.getValue() <= now, expired.contains(entry.getKey()));
+         }
+         // The container removes the expired entries
+         for (Integer key : expired) {
+            wheel.remove(key);
+            deadlines.remove(key);
+         }
+      }
+      assertEquals(0, wheel.size());
+   }
+
+   public void testExpiredKeysStayUntilRemoved() {
+      ExpirationTimerWheel<String> wheel = new ExpirationTimerWheel<>(START);
+      wheel.schedule("a", START + 100);
+      wheel.schedule("b", START + 5000);
+      assertEquals(0, wheel.advance(START + 99).size());
+      assertEquals(1, wheel.advance(START + 100).size());
+      // Not removed by the container, so it is returned again
+      assertEquals(1, wheel.advance(START + 200).size());
+
+      // Rescheduling moves the key out of the expired list
+      wheel.schedule("a", START + 10_000);
+      assertEquals(0, wheel.advance(START + 300).size());
+      assertEquals(2, wheel.advance(START + 10_000).size());
+   }
+
+   public void testRefreshIgnoresRescheduledKeys() {
+      ExpirationTimerWheel<String> wheel = new ExpirationTimerWheel<>(START);
+      wheel.schedule("a", START + 100);
+      ExpirationTimerWheel.Node<String> node = wheel.advance(START + 100).get(0);
+
+      // The entry was written again after the node was returned
+      wheel.schedule("a", START + 1000);
+      wheel.refresh(node, START + 100, -1);
+      assertEquals(1, wheel.size());
+
+      node = wheel.advance(START + 1000).get(0);
+      wheel.refresh(node, START + 1000, START + 2000);
+      assertEquals(0, wheel.advance(START + 1999).size());
+      wheel.refresh(wheel.advance(START + 2000).get(0), START + 2000, -1);
+      assertEquals(0, wheel.size());
+   }
+
+   public void testNegativeDeadlineRemovesKey() {
+      ExpirationTimerWheel<String> wheel = new ExpirationTimerWheel<>(START);
+      wheel.schedule("a", START + 100);
+      wheel.schedule("a", -1);
+      assertEquals(0, wheel.size());
+      assertEquals(0, wheel.advance(START + 1000).size());
+   }
+}
@@ -0,0 +1,109 @@
+package org.infinispan.container.offheap;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.impl.InternalEntryFactoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This benchmark compares reads of {@link OffHeapConcurrentMap} that acquire the read lock of their region, which is
+ * the case with the {@link UnpooledOffHeapMemoryAllocator}, against optimistic reads, which are used with the
+ * {@link PooledOffHeapMemoryAllocator}, with an increasing number of threads.
+ */
+public class OffHeapConcurrentMapBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 5;
+   private static final int WARMUP_ITERATIONS_COUNT = 5;
+   private static final int[] THREAD_COUNTS = {1, 4, 16, 64};
+
+   public static void main(String[] args) throws Exception {
+      for (int threads : THREAD_COUNTS) {
+         Options opt = new OptionsBuilder()
+               .include(OffHeapConcurrentMapBenchmark.class.getName() + ".*")
+               .mode(Mode.Throughput)
+               .timeUnit(TimeUnit.MICROSECONDS)
+               .warmupIterations(WARMUP_ITERATIONS_COUNT)
+               .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+               .threads(threads)
+               .forks(1)
+               .shouldFailOnError(true)
+               .build();
+
+         new Runner(opt).run();
+      }
+   }
+
+   @State(Scope.Benchmark)
+   public static class MapState {
+      @Param({"UNPOOLED", "POOLED"})
+      OffHeapAllocatorType allocatorType;
+
+      @Param({"0", "5"})
+      int writePercentage;
+
+      @Param({"100000"})
+      int keyCount;
+
+      OffHeapMemoryAllocator allocator;
+      OffHeapConcurrentMap map;
+      WrappedBytes[] keys;
+      InternalCacheEntry<WrappedBytes, WrappedBytes>[] entries;
+
+      @Setup(Level.Trial)
+      @SuppressWarnings("unchecked")
+      public void setup() {
+         allocator = allocatorType == OffHeapAllocatorType.POOLED ?
+               new PooledOffHeapMemoryAllocator() : new UnpooledOffHeapMemoryAllocator();
+         OffHeapEntryFactoryImpl offHeapEntryFactory = new OffHeapEntryFactoryImpl();
+         offHeapEntryFactory.allocator = allocator;
+         offHeapEntryFactory.internalEntryFactory = new InternalEntryFactoryImpl();
+         offHeapEntryFactory.configuration = new ConfigurationBuilder().build();
+         offHeapEntryFactory.start();
+         map = new OffHeapConcurrentMap(allocator, offHeapEntryFactory, null);
+
+         keys = new WrappedBytes[keyCount];
+         entries = new InternalCacheEntry[keyCount];
+         WrappedBytes value = new WrappedByteArray(new byte[64]);
+         for (int i = 0; i < keyCount; ++i) {
+            keys[i] = new WrappedByteArray(("key-" + i).getBytes());
+            entries[i] = new ImmortalCacheEntry(keys[i], value);
+            map.put(keys[i], entries[i]);
+         }
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         map.close();
+         if (allocator instanceof PooledOffHeapMemoryAllocator) {
+            ((PooledOffHeapMemoryAllocator) allocator).stop();
+         }
+      }
+   }
+
+   @Benchmark
+   public Object getOrPut(MapState state) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      int index = random.nextInt(state.keyCount);
+      if (random.nextInt(100) < state.writePercentage) {
+         return state.map.put(state.keys[index], state.entries[index]);
+      }
+      return state.map.get(state.keys[index]);
+   }
+}
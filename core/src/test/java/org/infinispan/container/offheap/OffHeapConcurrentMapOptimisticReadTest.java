@@ -0,0 +1,125 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.impl.InternalEntryFactoryImpl;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Verifies that reads of {@link OffHeapConcurrentMap} using a {@link PooledOffHeapMemoryAllocator}, which are done
+ * without acquiring the lock, only observe consistent entries while other threads write, remove and resize.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "container.offheap.OffHeapConcurrentMapOptimisticReadTest")
+public class OffHeapConcurrentMapOptimisticReadTest extends AbstractInfinispanTest {
+   private static final int KEY_COUNT = 2_000;
+   private static final int READERS = 4;
+
+   private PooledOffHeapMemoryAllocator allocator;
+   private OffHeapConcurrentMap map;
+
+   @BeforeMethod
+   void initializeMap() {
+      allocator = new PooledOffHeapMemoryAllocator();
+      OffHeapEntryFactoryImpl offHeapEntryFactory = new OffHeapEntryFactoryImpl();
+      offHeapEntryFactory.allocator = allocator;
+      offHeapEntryFactory.internalEntryFactory = new InternalEntryFactoryImpl();
+      offHeapEntryFactory.configuration = new ConfigurationBuilder().build();
+      offHeapEntryFactory.start();
+
+      map = new OffHeapConcurrentMap(allocator, offHeapEntryFactory, null);
+   }
+
+   @AfterMethod
+   void closeMap() {
+      if (map != null) {
+         map.close();
+      }
+      allocator.stop();
+   }
+
+   public void testReadsDuringWritesAndResizes() throws Exception {
+      WrappedBytes[] keys = new WrappedBytes[KEY_COUNT];
+      for (int i = 0; i < KEY_COUNT; ++i) {
+         keys[i] = new WrappedByteArray(("key-" + i).getBytes());
+      }
+      AtomicBoolean stop = new AtomicBoolean();
+      List<Future<Integer>> readers = new ArrayList<>();
+      for (int r = 0; r < READERS; ++r) {
+         readers.add(fork(() -> {
+            int found = 0;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (!stop.get()) {
+               int index = random.nextInt(KEY_COUNT);
+               InternalCacheEntry<WrappedBytes, WrappedBytes> ice = random.nextBoolean() ?
+                     map.get(keys[index]) : map.peek(keys[index]);
+               if (ice != null) {
+                  // The value always starts with the key, so a torn read would be caught here
+                  assertEquals(keys[index], ice.getKey());
+                  assertValue(keys[index], ice.getValue());
+                  found++;
+               }
+            }
+            return found;
+         }));
+      }
+
+      for (int round = 0; round < 5; ++round) {
+         if (round % 2 == 1) {
+            // Shrinks the memory lookup back to its initial size, so the next round resizes again
+            map.clear();
+         }
+         for (int i = 0; i < KEY_COUNT; ++i) {
+            // Values of different sizes so that blocks are reused by entries of other keys
+            map.put(keys[i], new ImmortalCacheEntry(keys[i], value(keys[i], ThreadLocalRandom.current().nextInt(64))));
+         }
+         for (int i = 0; i < KEY_COUNT; i += 2) {
+            map.remove(keys[i]);
+         }
+      }
+      stop.set(true);
+      for (Future<Integer> reader : readers) {
+         reader.get(10, TimeUnit.SECONDS);
+      }
+
+      for (int i = 0; i < KEY_COUNT; ++i) {
+         InternalCacheEntry<WrappedBytes, WrappedBytes> ice = map.get(keys[i]);
+         if (i % 2 == 0) {
+            assertNull(ice);
+         } else {
+            assertNotNull(ice);
+            assertValue(keys[i], ice.getValue());
+         }
+      }
+   }
+
+   private static WrappedBytes value(WrappedBytes key, int padding) {
+      byte[] bytes = new byte[key.getLength() + padding];
+      System.arraycopy(key.getBytes(), key.backArrayOffset(), bytes, 0, key.getLength());
+      return new WrappedByteArray(bytes);
+   }
+
+   private static void assertValue(WrappedBytes key, WrappedBytes value) {
+      for (int i = 0; i < key.getLength(); ++i) {
+         assertEquals(key.getByte(i), value.getByte(i));
+      }
+   }
+}
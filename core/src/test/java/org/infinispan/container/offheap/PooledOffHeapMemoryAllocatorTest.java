@@ -0,0 +1,142 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "container.offheap.PooledOffHeapMemoryAllocatorTest")
+public class PooledOffHeapMemoryAllocatorTest {
+   private PooledOffHeapMemoryAllocator allocator;
+
+   @BeforeMethod
+   void createAllocator() {
+      allocator = new PooledOffHeapMemoryAllocator(4);
+   }
+
+   @AfterMethod
+   void stopAllocator() {
+      allocator.stop();
+   }
+
+   @DataProvider(name = "sizeClasses")
+   Object[][] sizeClasses() {
+      return new Object[][] {
+            { 1, 16 },
+            { 16, 16 },
+            { 17, 32 },
+            { 250, 256 },
+            { 256, 256 },
+            { 257, 320 },
+            { 513, 640 },
+            { 8193, 10240 },
+            { PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE, PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE },
+      };
+   }
+
+   @Test(dataProvider = "sizeClasses")
+   public void testSizeClasses(long size, int expectedBlockSize) {
+      int sizeClass = PooledOffHeapMemoryAllocator.sizeClass(size);
+      assertTrue(sizeClass < PooledOffHeapMemoryAllocator.SIZE_CLASS_COUNT);
+      assertEquals(expectedBlockSize, PooledOffHeapMemoryAllocator.blockSize(sizeClass));
+   }
+
+   public void testSizeClassesAreContiguous() {
+      int previous = 0;
+      for (int i = 0; i < PooledOffHeapMemoryAllocator.SIZE_CLASS_COUNT; ++i) {
+         int blockSize = PooledOffHeapMemoryAllocator.blockSize(i);
+         assertTrue(blockSize > previous);
+         assertEquals(i, PooledOffHeapMemoryAllocator.sizeClass(blockSize));
+         assertEquals(i, PooledOffHeapMemoryAllocator.sizeClass(previous + 1));
+         previous = blockSize;
+      }
+   }
+
+   public void testFreedBlockIsReused() {
+      long address = allocator.allocate(100);
+      allocator.deallocate(address, 100);
+      // Any size in the same class should reuse the block
+      assertEquals(address, allocator.allocate(112));
+      allocator.deallocate(address, 112);
+   }
+
+   public void testBlocksDoNotOverlap() {
+      Set<Long> addresses = new HashSet<>();
+      int blocks = PooledOffHeapMemoryAllocator.SLAB_SIZE / 64 + 10;
+      for (int i = 0; i < blocks; ++i) {
+         long address = allocator.allocate(64);
+         assertTrue(addresses.add(address));
+         assertEquals(0, address & 15);
+      }
+      assertEquals(2, allocator.getSlabCount());
+      assertEquals(64L * blocks, allocator.getPooledMemoryUsed());
+      for (long address : addresses) {
+         allocator.deallocate(address, 64);
+      }
+      assertEquals(0, allocator.getPooledMemoryUsed());
+      // Slabs are kept for reuse
+      assertEquals(2, allocator.getSlabCount());
+   }
+
+   public void testStatistics() {
+      long address = allocator.allocate(24);
+      long slabMemory = PooledOffHeapMemoryAllocator.regionSize(32);
+      assertEquals(slabMemory, allocator.getAllocatedAmount());
+      assertEquals(32, allocator.getPooledMemoryUsed());
+      assertEquals(0.25, allocator.getFragmentation(), 0.0001);
+      assertEquals(32.0 / slabMemory, allocator.getSlabUtilization(), 0.0001);
+
+      long large = allocator.allocate(PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE + 1);
+      assertEquals(slabMemory +
+                  UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE + 1),
+            allocator.getAllocatedAmount());
+      allocator.deallocate(large, PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE + 1);
+      allocator.deallocate(address, 24);
+
+      assertEquals(slabMemory, allocator.getAllocatedAmount());
+      allocator.stop();
+      assertEquals(0, allocator.getAllocatedAmount());
+   }
+
+   public void testAllocationSize() {
+      // Pooled allocations use the whole block of their size class
+      assertEquals(32, allocator.allocationSize(24));
+      assertEquals(PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE,
+            allocator.allocationSize(PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE));
+      assertEquals(UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE + 1),
+            allocator.allocationSize(PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE + 1));
+   }
+
+   public void testDeallocatedMemoryIsRetained() {
+      assertTrue(allocator.retainsDeallocatedMemory());
+      Set<Long> addresses = new HashSet<>();
+      // Spread the blocks across many slabs of different size classes
+      for (int i = 0; i < 64; ++i) {
+         long size = PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE - i * 200;
+         long address = allocator.allocate(size);
+         assertTrue(allocator.isRetained(address));
+         assertTrue(allocator.isRetained(address + size - 1));
+         allocator.deallocate(address, size);
+         assertTrue(allocator.isRetained(address));
+         addresses.add(address);
+      }
+      long large = allocator.allocate(PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE + 1);
+      assertFalse(allocator.isRetained(large));
+      allocator.deallocate(large, PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE + 1);
+
+      allocator.stop();
+      for (long address : addresses) {
+         assertFalse(allocator.isRetained(address));
+      }
+   }
+}
@@ -0,0 +1,108 @@
+package org.infinispan.distribution;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.transaction.TransactionManager;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestDataSCI;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.transaction.impl.LocalTransaction;
+import org.testng.annotations.Test;
+
+import io.reactivex.rxjava3.core.Flowable;
+
+/**
+ * Tests that {@link AdvancedCache#getAllPublisher(Set, int)} emits the same entries as
+ * {@link AdvancedCache#getAll(Set)}, no matter how many keys are requested from each owner at a time.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "distribution.DistGetAllPublisherTest")
+public class DistGetAllPublisherTest extends MultipleCacheManagersTest {
+   private static final int NUM_KEYS = 100;
+   private static final String TX_CACHE = "tx";
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC);
+      builder.clustering().hash().numOwners(1);
+      createCluster(TestDataSCI.INSTANCE, builder, 3);
+      ConfigurationBuilder txBuilder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, true);
+      txBuilder.clustering().hash().numOwners(1);
+      defineConfigurationOnAllManagers(TX_CACHE, txBuilder);
+      waitForClusterToForm();
+      waitForClusterToForm(TX_CACHE);
+   }
+
+   public void testGetAllPublisher() {
+      Map<Object, String> expected = new HashMap<>();
+      Set<Object> keys = new HashSet<>();
+      for (int i = 0; i < NUM_KEYS; i++) {
+         MagicKey key = new MagicKey(cache(i % 3));
+         keys.add(key);
+         // Leave some keys missing
+         if (i % 5 != 0) {
+            cache(0).put(key, "v" + i);
+            expected.put(key, "v" + i);
+         }
+      }
+
+      for (int maxKeysPerOwner : new int[]{1, 7, NUM_KEYS}) {
+         for (int i = 0; i < 3; i++) {
+            AdvancedCache<Object, String> cache = advancedCache(i);
+            assertEquals(expected, collect(cache, keys, maxKeysPerOwner));
+            assertEquals(cache.getAll(keys), collect(cache, keys, maxKeysPerOwner));
+         }
+      }
+   }
+
+   public void testGetAllPublisherInTransaction() throws Exception {
+      Map<Object, String> expected = new HashMap<>();
+      Set<Object> keys = new HashSet<>();
+      for (int i = 0; i < NUM_KEYS; i++) {
+         MagicKey key = new MagicKey(cache(i % 3, TX_CACHE));
+         keys.add(key);
+         cache(0, TX_CACHE).put(key, "v" + i);
+         expected.put(key, "v" + i);
+      }
+
+      AdvancedCache<Object, String> cache = advancedCache(0, TX_CACHE);
+      TransactionManager tm = cache.getTransactionManager();
+      tm.begin();
+      try {
+         // The chunks after the first one are read from other threads, but still in the transaction
+         assertEquals(expected, collect(cache, keys, 1));
+         LocalTransaction localTx = TestingUtil.getTransactionTable(cache).getLocalTransaction(tm.getTransaction());
+         for (Object key : keys) {
+            assertTrue(String.valueOf(key), localTx.getLookedUpEntries().containsKey(key));
+         }
+      } finally {
+         tm.commit();
+      }
+   }
+
+   public void testGetAllPublisherWithoutKeys() {
+      assertEquals(0, collect(advancedCache(0), new HashSet<>(), 10).size());
+   }
+
+   @Test(expectedExceptions = IllegalArgumentException.class)
+   public void testInvalidMaxKeysPerOwner() {
+      advancedCache(0).getAllPublisher(new HashSet<>(), 0);
+   }
+
+   private Map<Object, String> collect(AdvancedCache<Object, String> cache, Set<Object> keys, int maxKeysPerOwner) {
+      return Flowable.fromPublisher(cache.getAllPublisher(keys, maxKeysPerOwner))
+                     .toMap(Map.Entry::getKey, Map.Entry::getValue)
+                     .blockingGet();
+   }
+}
@@ -0,0 +1,111 @@
+package org.infinispan.distribution;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.remoting.rpc.RpcManager;
+import org.infinispan.remoting.rpc.RpcManagerImpl;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestDataSCI;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the writes sent to the same primary owner are coalesced in a single message, and that each of them still
+ * gets its own return value.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "distribution.DistWriteCoalescingTest")
+public class DistWriteCoalescingTest extends MultipleCacheManagersTest {
+   private static final int WRITERS = 8;
+   private static final int WRITES = 20;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC);
+      builder.clustering()
+            .writeCoalescingDelay(10, TimeUnit.MILLISECONDS)
+            .writeCoalescingMaxBatchSize(WRITERS);
+      createCluster(TestDataSCI.INSTANCE, builder, 3);
+      waitForClusterToForm();
+   }
+
+   public void testConcurrentWritesAreCoalesced() throws Exception {
+      Cache<Object, String> originator = cache(0);
+      Cache<Object, String> primary = cache(1);
+      RpcManagerImpl rpcManager = rpcManager(originator);
+      rpcManager.resetStatistics();
+
+      List<List<MagicKey>> keys = new ArrayList<>();
+      for (int w = 0; w < WRITERS; ++w) {
+         List<MagicKey> writerKeys = new ArrayList<>();
+         for (int i = 0; i < WRITES; ++i) {
+            writerKeys.add(new MagicKey(primary));
+         }
+         keys.add(writerKeys);
+      }
+      List<Future<Void>> writers = new ArrayList<>();
+      for (List<MagicKey> writerKeys : keys) {
+         writers.add(fork(() -> {
+            for (MagicKey key : writerKeys) {
+               assertNull(originator.put(key, "value-" + key));
+            }
+         }));
+      }
+      for (Future<Void> writer : writers) {
+         writer.get(30, TimeUnit.SECONDS);
+      }
+
+      for (List<MagicKey> writerKeys : keys) {
+         for (MagicKey key : writerKeys) {
+            for (Cache<Object, String> cache : this.<Object, String>caches()) {
+               assertEquals("value-" + key, cache.get(key));
+            }
+         }
+      }
+      assertEquals(WRITERS * WRITES, rpcManager.getCoalescedWrites());
+      assertTrue(String.valueOf(rpcManager.getCoalescedWriteBatches()),
+            rpcManager.getCoalescedWriteBatches() < WRITERS * WRITES);
+   }
+
+   public void testEachWriteGetsItsOwnResponse() {
+      Cache<Object, String> originator = cache(0);
+      Cache<Object, String> primary = cache(1);
+      RpcManagerImpl rpcManager = rpcManager(originator);
+      rpcManager.resetStatistics();
+
+      MagicKey existing = new MagicKey(primary);
+      MagicKey missing = new MagicKey(primary);
+      MagicKey replaced = new MagicKey(primary);
+      primary.put(existing, "v0");
+      primary.put(replaced, "v0");
+
+      CompletableFuture<String> putIfAbsentExisting = originator.putIfAbsentAsync(existing, "v1");
+      CompletableFuture<String> putIfAbsentMissing = originator.putIfAbsentAsync(missing, "v1");
+      CompletableFuture<String> replace = originator.putAsync(replaced, "v1");
+      assertEquals("v0", putIfAbsentExisting.join());
+      assertNull(putIfAbsentMissing.join());
+      assertEquals("v0", replace.join());
+
+      assertEquals("v0", primary.get(existing));
+      assertEquals("v1", primary.get(missing));
+      assertEquals("v1", primary.get(replaced));
+      assertEquals(3, rpcManager.getCoalescedWrites());
+      assertEquals(1, rpcManager.getCoalescedWriteBatches());
+   }
+
+   private static RpcManagerImpl rpcManager(Cache<?, ?> cache) {
+      return (RpcManagerImpl) TestingUtil.extractComponent(cache, RpcManager.class);
+   }
+}
@@ -0,0 +1,101 @@
+package org.infinispan.executors;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Basic tests for {@link VirtualThreadExecutor}. Without virtual thread support the executor creates platform
+ * threads, but the limits are the same.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "executors.VirtualThreadExecutorTest")
+public class VirtualThreadExecutorTest extends AbstractInfinispanTest {
+
+   public void testConcurrencyLimit() throws Exception {
+      VirtualThreadExecutor executor = new VirtualThreadExecutor(null, "test", 1, 10);
+      try {
+         CountDownLatch release = new CountDownLatch(1);
+         CompletableFuture<Void> first = CompletableFuture.runAsync(() -> await(release), executor);
+         CompletableFuture<Void> second = CompletableFuture.runAsync(() -> { }, executor);
+
+         eventuallyEquals(1, executor::getRunningTasks);
+         eventuallyEquals(1, executor::getWaitingTasks);
+         assertFalse(second.isDone());
+
+         release.countDown();
+         first.get(10, SECONDS);
+         second.get(10, SECONDS);
+         eventuallyEquals(0, executor::getPendingTasks);
+         assertEquals(1, executor.getLargestRunningTasks());
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   public void testIncreaseMaxConcurrency() throws Exception {
+      VirtualThreadExecutor executor = new VirtualThreadExecutor(null, "test", 1, 10);
+      try {
+         CountDownLatch release = new CountDownLatch(1);
+         CompletableFuture<Void> first = CompletableFuture.runAsync(() -> await(release), executor);
+         eventuallyEquals(1, executor::getRunningTasks);
+         CompletableFuture<Void> second = CompletableFuture.runAsync(() -> { }, executor);
+
+         executor.setMaxConcurrency(2);
+         second.get(10, SECONDS);
+         release.countDown();
+         first.get(10, SECONDS);
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   public void testFullQueueRunsInCallerThread() throws Exception {
+      VirtualThreadExecutor executor = new VirtualThreadExecutor(null, "test", 1, 1);
+      try {
+         CountDownLatch release = new CountDownLatch(1);
+         executor.execute(() -> await(release));
+         executor.execute(() -> { });
+         eventuallyEquals(2, executor::getPendingTasks);
+
+         // The caller is not a non-blocking thread, so the rejected task runs in the caller
+         Thread[] taskThread = new Thread[1];
+         executor.execute(() -> taskThread[0] = Thread.currentThread());
+         assertSame(Thread.currentThread(), taskThread[0]);
+         release.countDown();
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   @Test(expectedExceptions = RejectedExecutionException.class)
+   public void testShutdown() throws Exception {
+      VirtualThreadExecutor executor = new VirtualThreadExecutor(null, "test", 1, 1);
+      CountDownLatch release = new CountDownLatch(1);
+      executor.execute(() -> await(release));
+      executor.shutdown();
+      assertFalse(executor.awaitTermination(10, MILLISECONDS));
+      release.countDown();
+      assertTrue(executor.awaitTermination(10, SECONDS));
+      executor.execute(() -> { });
+   }
+
+   private static void await(CountDownLatch latch) {
+      try {
+         assertTrue(latch.await(10, SECONDS));
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+}
@@ -0,0 +1,77 @@
+package org.infinispan.expiration.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.util.ControlledTimeService;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the expiration reaper only processes a slice of the segments on each run when
+ * {@link org.infinispan.configuration.cache.ExpirationConfiguration#segmentsPerInterval()} is set.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "expiration.impl.ClusterExpirationSegmentSliceTest")
+public class ClusterExpirationSegmentSliceTest extends MultipleCacheManagersTest {
+   private static final int NUM_SEGMENTS = 32;
+   private static final int SEGMENTS_PER_INTERVAL = 4;
+   private static final int ENTRIES = 500;
+
+   private final ControlledTimeService timeService = new ControlledTimeService();
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC).hash().numSegments(NUM_SEGMENTS);
+      // The reaper is enabled but never runs on its own, the test drives it
+      builder.expiration().wakeUpInterval(1, TimeUnit.DAYS).segmentsPerInterval(SEGMENTS_PER_INTERVAL);
+      createCluster(builder, 2);
+      waitForClusterToForm();
+      for (int i = 0; i < 2; ++i) {
+         TestingUtil.replaceComponent(manager(i), TimeService.class, timeService, true);
+      }
+   }
+
+   public void testEntriesExpireIncrementally() {
+      Cache<Object, Object> cache = cache(0);
+      for (int i = 0; i < ENTRIES; ++i) {
+         cache.put("key-" + i, "value-" + i, 10, TimeUnit.MILLISECONDS);
+      }
+      timeService.advance(11);
+
+      ClusterExpirationManager<?, ?> manager0 = expirationManager(0);
+      ClusterExpirationManager<?, ?> manager1 = expirationManager(1);
+      manager0.processExpirationSlice();
+      manager1.processExpirationSlice();
+      // Every entry is stored on both nodes
+      int remaining = containerSize();
+      assertTrue("Only a slice of the segments should have been processed, " + remaining + " entries remain",
+            remaining > 0 && remaining < 2 * ENTRIES);
+
+      // A full rotation over all the segments removes the rest
+      for (int i = 1; i < NUM_SEGMENTS / SEGMENTS_PER_INTERVAL; ++i) {
+         manager0.processExpirationSlice();
+         manager1.processExpirationSlice();
+      }
+      assertEquals(0, containerSize());
+      assertEquals(ENTRIES, manager0.getReclaimedEntries() + manager1.getReclaimedEntries());
+   }
+
+   private int containerSize() {
+      return advancedCache(0).getDataContainer().sizeIncludingExpired() +
+            advancedCache(1).getDataContainer().sizeIncludingExpired();
+   }
+
+   private ClusterExpirationManager<?, ?> expirationManager(int index) {
+      return (ClusterExpirationManager<?, ?>) TestingUtil.extractComponent(cache(index), InternalExpirationManager.class);
+   }
+}
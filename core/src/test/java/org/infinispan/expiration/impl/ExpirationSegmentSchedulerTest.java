@@ -0,0 +1,104 @@
+package org.infinispan.expiration.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
+import org.testng.annotations.Test;
+
+/**
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "expiration.impl.ExpirationSegmentSchedulerTest")
+public class ExpirationSegmentSchedulerTest {
+   private static final int NUM_SEGMENTS = 16;
+   private static final long WAKE_UP_INTERVAL = 1000;
+
+   public void testRoundRobinCoversAllSegments() {
+      ExpirationSegmentScheduler scheduler = new ExpirationSegmentScheduler(NUM_SEGMENTS, 4, WAKE_UP_INTERVAL);
+      IntSet all = IntSets.immutableRangeSet(NUM_SEGMENTS);
+      IntSet scanned = IntSets.mutableEmptySet(NUM_SEGMENTS);
+      for (int i = 0; i < NUM_SEGMENTS / 4; ++i) {
+         IntSet slice = scheduler.nextSlice(all, 0);
+         assertEquals(4, slice.size());
+         // Segments without any entries are not due anymore once scanned
+         slice.forEach((int segment) -> scheduler.startScan(segment, 0).finish(true));
+         scanned.addAll(slice);
+      }
+      assertEquals(NUM_SEGMENTS, scanned.size());
+      assertEquals(1, scheduler.completedRotations());
+   }
+
+   public void testDueSegmentsArePrioritized() {
+      ExpirationSegmentScheduler scheduler = new ExpirationSegmentScheduler(NUM_SEGMENTS, 4, WAKE_UP_INTERVAL);
+      IntSet all = IntSets.immutableRangeSet(NUM_SEGMENTS);
+      long time = 0;
+      for (int segment = 0; segment < NUM_SEGMENTS; ++segment) {
+         ExpirationSegmentScheduler.SegmentScan scan = scheduler.startScan(segment, time);
+         if (segment == 10) {
+            scan.retained(500);
+            scan.retained(600);
+         } else if (segment == 13) {
+            scan.retained(700);
+         } else {
+            scan.retained(-1);
+         }
+         scan.finish(true);
+      }
+
+      time = 800;
+      IntSet slice = scheduler.nextSlice(all, time);
+      assertEquals(2, scheduler.backlog());
+      assertEquals(4, slice.size());
+      assertTrue(slice.contains(10));
+      assertTrue(slice.contains(13));
+      // The rest of the slice comes from the round robin
+      assertTrue(slice.contains(0));
+      assertTrue(slice.contains(1));
+   }
+
+   public void testDueSegmentsNotPrioritizedWithTimerWheel() {
+      ExpirationSegmentScheduler scheduler = new ExpirationSegmentScheduler(NUM_SEGMENTS, 4, WAKE_UP_INTERVAL, false);
+      IntSet all = IntSets.immutableRangeSet(NUM_SEGMENTS);
+      // The timer wheel scans never record the retained entries
+      for (int segment = 0; segment < NUM_SEGMENTS; ++segment) {
+         scheduler.startScan(segment, 0).finish(true);
+      }
+
+      IntSet slice = scheduler.nextSlice(all, 800);
+      assertEquals(0, scheduler.backlog());
+      assertEquals(4, slice.size());
+      assertTrue(slice.contains(0));
+      assertTrue(slice.contains(3));
+      slice = scheduler.nextSlice(all, 800);
+      assertTrue(slice.contains(4));
+      assertTrue(slice.contains(7));
+   }
+
+   public void testIncompleteScanIsNotRecorded() {
+      ExpirationSegmentScheduler scheduler = new ExpirationSegmentScheduler(NUM_SEGMENTS, 2, WAKE_UP_INTERVAL);
+      ExpirationSegmentScheduler.SegmentScan scan = scheduler.startScan(3, 0);
+      scan.reclaimed();
+      scan.retained(10_000);
+      scan.finish(false);
+      assertEquals(1, scheduler.reclaimedEntries());
+
+      // The segment was never fully scanned, so it is still due
+      scheduler.nextSlice(IntSets.immutableRangeSet(NUM_SEGMENTS), 1);
+      assertEquals(NUM_SEGMENTS, scheduler.backlog());
+   }
+
+   public void testOnlyEligibleSegmentsAreSelected() {
+      ExpirationSegmentScheduler scheduler = new ExpirationSegmentScheduler(NUM_SEGMENTS, 4, WAKE_UP_INTERVAL);
+      IntSet eligible = IntSets.mutableEmptySet(NUM_SEGMENTS);
+      eligible.set(2);
+      eligible.set(5);
+      eligible.set(11);
+      IntSet slice = scheduler.nextSlice(eligible, 0);
+      assertEquals(eligible, slice);
+      assertFalse(slice.contains(0));
+      assertEquals(0.0, scheduler.rotationProgress(), 0.0);
+   }
+}
@@ -5,6 +5,7 @@
 import static org.mockito.Mockito.mock;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -15,13 +16,16 @@
 
 import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commands.control.LockControlCommand;
+import org.infinispan.commands.read.GetCacheEntryCommand;
 import org.infinispan.commands.read.GetKeyValueCommand;
+import org.infinispan.commands.write.PutKeyValueCommand;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.SingleKeyNonTxInvocationContext;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.interceptors.AsyncInterceptor;
 import org.infinispan.interceptors.AsyncInterceptorChain;
 import org.infinispan.interceptors.BaseAsyncInterceptor;
+import org.infinispan.interceptors.DDAsyncInterceptor;
 import org.infinispan.interceptors.InvocationSuccessFunction;
 import org.infinispan.test.AbstractInfinispanTest;
 import org.infinispan.test.TestException;
@@ -366,6 +370,62 @@ public Object visitCommand(InvocationContext ctx, VisitableCommand command) thro
       assertEquals("v1 v2", invokeFuture.getNow(null));
    }
 
+   public void testPassThroughInterceptorIsSkippedForReads() {
+      AsyncInterceptorChain chain = newInterceptorChain(new BaseAsyncInterceptor() {
+         @Override
+         public Object visitCommand(InvocationContext ctx, VisitableCommand command) throws Throwable {
+            return invokeNext(ctx, command);
+         }
+      }, new BaseAsyncInterceptor() {
+         @Override
+         public boolean isPassThrough(Class<? extends VisitableCommand> commandType) {
+            return commandType == GetKeyValueCommand.class || commandType == GetCacheEntryCommand.class;
+         }
+
+         @Override
+         public Object visitCommand(InvocationContext ctx, VisitableCommand command) throws Throwable {
+            return "skipped";
+         }
+      }, new BaseAsyncInterceptor() {
+         @Override
+         public Object visitCommand(InvocationContext ctx, VisitableCommand command) throws Throwable {
+            return "v1";
+         }
+      });
+      InvocationContext context = newInvocationContext();
+
+      assertEquals("v1", chain.invoke(context, testCommand));
+      assertEquals("skipped", chain.invoke(context, testSubCommand));
+   }
+
+   public void testDDInterceptorPassThrough() {
+      DDAsyncInterceptor passThrough = new DDAsyncInterceptor() {
+         @Override
+         public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand command) {
+            return null;
+         }
+      };
+      assertTrue(passThrough.isPassThrough(GetKeyValueCommand.class));
+      assertFalse(passThrough.isPassThrough(PutKeyValueCommand.class));
+
+      DDAsyncInterceptor visitsReads = new DDAsyncInterceptor() {
+         @Override
+         public Object visitGetKeyValueCommand(InvocationContext ctx, GetKeyValueCommand command) {
+            return null;
+         }
+      };
+      assertFalse(visitsReads.isPassThrough(GetKeyValueCommand.class));
+      assertTrue(visitsReads.isPassThrough(GetCacheEntryCommand.class));
+
+      DDAsyncInterceptor handlesAll = new DDAsyncInterceptor() {
+         @Override
+         protected Object handleDefault(InvocationContext ctx, VisitableCommand command) {
+            return null;
+         }
+      };
+      assertFalse(handlesAll.isPassThrough(GetKeyValueCommand.class));
+   }
+
    private Object awaitFuture(CompletableFuture<Object> f2) {
       try {
          return f2.get(10, SECONDS);
@@ -3,6 +3,7 @@
 import static org.infinispan.test.TestingUtil.extractGlobalMarshaller;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
 import static org.testng.internal.junit.ArrayAsserts.assertArrayEquals;
 
 import java.io.ByteArrayInputStream;
@@ -372,6 +373,40 @@ public void testErrorUnmarshalling() throws Exception {
       marshaller.objectFromByteBuffer(bytes);
    }
 
+   public void testUserObjectMarshalledInPlace() throws Exception {
+      // The user objects are marshalled straight into the buffer of the enclosing object, prefixed by their length
+      marshallAndAssertEquality(new Key("key"));
+      PutKeyValueCommand cmd = new PutKeyValueCommand(new Key("key"), new Key("value"), false,
+            new EmbeddedMetadata.Builder().build(), 0, EnumUtil.EMPTY_BIT_SET, CommandInvocationId.generateId(null));
+      marshallAndAssertEquality(cmd);
+   }
+
+   public void testUserObjectMarshalledInPlaceGrowsBuffer() throws Exception {
+      // The buffer grows while the large key is written, after its length prefix has been reserved
+      char[] chars = new char[64 * 1024];
+      Arrays.fill(chars, 'a');
+      List<Key> keys = new ArrayList<>(Arrays.asList(new Key("before"), new Key(new String(chars)), new Key("after")));
+      marshallAndAssertEquality(keys);
+   }
+
+   public void testUserObjectMarshallingFailureKeepsCause() throws Exception {
+      try {
+         marshaller.objectToByteBuffer(new BrokenMarshallingPojo());
+         fail("Marshalling should have failed");
+      } catch (MarshallingException e) {
+         // The original exception is propagated as it is
+         assertEquals(BrokenMarshallingPojo.class.getName(), e.getStackTrace()[0].getClassName());
+      }
+
+      try {
+         marshaller.objectToByteBuffer(new PojoWhichFailsOnMarshalling());
+         fail("Marshalling should have failed");
+      } catch (MarshallingException e) {
+         assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof IllegalStateException);
+         assertEquals("Injected failure!", e.getCause().getMessage());
+      }
+   }
+
    public void testErrorUnmarshallInputStreamAvailable() throws Exception {
       byte[] bytes = marshaller.objectToByteBuffer("23");
       Object o = marshaller.objectFromInputStream(new ByteArrayInputStream(bytes){
@@ -759,12 +794,23 @@ public Integer getId() {
       }
    }
 
+   public static class PojoWhichFailsOnMarshalling {
+      @ProtoField(number = 1, defaultValue = "0")
+      public int getValue() {
+         throw new IllegalStateException("Injected failure!");
+      }
+
+      public void setValue(int value) {
+      }
+   }
+
    @AutoProtoSchemaBuilder(
          includeClasses = {
                Key.class,
                VersionAwareMarshallerTest.Human.class,
                VersionAwareMarshallerTest.Pojo.class,
                VersionAwareMarshallerTest.PojoExtended.class,
+               VersionAwareMarshallerTest.PojoWhichFailsOnMarshalling.class,
                VersionAwareMarshallerTest.PojoWithExternalAndInternal.class
          },
          schemaFileName = "test.core.VersionAwareMarshallerTest.proto",
@@ -0,0 +1,126 @@
+package org.infinispan.notifications.cachelistener.cluster;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.MagicKey;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.cluster.impl.BatchingClusterEventManagerImpl;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestDataSCI;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the events of async cluster listeners are batched per node when a cluster listener batch delay is
+ * configured, and that listeners with {@link Listener#coalesceClusterEvents()} only receive the latest event for
+ * each key.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "notifications.cachelistener.cluster.ClusterListenerBatchingTest")
+public class ClusterListenerBatchingTest extends MultipleCacheManagersTest {
+   private static final long BATCH_DELAY_MILLIS = 2000;
+   private static final int WRITES = 5;
+
+   @Listener(clustered = true, sync = false)
+   public static class AllEventsListener {
+      final List<CacheEntryEvent<Object, Object>> events = Collections.synchronizedList(new ArrayList<>());
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      public void onEvent(CacheEntryEvent<Object, Object> event) {
+         events.add(event);
+      }
+   }
+
+   @Listener(clustered = true, sync = false, coalesceClusterEvents = true)
+   public static class LatestEventListener extends AllEventsListener {
+   }
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      builder.clustering().hash().numOwners(1)
+             .clusterListenerBatchDelay(BATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+      createCluster(TestDataSCI.INSTANCE, builder, 3);
+      waitForClusterToForm();
+   }
+
+   public void testEventsBatchedAndCoalesced() {
+      AllEventsListener allEvents = new AllEventsListener();
+      LatestEventListener latestEvent = new LatestEventListener();
+      cache(0).addListener(allEvents);
+      cache(0).addListener(latestEvent);
+
+      // The coalescing flag is sent to the owners with the listener
+      assertCoalesceFlags(cache(1), address(0));
+
+      BatchingClusterEventManagerImpl<?, ?> eventManager = eventManager(cache(1));
+      long sentBatches = eventManager.getSentBatches();
+      long coalescedEvents = eventManager.getCoalescedEvents();
+
+      MagicKey key = new MagicKey(cache(1));
+      for (int i = 0; i < WRITES; i++) {
+         cache(1).put(key, "v" + i);
+      }
+
+      eventually(() -> allEvents.events.size() == WRITES);
+      eventually(() -> !latestEvent.events.isEmpty());
+      for (int i = 0; i < WRITES; i++) {
+         assertEquals("v" + i, allEvents.events.get(i).getValue());
+      }
+      assertEquals(1, latestEvent.events.size());
+      assertEquals("v" + (WRITES - 1), latestEvent.events.get(0).getValue());
+
+      // The events of both listeners were sent in a single message
+      assertEquals(sentBatches + 1, eventManager.getSentBatches());
+      assertEquals(coalescedEvents + WRITES - 1, eventManager.getCoalescedEvents());
+   }
+
+   public void testDelayedEventsDroppedWhenNodeLeaves() {
+      AllEventsListener listener = new AllEventsListener();
+      cache(2).addListener(listener);
+      Address address2 = address(2);
+
+      cache(1).put(new MagicKey(cache(1)), "value");
+      BatchingClusterEventManagerImpl<?, ?> eventManager = eventManager(cache(1));
+      Map<Address, ?> delayedEvents = TestingUtil.extractField(eventManager, "delayedEvents");
+      eventually(() -> delayedEvents.containsKey(address2));
+
+      killMember(2);
+      eventually(() -> !delayedEvents.containsKey(address2));
+   }
+
+   private void assertCoalesceFlags(Cache<?, ?> cache, Address origin) {
+      int remoteListeners = 0;
+      int coalescing = 0;
+      for (Object listener : cache.getListeners()) {
+         if (listener instanceof RemoteClusterListener &&
+               ((RemoteClusterListener) listener).getOwnerAddress().equals(origin)) {
+            remoteListeners++;
+            if (((RemoteClusterListener) listener).isCoalesce()) {
+               coalescing++;
+            }
+         }
+      }
+      assertEquals(2, remoteListeners);
+      assertEquals(1, coalescing);
+   }
+
+   private BatchingClusterEventManagerImpl<?, ?> eventManager(Cache<?, ?> cache) {
+      return (BatchingClusterEventManagerImpl<?, ?>) TestingUtil.extractComponent(cache, ClusterEventManager.class);
+   }
+}
@@ -0,0 +1,118 @@
+package org.infinispan.notifications.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import org.infinispan.notifications.Listener;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.util.concurrent.CompletionStages;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link AsyncListenerQueue}.
+ *
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "notifications.impl.AsyncListenerQueueTest")
+public class AsyncListenerQueueTest extends AbstractInfinispanTest {
+
+   public void testEventsAreDeliveredInOrderByOneTask() {
+      ManualExecutor executor = new ManualExecutor();
+      AsyncListenerQueue queue = new AsyncListenerQueue(executor, 0, Listener.OverflowPolicy.BLOCK);
+      List<String> delivered = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+         String event = "e" + i;
+         assertTrue(CompletionStages.isCompletedSuccessfully(queue.offer("k", () -> delivered.add(event))));
+      }
+      assertEquals(1, executor.tasks.size());
+      assertEquals(10, queue.size());
+
+      executor.runAll();
+      assertEquals(Arrays.asList("e0", "e1", "e2", "e3", "e4", "e5", "e6", "e7", "e8", "e9"), delivered);
+      assertEquals(0, queue.size());
+   }
+
+   public void testBlock() {
+      ManualExecutor executor = new ManualExecutor();
+      AsyncListenerQueue queue = new AsyncListenerQueue(executor, 2, Listener.OverflowPolicy.BLOCK);
+      List<String> delivered = new ArrayList<>();
+      queue.offer("k1", () -> delivered.add("e1"));
+      queue.offer("k2", () -> delivered.add("e2"));
+      CompletionStage<Void> blocked = queue.offer("k3", () -> delivered.add("e3"));
+      assertFalse(blocked.toCompletableFuture().isDone());
+      assertEquals(3, queue.size());
+
+      executor.runAll();
+      assertTrue(CompletionStages.isCompletedSuccessfully(blocked));
+      assertEquals(Arrays.asList("e1", "e2", "e3"), delivered);
+   }
+
+   public void testDropOldest() {
+      ManualExecutor executor = new ManualExecutor();
+      AsyncListenerQueue queue = new AsyncListenerQueue(executor, 2, Listener.OverflowPolicy.DROP_OLDEST);
+      List<String> delivered = new ArrayList<>();
+      for (int i = 1; i <= 4; i++) {
+         String event = "e" + i;
+         assertTrue(CompletionStages.isCompletedSuccessfully(queue.offer("k" + i, () -> delivered.add(event))));
+      }
+      assertEquals(2, queue.droppedEvents());
+
+      executor.runAll();
+      assertEquals(Arrays.asList("e3", "e4"), delivered);
+   }
+
+   public void testCoalesceByKey() {
+      ManualExecutor executor = new ManualExecutor();
+      AsyncListenerQueue queue = new AsyncListenerQueue(executor, 2, Listener.OverflowPolicy.COALESCE_BY_KEY);
+      List<String> delivered = new ArrayList<>();
+      queue.offer("k1", () -> delivered.add("k1-v1"));
+      queue.offer("k2", () -> delivered.add("k2-v1"));
+      assertTrue(CompletionStages.isCompletedSuccessfully(queue.offer("k1", () -> delivered.add("k1-v2"))));
+      assertEquals(1, queue.coalescedEvents());
+      // An event for a key without a queued event has to wait
+      CompletionStage<Void> blocked = queue.offer("k3", () -> delivered.add("k3-v1"));
+      assertFalse(blocked.toCompletableFuture().isDone());
+
+      executor.runAll();
+      assertTrue(CompletionStages.isCompletedSuccessfully(blocked));
+      assertEquals(Arrays.asList("k1-v2", "k2-v1", "k3-v1"), delivered);
+   }
+
+   public void testNewDrainTaskAfterQueueIsEmpty() {
+      ManualExecutor executor = new ManualExecutor();
+      AsyncListenerQueue queue = new AsyncListenerQueue(executor, 0, Listener.OverflowPolicy.BLOCK);
+      List<String> delivered = new ArrayList<>();
+      queue.offer(null, () -> delivered.add("e1"));
+      queue.offer(null, () -> delivered.add("e2"));
+      executor.runAll();
+      queue.offer(null, () -> delivered.add("e3"));
+      assertEquals(1, executor.tasks.size());
+      executor.runAll();
+      assertEquals(Arrays.asList("e1", "e2", "e3"), delivered);
+   }
+
+   private static class ManualExecutor implements Executor {
+      final Queue<Runnable> tasks = new ArrayDeque<>();
+
+      @Override
+      public void execute(Runnable command) {
+         tasks.add(command);
+      }
+
+      void runAll() {
+         Runnable task;
+         while ((task = tasks.poll()) != null) {
+            task.run();
+         }
+      }
+   }
+}
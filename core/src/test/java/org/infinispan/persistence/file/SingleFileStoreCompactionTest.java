@@ -0,0 +1,163 @@
+package org.infinispan.persistence.file;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.commons.test.CommonsTestingUtil;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.persistence.impl.MarshalledEntryUtil;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the compaction of the {@link SingleFileStore}, which moves the entries at the end of the file into the free
+ * space before them.
+ *
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "persistence.file.SingleFileStoreCompactionTest")
+public class SingleFileStoreCompactionTest extends SingleCacheManagerTest {
+   private static final String MANUAL_CACHE_NAME = "manualCompaction";
+   private static final String BACKGROUND_CACHE_NAME = "backgroundCompaction";
+   private static final int ENTRIES = 100;
+
+   private String location;
+
+   @Override
+   protected void teardown() {
+      super.teardown();
+      Util.recursiveFileRemove(location);
+   }
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      location = CommonsTestingUtil.tmpDirectory(SingleFileStoreCompactionTest.class);
+      GlobalConfigurationBuilder globalBuilder = new GlobalConfigurationBuilder().nonClusteredDefault();
+      globalBuilder.globalState().enable().persistentLocation(location);
+
+      ConfigurationBuilder manual = new ConfigurationBuilder();
+      manual.persistence().addSingleFileStore().purgeOnStartup(true).segmented(false).compactionThreshold(1);
+      ConfigurationBuilder background = new ConfigurationBuilder();
+      background.persistence().addSingleFileStore().purgeOnStartup(true).segmented(false).compactionThreshold(0.5f);
+
+      EmbeddedCacheManager cacheManager = TestCacheManagerFactory.createCacheManager(globalBuilder, new ConfigurationBuilder());
+      cacheManager.defineConfiguration(MANUAL_CACHE_NAME, manual.build());
+      cacheManager.defineConfiguration(BACKGROUND_CACHE_NAME, background.build());
+      return cacheManager;
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testZeroCompactionThreshold() {
+      new ConfigurationBuilder().persistence().addSingleFileStore().compactionThreshold(0).build();
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testCompactionThresholdAboveOne() {
+      new ConfigurationBuilder().persistence().addSingleFileStore().compactionThreshold(1.5f).build();
+   }
+
+   public void testCompactionTruncatesFile() {
+      Cache<String, String> cache = cacheManager.getCache(MANUAL_CACHE_NAME);
+      SingleFileStore<String, String> store = TestingUtil.getFirstWriter(cache);
+      populate(store, cache, 0);
+      long fileSize = store.getFileSize();
+
+      // Free the first half of the file, which can't be truncated
+      for (int i = 0; i < ENTRIES / 2; i++) {
+         store.delete(key(i));
+      }
+      store.purge(null, null);
+      assertEquals(fileSize, store.getFileSize());
+
+      store.compact();
+      // The last moved entries may not split the free space they are moved to
+      assertTrue("File size " + store.getFileSize() + " is not much smaller than " + fileSize,
+            store.getFileSize() < fileSize * 3 / 4);
+      assertEquals(ENTRIES / 2, store.size());
+      for (int i = ENTRIES / 2; i < ENTRIES; i++) {
+         assertValue(store, i, 0);
+      }
+   }
+
+   public void testBackgroundCompaction() {
+      Cache<String, String> cache = cacheManager.getCache(BACKGROUND_CACHE_NAME);
+      SingleFileStore<String, String> store = TestingUtil.getFirstWriter(cache);
+      populate(store, cache, 0);
+      long fileSize = store.getFileSize();
+
+      for (int i = 0; i < ENTRIES * 3 / 4; i++) {
+         store.delete(key(i));
+      }
+      eventually(() -> store.getFileSize() < fileSize / 2);
+      for (int i = ENTRIES * 3 / 4; i < ENTRIES; i++) {
+         assertValue(store, i, 0);
+      }
+   }
+
+   public void testWritesDuringCompaction() throws Exception {
+      Cache<String, String> cache = cacheManager.getCache(MANUAL_CACHE_NAME);
+      SingleFileStore<String, String> store = TestingUtil.getFirstWriter(cache);
+      populate(store, cache, 0);
+
+      AtomicBoolean stop = new AtomicBoolean();
+      Future<Void> compactor = fork(() -> {
+         while (!stop.get()) {
+            store.compact();
+         }
+      });
+      // Rewrite the entries in reverse order, so that their space is freed while they are moved
+      for (int round = 1; round <= 10; round++) {
+         for (int i = ENTRIES - 1; i >= 0; i--) {
+            if (i % 3 == 0) {
+               store.delete(key(i));
+            } else {
+               store.write(MarshalledEntryUtil.create(key(i), value(i, round), cache));
+            }
+         }
+      }
+      stop.set(true);
+      compactor.get(10, TimeUnit.SECONDS);
+
+      store.compact();
+      for (int i = 0; i < ENTRIES; i++) {
+         if (i % 3 == 0) {
+            assertEquals(null, store.loadEntry(key(i)));
+         } else {
+            assertValue(store, i, 10);
+         }
+      }
+   }
+
+   private void populate(SingleFileStore<String, String> store, Cache<String, String> cache, int round) {
+      for (int i = 0; i < ENTRIES; i++) {
+         store.write(MarshalledEntryUtil.create(key(i), value(i, round), cache));
+      }
+   }
+
+   private void assertValue(SingleFileStore<String, String> store, int i, int round) {
+      MarshallableEntry<String, String> entry = store.loadEntry(key(i));
+      assertNotNull(key(i), entry);
+      assertEquals(value(i, round), entry.getValue());
+   }
+
+   private static String key(int i) {
+      return String.format("key-%03d", i);
+   }
+
+   private static String value(int i, int round) {
+      return String.format("value-%03d-%02d", i, round);
+   }
+}
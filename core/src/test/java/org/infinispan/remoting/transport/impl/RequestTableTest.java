@@ -0,0 +1,84 @@
+package org.infinispan.remoting.transport.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link RequestTable}.
+ *
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "remoting.transport.impl.RequestTableTest")
+public class RequestTableTest extends AbstractInfinispanTest {
+
+   public void testSequentialIds() {
+      RequestTable table = new RequestTable(4);
+      Map<Long, Request<?>> expected = new HashMap<>();
+      // Keep a few old requests while adding and removing many others, like a slow request would
+      for (long id = 1; id <= 10_000; id++) {
+         Request<?> request = request(id);
+         assertNull(table.putIfAbsent(id, request));
+         expected.put(id, request);
+         if (id % 100 != 0 && id > 10) {
+            table.remove(id - 10);
+            expected.remove(id - 10);
+         }
+      }
+      assertContents(table, expected);
+   }
+
+   public void testRandomIds() {
+      RequestTable table = new RequestTable(2);
+      Map<Long, Request<?>> expected = new HashMap<>();
+      Random random = new Random(42);
+      for (int i = 0; i < 100_000; i++) {
+         // A small range of ids makes collisions and removals of the same id frequent
+         long id = 1 + random.nextInt(512);
+         if (random.nextBoolean()) {
+            Request<?> request = request(id);
+            Request<?> existing = table.putIfAbsent(id, request);
+            assertSame(expected.get(id), existing);
+            expected.putIfAbsent(id, request);
+         } else {
+            table.remove(id);
+            expected.remove(id);
+         }
+      }
+      assertContents(table, expected);
+   }
+
+   public void testRemoveAll() {
+      RequestTable table = new RequestTable(1);
+      for (long id = 1; id <= 1000; id++) {
+         table.putIfAbsent(id, request(id));
+      }
+      for (long id = 1000; id >= 1; id--) {
+         table.remove(id);
+      }
+      assertEquals(0, table.values().size());
+      for (long id = 1; id <= 1000; id++) {
+         assertNull(table.get(id));
+      }
+   }
+
+   private static void assertContents(RequestTable table, Map<Long, Request<?>> expected) {
+      for (Map.Entry<Long, Request<?>> entry : expected.entrySet()) {
+         assertSame(entry.getValue(), table.get(entry.getKey()));
+      }
+      assertEquals(new HashSet<>(expected.values()), new HashSet<>(table.values()));
+      assertEquals(expected.size(), table.values().size());
+   }
+
+   private static Request<?> request(long id) {
+      return new SingleTargetRequest<>(null, id, null, null);
+   }
+}
@@ -0,0 +1,79 @@
+package org.infinispan.remoting.transport.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.distribution.TestAddress;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link ResponseTimeTracker}.
+ *
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "remoting.transport.impl.ResponseTimeTrackerTest")
+public class ResponseTimeTrackerTest extends AbstractInfinispanTest {
+   private final Address a = new TestAddress(0, "A");
+   private final Address b = new TestAddress(1, "B");
+   private final Address c = new TestAddress(2, "C");
+
+   public void testNoEstimateWithoutEnoughSamples() {
+      ResponseTimeTracker tracker = new ResponseTimeTracker();
+      assertEquals(-1, tracker.percentile(a, 0.95));
+      for (int i = 0; i < ResponseTimeTracker.MIN_SAMPLES - 1; i++) {
+         tracker.record(a, TimeUnit.MILLISECONDS.toNanos(1));
+      }
+      assertEquals(-1, tracker.percentile(a, 0.95));
+      tracker.record(a, TimeUnit.MILLISECONDS.toNanos(1));
+      assertTrue(tracker.percentile(a, 0.95) >= TimeUnit.MILLISECONDS.toNanos(1));
+   }
+
+   public void testPercentile() {
+      ResponseTimeTracker tracker = new ResponseTimeTracker();
+      // 90 fast responses and 10 slow ones
+      for (int i = 0; i < 90; i++) {
+         tracker.record(a, TimeUnit.MICROSECONDS.toNanos(100));
+      }
+      for (int i = 0; i < 10; i++) {
+         tracker.record(a, TimeUnit.MILLISECONDS.toNanos(50));
+      }
+      long p50 = tracker.percentile(a, 0.5);
+      assertTrue(p50 >= TimeUnit.MICROSECONDS.toNanos(100));
+      assertTrue(p50 <= TimeUnit.MICROSECONDS.toNanos(200));
+      long p95 = tracker.percentile(a, 0.95);
+      assertTrue(p95 >= TimeUnit.MILLISECONDS.toNanos(50));
+      assertTrue(p95 <= TimeUnit.MILLISECONDS.toNanos(100));
+   }
+
+   public void testOldSamplesDecay() {
+      ResponseTimeTracker tracker = new ResponseTimeTracker();
+      for (int i = 0; i < ResponseTimeTracker.DECAY_INTERVAL; i++) {
+         tracker.record(a, TimeUnit.MILLISECONDS.toNanos(50));
+      }
+      // After a few decay intervals the node is fast again
+      for (int i = 0; i < 4 * ResponseTimeTracker.DECAY_INTERVAL; i++) {
+         tracker.record(a, TimeUnit.MICROSECONDS.toNanos(100));
+      }
+      assertTrue(tracker.percentile(a, 0.95) <= TimeUnit.MICROSECONDS.toNanos(200));
+   }
+
+   public void testOrderByResponseTime() {
+      ResponseTimeTracker tracker = new ResponseTimeTracker();
+      for (int i = 0; i < ResponseTimeTracker.MIN_SAMPLES; i++) {
+         tracker.record(a, TimeUnit.MILLISECONDS.toNanos(10));
+         tracker.record(b, TimeUnit.MILLISECONDS.toNanos(1));
+      }
+      // c has no estimate, so it goes first
+      assertEquals(Arrays.asList(c, b, a), tracker.orderByResponseTime(Arrays.asList(c, a, b), 0.95));
+
+      tracker.retainAll(Collections.singleton(a));
+      assertEquals(-1, tracker.percentile(b, 0.95));
+      assertEquals(Arrays.asList(c, b, a), tracker.orderByResponseTime(Arrays.asList(c, a, b), 0.95));
+   }
+}
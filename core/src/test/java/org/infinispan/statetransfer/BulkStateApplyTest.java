@@ -0,0 +1,193 @@
+package org.infinispan.statetransfer;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.DistributionInfo;
+import org.infinispan.factories.impl.BasicComponentRegistry;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.manager.PersistenceManagerImpl;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.transaction.TransactionMode;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the state received by a joiner is written directly in the data container and in the stores with
+ * {@code bulkApply} enabled. The entries the sender has only in the store are written only in the store.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "statetransfer.BulkStateApplyTest")
+public class BulkStateApplyTest extends MultipleCacheManagersTest {
+   private static final int NUM_KEYS = 100;
+
+   public BulkStateApplyTest() {
+      cleanup = CleanupPhase.AFTER_METHOD;
+   }
+
+   @Override
+   public Object[] factory() {
+      return new Object[]{
+            new BulkStateApplyTest().cacheMode(CacheMode.DIST_SYNC),
+            new BulkStateApplyTest().cacheMode(CacheMode.REPL_SYNC),
+      };
+   }
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createCluster(configuration(), 1);
+   }
+
+   private ConfigurationBuilder configuration() {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(cacheMode, false);
+      builder.clustering().hash().numOwners(2).stateTransfer().bulkApply(true).chunkSize(10);
+      builder.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class).fetchPersistentState(true);
+      return builder;
+   }
+
+   public void testJoinerReceivesState() {
+      Cache<Object, Object> cache0 = cache(0);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache0.put("k" + i, "v" + i, 10, MINUTES);
+      }
+
+      addClusterEnabledCacheManager(configuration());
+      waitForClusterToForm();
+
+      AdvancedCache<Object, Object> cache1 = advancedCache(1);
+      DummyInMemoryStore store1 = TestingUtil.getFirstStore(cache1);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         String key = "k" + i;
+         DistributionInfo info = cache1.getDistributionManager().getCacheTopology().getDistribution(key);
+         if (!info.isReadOwner())
+            continue;
+
+         InternalCacheEntry<Object, Object> entry = cache1.getDataContainer().peek(key);
+         assertNotNull(key, entry);
+         assertEquals("v" + i, entry.getValue());
+         assertEquals(MINUTES.toMillis(10), entry.getLifespan());
+         assertTrue(key, store1.keySet().contains(key));
+      }
+      assertEquals("v0", cache1.get("k0"));
+   }
+
+   public void testJoinerReceivesStoreEntries() {
+      Cache<Object, Object> cache0 = cache(0);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         // Only in the store, so the entries are sent in their marshalled form
+         TestingUtil.writeToAllStores("s" + i, "v" + i, cache0);
+      }
+
+      addClusterEnabledCacheManager(configuration());
+      waitForClusterToForm();
+
+      AdvancedCache<Object, Object> cache1 = advancedCache(1);
+      DummyInMemoryStore store1 = TestingUtil.getFirstStore(cache1);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         String key = "s" + i;
+         DistributionInfo info = cache1.getDistributionManager().getCacheTopology().getDistribution(key);
+         if (!info.isReadOwner())
+            continue;
+
+         assertTrue(key, store1.keySet().contains(key));
+         assertNull(key, cache1.getDataContainer().peek(key));
+         assertEquals("v" + i, cache1.get(key));
+      }
+   }
+
+   public void testWriteWhileJoinerAppliesState() throws Exception {
+      Cache<Object, Object> cache0 = cache(0);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache0.put("k" + i, "v" + i);
+      }
+
+      // Block the batch that writes k0 to the stores of the joiner, after k0 is committed in the data container
+      EmbeddedCacheManager manager1 = addClusterEnabledCacheManager(configuration());
+      BlockingWritePersistenceManager persistenceManager1 = new BlockingWritePersistenceManager("k0");
+      TestingUtil.addCacheStartingHook(manager1, (name, cr) -> {
+         if (!name.equals(TestingUtil.getDefaultCacheName(manager1)))
+            return;
+
+         BasicComponentRegistry bcr = cr.getComponent(BasicComponentRegistry.class);
+         bcr.replaceComponent(PersistenceManager.class.getName(), persistenceManager1, true);
+         cr.rewire();
+         cr.cacheComponents();
+      });
+      Future<Cache<Object, Object>> cache1Future = fork(() -> manager1.getCache());
+      assertTrue(persistenceManager1.writeStarted.await(10, TimeUnit.SECONDS));
+
+      // The write must be applied to the stores after the batch, otherwise the batch would overwrite the new value
+      Future<Object> putFuture = fork(() -> cache0.put("k0", "v0-new"));
+      TestingUtil.sleepThread(100);
+      assertFalse(putFuture.isDone());
+      persistenceManager1.writeReleased.complete(null);
+      putFuture.get(10, TimeUnit.SECONDS);
+
+      Cache<Object, Object> cache1 = cache1Future.get(10, TimeUnit.SECONDS);
+      waitForClusterToForm();
+      DummyInMemoryStore store1 = TestingUtil.getFirstStore(cache1);
+      MarshallableEntry<?, ?> entry = store1.loadEntry("k0");
+      assertNotNull(entry);
+      assertEquals("v0-new", entry.getValue());
+      assertEquals("v0-new", cache1.getAdvancedCache().getDataContainer().peek("k0").getValue());
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testTransactionalCacheNotSupported() {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(cacheMode, true);
+      builder.transaction().transactionMode(TransactionMode.TRANSACTIONAL);
+      builder.clustering().stateTransfer().bulkApply(true);
+      builder.build();
+   }
+
+   static class BlockingWritePersistenceManager extends PersistenceManagerImpl {
+      final CountDownLatch writeStarted = new CountDownLatch(1);
+      final CompletableFuture<Void> writeReleased = new CompletableFuture<>();
+      private final Object blockedKey;
+
+      BlockingWritePersistenceManager(Object blockedKey) {
+         this.blockedKey = blockedKey;
+      }
+
+      @Override
+      public <K, V> CompletionStage<Void> writeEntries(Iterable<MarshallableEntry<K, V>> iterable,
+                                                       Predicate<? super StoreConfiguration> predicate) {
+         if (writeStarted.getCount() == 0 || !containsBlockedKey(iterable))
+            return super.writeEntries(iterable, predicate);
+
+         writeStarted.countDown();
+         return writeReleased.thenCompose(ignored -> super.writeEntries(iterable, predicate));
+      }
+
+      private boolean containsBlockedKey(Iterable<? extends MarshallableEntry<?, ?>> iterable) {
+         for (MarshallableEntry<?, ?> entry : iterable) {
+            if (blockedKey.equals(entry.getKey()))
+               return true;
+         }
+         return false;
+      }
+   }
+}
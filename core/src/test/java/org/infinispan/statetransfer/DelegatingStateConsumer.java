@@ -24,6 +24,21 @@ public boolean isStateTransferInProgressForKey(Object key) {
       return delegate.isStateTransferInProgressForKey(key);
    }
 
+   @Override
+   public int getRequestedSegmentCount() {
+      return delegate.getRequestedSegmentCount();
+   }
+
+   @Override
+   public int getPendingSegmentCount() {
+      return delegate.getPendingSegmentCount();
+   }
+
+   @Override
+   public long getStateTransferStartTime() {
+      return delegate.getStateTransferStartTime();
+   }
+
    @Override
    public CompletionStage<CompletionStage<Void>> onTopologyUpdate(CacheTopology cacheTopology, boolean isRebalance) {
       return delegate.onTopologyUpdate(cacheTopology, isRebalance);
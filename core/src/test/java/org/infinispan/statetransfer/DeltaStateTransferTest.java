@@ -0,0 +1,149 @@
+package org.infinispan.statetransfer;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.factories.impl.BasicComponentRegistry;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.manager.PersistenceManagerImpl;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that a node restarted with the entries still in its private store only receives the entries that were
+ * modified while it was stopped, that it doesn't keep the entries that were removed, and that it doesn't lose the
+ * entries written while it rejoins.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "statetransfer.DeltaStateTransferTest")
+public class DeltaStateTransferTest extends MultipleCacheManagersTest {
+   private static final int NUM_KEYS = 100;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      addClusterEnabledCacheManager(configuration(0));
+      addClusterEnabledCacheManager(configuration(1));
+      waitForClusterToForm();
+   }
+
+   private ConfigurationBuilder configuration(int node) {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.REPL_SYNC, false);
+      builder.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class)
+             .storeName(getClass().getSimpleName() + "-" + node)
+             .fetchPersistentState(true);
+      return builder;
+   }
+
+   public void testRestartedNodeReceivesOnlyModifiedEntries() {
+      Cache<Object, Object> cache0 = cache(0);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache0.put("k" + i, "v" + i);
+      }
+
+      DummyInMemoryStore store1 = TestingUtil.getFirstStore(cache(1));
+      String storeName1 = store1.getStoreName();
+      killMember(1);
+
+      cache0.put("k0", "v0-new");
+      cache0.remove("k1");
+
+      // The store keeps its entries, only count the writes after the restart
+      DummyInMemoryStore.removeStatData(storeName1);
+      addClusterEnabledCacheManager(configuration(1));
+      waitForClusterToForm();
+
+      AdvancedCache<Object, Object> cache1 = advancedCache(1);
+      store1 = TestingUtil.getFirstStore(cache1);
+      // Only the entries in the same buckets as k0 and k1 are transferred
+      int writes = store1.stats().get("write");
+      assertTrue("Transferred " + writes + " entries", writes < NUM_KEYS / 2);
+
+      assertFalse(store1.keySet().contains("k1"));
+      assertNull(cache1.get("k1"));
+      assertEquals("v0-new", cache1.get("k0"));
+      for (int i = 2; i < NUM_KEYS; i++) {
+         assertEquals("v" + i, cache1.get("k" + i));
+      }
+   }
+
+   public void testWriteWhileNodeRejoins() throws Exception {
+      Cache<Object, Object> cache0 = cache(0);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache0.put("k" + i, "v" + i);
+      }
+
+      killMember(1);
+      cache0.put("k0", "v0-new");
+
+      // Block the removal of the stale k0 from the private stores of the joiner
+      EmbeddedCacheManager manager1 = addClusterEnabledCacheManager(configuration(1));
+      BlockingDeletePersistenceManager persistenceManager1 = new BlockingDeletePersistenceManager("k0");
+      TestingUtil.addCacheStartingHook(manager1, (name, cr) -> {
+         if (!name.equals(TestingUtil.getDefaultCacheName(manager1)))
+            return;
+
+         BasicComponentRegistry bcr = cr.getComponent(BasicComponentRegistry.class);
+         bcr.replaceComponent(PersistenceManager.class.getName(), persistenceManager1, true);
+         cr.rewire();
+         cr.cacheComponents();
+      });
+      Future<Cache<Object, Object>> cache1Future = fork(() -> manager1.getCache());
+      assertTrue(persistenceManager1.deleteStarted.await(10, TimeUnit.SECONDS));
+
+      // The write must wait until k0 is removed from the stores, otherwise the removal would delete the new value
+      Future<Object> putFuture = fork(() -> cache0.put("k0", "v0-newer"));
+      TestingUtil.sleepThread(100);
+      assertFalse(putFuture.isDone());
+      persistenceManager1.deleteReleased.complete(null);
+      putFuture.get(10, TimeUnit.SECONDS);
+
+      Cache<Object, Object> cache1 = cache1Future.get(10, TimeUnit.SECONDS);
+      waitForClusterToForm();
+      DummyInMemoryStore store1 = TestingUtil.getFirstStore(cache1);
+      MarshallableEntry<?, ?> entry = store1.loadEntry("k0");
+      assertNotNull(entry);
+      assertEquals("v0-newer", entry.getValue());
+      assertEquals("v0-newer", cache1.get("k0"));
+   }
+
+   static class BlockingDeletePersistenceManager extends PersistenceManagerImpl {
+      final CountDownLatch deleteStarted = new CountDownLatch(1);
+      final CompletableFuture<Void> deleteReleased = new CompletableFuture<>();
+      private final Object blockedKey;
+
+      BlockingDeletePersistenceManager(Object blockedKey) {
+         this.blockedKey = blockedKey;
+      }
+
+      @Override
+      public CompletionStage<Boolean> deleteFromAllStores(Object key, int segment,
+                                                          Predicate<? super StoreConfiguration> predicate) {
+         if (!blockedKey.equals(key) || deleteStarted.getCount() == 0)
+            return super.deleteFromAllStores(key, segment, predicate);
+
+         deleteStarted.countDown();
+         return deleteReleased.thenCompose(ignored -> super.deleteFromAllStores(key, segment, predicate));
+      }
+   }
+}
@@ -217,7 +217,7 @@ public void test1() throws Exception {
                          commandsFactory, persistenceManager, dataContainer, transactionTable, stateTransferLock, cacheNotifier,
                          new CommitManager(), new CommandAckCollector(), new TriangleOrderManager(0),
                          new HashFunctionPartitioner(), conflictManager, distributionManager, localPublisherManager,
-                         invocationHandler, xSiteStateTransferManager);
+                         invocationHandler, xSiteStateTransferManager, TIME_SERVICE);
       stateConsumer.start();
 
       final List<InternalCacheEntry> cacheEntries = new ArrayList<>();
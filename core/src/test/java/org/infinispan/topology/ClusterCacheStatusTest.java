@@ -1,5 +1,6 @@
 package org.infinispan.topology;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -7,8 +8,10 @@
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertEquals;
 
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
 
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.distribution.TestAddress;
@@ -98,6 +101,80 @@ public void testQueueRebalanceSingleNode() throws Exception {
       verifyNoMoreInteractions(topologyManager);
    }
 
+   @Test
+   public void testRebalanceWaitsForFreeSlotInPriorityOrder() throws Exception {
+      when(topologyManager.isRebalancingEnabled()).thenReturn(true);
+
+      RebalanceScheduler scheduler = new RebalanceScheduler(1, Runnable::run);
+      ClusterCacheStatus first = createCacheStatus("first", scheduler);
+      ClusterCacheStatus low = createCacheStatus("low", scheduler);
+      ClusterCacheStatus high = createCacheStatus("high", scheduler);
+      first.doJoin(A, makeJoinInfo(A, 0));
+      low.doJoin(A, makeJoinInfo(A, 0));
+      high.doJoin(A, makeJoinInfo(A, 1));
+
+      first.doJoin(B, makeJoinInfo(B, 0));
+      low.doJoin(B, makeJoinInfo(B, 0));
+      high.doJoin(B, makeJoinInfo(B, 1));
+      assertEquals(RebalancingStatus.IN_PROGRESS, first.getRebalancingStatus());
+      assertEquals(RebalancingStatus.PENDING, low.getRebalancingStatus());
+      assertEquals(RebalancingStatus.PENDING, high.getRebalancingStatus());
+      assertEquals(CacheTopology.Phase.NO_REBALANCE, low.getCurrentTopology().getPhase());
+
+      confirmAllRebalancePhases(first);
+      assertEquals(RebalancingStatus.COMPLETE, first.getRebalancingStatus());
+      assertEquals(RebalancingStatus.PENDING, low.getRebalancingStatus());
+      assertEquals(RebalancingStatus.IN_PROGRESS, high.getRebalancingStatus());
+
+      confirmAllRebalancePhases(high);
+      assertEquals(RebalancingStatus.COMPLETE, high.getRebalancingStatus());
+      assertEquals(RebalancingStatus.IN_PROGRESS, low.getRebalancingStatus());
+
+      confirmAllRebalancePhases(low);
+      assertEquals(RebalancingStatus.COMPLETE, low.getRebalancingStatus());
+      assertEquals(asList(A, B), low.getCurrentTopology().getMembers());
+   }
+
+   @Test
+   public void testWaitingCacheStartsWhenHigherPriorityCacheNoLongerNeedsRebalance() throws Exception {
+      when(topologyManager.isRebalancingEnabled()).thenReturn(true);
+
+      Queue<Runnable> tasks = new ArrayDeque<>();
+      RebalanceScheduler scheduler = new RebalanceScheduler(1, tasks::add);
+      ClusterCacheStatus first = createCacheStatus("first", scheduler);
+      ClusterCacheStatus low = createCacheStatus("low", scheduler);
+      ClusterCacheStatus high = createCacheStatus("high", scheduler);
+      first.doJoin(A, makeJoinInfo(A, 0));
+      low.doJoin(A, makeJoinInfo(A, 0));
+      high.doJoin(A, makeJoinInfo(A, 1));
+
+      first.doJoin(B, makeJoinInfo(B, 0));
+      high.doJoin(B, makeJoinInfo(B, 1));
+      assertEquals(RebalancingStatus.PENDING, high.getRebalancingStatus());
+
+      // The scheduler retries only high, but doesn't run before low starts waiting
+      confirmAllRebalancePhases(first);
+      low.doJoin(B, makeJoinInfo(B, 0));
+      assertEquals(RebalancingStatus.PENDING, low.getRebalancingStatus());
+
+      // high doesn't need a rebalance any more, so low must take the slot
+      high.doLeave(B);
+      runTasks(tasks);
+      assertEquals(RebalancingStatus.COMPLETE, high.getRebalancingStatus());
+      assertEquals(RebalancingStatus.IN_PROGRESS, low.getRebalancingStatus());
+
+      confirmAllRebalancePhases(low);
+      assertEquals(RebalancingStatus.COMPLETE, low.getRebalancingStatus());
+      assertEquals(asList(A, B), low.getCurrentTopology().getMembers());
+   }
+
+   private void runTasks(Queue<Runnable> tasks) {
+      Runnable task;
+      while ((task = tasks.poll()) != null) {
+         task.run();
+      }
+   }
+
    private void verifyRebalanceStart() {
       verify(topologyManager).broadcastRebalanceStart(CACHE_NAME, status.getCurrentTopology());
    }
@@ -134,6 +211,30 @@ private void confirmRebalancePhase(ClusterCacheStatus status, List<Address> memb
       assertEquals(topologyId + 1, status.getCurrentTopology().getTopologyId());
    }
 
+   private void confirmAllRebalancePhases(ClusterCacheStatus status) throws Exception {
+      while (status.getCurrentTopology().getPhase() != CacheTopology.Phase.NO_REBALANCE) {
+         confirmRebalancePhase(status, status.getCurrentTopology().getMembers());
+      }
+   }
+
+   private ClusterCacheStatus createCacheStatus(String cacheName, RebalanceScheduler scheduler) {
+      EventLogManager eventLogManager = new EventLogManagerImpl();
+      PersistentUUIDManager persistentUUIDManager = new PersistentUUIDManagerImpl();
+      PreferAvailabilityStrategy availabilityStrategy =
+         new PreferAvailabilityStrategy(eventLogManager, persistentUUIDManager,
+                                        ClusterTopologyManagerImpl::distLostDataCheck);
+      return new ClusterCacheStatus(mock(EmbeddedCacheManager.class), cacheName, availabilityStrategy,
+                                    RebalanceType.FOUR_PHASE, topologyManager, transport, persistentUUIDManager,
+                                    eventLogManager, Optional.empty(), false, scheduler);
+   }
+
+   private CacheJoinInfo makeJoinInfo(Address a, int rebalancePriority) {
+      PersistentUUID persistentUUID = new PersistentUUID(a.hashCode(), a.hashCode());
+      return new CacheJoinInfo(JOIN_INFO.getConsistentHashFactory(), JOIN_INFO.getNumSegments(), JOIN_INFO.getNumOwners(),
+            JOIN_INFO.getTimeout(), JOIN_INFO.getCacheMode(), JOIN_INFO.getCapacityFactor(),
+            persistentUUID, Optional.empty(), rebalancePriority);
+   }
+
    private CacheJoinInfo makeJoinInfo(Address a) {
       PersistentUUID persistentUUID = new PersistentUUID(a.hashCode(), a.hashCode());
       return new CacheJoinInfo(JOIN_INFO.getConsistentHashFactory(), JOIN_INFO.getNumSegments(), JOIN_INFO.getNumOwners(),
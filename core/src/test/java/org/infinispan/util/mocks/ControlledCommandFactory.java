@@ -51,6 +51,7 @@
 import org.infinispan.commands.remote.ClusteredGetAllCommand;
 import org.infinispan.commands.remote.ClusteredGetCommand;
 import org.infinispan.commands.remote.GetKeysInGroupCommand;
+import org.infinispan.commands.remote.MultipleRpcCommand;
 import org.infinispan.commands.remote.RenewBiasCommand;
 import org.infinispan.commands.remote.RevokeBiasCommand;
 import org.infinispan.commands.remote.SingleRpcCommand;
@@ -58,6 +59,7 @@
 import org.infinispan.commands.remote.recovery.GetInDoubtTransactionsCommand;
 import org.infinispan.commands.remote.recovery.GetInDoubtTxInfoCommand;
 import org.infinispan.commands.remote.recovery.TxCompletionNotificationCommand;
+import org.infinispan.commands.statetransfer.ConflictResolutionDigestCommand;
 import org.infinispan.commands.statetransfer.ConflictResolutionStartCommand;
 import org.infinispan.commands.statetransfer.ScatteredStateConfirmRevokedCommand;
 import org.infinispan.commands.statetransfer.ScatteredStateGetKeysCommand;
@@ -325,6 +327,11 @@ public SingleRpcCommand buildSingleRpcCommand(VisitableCommand call) {
       return actual.buildSingleRpcCommand(call);
    }
 
+   @Override
+   public MultipleRpcCommand buildMultipleRpcCommand(VisitableCommand[] commands) {
+      return actual.buildMultipleRpcCommand(commands);
+   }
+
    @Override
    public ClusteredGetCommand buildClusteredGetCommand(Object key, Integer segment, long flagsBitSet) {
       return actual.buildClusteredGetCommand(key, segment, flagsBitSet);
@@ -355,6 +362,17 @@ public ConflictResolutionStartCommand buildConflictResolutionStartCommand(int to
       return actual.buildConflictResolutionStartCommand(topologyId, segments);
    }
 
+   @Override
+   public ConflictResolutionStartCommand buildConflictResolutionStartCommand(int topologyId, IntSet segments,
+                                                                             long bucketMask) {
+      return actual.buildConflictResolutionStartCommand(topologyId, segments, bucketMask);
+   }
+
+   @Override
+   public ConflictResolutionDigestCommand buildConflictResolutionDigestCommand(int topologyId, IntSet segments) {
+      return actual.buildConflictResolutionDigestCommand(topologyId, segments);
+   }
+
    @Override
    public StateTransferCancelCommand buildStateTransferCancelCommand(int topologyId, IntSet segments) {
       return actual.buildStateTransferCancelCommand(topologyId, segments);
@@ -375,6 +393,12 @@ public StateTransferStartCommand buildStateTransferStartCommand(int topologyId,
       return actual.buildStateTransferStartCommand(topologyId, segments);
    }
 
+   @Override
+   public StateTransferStartCommand buildStateTransferStartCommand(int topologyId, IntSet segments,
+                                                                   Map<Integer, Long> bucketMasks) {
+      return actual.buildStateTransferStartCommand(topologyId, segments, bucketMasks);
+   }
+
    @Override
    public ScatteredStateGetKeysCommand buildScatteredStateGetKeysCommand(int topologyId, IntSet segments) {
       return actual.buildScatteredStateGetKeysCommand(topologyId, segments);
@@ -1,11 +1,15 @@
 package org.infinispan.persistence.sifs;
 
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 import org.infinispan.commons.marshall.Marshaller;
 import org.infinispan.commons.time.TimeService;
@@ -27,6 +31,11 @@
  * Component keeping the data about log file usage - as soon as entries from some file are overwritten so that the file
  * becomes cluttered with old records, the valid records are moved to another file and the old ones are dropped.
  * Expired records are moved as tombstones without values (records of entry removal).
+ * <p>
+ * Files are not compacted in the order they become eligible: each time the compactor is ready, it picks the scheduled
+ * file with the biggest ratio of free space, as it reclaims the most space for the least I/O. The compactor can read
+ * the files at a limited rate and pause while the latency of the writes is above a threshold, so that it does not
+ * compete with the writes for the disk.
  *
  * @author Radim Vansa &lt;rvansa@redhat.com&gt;
  */
@@ -41,7 +50,18 @@ class Compactor implements Consumer<Object> {
    private final KeyPartitioner keyPartitioner;
    private final int maxFileSize;
    private final double compactionThreshold;
+   private final long maxBytesPerSecond;
+   private final long latencyThresholdNanos;
    private final FlowableProcessor<Object> processor;
+   // Files that are waiting for compaction, there is one file id submitted to the processor for each of them
+   private final Set<Integer> scheduledFiles = ConcurrentHashMap.newKeySet();
+   private final AtomicLong bytesReclaimed = new AtomicLong();
+   private final AtomicLong bytesWritten = new AtomicLong();
+   private volatile LongSupplier writeLatency = () -> 0;
+
+   // Only accessed by the compactor thread
+   private long throttleStartNanos;
+   private long throttledBytes;
 
    private Index index;
    // as processing single scheduled compaction takes a lot of time, we don't use the queue to signalize
@@ -51,6 +71,9 @@ class Compactor implements Consumer<Object> {
    private CompletableFuture<Void> paused = CompletableFutures.completedNull();
 
    private static final Object RESUME_PILL = new Object();
+   // While the writes are slow, the compactor moves an entry every second
+   private static final int LATENCY_PAUSE_MILLIS = 10;
+   private static final int MAX_LATENCY_PAUSES = 100;
 
    // This buffer is used by the compactor thread to avoid allocating buffers per entry written that are smaller
    // than the header size
@@ -61,7 +84,7 @@ class Compactor implements Consumer<Object> {
 
    public Compactor(FileProvider fileProvider, TemporaryTable temporaryTable, Marshaller marshaller,
                     TimeService timeService, KeyPartitioner keyPartitioner, int maxFileSize,
-                    double compactionThreshold, Executor blockingExecutor) {
+                    double compactionThreshold, int maxThroughput, long latencyThreshold, Executor blockingExecutor) {
       this.fileProvider = fileProvider;
       this.temporaryTable = temporaryTable;
       this.marshaller = marshaller;
@@ -69,6 +92,8 @@ public Compactor(FileProvider fileProvider, TemporaryTable temporaryTable, Marsh
       this.keyPartitioner = keyPartitioner;
       this.maxFileSize = maxFileSize;
       this.compactionThreshold = compactionThreshold;
+      this.maxBytesPerSecond = maxThroughput * 1024L * 1024L;
+      this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThreshold);
 
       processor = UnicastProcessor.create();
       Scheduler scheduler = Schedulers.from(blockingExecutor);
@@ -87,6 +112,35 @@ public void setIndex(Index index) {
       this.index = index;
    }
 
+   /**
+    * Sets the source of the latency of the writes, in nanoseconds, that is compared to the latency threshold.
+    */
+   public void setWriteLatency(LongSupplier writeLatency) {
+      this.writeLatency = writeLatency;
+   }
+
+   /**
+    * @return the number of bytes freed on disk by compaction, which is the size of the compacted files minus the size
+    *         of the records that were moved
+    */
+   public long getBytesReclaimed() {
+      return bytesReclaimed.get();
+   }
+
+   /**
+    * @return the number of bytes written by compaction
+    */
+   public long getBytesWritten() {
+      return bytesWritten.get();
+   }
+
+   /**
+    * @return the number of files that are waiting for compaction
+    */
+   public int getBacklog() {
+      return scheduledFiles.size();
+   }
+
    public void releaseStats(int file) {
       fileStats.remove(file);
    }
@@ -143,10 +197,72 @@ private void schedule(int file, Stats stats) {
          }
       }
       if (shouldSchedule) {
+         scheduledFiles.add(file);
          processor.onNext(file);
       }
    }
 
+   /**
+    * @return the scheduled file with the biggest ratio of free space, or null if there is none
+    */
+   private Integer pollBestFile() {
+      Integer bestFile = null;
+      double bestRatio = -1;
+      for (Integer file : scheduledFiles) {
+         Stats stats = fileStats.get(file);
+         double ratio = stats == null || stats.total <= 0 ? 0 : (double) stats.getFree() / stats.total;
+         if (ratio > bestRatio) {
+            bestRatio = ratio;
+            bestFile = file;
+         }
+      }
+      if (bestFile != null && scheduledFiles.remove(bestFile)) {
+         return bestFile;
+      }
+      // Only cleared concurrently
+      return null;
+   }
+
+   /**
+    * Waits while the latency of the writes is above the threshold, or at most a second, and then as long as needed
+    * so that the compactor does not read more than its throughput since the file compaction started or the last pause.
+    * @param bytes the number of bytes read from the compacted file since the previous invocation
+    * @return false if the compaction must stop
+    */
+   private boolean throttle(int bytes) {
+      try {
+         if (latencyThresholdNanos > 0 && writeLatency.getAsLong() > latencyThresholdNanos) {
+            int pauses = 0;
+            do {
+               TimeUnit.MILLISECONDS.sleep(LATENCY_PAUSE_MILLIS);
+               if (clearSignal.get() > 0 || terminateSignal) {
+                  return false;
+               }
+            } while (writeLatency.getAsLong() > latencyThresholdNanos && ++pauses < MAX_LATENCY_PAUSES);
+            // The pause does not allow reading faster afterwards
+            throttleStartNanos = timeService.time();
+            throttledBytes = 0;
+         }
+         if (maxBytesPerSecond > 0) {
+            throttledBytes += bytes;
+            long expectedNanos = throttledBytes * TimeUnit.SECONDS.toNanos(1) / maxBytesPerSecond;
+            long delayNanos = expectedNanos - timeService.timeDuration(throttleStartNanos, TimeUnit.NANOSECONDS);
+            while (delayNanos > 0) {
+               long sleepNanos = Math.min(delayNanos, TimeUnit.MILLISECONDS.toNanos(100));
+               TimeUnit.NANOSECONDS.sleep(sleepNanos);
+               if (clearSignal.get() > 0 || terminateSignal) {
+                  return false;
+               }
+               delayNanos -= sleepNanos;
+            }
+         }
+         return true;
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         return false;
+      }
+   }
+
    /**
     * Immediately sends a request to pause the compactor. The returned stage will complete when the
     * compactor is actually paused. To resume the compactor the {@link #resumeAfterPause()} method
@@ -157,7 +273,10 @@ public CompletionStage<Void> clearAndPause() {
       clearSignal.incrementAndGet();
       CompletableFuture<Void> clearFuture = new CompletableFuture<>();
       // Make sure to do this before submitting to processor this is done in the blocking thread
-      clearFuture.whenComplete((ignore, t) -> fileStats.clear());
+      clearFuture.whenComplete((ignore, t) -> {
+         fileStats.clear();
+         scheduledFiles.clear();
+      });
       processor.onNext(clearFuture);
       return clearFuture;
    }
@@ -201,20 +320,29 @@ public void accept(Object o) throws Throwable {
          return;
       }
 
-      // Any other type submitted has to be a positive integer
-      int scheduledFile = (int) o;
-      assert scheduledFile >= 0;
+      // Any other type submitted has to be a positive integer, but the file with the best ratio is compacted instead
+      assert (int) o >= 0;
+      Integer bestFile = pollBestFile();
+      if (bestFile == null) {
+         return;
+      }
+      int scheduledFile = bestFile;
       log.debugf("Compacting file %d", scheduledFile);
       int scheduledOffset = 0;
+      long writtenBytes = 0;
+      boolean compacted = false;
       FileProvider.Handle handle = fileProvider.getFile(scheduledFile);
       if (handle == null) {
          throw new IllegalStateException("Compactor should not get deleted file for compaction!");
       }
       try {
          AggregateCompletionStage<Void> aggregateCompletionStage = CompletionStages.aggregateCompletionStage();
+         throttleStartNanos = timeService.time();
+         throttledBytes = 0;
          while (clearSignal.get() == 0 && !terminateSignal) {
             EntryHeader header = EntryRecord.readEntryHeader(handle, scheduledOffset);
             if (header == null) {
+               compacted = true;
                break;
             }
             byte[] serializedKey = EntryRecord.readKey(handle, header, scheduledOffset);
@@ -228,6 +356,7 @@ public void accept(Object o) throws Throwable {
             int indexedOffset = header.valueLength() > 0 ? scheduledOffset : ~scheduledOffset;
             boolean drop = true;
             boolean truncate = false;
+            boolean removed = false;
             EntryPosition entry = temporaryTable.get(segment, key);
             if (entry != null) {
                synchronized (entry) {
@@ -250,10 +379,16 @@ public void accept(Object o) throws Throwable {
                // we could remove the entry and delete would not find it
                drop = false;
             } else {
-               EntryInfo info = index.getInfo(key, serializedKey);
-               assert info != null;
-               assert info.numRecords > 0;
-               if (info.file == scheduledFile && info.offset == scheduledOffset) {
+               EntryInfo info = index.getInfo(segment, serializedKey);
+               if (info == null) {
+                  // The segment was dropped from the index, which already released the space of its records
+                  if (log.isTraceEnabled()) {
+                     log.tracef("Key for %d:%d was not found in index, segment %d was removed => skip",
+                           scheduledFile, scheduledOffset, segment);
+                  }
+                  removed = true;
+               } else if (info.file == scheduledFile && info.offset == scheduledOffset) {
+                  assert info.numRecords > 0;
                   assert header.valueLength() > 0;
                   // live record with data
                   truncate = header.expiryTime() >= 0 && header.expiryTime() <= timeService.wallClockTime();
@@ -272,7 +407,9 @@ public void accept(Object o) throws Throwable {
                         scheduledFile, scheduledOffset, info.file, info.offset, info.numRecords);
                }
             }
-            if (drop) {
+            if (removed) {
+               // Neither kept nor dropped from the index, the record is deleted with the file
+            } else if (drop) {
                if (log.isTraceEnabled()) {
                   log.tracef("Drop %d:%d (%s)", scheduledFile, (Object)scheduledOffset,
                         header.valueLength() > 0 ? "record" : "tombstone");
@@ -317,7 +454,7 @@ public void accept(Object o) throws Throwable {
                } else {
                   boolean update = false;
                   try {
-                     EntryInfo info = index.getInfo(key, serializedKey);
+                     EntryInfo info = index.getInfo(segment, serializedKey);
                      if (info == null) {
                         throw new IllegalStateException(String.format(
                               "%s was not found in index but it was not in temporary table and there's entry on %d:%d", key, scheduledFile, indexedOffset));
@@ -346,8 +483,12 @@ public void accept(Object o) throws Throwable {
                aggregateCompletionStage.dependsOn(moveRequest);
 
                currentOffset += writtenLength;
+               writtenBytes += writtenLength;
             }
             scheduledOffset += header.totalLength();
+            if (!throttle(header.totalLength())) {
+               break;
+            }
          }
          // We delay the next operation until all prior moves are done. By moving it can trigger another
          // compaction before the index has been fully updated. Thus we block any other compaction events
@@ -365,10 +506,18 @@ public void accept(Object o) throws Throwable {
       } finally {
          handle.close();
       }
-      if (!terminateSignal && clearSignal.get() == 0) {
+      bytesWritten.addAndGet(writtenBytes);
+      if (compacted && !terminateSignal && clearSignal.get() == 0) {
          // The deletion must be executed only after the index is fully updated.
          log.debugf("Finished compacting %d, scheduling delete", scheduledFile);
+         bytesReclaimed.addAndGet(scheduledOffset - writtenBytes);
          index.deleteFileAsync(scheduledFile);
+      } else if (!compacted && !terminateSignal && clearSignal.get() == 0) {
+         // The compaction was interrupted, the file may be scheduled again
+         Stats stats = fileStats.get(scheduledFile);
+         if (stats != null) {
+            stats.unsetScheduled();
+         }
       }
    }
 
@@ -417,6 +566,10 @@ public void setScheduled() {
          scheduled = true;
       }
 
+      public void unsetScheduled() {
+         scheduled = false;
+      }
+
       public boolean isCompleted() {
          return completed;
       }
@@ -82,11 +82,19 @@ public EntryRecord loadMetadata(FileProvider.Handle handle, int offset) throws I
    }
 
    public static EntryHeader readEntryHeader(FileProvider.Handle handle, long offset) throws IOException {
-      ByteBuffer header = ByteBuffer.allocate(EntryHeader.HEADER_SIZE_11_0);
-      if (read(handle, header, offset, EntryHeader.HEADER_SIZE_11_0) < 0) {
-         return null;
+      // Memory mapped files are decoded in place
+      ByteBuffer header = handle.mappedRegion(offset, EntryHeader.HEADER_SIZE_11_0);
+      if (header != null) {
+         if (header.remaining() < EntryHeader.HEADER_SIZE_11_0) {
+            return null;
+         }
+      } else {
+         header = ByteBuffer.allocate(EntryHeader.HEADER_SIZE_11_0);
+         if (read(handle, header, offset, EntryHeader.HEADER_SIZE_11_0) < 0) {
+            return null;
+         }
+         header.flip();
       }
-      header.flip();
       try {
          return new EntryHeader(header);
       } catch (IllegalStateException e) {
@@ -127,12 +135,19 @@ public static EntryMetadata readMetadata(FileProvider.Handle handle, EntryHeader
       }
 
       offset += metaLength;
-      ByteBuffer buffer = ByteBuffer.allocate(EntryMetadata.TIMESTAMP_BYTES);
-      if (read(handle, buffer, offset, EntryMetadata.TIMESTAMP_BYTES) < 0) {
+      ByteBuffer buffer = handle.mappedRegion(offset, EntryMetadata.TIMESTAMP_BYTES);
+      if (buffer == null) {
+         buffer = ByteBuffer.allocate(EntryMetadata.TIMESTAMP_BYTES);
+         if (read(handle, buffer, offset, EntryMetadata.TIMESTAMP_BYTES) < 0) {
+            buffer.limit(0);
+         } else {
+            buffer.flip();
+         }
+      }
+      if (buffer.remaining() < EntryMetadata.TIMESTAMP_BYTES) {
          throw new IllegalStateException("End of file reached when reading timestamps on "
                + handle.getFileId() + ":" + offset + ": " + header);
       }
-      buffer.flip();
       return new EntryMetadata(metadata, buffer.getLong(), buffer.getLong());
    }
 
@@ -6,7 +6,10 @@
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.util.HashSet;
@@ -28,6 +31,10 @@
 /**
  * Provides resource management for files - only limited amount of files may be opened in one moment, and opened file
  * should not be deleted. Also allows to generate file indexes.
+ * <p>
+ * If memory mapped reads are enabled, files that are no longer appended to are mapped read-only when opened, and the
+ * reads through their {@link Handle}s are served from the mapping instead of the file channel. The mapping is released
+ * when the file is closed, which only happens once there are no handles to it.
  *
  * @author Radim Vansa &lt;rvansa@redhat.com&gt;
  */
@@ -37,6 +44,9 @@ public class FileProvider {
 
    private static final String REGEX_FORMAT = "^%s[0-9]+$";
    private static final boolean ATTEMPT_PMEM;
+   // sun.misc.Unsafe.invokeCleaner(ByteBuffer), only available since JDK 9
+   private static final Object UNSAFE;
+   private static final Method INVOKE_CLEANER;
 
    private final File dataDir;
    private final int openFileLimit;
@@ -48,6 +58,7 @@ public class FileProvider {
    private final Set<FileIterator> iterators = ConcurrentHashMap.newKeySet();
    private final String prefix;
    private final int maxFileSize;
+   private final boolean memoryMapped;
 
    private int nextFileId = 0;
 
@@ -61,9 +72,28 @@ public class FileProvider {
          log.debug("Persistent Memory not in classpath, not attempting");
       }
       ATTEMPT_PMEM = attemptPmem;
+
+      Object unsafe = null;
+      Method invokeCleaner = null;
+      try {
+         Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+         Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+         theUnsafe.setAccessible(true);
+         unsafe = theUnsafe.get(null);
+         invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      } catch (Exception e) {
+         log.debug("Unmapping memory mapped files is not supported, mappings are released by the garbage collector");
+      }
+      UNSAFE = unsafe;
+      INVOKE_CLEANER = invokeCleaner;
    }
 
    public FileProvider(Path dataDir, int openFileLimit, String prefix, int maxFileSize) {
+      this(dataDir, openFileLimit, prefix, maxFileSize, false);
+   }
+
+   public FileProvider(Path dataDir, int openFileLimit, String prefix, int maxFileSize, boolean memoryMapped) {
+      this.memoryMapped = memoryMapped;
       this.openFileLimit = openFileLimit;
       this.recordQueue = new ArrayBlockingQueue<>(openFileLimit);
       this.dataDir = dataDir.toFile();
@@ -118,6 +148,7 @@ public Handle getFile(int fileId) throws IOException {
                         if (!newRecord.isOpen()) {
                            throw new IllegalStateException();
                         }
+                        mapIfSealed(newRecord);
                         handle = new Handle(newRecord);
                      }
                      try {
@@ -131,6 +162,8 @@ public Handle getFile(int fileId) throws IOException {
             }
             synchronized (record) {
                if (record.isOpen()) {
+                  // the file may have been opened while it was still appended to
+                  mapIfSealed(record);
                   return new Handle(record);
                }
             }
@@ -140,6 +173,34 @@ public Handle getFile(int fileId) throws IOException {
       }
    }
 
+   /**
+    * Maps the file of the record if memory mapped reads are enabled and it is not appended to anymore. Must be
+    * invoked while holding the read lock, which guards the log files, and the record monitor.
+    */
+   private void mapIfSealed(Record record) throws IOException {
+      if (!memoryMapped || record.mappedBuffer != null || logFiles.contains(record.fileId)) {
+         return;
+      }
+      try {
+         FileChannel fileChannel = record.fileChannel;
+         record.mappedBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+         log.tracef("Mapped file %d", record.fileId);
+      } catch (UnsupportedOperationException e) {
+         // e.g. persistent memory channels, which are read directly anyway
+         log.debugf(e, "Cannot map file %d, reading it through its channel", record.fileId);
+      }
+   }
+
+   private static void unmap(MappedByteBuffer buffer) {
+      if (INVOKE_CLEANER != null) {
+         try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+         } catch (Exception e) {
+            log.debugf(e, "Cannot unmap buffer, leaving it to the garbage collector");
+         }
+      }
+   }
+
    public long getFileSize(int file) {
       lock.readLock().lock();
       try {
@@ -374,7 +435,37 @@ private Handle(Record record) {
 
       public int read(ByteBuffer buffer, long offset) throws IOException {
          if (!usable) throw new IllegalStateException();
-         return record.getFileChannel().read(buffer, offset);
+         MappedByteBuffer mappedBuffer = record.mappedBuffer;
+         if (mappedBuffer == null) {
+            return record.getFileChannel().read(buffer, offset);
+         }
+         if (offset >= mappedBuffer.limit()) {
+            return -1;
+         }
+         int length = (int) Math.min(buffer.remaining(), mappedBuffer.limit() - offset);
+         ByteBuffer region = mappedBuffer.duplicate();
+         region.position((int) offset).limit((int) offset + length);
+         buffer.put(region);
+         return length;
+      }
+
+      /**
+       * Returns a read-only view of up to {@code length} bytes of the file starting at {@code offset}, without copying
+       * them, if the file is memory mapped. The view has less remaining bytes if the end of the file is reached, and it
+       * must not be used after this handle is closed.
+       * @return the view, or null if the file is not memory mapped
+       */
+      ByteBuffer mappedRegion(long offset, int length) {
+         if (!usable) throw new IllegalStateException();
+         MappedByteBuffer mappedBuffer = record.mappedBuffer;
+         if (mappedBuffer == null) {
+            return null;
+         }
+         ByteBuffer region = mappedBuffer.duplicate();
+         int limit = mappedBuffer.limit();
+         int start = (int) Math.min(offset, limit);
+         region.position(start).limit((int) Math.min((long) start + length, limit));
+         return region;
       }
 
       @Override
@@ -397,6 +488,8 @@ public int getFileId() {
    private class Record {
       private final int fileId;
       private FileChannel fileChannel;
+      // Only set while the file is open, read without the record monitor by the handles
+      private volatile MappedByteBuffer mappedBuffer;
       private int handleCount;
       private boolean deleteOnClose = false;
 
@@ -418,6 +511,7 @@ void decreaseHandleCount() throws IOException {
          if (handleCount == 0 && deleteOnClose) {
             // we cannot easily remove the record from queue - keep it there until collection,
             // but physically close and delete the file
+            releaseMapping();
             fileChannel.close();
             fileChannel = null;
             openFiles.remove(fileId, this);
@@ -438,6 +532,7 @@ public int getFileId() {
       }
 
       public void close() throws IOException {
+         releaseMapping();
          fileChannel.close();
          fileChannel = null;
          if (deleteOnClose) {
@@ -451,9 +546,23 @@ public void delete() {
          newFile(fileId).delete();
       }
 
+      /**
+       * Must only be invoked when there are no handles, as reading a released mapping would crash the JVM.
+       */
+      private void releaseMapping() {
+         assert handleCount == 0;
+         MappedByteBuffer buffer = mappedBuffer;
+         if (buffer != null) {
+            mappedBuffer = null;
+            unmap(buffer);
+            log.tracef("Unmapped file %d", fileId);
+         }
+      }
+
       public void deleteOnClose() throws IOException {
          if (handleCount == 0) {
             if (fileChannel != null) {
+               releaseMapping();
                fileChannel.close();
                fileChannel = null;
             }
@@ -0,0 +1,101 @@
+package org.infinispan.persistence.sifs;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of non negative values with one bucket per power of two, so that it has a fixed size and recording a
+ * value never allocates. Bucket {@code i} holds the values in the range {@code [2^(i-1), 2^i)}, with bucket 0 holding
+ * only the value 0.
+ * <p>
+ * Values are recorded by a single thread, the log appender, but the histogram can be read by any thread.
+ *
+ * @since 13.0
+ */
+public class Histogram {
+   private static final int BUCKETS = Long.SIZE;
+
+   private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+   private final AtomicLong count = new AtomicLong();
+   private final AtomicLong sum = new AtomicLong();
+   private final AtomicLong max = new AtomicLong();
+
+   void record(long value) {
+      assert value >= 0;
+      buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(value));
+      count.incrementAndGet();
+      sum.addAndGet(value);
+      if (value > max.get()) {
+         max.set(value);
+      }
+   }
+
+   /**
+    * @return the number of recorded values
+    */
+   public long getCount() {
+      return count.get();
+   }
+
+   /**
+    * @return the biggest recorded value, or 0 if nothing was recorded
+    */
+   public long getMax() {
+      return max.get();
+   }
+
+   /**
+    * @return the mean of the recorded values, or 0 if nothing was recorded
+    */
+   public double getMean() {
+      long count = this.count.get();
+      return count == 0 ? 0 : (double) sum.get() / count;
+   }
+
+   /**
+    * Returns an upper bound of the given percentile of the recorded values, which is the upper bound of the bucket
+    * that contains it, or the biggest recorded value if it is lower.
+    * @param percentile the percentile, between 0 and 100
+    * @return the upper bound of the percentile, or 0 if nothing was recorded
+    */
+   public long getValueAtPercentile(double percentile) {
+      if (percentile < 0 || percentile > 100) {
+         throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+      }
+      long count = this.count.get();
+      long threshold = Math.max(1, (long) Math.ceil(count * percentile / 100));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; ++i) {
+         seen += buckets.get(i);
+         if (seen >= threshold) {
+            // The last bucket overflows to Long.MAX_VALUE
+            long upperBound = (1L << i) - 1;
+            return Math.min(upperBound, max.get());
+         }
+      }
+      return max.get();
+   }
+
+   /**
+    * @return the number of recorded values in each bucket, where bucket {@code i > 0} holds the values in the range
+    *         {@code [2^(i-1), 2^i)}
+    */
+   public long[] getBuckets() {
+      long[] copy = new long[BUCKETS];
+      for (int i = 0; i < BUCKETS; ++i) {
+         copy[i] = buckets.get(i);
+      }
+      return copy;
+   }
+
+   @Override
+   public String toString() {
+      return "Histogram{" +
+            "count=" + getCount() +
+            ", mean=" + getMean() +
+            ", p50=" + getValueAtPercentile(50) +
+            ", p99=" + getValueAtPercentile(99) +
+            ", max=" + getMax() +
+            '}';
+   }
+}
@@ -9,6 +9,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.PrimitiveIterator;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -21,6 +22,7 @@
 
 import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.util.concurrent.AggregateCompletionStage;
 import org.infinispan.util.concurrent.CompletionStages;
 import org.infinispan.util.concurrent.NonBlockingManager;
@@ -34,16 +36,20 @@
 import io.reactivex.rxjava3.schedulers.Schedulers;
 
 /**
- * Keeps the entry positions persisted in a file. It consists of couple of segments, each for one modulo-range of key's
- * hashcodes (according to DataContainer's key equivalence configuration) - writes to each index segment are performed
- * by single thread, having multiple segments spreads the load between them.
+ * Keeps the entry positions persisted in a file. It consists of one segment per cache segment, each with its own tree
+ * and index file, so that a cache segment can be iterated or dropped at a cost proportional to its size alone.
+ * Writes to the index segments are performed by a fixed number of updaters, each updater owning the segments whose
+ * number modulo the number of updaters is the updater number - having multiple updaters spreads the load between them.
+ * The index file of a segment is only kept open while the segment has entries, so that the segments that are empty or
+ * not owned by this node do not hold a file descriptor.
  *
  * @author Radim Vansa &lt;rvansa@redhat.com&gt;
  */
 class Index {
    private static final Log log = LogFactory.getLog(Index.class, Log.class);
    // PRE ISPN 13 GRACEFULLY VALUE = 0x512ACEF0;
-   private static final int GRACEFULLY = 0x512ACEF1;
+   // Index segments not aligned with the cache segments GRACEFULLY VALUE = 0x512ACEF1;
+   private static final int GRACEFULLY = 0x512ACEF2;
    private static final int DIRTY = 0xD112770C;
    // 4 bytes for graceful shutdown
    // 4 bytes for segment max (this way the index can be regenerated if number of segments change
@@ -65,7 +71,7 @@ class Index {
 
    private final FlowableProcessor<IndexRequest>[] flowableProcessors;
 
-   public Index(NonBlockingManager nonBlockingManager, FileProvider fileProvider, Path indexDir, int segments,
+   public Index(NonBlockingManager nonBlockingManager, FileProvider fileProvider, Path indexDir, int updaters,
                 int minNodeSize, int maxNodeSize, TemporaryTable temporaryTable, Compactor compactor,
                 TimeService timeService) throws IOException {
       this.nonBlockingManager = nonBlockingManager;
@@ -77,13 +83,14 @@ public Index(NonBlockingManager nonBlockingManager, FileProvider fileProvider, P
       this.maxNodeSize = maxNodeSize;
       indexDir.toFile().mkdirs();
 
-      this.segments = new Segment[segments];
-      this.flowableProcessors = new FlowableProcessor[segments];
-      for (int i = 0; i < segments; ++i) {
+      int cacheSegments = temporaryTable.getSegmentMax();
+      this.segments = new Segment[cacheSegments];
+      for (int i = 0; i < cacheSegments; ++i) {
+         this.segments[i] = new Segment(i, temporaryTable);
+      }
+      this.flowableProcessors = new FlowableProcessor[Math.min(updaters, cacheSegments)];
+      for (int i = 0; i < flowableProcessors.length; ++i) {
          UnicastProcessor<IndexRequest> flowableProcessor = UnicastProcessor.create();
-         Segment segment = new Segment(i, temporaryTable);
-
-         this.segments[i] = segment;
          // It is possible to write from multiple threads
          this.flowableProcessors[i] = flowableProcessor.toSerialized();
       }
@@ -102,8 +109,7 @@ public boolean isLoaded() {
    /**
     * Get record or null if expired
     */
-   public EntryRecord getRecord(Object key, byte[] serializedKey) throws IOException {
-      int segment = (key.hashCode() & Integer.MAX_VALUE) % segments.length;
+   public EntryRecord getRecord(int segment, byte[] serializedKey) throws IOException {
       lock.readLock().lock();
       try {
          return IndexNode.applyOnLeaf(segments[segment], serializedKey, segments[segment].rootReadLock(), IndexNode.ReadOperation.GET_RECORD);
@@ -115,8 +121,7 @@ public EntryRecord getRecord(Object key, byte[] serializedKey) throws IOExceptio
    /**
     * Get position or null if expired
     */
-   public EntryPosition getPosition(Object key, byte[] serializedKey) throws IOException {
-      int segment = (key.hashCode() & Integer.MAX_VALUE) % segments.length;
+   public EntryPosition getPosition(int segment, byte[] serializedKey) throws IOException {
       lock.readLock().lock();
       try {
          return IndexNode.applyOnLeaf(segments[segment], serializedKey, segments[segment].rootReadLock(), IndexNode.ReadOperation.GET_POSITION);
@@ -128,8 +133,7 @@ public EntryPosition getPosition(Object key, byte[] serializedKey) throws IOExce
    /**
     * Get position + numRecords, without expiration
     */
-   public EntryInfo getInfo(Object key, byte[] serializedKey) throws IOException {
-      int segment = (key.hashCode() & Integer.MAX_VALUE) % segments.length;
+   public EntryInfo getInfo(int segment, byte[] serializedKey) throws IOException {
       lock.readLock().lock();
       try {
          return IndexNode.applyOnLeaf(segments[segment], serializedKey, segments[segment].rootReadLock(), IndexNode.ReadOperation.GET_INFO);
@@ -139,11 +143,23 @@ public EntryInfo getInfo(Object key, byte[] serializedKey) throws IOException {
    }
 
    public CompletionStage<Void> clear() throws IOException {
+      return clear(IntSets.immutableRangeSet(segments.length), IndexRequest.Type.CLEAR);
+   }
+
+   /**
+    * Removes the index segments of the given cache segments. The space of the entries in these segments is released
+    * to the compactor, so that it can be reclaimed from the data files.
+    */
+   public CompletionStage<Void> drop(IntSet cacheSegments) throws IOException {
+      return clear(cacheSegments, IndexRequest.Type.DROP);
+   }
+
+   private CompletionStage<Void> clear(IntSet cacheSegments, IndexRequest.Type type) {
       lock.writeLock().lock();
       try {
          AggregateCompletionStage<Void> stage = CompletionStages.aggregateCompletionStage();
          for (FlowableProcessor<IndexRequest> processor : flowableProcessors) {
-            IndexRequest clearRequest = IndexRequest.clearRequest();
+            IndexRequest clearRequest = IndexRequest.clearRequest(type, cacheSegments);
             processor.onNext(clearRequest);
             stage.dependsOn(clearRequest);
          }
@@ -154,8 +170,7 @@ public CompletionStage<Void> clear() throws IOException {
    }
 
    public CompletionStage<Object> handleRequest(IndexRequest indexRequest) {
-      int processor = (indexRequest.getKey().hashCode() & Integer.MAX_VALUE) % segments.length;
-      flowableProcessors[processor].onNext(indexRequest);
+      flowableProcessors[indexRequest.getSegment() % flowableProcessors.length].onNext(indexRequest);
       return indexRequest;
    }
 
@@ -187,21 +202,21 @@ public CompletionStage<Void> stop() throws InterruptedException {
       return aggregateCompletionStage.freeze();
    }
 
-   public CompletionStage<Long> size() {
+   public CompletionStage<Long> size(IntSet cacheSegments) {
       AtomicLong size = new AtomicLong();
       AggregateCompletionStage<AtomicLong> aggregateCompletionStage = CompletionStages.aggregateCompletionStage(size);
       for (FlowableProcessor<IndexRequest> flowableProcessor : flowableProcessors) {
-         IndexRequest request = IndexRequest.sizeRequest();
+         IndexRequest request = IndexRequest.sizeRequest(cacheSegments);
          flowableProcessor.onNext(request);
          aggregateCompletionStage.dependsOn(request.thenAccept(count -> size.addAndGet((long) count)));
       }
       return aggregateCompletionStage.freeze().thenApply(AtomicLong::get);
    }
 
-   public long approximateSize() {
+   public long approximateSize(IntSet cacheSegments) {
       long size = 0;
-      for (Segment seg : segments) {
-         size += seg.size.get();
+      for (PrimitiveIterator.OfInt iterator = cacheSegments.iterator(); iterator.hasNext(); ) {
+         size += segments[iterator.nextInt()].size.get();
          if (size < 0) {
             return Long.MAX_VALUE;
          }
@@ -223,20 +238,64 @@ public long getMaxSeqId() throws IOException {
    }
 
    public void start(Executor executor) {
-      for (int i = 0; i < segments.length; ++i) {
-         Segment segment = segments[i];
+      for (int i = 0; i < flowableProcessors.length; ++i) {
+         int updater = i;
          flowableProcessors[i]
                .observeOn(Schedulers.from(executor))
-               .subscribe(segment, segment::completeExceptionally, segment);
+               .subscribe(request -> update(updater, request), t -> {
+                  for (int segment = updater; segment < segments.length; segment += flowableProcessors.length) {
+                     segments[segment].completeExceptionally(t);
+                  }
+               }, () -> {
+                  for (int segment = updater; segment < segments.length; segment += flowableProcessors.length) {
+                     segments[segment].run();
+                  }
+               });
+      }
+   }
+
+   // Ran by the updater thread that owns the segments of the request
+   private void update(int updater, IndexRequest request) throws Throwable {
+      switch (request.getType()) {
+         case CLEAR:
+         case DROP:
+            IntSet cacheSegments = (IntSet) request.getKey();
+            for (int segment = updater; segment < segments.length; segment += flowableProcessors.length) {
+               if (cacheSegments.contains(segment)) {
+                  segments[segment].clear(request.getType() == IndexRequest.Type.DROP);
+               }
+            }
+            nonBlockingManager.complete(request, null);
+            return;
+         case SYNC_REQUEST:
+            Runnable runnable = (Runnable) request.getKey();
+            runnable.run();
+            nonBlockingManager.complete(request, null);
+            return;
+         case SIZE:
+            IntSet sizeSegments = (IntSet) request.getKey();
+            long size = 0;
+            for (int segment = updater; segment < segments.length; segment += flowableProcessors.length) {
+               if (sizeSegments.contains(segment)) {
+                  size += segments[segment].size.get();
+               }
+            }
+            nonBlockingManager.complete(request, size);
+            return;
+         default:
+            segments[request.getSegment()].accept(request);
       }
    }
 
    class Segment extends CompletableFuture<Void> implements Consumer<IndexRequest>, Action {
+      private final int id;
       private final TemporaryTable temporaryTable;
       private final TreeMap<Short, List<IndexSpace>> freeBlocks = new TreeMap<>();
       private final ReadWriteLock rootLock = new ReentrantReadWriteLock();
       private final boolean loaded;
-      private final FileChannel indexFile;
+      private final File indexFileFile;
+      // Opened only while the segment has nodes stored in the file, so that empty segments don't keep it open
+      private volatile FileChannel indexFile;
       private long indexFileSize;
       private final AtomicLong size = new AtomicLong();
 
@@ -244,10 +303,18 @@ class Segment extends CompletableFuture<Void> implements Consumer<IndexRequest>,
 
 
       private Segment(int id, TemporaryTable temporaryTable) throws IOException {
+         this.id = id;
          this.temporaryTable = temporaryTable;
 
          int segmentMax = temporaryTable.getSegmentMax();
-         File indexFileFile = new File(indexDir.toFile(), "index." + id);
+         this.indexFileFile = new File(indexDir.toFile(), "index." + id);
+         if (!indexFileFile.exists()) {
+            // The file is created on the first write
+            root = IndexNode.emptyWithLeaves(this);
+            loaded = false;
+            indexFileSize = INDEX_FILE_HEADER_SIZE;
+            return;
+         }
          this.indexFile = new RandomAccessFile(indexFileFile, "rw").getChannel();
          indexFile.position(0);
          ByteBuffer buffer = ByteBuffer.allocate(INDEX_FILE_HEADER_SIZE);
@@ -262,6 +329,15 @@ private Segment(int id, TemporaryTable temporaryTable) throws IOException {
             loadFreeBlocks(freeBlocksOffset);
             indexFileSize = freeBlocksOffset;
             loaded = true;
+            if (root.isEmpty()) {
+               // Keep the graceful header until the file is reopened for a write
+               root = IndexNode.emptyWithLeaves(this);
+               freeBlocks.clear();
+               indexFileSize = INDEX_FILE_HEADER_SIZE;
+               indexFile.close();
+               indexFile = null;
+               return;
+            }
          } else {
             this.indexFile.truncate(0);
             root = IndexNode.emptyWithLeaves(this);
@@ -276,6 +352,22 @@ private Segment(int id, TemporaryTable temporaryTable) throws IOException {
          write(indexFile, buffer);
       }
 
+      /**
+       * Empties the segment and closes its index file, which is reopened when something is indexed again.
+       * This must be invoked from the updater thread with the root write lock held.
+       */
+      private void closeIndexFile() throws IOException {
+         root = IndexNode.emptyWithLeaves(this);
+         freeBlocks.clear();
+         indexFileSize = INDEX_FILE_HEADER_SIZE;
+         FileChannel indexFile = this.indexFile;
+         if (indexFile != null) {
+            this.indexFile = null;
+            indexFile.truncate(0);
+            indexFile.close();
+         }
+      }
+
       private void write(FileChannel indexFile, ByteBuffer buffer) throws IOException {
          do {
             int written = indexFile.write(buffer);
@@ -301,19 +393,6 @@ public void accept(IndexRequest request) throws Throwable {
          IndexNode.OverwriteHook overwriteHook;
          IndexNode.RecordChange recordChange;
          switch (request.getType()) {
-            case CLEAR:
-               root = IndexNode.emptyWithLeaves(this);
-               indexFile.truncate(0);
-               indexFileSize = INDEX_FILE_HEADER_SIZE;
-               freeBlocks.clear();
-               size.set(0);
-               nonBlockingManager.complete(request,null);
-               return;
-            case SYNC_REQUEST:
-               Runnable runnable = (Runnable) request.getKey();
-               runnable.run();
-               nonBlockingManager.complete(request, null);
-               return;
             case MOVED:
                recordChange = IndexNode.RecordChange.MOVE;
                overwriteHook = new IndexNode.OverwriteHook() {
@@ -353,9 +432,6 @@ public void setOverwritten(boolean overwritten, int prevFile, int prevOffset) {
                recordChange = IndexNode.RecordChange.INCREASE_FOR_OLD;
                overwriteHook = IndexNode.NOOP_HOOK;
                break;
-            case SIZE:
-               nonBlockingManager.complete(request, size.get());
-               return;
             default:
                throw new IllegalArgumentException(request.toString());
          }
@@ -369,9 +445,25 @@ public void setOverwritten(boolean overwritten, int prevFile, int prevOffset) {
          nonBlockingManager.complete(request, null);
       }
 
+      void clear(boolean freeRecords) throws IOException {
+         if (freeRecords) {
+            IndexNode.freeRecords(this, rootReadLock());
+         }
+         rootLock.writeLock().lock();
+         try {
+            // The file is not needed until something is indexed again
+            closeIndexFile();
+         } finally {
+            rootLock.writeLock().unlock();
+         }
+         size.set(0);
+         if (log.isTraceEnabled()) log.tracef("Cleared index segment %d", id);
+      }
+
       // This is ran when the flowable ends either via normal termination or error
       @Override
       public void run() throws IOException {
+         FileChannel indexFile = getIndexFile();
          IndexSpace rootSpace = allocateIndexSpace(root.length());
          root.store(rootSpace);
          indexFile.position(indexFileSize);
@@ -411,6 +503,7 @@ public void run() throws IOException {
          buffer.putInt(4, temporaryTable.getSegmentMax());
          indexFile.position(0);
          write(indexFile, buffer);
+         indexFile.close();
 
          complete(null);
       }
@@ -449,7 +542,19 @@ private void loadFreeBlocks(long freeBlocksOffset) throws IOException {
          }
       }
 
-      public FileChannel getIndexFile() {
+      public FileChannel getIndexFile() throws IOException {
+         FileChannel indexFile = this.indexFile;
+         if (indexFile == null) {
+            synchronized (indexFileFile) {
+               indexFile = this.indexFile;
+               if (indexFile == null) {
+                  // The segment is empty, truncating the file marks it as dirty until the graceful shutdown
+                  indexFile = new RandomAccessFile(indexFileFile, "rw").getChannel();
+                  indexFile.truncate(0);
+                  this.indexFile = indexFile;
+               }
+            }
+         }
          return indexFile;
       }
 
@@ -502,7 +607,7 @@ void freeIndexSpace(long offset, short length) {
          } else {
             indexFileSize -= length;
             try {
-               indexFile.truncate(indexFileSize);
+               getIndexFile().truncate(indexFileSize);
             } catch (IOException e) {
                log.cannotTruncateIndex(e);
             }
@@ -554,7 +659,8 @@ public String toString() {
    }
 
    <V> Flowable<EntryRecord> publish(IntSet cacheSegments, boolean loadValues) {
-      return Flowable.fromArray(segments)
-            .concatMap(segment -> segment.root.publish(cacheSegments, loadValues));
+      // Only the index segments of the requested cache segments are traversed
+      return Flowable.fromIterable(cacheSegments)
+            .concatMap(segment -> segments[segment].root.publish(cacheSegments, loadValues));
    }
 }
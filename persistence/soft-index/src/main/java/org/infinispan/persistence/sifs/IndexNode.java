@@ -337,6 +337,45 @@ private static long calculateMaxSeqId(IndexNode node, Index.Segment segment) thr
       return maxSeqId;
    }
 
+   /**
+    * Releases the space of the records referenced by the index segment to the compactor, as the segment is about to
+    * be dropped.
+    */
+   public static void freeRecords(Index.Segment segment, Lock lock) throws IOException {
+      lock.lock();
+      try {
+         freeRecords(segment.getRoot(), segment);
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   private static void freeRecords(IndexNode node, Index.Segment segment) throws IOException {
+      node.lock.readLock().lock();
+      try {
+         if (node.leafNodes != null) {
+            for (LeafNode ln : node.leafNodes) {
+               try {
+                  EntryRecord record = ln.loadHeaderAndKey(segment.getFileProvider());
+                  segment.getCompactor().free(ln.file, record.getHeader().totalLength());
+               } catch (IndexNodeOutdatedException e) {
+                  // The file was already deleted by the compactor
+               }
+            }
+         }
+         if (node.innerNodes != null) {
+            for (InnerNode in : node.innerNodes) {
+               IndexNode child = in.getIndexNode(segment);
+               if (child != null) {
+                  freeRecords(child, segment);
+               }
+            }
+         }
+      } finally {
+         node.lock.readLock().unlock();
+      }
+   }
+
    private void updateFileOffsetInFile(int leafOffset, int newFile, int newOffset) throws IOException {
       // Root is -1, so that means the beginning of the file
       long offset = this.offset >= 0 ? this.offset : 0;
@@ -949,6 +988,13 @@ public short length() {
       return this.totalLength = (short) totalLength;
    }
 
+   /**
+    * @return true if this node has no children
+    */
+   boolean isEmpty() {
+      return innerNodes == null && leafNodes.length == 0;
+   }
+
    public static IndexNode emptyWithLeaves(Index.Segment segment) {
       return new IndexNode(segment, Util.EMPTY_BYTE_ARRAY, Util.EMPTY_BYTE_ARRAY_ARRAY, LeafNode.EMPTY_ARRAY);
    }
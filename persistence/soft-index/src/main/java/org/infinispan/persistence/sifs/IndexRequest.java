@@ -4,6 +4,7 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.Util;
 
 /**
@@ -18,6 +19,7 @@ public enum Type {
       DROPPED,
       FOUND_OLD,
       CLEAR,
+      DROP,
       SYNC_REQUEST,
       SIZE
    }
@@ -63,8 +65,16 @@ public static IndexRequest foundOld(int segment, Object key, byte[] serializedKe
       return new IndexRequest(Type.FOUND_OLD, segment, Objects.requireNonNull(key), serializedKey, -1, -1, -1, prevFile, prevOffset);
    }
 
-   public static IndexRequest clearRequest() {
-      return new IndexRequest(Type.CLEAR, -1, null, null, -1, -1, -1, -1, -1);
+   /**
+    * Clears the index segments of the given cache segments.
+    * @param type {@link Type#CLEAR} or {@link Type#DROP}, which also releases the space of the indexed entries to the
+    *             compactor
+    * @param segments the cache segments to clear
+    * @return the request
+    */
+   public static IndexRequest clearRequest(Type type, IntSet segments) {
+      assert type == Type.CLEAR || type == Type.DROP;
+      return new IndexRequest(type, -1, segments, null, -1, -1, -1, -1, -1);
    }
 
    /**
@@ -77,8 +87,8 @@ public static IndexRequest syncRequest(Runnable runnable) {
       return new IndexRequest(Type.SYNC_REQUEST, -1, runnable, null, -1, -1, -1, -1, -1);
    }
 
-   public static IndexRequest sizeRequest() {
-      return new IndexRequest(Type.SIZE, -1,null, null, -1, -1, -1, -1, -1);
+   public static IndexRequest sizeRequest(IntSet segments) {
+      return new IndexRequest(Type.SIZE, -1, segments, null, -1, -1, -1, -1, -1);
    }
 
 
@@ -84,4 +84,16 @@ public interface Log extends BasicLogger {
 
    @Message(value = "Index looks corrupt.", id = 29020)
    PersistenceException indexLooksCorrupt(@Cause Exception e);
+
+   @Message(value = "Maximum delay of synced writes (%d) must not be negative.", id = 29021)
+   CacheConfigurationException invalidSyncMaxDelay(long syncMaxDelay);
+
+   @Message(value = "Maximum batch size of synced writes (%d) must be positive.", id = 29022)
+   CacheConfigurationException invalidSyncMaxBatchSize(int syncMaxBatchSize);
+
+   @Message(value = "Maximum compaction throughput (%d) must not be negative.", id = 29023)
+   CacheConfigurationException invalidCompactionMaxThroughput(int compactionMaxThroughput);
+
+   @Message(value = "Compaction latency threshold (%d) must not be negative.", id = 29024)
+   CacheConfigurationException invalidCompactionLatencyThreshold(long compactionLatencyThreshold);
 }
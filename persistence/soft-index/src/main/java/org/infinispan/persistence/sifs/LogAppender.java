@@ -1,16 +1,20 @@
 package org.infinispan.persistence.sifs;
 
+import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.util.Util;
 import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.NonBlockingManager;
 import org.infinispan.util.logging.LogFactory;
 
@@ -21,6 +25,7 @@
 
 public class LogAppender implements Consumer<LogAppender.WriteOperation> {
    private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass(), Log.class);
+   private static final long LATENCY_EXPIRATION_NANOS = TimeUnit.SECONDS.toNanos(1);
 
    private final NonBlockingManager nonBlockingManager;
    private final Index index;
@@ -28,6 +33,8 @@ public class LogAppender implements Consumer<LogAppender.WriteOperation> {
    private final Compactor compactor;
    private final FileProvider fileProvider;
    private final boolean syncWrites;
+   private final long syncMaxDelay;
+   private final int syncMaxBatchSize;
    private final int maxFileSize;
    // Used to keep track of how many log requests have been submitted. This way if the blocking thread has consumed
    // the same number of log requests it can immediately flush.
@@ -35,6 +42,16 @@ public class LogAppender implements Consumer<LogAppender.WriteOperation> {
    // This variable is null unless sync writes are enabled. When sync writes are enabled this list holds
    // all the log requests that should be completed when the disk is ensured to be flushed
    private final List<LogRequest> toSyncLogRequests;
+   // Only recorded by the log appender thread when the log is fsynced
+   private final Histogram syncLatencies = new Histogram();
+   private final Histogram syncBatchSizes = new Histogram();
+   // Set when there are log requests waiting for the periodic sync, which is only scheduled when the max delay is
+   // positive; otherwise the log is fsynced as soon as the submitted requests are drained
+   private volatile boolean syncPending;
+   // Only updated by the log appender thread when completing writes
+   private final AtomicLong bytesWritten = new AtomicLong();
+   private volatile long writeLatency;
+   private volatile long lastWriteNanos;
 
    // This buffer is used by the log appender thread to avoid allocating buffers per entry written that are smaller
    // than the header size
@@ -52,19 +69,25 @@ public class LogAppender implements Consumer<LogAppender.WriteOperation> {
    private volatile FlowableProcessor<LogRequest> requestProcessor;
    // This is only accessed by the requestProcessor thread
    private FlowableProcessor<WriteOperation> writeProcessor;
+   private AutoCloseable syncTask;
 
    public LogAppender(NonBlockingManager nonBlockingManager, Index index,
                       TemporaryTable temporaryTable, Compactor compactor,
-                      FileProvider fileProvider, boolean syncWrites, int maxFileSize) {
+                      FileProvider fileProvider, boolean syncWrites, long syncMaxDelay, int syncMaxBatchSize,
+                      int maxFileSize) {
       this.nonBlockingManager = nonBlockingManager;
       this.index = index;
       this.temporaryTable = temporaryTable;
       this.compactor = compactor;
       this.fileProvider = fileProvider;
       this.syncWrites = syncWrites;
+      this.syncMaxDelay = syncMaxDelay;
+      this.syncMaxBatchSize = syncMaxBatchSize;
       this.maxFileSize = maxFileSize;
 
       this.toSyncLogRequests = syncWrites ? new ArrayList<>() : null;
+      // No write was recorded yet
+      this.lastWriteNanos = System.nanoTime() - LATENCY_EXPIRATION_NANOS - 1;
    }
 
    public synchronized void start(Executor executor) {
@@ -81,14 +104,79 @@ public synchronized void start(Executor executor) {
                writeProcessor.onComplete();
                writeProcessor = null;
             });
+
+      if (syncWrites && syncMaxDelay > 0) {
+         syncTask = nonBlockingManager.scheduleWithFixedDelay(this::requestSync, syncMaxDelay, syncMaxDelay,
+               TimeUnit.MILLISECONDS);
+      }
    }
 
    public synchronized void stop() {
       assert requestProcessor != null;
+      if (syncTask != null) {
+         Util.close(syncTask);
+         syncTask = null;
+      }
+      if (syncWrites) {
+         // Writes waiting for the periodic sync must not be left uncompleted
+         requestProcessor.onNext(LogRequest.syncRequest());
+      }
       requestProcessor.onComplete();
       requestProcessor = null;
    }
 
+   /**
+    * @return the time, in nanoseconds, taken by each fsync of the log
+    */
+   public Histogram getSyncLatencies() {
+      return syncLatencies;
+   }
+
+   /**
+    * @return the number of writes that were made durable by each fsync of the log
+    */
+   public Histogram getSyncBatchSizes() {
+      return syncBatchSizes;
+   }
+
+   /**
+    * @return the number of bytes appended to the log
+    */
+   public long getBytesWritten() {
+      return bytesWritten.get();
+   }
+
+   /**
+    * Returns the moving average of the time between the submission of a write and its completion, including the
+    * fsync if writes are synced. Writes that happened more than {@link #LATENCY_EXPIRATION_NANOS} ago are not
+    * considered, so the latency is 0 when there are no writes.
+    * @return the recent latency of writes, in nanoseconds
+    */
+   public long getWriteLatency() {
+      return System.nanoTime() - lastWriteNanos > LATENCY_EXPIRATION_NANOS ? 0 : writeLatency;
+   }
+
+   private void recordWriteLatency(LogRequest request) {
+      long now = System.nanoTime();
+      long latency = now - request.getSubmitNanos();
+      long average = now - lastWriteNanos > LATENCY_EXPIRATION_NANOS ? latency : writeLatency;
+      // Exponentially weighted moving average with a weight of 1/8 for the new sample
+      writeLatency = average + (latency - average) / 8;
+      lastWriteNanos = now;
+   }
+
+   private CompletionStage<?> requestSync() {
+      FlowableProcessor<LogRequest> processor = requestProcessor;
+      if (!syncPending || processor == null) {
+         return CompletableFutures.completedNull();
+      }
+      LogRequest syncRequest = LogRequest.syncRequest();
+      processor.onNext(syncRequest);
+      // Wait for the sync so that requests don't pile up if it is slower than the delay, but keep the task running
+      // even if it failed
+      return syncRequest.handle((ignore, t) -> null);
+   }
+
    static class WriteOperation {
       private final LogRequest logRequest;
       private final java.nio.ByteBuffer serializedKey;
@@ -180,7 +268,11 @@ private static <I> CompletionStage<I> cast(CompletionStage stage) {
     * @param request the log request
     */
    private void callerAccept(LogRequest request) {
-      if (request.isPause()) {
+      if (request.isSync()) {
+         // Syncs only affect requests that were already written, so they are never delayed by a pause
+         sendToWriteProcessor(request);
+         return;
+      } else if (request.isPause()) {
          delayedLogRequests = new ArrayList<>();
          // This request is created in the same thread - so there can be no dependents
          request.complete(null);
@@ -216,6 +308,13 @@ private void sendToWriteProcessor(LogRequest request) {
    public void accept(WriteOperation writeOperation) {
       LogRequest actualRequest = writeOperation.logRequest;
       try {
+         if (actualRequest.isSync()) {
+            if (toSyncLogRequests != null && !toSyncLogRequests.isEmpty()) {
+               syncPendingLogRequests();
+            }
+            completeRequest(actualRequest);
+            return;
+         }
          if (logFile == null) {
             logFile = fileProvider.getFileForLog();
             log.tracef("Appending records to %s", logFile.fileId);
@@ -232,6 +331,9 @@ public void accept(WriteOperation writeOperation) {
          int actualLength = actualRequest.length();
          if (currentOffset != 0 && currentOffset + actualLength > maxFileSize) {
             // switch to next file
+            if (toSyncLogRequests != null && !toSyncLogRequests.isEmpty()) {
+               syncPendingLogRequests();
+            }
             logFile.close();
             compactor.completeFile(logFile.fileId, currentOffset);
             completePendingLogRequests();
@@ -247,24 +349,51 @@ public void accept(WriteOperation writeOperation) {
                actualRequest.getLastUsed());
          actualRequest.setFile(logFile.fileId);
          actualRequest.setFileOffset(currentOffset);
+         currentOffset += actualLength;
+         bytesWritten.addAndGet(actualLength);
 
          if (!syncWrites) {
             completeRequest(actualRequest);
          } else {
             // This cannot be null when sync writes is true
             toSyncLogRequests.add(actualRequest);
-            if (submittedCount.get() == ++receivedCount || toSyncLogRequests.size() == 1000) {
-               logFile.fileChannel.force(false);
-               completePendingLogRequests();
+            // Without a delay the log is synced as soon as no other write is queued, otherwise the periodic sync
+            // completes the batch unless it is full before
+            boolean drained = submittedCount.get() == ++receivedCount;
+            if (toSyncLogRequests.size() >= syncMaxBatchSize || (drained && syncMaxDelay == 0)) {
+               syncPendingLogRequests();
+            } else {
+               syncPending = true;
             }
          }
-         currentOffset += actualLength;
       } catch (Exception e) {
          log.debugf("Exception encountered while processing log request %s", actualRequest);
          actualRequest.completeExceptionally(e);
       }
    }
 
+   /**
+    * Fsyncs the current log file and completes the log requests that were waiting for it. If the fsync fails, they
+    * are completed exceptionally. Must only be invoked by {@link #accept(WriteOperation)} method.
+    */
+   private void syncPendingLogRequests() throws IOException {
+      int batchSize = toSyncLogRequests.size();
+      long start = System.nanoTime();
+      try {
+         logFile.fileChannel.force(false);
+      } catch (IOException e) {
+         for (LogRequest logRequest : toSyncLogRequests) {
+            logRequest.completeExceptionally(e);
+         }
+         toSyncLogRequests.clear();
+         syncPending = false;
+         throw e;
+      }
+      syncLatencies.record(System.nanoTime() - start);
+      syncBatchSizes.record(batchSize);
+      completePendingLogRequests();
+   }
+
    /**
     * Must only be invoked by {@link #accept(WriteOperation)} method.
     */
@@ -275,6 +404,7 @@ private void completePendingLogRequests() {
             iter.remove();
             completeRequest(logRequest);
          }
+         syncPending = false;
       }
    }
 
@@ -296,7 +426,10 @@ private long nextSeqId() {
       return seqId++;
    }
 
-   private void completeRequest(CompletableFuture<Void> future) {
-      nonBlockingManager.complete(future, null);
+   private void completeRequest(LogRequest request) {
+      if (request.getKey() != null) {
+         recordWriteLatency(request);
+      }
+      nonBlockingManager.complete(request, null);
    }
 }
@@ -18,7 +18,8 @@ enum Type {
       DELETE,
       CLEAR_ALL,
       PAUSE,
-      RESUME
+      RESUME,
+      SYNC
    }
 
    private final Type type;
@@ -31,6 +32,7 @@ enum Type {
    private final ByteBuffer serializedInternalMetadata;
    private final long created;
    private final long lastUsed;
+   private final long submitNanos = System.nanoTime();
    private volatile int file;
    private volatile int fileOffset;
    private volatile IndexRequest indexRequest;
@@ -74,6 +76,10 @@ public static LogRequest resumeRequest() {
       return new LogRequest(Type.RESUME);
    }
 
+   public static LogRequest syncRequest() {
+      return new LogRequest(Type.SYNC);
+   }
+
    public int length() {
       return EntryHeader.HEADER_SIZE_11_0 + serializedKey.getLength()
             + (serializedValue != null ? serializedValue.getLength() : 0)
@@ -113,6 +119,13 @@ public long getLastUsed() {
       return lastUsed;
    }
 
+   /**
+    * @return the {@link System#nanoTime()} when this request was created
+    */
+   public long getSubmitNanos() {
+      return submitNanos;
+   }
+
    public long getExpiration() {
       return expirationTime;
    }
@@ -129,6 +142,10 @@ public boolean isResume() {
       return type == Type.RESUME;
    }
 
+   public boolean isSync() {
+      return type == Type.SYNC;
+   }
+
    public void setIndexRequest(IndexRequest indexRequest) {
       this.indexRequest = indexRequest;
    }
@@ -89,9 +89,10 @@
  * - Index:          B+-tree of IndexNodes. The tree is dropped and built a new if the process
  *                   crashes, it does not need to flush disk operations. On disk it is kept as single random-accessed file, with free blocks list stored in memory.
  *
- * As IndexUpdater may easily become a bottleneck under heavy load, the IndexUpdater thread,
- * UpdateQueue and tree of IndexNodes may be multiplied several times - the Index is divided
- * into Segments. Each segment owns keys according to the hashCode() of the key.
+ * The Index is divided into Segments, one for each cache segment, each with its own tree of
+ * IndexNodes and index file. As IndexUpdater may easily become a bottleneck under heavy load,
+ * the IndexUpdater thread and UpdateQueue may be multiplied several times, each of them
+ * updating a subset of the Segments.
  *
  * Amount of entries in IndexNode is limited by the size it occupies on disk. This size is
  * limited by configurable nodeSize (4096 bytes by default?), only in case that the node
@@ -162,7 +163,12 @@ public CompletionStage<Void> addSegments(IntSet segments) {
    @Override
    public CompletionStage<Void> removeSegments(IntSet segments) {
       temporaryTable.removeSegments(segments);
-      return CompletableFutures.completedNull();
+      try {
+         // The entries of the segments are not removed from the data files, the compactor reclaims their space
+         return index.drop(segments);
+      } catch (IOException e) {
+         throw log.cannotClearIndex(e);
+      }
    }
 
    @Override
@@ -187,8 +193,9 @@ public CompletionStage<Void> start(InitializationContext ctx) {
          temporaryTable.addSegments(IntSets.immutableRangeSet(cacheConfig.clustering().hash().numSegments()));
       }
       fileProvider = new FileProvider(getDataLocation(), configuration.openFilesLimit(), PREFIX_LATEST,
-            configuration.maxFileSize());
+            configuration.maxFileSize(), configuration.memoryMappedReads());
       compactor = new Compactor(fileProvider, temporaryTable, marshaller, timeService, keyPartitioner, configuration.maxFileSize(), configuration.compactionThreshold(),
+            configuration.compactionMaxThroughput(), configuration.compactionLatencyThreshold(),
             blockingManager.asExecutor("compactor"));
       try {
          index = new Index(ctx.getNonBlockingManager(), fileProvider, getIndexLocation(), configuration.indexSegments(),
@@ -199,8 +206,10 @@ public CompletionStage<Void> start(InitializationContext ctx) {
       }
       compactor.setIndex(index);
       logAppender = new LogAppender(ctx.getNonBlockingManager(), index, temporaryTable, compactor, fileProvider,
-            configuration.syncWrites(), configuration.maxFileSize());
+            configuration.syncWrites(), configuration.syncMaxDelay(), configuration.syncMaxBatchSize(),
+            configuration.maxFileSize());
       logAppender.start(blockingManager.asExecutor("sifs-log-processor"));
+      compactor.setWriteLatency(logAppender::getWriteLatency);
       startIndex();
       final AtomicLong maxSeqId = new AtomicLong(0);
 
@@ -358,7 +367,7 @@ protected boolean isSeqIdOld(long seqId, int segment, Object key, byte[] seriali
       for (; ; ) {
          EntryPosition entry = temporaryTable.get(segment, key);
          if (entry == null) {
-            entry = index.getInfo(key, serializedKey);
+            entry = index.getInfo(segment, serializedKey);
          }
          if (entry == null) {
             if (log.isTraceEnabled()) {
@@ -416,6 +425,43 @@ public CompletionStage<Void> stop() {
       }, "soft-index-stop");
    }
 
+   /**
+    * @return the time, in nanoseconds, taken by each fsync of the log when {@code sync-writes} is enabled
+    */
+   public Histogram getSyncLatencies() {
+      return logAppender.getSyncLatencies();
+   }
+
+   /**
+    * @return the number of writes that were made durable by each fsync of the log when {@code sync-writes} is enabled
+    */
+   public Histogram getSyncBatchSizes() {
+      return logAppender.getSyncBatchSizes();
+   }
+
+   /**
+    * @return the number of bytes freed on disk by compaction
+    */
+   public long getCompactionBytesReclaimed() {
+      return compactor.getBytesReclaimed();
+   }
+
+   /**
+    * @return the number of data files waiting for compaction
+    */
+   public int getCompactionBacklog() {
+      return compactor.getBacklog();
+   }
+
+   /**
+    * @return the ratio of the bytes written to the data files, by both the writes and the compactor, to the bytes
+    *         written by the writes, or 1 if nothing was written
+    */
+   public double getWriteAmplification() {
+      long logBytes = logAppender.getBytesWritten();
+      return logBytes == 0 ? 1 : (double) (logBytes + compactor.getBytesWritten()) / logBytes;
+   }
+
    @Override
    public CompletionStage<Boolean> isAvailable() {
       // TODO: does this block?
@@ -451,7 +497,7 @@ public CompletionStage<Void> clear() {
    public CompletionStage<Long> size(IntSet segments) {
       return sizeAndClearSequencer.orderOnKey(this, () ->
             logAppender.pause()
-                  .thenCompose(ignore -> index.size())
+                  .thenCompose(ignore -> index.size(segments))
                   .thenCompose(v -> logAppender.resume().thenApply(ignore -> v))
       );
    }
@@ -459,7 +505,7 @@ public CompletionStage<Long> size(IntSet segments) {
    @Override
    public CompletionStage<Long> approximateSize(IntSet segments) {
       // Approximation doesn't pause the appender so the index can be slightly out of sync
-      return CompletableFuture.completedFuture(index.approximateSize());
+      return CompletableFuture.completedFuture(index.approximateSize(segments));
    }
 
    @Override
@@ -513,7 +559,7 @@ public CompletionStage<Boolean> containsKey(int segment, Object key) {
                   }, "soft-index-containsKey");
                }
             } else {
-               EntryPosition position = index.getPosition(key, marshaller.objectToByteBuffer(key));
+               EntryPosition position = index.getPosition(segment, marshaller.objectToByteBuffer(key));
                return CompletableFutures.booleanStage(position != null);
             }
          }
@@ -538,7 +584,7 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
                      return marshallableEntry;
                   }
                } else {
-                  EntryRecord record = index.getRecord(key, marshaller.objectToByteBuffer(key));
+                  EntryRecord record = index.getRecord(segment, marshaller.objectToByteBuffer(key));
                   if (record == null) return null;
                   return marshallableEntryFactory.create(toBuffer(record.getKey()), toBuffer(record.getValue()),
                         toBuffer(record.getMetadata()), toBuffer(record.getInternalMetadata()), record.getCreated(), record.getLastUsed());
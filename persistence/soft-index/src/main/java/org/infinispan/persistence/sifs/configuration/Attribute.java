@@ -11,15 +11,20 @@
 public enum Attribute {
    // must be first
    UNKNOWN(null),
+   COMPACTION_LATENCY_THRESHOLD("compaction-latency-threshold"),
+   COMPACTION_MAX_THROUGHPUT("compaction-max-throughput"),
    COMPACTION_THRESHOLD("compaction-threshold"),
    PATH("path"),
    INDEX_QUEUE_LENGTH("max-queue-length"),
    SEGMENTS("segments"),
    MAX_FILE_SIZE("max-file-size"),
    MAX_NODE_SIZE("max-node-size"),
+   MEMORY_MAPPED_READS("memory-mapped-reads"),
    MIN_NODE_SIZE("min-node-size"),
    OPEN_FILES_LIMIT("open-files-limit"),
    SYNC_WRITES("sync-writes"),
+   SYNC_MAX_DELAY("sync-max-delay"),
+   SYNC_MAX_BATCH_SIZE("sync-max-batch-size"),
    RELATIVE_TO("relative-to");
 
    private final String name;
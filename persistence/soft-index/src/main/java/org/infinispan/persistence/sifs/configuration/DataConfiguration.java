@@ -12,10 +12,13 @@ public class DataConfiguration implements ConfigurationInfo {
    public static final AttributeDefinition<String> DATA_LOCATION = AttributeDefinition.builder("dataLocation", null, String.class).immutable().autoPersist(false).xmlName("path").build();
    public static final AttributeDefinition<Integer> MAX_FILE_SIZE = AttributeDefinition.builder("maxFileSize", 16 * 1024 * 1024).immutable().autoPersist(false).build();
    public static final AttributeDefinition<Boolean> SYNC_WRITES = AttributeDefinition.builder("syncWrites", false).immutable().autoPersist(false).build();
+   public static final AttributeDefinition<Long> SYNC_MAX_DELAY = AttributeDefinition.builder("syncMaxDelay", 0L).immutable().autoPersist(false).build();
+   public static final AttributeDefinition<Integer> SYNC_MAX_BATCH_SIZE = AttributeDefinition.builder("syncMaxBatchSize", 1000).immutable().autoPersist(false).build();
+   public static final AttributeDefinition<Boolean> MEMORY_MAPPED_READS = AttributeDefinition.builder("memoryMappedReads", false).immutable().autoPersist(false).build();
    private final AttributeSet attributes;
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(DataConfiguration.class, DATA_LOCATION, MAX_FILE_SIZE, SYNC_WRITES);
+      return new AttributeSet(DataConfiguration.class, DATA_LOCATION, MAX_FILE_SIZE, SYNC_WRITES, SYNC_MAX_DELAY, SYNC_MAX_BATCH_SIZE, MEMORY_MAPPED_READS);
    }
 
    static ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(DATA.getLocalName());
@@ -42,6 +45,18 @@ public boolean syncWrites() {
       return attributes.attribute(SYNC_WRITES).get();
    }
 
+   public long syncMaxDelay() {
+      return attributes.attribute(SYNC_MAX_DELAY).get();
+   }
+
+   public int syncMaxBatchSize() {
+      return attributes.attribute(SYNC_MAX_BATCH_SIZE).get();
+   }
+
+   public boolean memoryMappedReads() {
+      return attributes.attribute(MEMORY_MAPPED_READS).get();
+   }
+
    public String dataLocation() {
       return attributes.attribute(DATA_LOCATION).get();
    }
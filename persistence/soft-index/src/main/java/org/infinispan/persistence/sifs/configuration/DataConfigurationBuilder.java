@@ -2,15 +2,22 @@
 
 import static org.infinispan.persistence.sifs.configuration.DataConfiguration.DATA_LOCATION;
 import static org.infinispan.persistence.sifs.configuration.DataConfiguration.MAX_FILE_SIZE;
+import static org.infinispan.persistence.sifs.configuration.DataConfiguration.MEMORY_MAPPED_READS;
+import static org.infinispan.persistence.sifs.configuration.DataConfiguration.SYNC_MAX_BATCH_SIZE;
+import static org.infinispan.persistence.sifs.configuration.DataConfiguration.SYNC_MAX_DELAY;
 import static org.infinispan.persistence.sifs.configuration.DataConfiguration.SYNC_WRITES;
 
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.ConfigurationBuilderInfo;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.commons.configuration.elements.ElementDefinition;
+import org.infinispan.persistence.sifs.Log;
+import org.infinispan.util.logging.LogFactory;
 
 public class DataConfigurationBuilder implements ConfigurationBuilderInfo, Builder<DataConfiguration> {
 
+   private static final Log log = LogFactory.getLog(DataConfigurationBuilder.class, Log.class);
+
    private final AttributeSet attributes;
 
    public DataConfigurationBuilder() {
@@ -42,8 +49,31 @@ public DataConfigurationBuilder syncWrites(boolean syncWrites) {
       return this;
    }
 
+   public DataConfigurationBuilder syncMaxDelay(long syncMaxDelay) {
+      attributes.attribute(SYNC_MAX_DELAY).set(syncMaxDelay);
+      return this;
+   }
+
+   public DataConfigurationBuilder syncMaxBatchSize(int syncMaxBatchSize) {
+      attributes.attribute(SYNC_MAX_BATCH_SIZE).set(syncMaxBatchSize);
+      return this;
+   }
+
+   public DataConfigurationBuilder memoryMappedReads(boolean memoryMappedReads) {
+      attributes.attribute(MEMORY_MAPPED_READS).set(memoryMappedReads);
+      return this;
+   }
+
    @Override
    public void validate() {
+      long syncMaxDelay = attributes.attribute(SYNC_MAX_DELAY).get();
+      if (syncMaxDelay < 0) {
+         throw log.invalidSyncMaxDelay(syncMaxDelay);
+      }
+      int syncMaxBatchSize = attributes.attribute(SYNC_MAX_BATCH_SIZE).get();
+      if (syncMaxBatchSize < 1) {
+         throw log.invalidSyncMaxBatchSize(syncMaxBatchSize);
+      }
    }
 
    @Override
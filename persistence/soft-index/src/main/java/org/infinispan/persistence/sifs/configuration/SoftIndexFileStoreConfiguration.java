@@ -27,12 +27,15 @@ public class SoftIndexFileStoreConfiguration extends AbstractStoreConfiguration
 
    public static final AttributeDefinition<Integer> OPEN_FILES_LIMIT = AttributeDefinition.builder("openFilesLimit", 1000).immutable().build();
    public static final AttributeDefinition<Double> COMPACTION_THRESHOLD = AttributeDefinition.builder("compactionThreshold", 0.5d).immutable().build();
+   public static final AttributeDefinition<Integer> COMPACTION_MAX_THROUGHPUT = AttributeDefinition.builder("compactionMaxThroughput", 0).immutable().build();
+   public static final AttributeDefinition<Long> COMPACTION_LATENCY_THRESHOLD = AttributeDefinition.builder("compactionLatencyThreshold", 0L).immutable().build();
    private final IndexConfiguration index;
    private final DataConfiguration data;
    private final List<ConfigurationInfo> elements;
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(SoftIndexFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), OPEN_FILES_LIMIT, COMPACTION_THRESHOLD);
+      return new AttributeSet(SoftIndexFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), OPEN_FILES_LIMIT, COMPACTION_THRESHOLD,
+            COMPACTION_MAX_THROUGHPUT, COMPACTION_LATENCY_THRESHOLD);
    }
 
    public static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(SOFT_INDEX_FILE_STORE.getLocalName(), true, false);
@@ -89,6 +92,18 @@ public boolean syncWrites() {
       return data.syncWrites();
    }
 
+   public long syncMaxDelay() {
+      return data.syncMaxDelay();
+   }
+
+   public int syncMaxBatchSize() {
+      return data.syncMaxBatchSize();
+   }
+
+   public boolean memoryMappedReads() {
+      return data.memoryMappedReads();
+   }
+
    public int openFilesLimit() {
       return attributes.attribute(OPEN_FILES_LIMIT).get();
    }
@@ -97,6 +112,14 @@ public double compactionThreshold() {
       return attributes.attribute(COMPACTION_THRESHOLD).get();
    }
 
+   public int compactionMaxThroughput() {
+      return attributes.attribute(COMPACTION_MAX_THROUGHPUT).get();
+   }
+
+   public long compactionLatencyThreshold() {
+      return attributes.attribute(COMPACTION_LATENCY_THRESHOLD).get();
+   }
+
    public IndexConfiguration index() {
       return index;
    }
@@ -1,6 +1,8 @@
 package org.infinispan.persistence.sifs.configuration;
 
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.SEGMENTED;
+import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_LATENCY_THRESHOLD;
+import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_MAX_THROUGHPUT;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_THRESHOLD;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.OPEN_FILES_LIMIT;
 
@@ -75,9 +77,10 @@ public SoftIndexFileStoreConfigurationBuilder indexLocation(String indexLocation
    }
 
    /**
-    * Number of index segment files. Increasing this value improves throughput but requires more threads to be spawned.
+    * Number of threads updating the index. The index has one segment file per cache segment, each of them updated by
+    * one of these threads. Increasing this value improves throughput but requires more threads to be spawned.
     *
-    * Defaults to <code>3</code>.
+    * Defaults to <code>16</code>.
     */
    public SoftIndexFileStoreConfigurationBuilder indexSegments(int indexSegments) {
       index.indexSegments(indexSegments);
@@ -135,6 +138,41 @@ public SoftIndexFileStoreConfigurationBuilder syncWrites(boolean syncWrites) {
       return this;
    }
 
+   /**
+    * Sets the maximum time, in milliseconds, that a synced write waits for other writes to share its fsync. With a
+    * delay of <code>0</code>, the log is fsynced as soon as there are no more writes queued.
+    * Only used when {@link #syncWrites(boolean)} is enabled.
+    *
+    * Defaults to <code>0</code>.
+    */
+   public SoftIndexFileStoreConfigurationBuilder syncMaxDelay(long syncMaxDelay) {
+      data.syncMaxDelay(syncMaxDelay);
+      return this;
+   }
+
+   /**
+    * Sets the maximum number of synced writes that share a single fsync.
+    * Only used when {@link #syncWrites(boolean)} is enabled.
+    *
+    * Defaults to <code>1000</code>.
+    */
+   public SoftIndexFileStoreConfigurationBuilder syncMaxBatchSize(int syncMaxBatchSize) {
+      data.syncMaxBatchSize(syncMaxBatchSize);
+      return this;
+   }
+
+   /**
+    * Sets whether data files that are no longer written to are memory mapped, so that entries are read from the
+    * mapping instead of through file reads. This is mostly useful for read-mostly stores; note that every open file
+    * is mapped, so the {@link #openFilesLimit(int)} bounds the size of the mappings.
+    *
+    * Defaults to <code>false</code>.
+    */
+   public SoftIndexFileStoreConfigurationBuilder memoryMappedReads(boolean memoryMappedReads) {
+      data.memoryMappedReads(memoryMappedReads);
+      return this;
+   }
+
    /**
     * Sets the maximum number of open files.
     *
@@ -155,6 +193,29 @@ public SoftIndexFileStoreConfigurationBuilder compactionThreshold(double compact
       return this;
    }
 
+   /**
+    * Sets the maximum rate, in megabytes per second, at which the compactor reads data files. A value of
+    * <code>0</code> means that compaction is not throttled.
+    *
+    * Defaults to <code>0</code>.
+    */
+   public SoftIndexFileStoreConfigurationBuilder compactionMaxThroughput(int compactionMaxThroughput) {
+      attributes.attribute(COMPACTION_MAX_THROUGHPUT).set(compactionMaxThroughput);
+      return this;
+   }
+
+   /**
+    * Sets the latency of writes, in milliseconds, above which the compactor pauses, so that it does not compete with
+    * the writes for the disk. The compactor still moves an entry every second while paused, so that the free space is
+    * eventually reclaimed. A value of <code>0</code> means that the compactor never pauses.
+    *
+    * Defaults to <code>0</code>.
+    */
+   public SoftIndexFileStoreConfigurationBuilder compactionLatencyThreshold(long compactionLatencyThreshold) {
+      attributes.attribute(COMPACTION_LATENCY_THRESHOLD).set(compactionLatencyThreshold);
+      return this;
+   }
+
    @Override
    public SoftIndexFileStoreConfiguration create() {
       return new SoftIndexFileStoreConfiguration(attributes.protect(), async.create(), index.create(), data.create());
@@ -181,10 +242,19 @@ protected void validate(boolean skipClassChecks) {
       }
       super.validate(skipClassChecks);
       index.validate();
+      data.validate();
       double compactionThreshold = attributes.attribute(COMPACTION_THRESHOLD).get();
       if (compactionThreshold <= 0 || compactionThreshold > 1) {
          throw log.invalidCompactionThreshold(compactionThreshold);
       }
+      int compactionMaxThroughput = attributes.attribute(COMPACTION_MAX_THROUGHPUT).get();
+      if (compactionMaxThroughput < 0) {
+         throw log.invalidCompactionMaxThroughput(compactionMaxThroughput);
+      }
+      long compactionLatencyThreshold = attributes.attribute(COMPACTION_LATENCY_THRESHOLD).get();
+      if (compactionLatencyThreshold < 0) {
+         throw log.invalidCompactionLatencyThreshold(compactionLatencyThreshold);
+      }
    }
 
    @Override
@@ -62,6 +62,12 @@ private void parseSoftIndexFileStore(ConfigurationReader reader, SoftIndexFileSt
             case COMPACTION_THRESHOLD:
                builder.compactionThreshold(Double.parseDouble(value));
                break;
+            case COMPACTION_MAX_THROUGHPUT:
+               builder.compactionMaxThroughput(Integer.parseInt(value));
+               break;
+            case COMPACTION_LATENCY_THRESHOLD:
+               builder.compactionLatencyThreshold(Long.parseLong(value));
+               break;
             default:
                Parser.parseStoreAttribute(reader, i, builder);
                break;
@@ -107,6 +113,15 @@ private void parseData(ConfigurationReader reader, SoftIndexFileStoreConfigurati
             case SYNC_WRITES:
                builder.syncWrites(Boolean.parseBoolean(value));
                break;
+            case SYNC_MAX_DELAY:
+               builder.syncMaxDelay(Long.parseLong(value));
+               break;
+            case SYNC_MAX_BATCH_SIZE:
+               builder.syncMaxBatchSize(Integer.parseInt(value));
+               break;
+            case MEMORY_MAPPED_READS:
+               builder.memoryMappedReads(Boolean.parseBoolean(value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -0,0 +1,75 @@
+package org.infinispan.persistence.sifs;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.commons.test.CommonsTestingUtil;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfigurationBuilder;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that throttled compaction reclaims the space of overwritten entries and reports it.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "persistence.sifs.SoftIndexFileStoreCompactionTest")
+public class SoftIndexFileStoreCompactionTest extends SingleCacheManagerTest {
+   private static final int ENTRIES = 200;
+
+   private String tmpDirectory;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.persistence().addStore(SoftIndexFileStoreConfigurationBuilder.class)
+            .segmented(true)
+            .indexLocation(tmpDirectory)
+            .dataLocation(tmpDirectory)
+            .maxFileSize(1000)
+            .compactionMaxThroughput(1)
+            .compactionLatencyThreshold(1000);
+      GlobalConfigurationBuilder gBuilder = new GlobalConfigurationBuilder().nonClusteredDefault();
+      gBuilder.defaultCacheName(getDefaultCacheName());
+      return TestCacheManagerFactory.createCacheManager(gBuilder, builder);
+   }
+
+   @BeforeClass(alwaysRun = true)
+   @Override
+   protected void createBeforeClass() throws Exception {
+      tmpDirectory = CommonsTestingUtil.tmpDirectory(this.getClass());
+      super.createBeforeClass();
+   }
+
+   @AfterClass(alwaysRun = true)
+   @Override
+   protected void destroyAfterClass() {
+      super.destroyAfterClass();
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   public void testOverwrittenEntriesAreCompacted() {
+      NonBlockingSoftIndexFileStore<?, ?> store = TestingUtil.extractComponent(cache, PersistenceManager.class)
+            .getStores(NonBlockingSoftIndexFileStore.class).iterator().next();
+      for (int round = 0; round < 3; ++round) {
+         for (int i = 0; i < ENTRIES; ++i) {
+            cache.put("key-" + i, "value-" + round + "-" + i);
+         }
+      }
+
+      eventually(() -> store.getCompactionBytesReclaimed() > 0 && store.getCompactionBacklog() == 0);
+      assertTrue(String.valueOf(store.getWriteAmplification()), store.getWriteAmplification() >= 1);
+      for (int i = 0; i < ENTRIES; ++i) {
+         assertEquals("value-2-" + i, cache.get("key-" + i));
+      }
+   }
+}
@@ -0,0 +1,107 @@
+package org.infinispan.persistence.sifs;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.test.CommonsTestingUtil;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfigurationBuilder;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that concurrent synced writes share the fsyncs of the log when a max delay is configured.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "persistence.sifs.SoftIndexFileStoreGroupCommitTest")
+public class SoftIndexFileStoreGroupCommitTest extends SingleCacheManagerTest {
+   private static final int WRITERS = 8;
+   private static final int WRITES = 50;
+   private static final int MAX_BATCH_SIZE = 16;
+
+   private String tmpDirectory;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.persistence().addStore(SoftIndexFileStoreConfigurationBuilder.class)
+            .segmented(true)
+            .indexLocation(tmpDirectory)
+            .dataLocation(tmpDirectory)
+            .syncWrites(true)
+            .syncMaxDelay(20)
+            .syncMaxBatchSize(MAX_BATCH_SIZE);
+      GlobalConfigurationBuilder gBuilder = new GlobalConfigurationBuilder().nonClusteredDefault();
+      gBuilder.defaultCacheName(getDefaultCacheName());
+      return TestCacheManagerFactory.createCacheManager(gBuilder, builder);
+   }
+
+   @BeforeClass(alwaysRun = true)
+   @Override
+   protected void createBeforeClass() throws Exception {
+      tmpDirectory = CommonsTestingUtil.tmpDirectory(this.getClass());
+      super.createBeforeClass();
+   }
+
+   @AfterClass(alwaysRun = true)
+   @Override
+   protected void destroyAfterClass() {
+      super.destroyAfterClass();
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   public void testConcurrentWritesShareSync() throws Exception {
+      NonBlockingSoftIndexFileStore<?, ?> store = TestingUtil.extractComponent(cache, PersistenceManager.class)
+            .getStores(NonBlockingSoftIndexFileStore.class).iterator().next();
+      List<Future<Void>> writers = new ArrayList<>();
+      for (int w = 0; w < WRITERS; ++w) {
+         int writer = w;
+         writers.add(fork(() -> {
+            for (int i = 0; i < WRITES; ++i) {
+               cache.put(key(writer, i), "value-" + i);
+            }
+         }));
+      }
+      for (Future<Void> future : writers) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+
+      Histogram batchSizes = store.getSyncBatchSizes();
+      Histogram latencies = store.getSyncLatencies();
+      assertEquals(latencies.getCount(), batchSizes.getCount());
+      assertTrue(batchSizes.toString(), batchSizes.getCount() > 0);
+      // Every write waits for the sync, so the writers are always queued together
+      assertTrue(batchSizes.toString(), batchSizes.getCount() < WRITERS * WRITES);
+      assertTrue(batchSizes.toString(), batchSizes.getMax() > 1);
+      assertTrue(batchSizes.toString(), batchSizes.getMax() <= MAX_BATCH_SIZE);
+   }
+
+   public void testWritesAreDurableAfterRestart() {
+      for (int i = 0; i < WRITES; ++i) {
+         cache.put(key(0, i), "value-" + i);
+      }
+      cache.stop();
+      cache.start();
+      for (int i = 0; i < WRITES; ++i) {
+         assertEquals("value-" + i, cache.get(key(0, i)));
+      }
+   }
+
+   private static String key(int writer, int i) {
+      return "key-" + writer + "-" + i;
+   }
+}
@@ -0,0 +1,27 @@
+package org.infinispan.persistence.sifs;
+
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the soft-index store tests reading the data files through memory mappings. The small file size makes most
+ * reads hit files that are no longer written to, and so mapped.
+ *
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "persistence.SoftIndexFileStoreMemoryMappedTest")
+public class SoftIndexFileStoreMemoryMappedTest extends SoftIndexFileStoreTest {
+
+   @Override
+   protected Configuration buildConfig(ConfigurationBuilder configurationBuilder) {
+      return configurationBuilder.persistence()
+            .addStore(SoftIndexFileStoreConfigurationBuilder.class)
+               .segmented(true)
+               .indexLocation(tmpDirectory).dataLocation(tmpDirectory)
+               .maxFileSize(1000)
+               .memoryMappedReads(true)
+            .build();
+   }
+}
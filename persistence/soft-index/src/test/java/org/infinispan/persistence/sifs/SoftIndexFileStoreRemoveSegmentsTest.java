@@ -0,0 +1,132 @@
+package org.infinispan.persistence.sifs;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+
+import org.infinispan.commons.test.CommonsTestingUtil;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfigurationBuilder;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.concurrent.CompletionStages;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the entries of removed segments are not readable anymore and that the compactor reclaims their space.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "persistence.sifs.SoftIndexFileStoreRemoveSegmentsTest")
+public class SoftIndexFileStoreRemoveSegmentsTest extends SingleCacheManagerTest {
+   private static final int ENTRIES = 200;
+
+   private String tmpDirectory;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.persistence().addStore(SoftIndexFileStoreConfigurationBuilder.class)
+            .segmented(true)
+            .indexLocation(tmpDirectory)
+            .dataLocation(tmpDirectory)
+            .maxFileSize(1000);
+      GlobalConfigurationBuilder gBuilder = new GlobalConfigurationBuilder().nonClusteredDefault();
+      gBuilder.defaultCacheName(getDefaultCacheName());
+      return TestCacheManagerFactory.createCacheManager(gBuilder, builder);
+   }
+
+   @BeforeClass(alwaysRun = true)
+   @Override
+   protected void createBeforeClass() throws Exception {
+      tmpDirectory = CommonsTestingUtil.tmpDirectory(this.getClass());
+      super.createBeforeClass();
+   }
+
+   @AfterClass(alwaysRun = true)
+   @Override
+   protected void destroyAfterClass() {
+      super.destroyAfterClass();
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   public void testCompactionAfterRemovingSegments() {
+      NonBlockingSoftIndexFileStore<Object, Object> store = store();
+      KeyPartitioner keyPartitioner = TestingUtil.extractComponent(cache, KeyPartitioner.class);
+      int numSegments = cache.getCacheConfiguration().clustering().hash().numSegments();
+      for (int i = 0; i < ENTRIES; ++i) {
+         cache.put("key-" + i, "value-" + i);
+      }
+
+      IntSet removedSegments = IntSets.mutableEmptySet(numSegments);
+      for (int segment = 0; segment < numSegments; segment += 2) {
+         removedSegments.add(segment);
+      }
+      CompletionStages.join(store.removeSegments(removedSegments));
+      assertEquals(0, (long) CompletionStages.join(store.size(removedSegments)));
+
+      // Overwrite the remaining entries so that the files with the records of the removed segments are compacted
+      for (int i = 0; i < ENTRIES; ++i) {
+         String key = "key-" + i;
+         if (!removedSegments.contains(keyPartitioner.getSegment(key))) {
+            cache.put(key, "value-new-" + i);
+         }
+      }
+
+      eventually(() -> store.getCompactionBytesReclaimed() > 0 && store.getCompactionBacklog() == 0);
+      for (int i = 0; i < ENTRIES; ++i) {
+         String key = "key-" + i;
+         int segment = keyPartitioner.getSegment(key);
+         MarshallableEntry<Object, Object> entry = CompletionStages.join(store.load(segment, key));
+         if (removedSegments.contains(segment)) {
+            assertNull(key, entry);
+         } else {
+            assertNotNull(key, entry);
+            assertEquals("value-new-" + i, entry.getValue());
+         }
+      }
+   }
+
+   public void testReadAfterRemovingSegment() {
+      NonBlockingSoftIndexFileStore<Object, Object> store = store();
+      KeyPartitioner keyPartitioner = TestingUtil.extractComponent(cache, KeyPartitioner.class);
+      // Use an odd segment, testCompactionAfterRemovingSegments doesn't add back the even ones
+      String key;
+      int segment;
+      int i = 0;
+      do {
+         key = "removed-key-" + i++;
+         segment = keyPartitioner.getSegment(key);
+      } while (segment % 2 == 0);
+      cache.put(key, "value");
+      assertNotNull(CompletionStages.join(store.load(segment, key)));
+
+      CompletionStages.join(store.removeSegments(IntSets.immutableSet(segment)));
+      assertNull(CompletionStages.join(store.load(segment, key)));
+      assertEquals(Boolean.FALSE, CompletionStages.join(store.containsKey(segment, key)));
+      assertEquals(0, (long) CompletionStages.join(store.size(IntSets.immutableSet(segment))));
+
+      // The segment can be added again and written to after its index file was closed
+      CompletionStages.join(store.addSegments(IntSets.immutableSet(segment)));
+      cache.put(key, "value-2");
+      MarshallableEntry<Object, Object> entry = CompletionStages.join(store.load(segment, key));
+      assertNotNull(entry);
+      assertEquals("value-2", entry.getValue());
+   }
+
+   private NonBlockingSoftIndexFileStore<Object, Object> store() {
+      return TestingUtil.extractComponent(cache, PersistenceManager.class)
+            .getStores(NonBlockingSoftIndexFileStore.class).iterator().next();
+   }
+}
@@ -64,6 +64,7 @@
 import org.infinispan.rest.framework.impl.Invocations;
 import org.infinispan.rest.logging.Log;
 import org.infinispan.security.AuthorizationPermission;
+import org.infinispan.statetransfer.StateTransferManager;
 import org.infinispan.stats.Stats;
 import org.infinispan.upgrade.RollingUpgradeManager;
 
@@ -340,12 +341,20 @@ private RestResponse getDetailResponse(Cache<?, ?> cache) {
       Configuration configuration = SecurityActions.getCacheConfiguration(cache.getAdvancedCache());
       Stats stats = null;
       Boolean rehashInProgress = null;
+      Double stateTransferProgress = null;
+      Long stateTransferTimeRemaining = null;
       Boolean indexingInProgress = null;
       Boolean queryable = null;
       try {
          stats = cache.getAdvancedCache().getStats();
          DistributionManager distributionManager = cache.getAdvancedCache().getDistributionManager();
          rehashInProgress = distributionManager != null && distributionManager.isRehashInProgress();
+         StateTransferManager stateTransferManager =
+               SecurityActions.getComponentRegistry(cache.getAdvancedCache()).getStateTransferManager();
+         if (stateTransferManager != null) {
+            stateTransferProgress = stateTransferManager.getStateTransferProgress();
+            stateTransferTimeRemaining = stateTransferManager.getStateTransferTimeRemaining();
+         }
       } catch (SecurityException ex) {
          // Admin is needed
       }
@@ -370,6 +379,8 @@ private RestResponse getDetailResponse(Cache<?, ?> cache) {
       fullDetail.configuration = invocationHelper.getJsonWriter().toJSON(configuration);
       fullDetail.size = size;
       fullDetail.rehashInProgress = rehashInProgress;
+      fullDetail.stateTransferProgress = stateTransferProgress;
+      fullDetail.stateTransferTimeRemaining = stateTransferTimeRemaining;
       fullDetail.indexingInProgress = indexingInProgress;
       fullDetail.persistent = configuration.persistence().usingStores();
       fullDetail.bounded = configuration.memory().whenFull().isEnabled();
@@ -433,6 +444,8 @@ private static class CacheFullDetail implements JsonSerialization {
       public Integer size;
       public String configuration;
       public Boolean rehashInProgress;
+      public Double stateTransferProgress;
+      public Long stateTransferTimeRemaining;
       public boolean bounded;
       public boolean indexed;
       public boolean persistent;
@@ -459,6 +472,14 @@ public Json toJson() {
             json.set("rehash_in_progress", rehashInProgress);
          }
 
+         if (stateTransferProgress != null) {
+            json.set("state_transfer_progress", stateTransferProgress);
+         }
+
+         if (stateTransferTimeRemaining != null) {
+            json.set("state_transfer_time_remaining", stateTransferTimeRemaining);
+         }
+
          if (indexingInProgress != null) {
             json.set("indexing_in_progress", indexingInProgress);
          }
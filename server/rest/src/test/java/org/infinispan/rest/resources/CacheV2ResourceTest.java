@@ -329,6 +329,8 @@ public void testCacheFullDetail() {
       assertThat(body).contains("size");
       assertThat(body).contains("configuration");
       assertThat(body).contains("rehash_in_progress");
+      assertThat(body).contains("state_transfer_progress");
+      assertThat(body).contains("state_transfer_time_remaining");
       assertThat(body).contains("persistent");
       assertThat(body).contains("bounded");
       assertThat(body).contains("indexed");